@@ -0,0 +1,108 @@
+package com.management.benchmark;
+
+import com.management.model.Customer;
+import com.management.model.MonthlyRollup;
+import com.management.model.ServiceRequest;
+import com.management.model.Technician;
+import com.management.service.PaymentService;
+import com.management.service.ServiceRequestService;
+import com.management.util.ReportAggregations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Reports tabs' aggregation over a one-year dataset loaded once per
+ * trial, so the figures measure the in-memory computation without the
+ * database fetches ReportBenchmarks covers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmarks {
+    private static final LocalDate FROM = BenchmarkDatabase.END_DATE.minusYears(1).plusDays(1);
+    private static final LocalDate TO = BenchmarkDatabase.END_DATE;
+
+    private List<ServiceRequest> serviceRequests;
+    private Map<Integer, Double> paymentTotals;
+    private List<Customer> customers;
+    private List<Technician> technicians;
+    private List<MonthlyRollup> rollups;
+    private List<MonthlyRollup> customerRollups;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase db) {
+        ServiceRequestService serviceRequestService = new ServiceRequestService(db.serviceRequestDAO,
+                db.customerDAO, db.technicianDAO, db.rollupDAO);
+        PaymentService paymentService = new PaymentService(db.paymentDAO, db.serviceRequestDAO, db.quoteDAO,
+                db.rollupDAO);
+
+        serviceRequests = serviceRequestService.getServiceRequestsByDateRange(FROM, TO);
+        paymentTotals = paymentService.getPaymentTotalsByJob(FROM, TO);
+        customers = db.customerDAO.findAll();
+        technicians = db.technicianDAO.findAll();
+        rollups = serviceRequestService.getMonthlyRollups(YearMonth.from(FROM), YearMonth.from(TO));
+        customerRollups = serviceRequestService.getCustomerMonthlyRollups(YearMonth.from(FROM), YearMonth.from(TO));
+        serviceRequestService.close();
+    }
+
+    @Benchmark
+    public ReportAggregations.Summary summary() {
+        return ReportAggregations.summarize(serviceRequests, paymentTotals);
+    }
+
+    @Benchmark
+    public Map<String, Long> statusCounts() {
+        return ReportAggregations.statusCounts(serviceRequests);
+    }
+
+    @Benchmark
+    public Map<YearMonth, Double> monthlyRevenue() {
+        return ReportAggregations.monthlyRevenue(FROM, TO, serviceRequests, (first, last) -> rollups);
+    }
+
+    @Benchmark
+    public Map<YearMonth, Double> monthlyRevenueWithoutRollups() {
+        // Every month bucketed from the service requests
+        return ReportAggregations.monthlyRevenue(FROM, TO, serviceRequests, (first, last) -> Collections.emptyList());
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> monthlyFinancialReport() {
+        return ReportAggregations.financialReport(serviceRequests, "Monthly");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> quarterlyFinancialReport() {
+        return ReportAggregations.financialReport(serviceRequests, "Quarterly");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> customerReport() {
+        return ReportAggregations.customerReport(FROM, TO, serviceRequests, customers, "Top Customers by Revenue",
+                (first, last) -> customerRollups);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> technicianReport() {
+        return ReportAggregations.technicianReport(serviceRequests, technicians, "Technician Performance");
+    }
+}
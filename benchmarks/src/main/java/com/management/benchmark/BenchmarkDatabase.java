@@ -0,0 +1,59 @@
+package com.management.benchmark;
+
+import com.management.App;
+import com.management.service.DatabaseService;
+import com.management.util.SyntheticDataGenerator;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Builds the synthetic SQLite databases the benchmarks run against. Each
+ * scale is generated once from a fixed seed and reused by later runs, so
+ * results stay comparable between runs and machines.
+ */
+public class BenchmarkDatabase {
+    private static final File DIRECTORY = new File("target/benchmark-db");
+    private static final long SEED = 42L;
+
+    /** Reference date of the generated data: three years of history before it, two months of bookings after */
+    static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+
+    /**
+     * Open the database for a scale, generating it on first use
+     * @param scale Number of customers; other tables are sized from it
+     * @return A database service for the generated file
+     */
+    public static synchronized DatabaseService open(int scale) {
+        File file = new File(DIRECTORY, "scale-" + scale + ".db");
+        if (!file.exists()) {
+            generate(scale, file);
+        }
+        return new DatabaseService("jdbc:sqlite:" + file.getPath());
+    }
+
+    private static void generate(int scale, File file) {
+        DIRECTORY.mkdirs();
+
+        // Build under a temporary name so an interrupted run is not reused
+        File temporary = new File(DIRECTORY, file.getName() + ".tmp");
+        temporary.delete();
+
+        DatabaseService databaseService = new DatabaseService("jdbc:sqlite:" + temporary.getPath());
+        App.prepareDatabase(databaseService);
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(SEED);
+        generator.setCustomers(scale);
+        generator.setReferenceDate(END_DATE);
+        try {
+            generator.generate(databaseService);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to generate benchmark database", e);
+        }
+
+        if (!temporary.renameTo(file)) {
+            throw new IllegalStateException("Failed to move benchmark database to " + file);
+        }
+    }
+}
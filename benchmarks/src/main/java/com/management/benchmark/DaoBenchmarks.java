@@ -0,0 +1,42 @@
+package com.management.benchmark;
+
+import com.management.model.ServiceRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw DAO reads, without service-layer hydration
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmarks {
+
+    @Benchmark
+    public List<ServiceRequest> serviceRequestFindAll(SeededDatabase db) {
+        return db.serviceRequestDAO.findAll();
+    }
+
+    @Benchmark
+    public List<ServiceRequest> serviceRequestFindByDateRangeMonth(SeededDatabase db) {
+        LocalDate start = BenchmarkDatabase.END_DATE.withDayOfMonth(1);
+        return db.serviceRequestDAO.findByDateRange(start, BenchmarkDatabase.END_DATE);
+    }
+
+    @Benchmark
+    public List<ServiceRequest> serviceRequestFindByDateRangeYear(SeededDatabase db) {
+        return db.serviceRequestDAO.findByDateRange(BenchmarkDatabase.END_DATE.minusYears(1),
+                BenchmarkDatabase.END_DATE);
+    }
+}
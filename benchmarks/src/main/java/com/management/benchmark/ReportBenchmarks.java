@@ -0,0 +1,81 @@
+package com.management.benchmark;
+
+import com.management.model.MonthlyRollup;
+import com.management.model.ServiceRequest;
+import com.management.service.PaymentService;
+import com.management.service.ServiceRequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service calls the Reports tabs are computed from, over a one-year range
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmarks {
+    private static final LocalDate FROM = BenchmarkDatabase.END_DATE.minusYears(1).plusDays(1);
+    private static final LocalDate TO = BenchmarkDatabase.END_DATE;
+
+    private ServiceRequestService serviceRequestService;
+    private PaymentService paymentService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase db) {
+        serviceRequestService = new ServiceRequestService(db.serviceRequestDAO, db.customerDAO,
+                db.technicianDAO, db.rollupDAO);
+        paymentService = new PaymentService(db.paymentDAO, db.serviceRequestDAO, db.quoteDAO, db.rollupDAO);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serviceRequestService.close();
+    }
+
+    @Benchmark
+    public List<ServiceRequest> reportDataset() {
+        return serviceRequestService.getServiceRequestsByDateRange(FROM, TO);
+    }
+
+    @Benchmark
+    public List<MonthlyRollup> monthlyRollups() {
+        return serviceRequestService.getMonthlyRollups(YearMonth.from(FROM), YearMonth.from(TO));
+    }
+
+    @Benchmark
+    public List<MonthlyRollup> technicianMonthlyRollups() {
+        return serviceRequestService.getTechnicianMonthlyRollups(YearMonth.from(FROM), YearMonth.from(TO));
+    }
+
+    @Benchmark
+    public Map<LocalDate, Double> dailyPaymentTotals() {
+        return paymentService.getDailyPaymentTotals(FROM, TO, "Completed");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public boolean rebuildRollups() {
+        return serviceRequestService.rebuildRollups();
+    }
+}
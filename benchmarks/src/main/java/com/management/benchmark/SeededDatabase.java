@@ -0,0 +1,59 @@
+package com.management.benchmark;
+
+import com.management.dao.implementations.CustomerDAOImpl;
+import com.management.dao.implementations.PaymentDAOImpl;
+import com.management.dao.implementations.QuoteDAOImpl;
+import com.management.dao.implementations.RollupDAOImpl;
+import com.management.dao.implementations.ServiceRequestDAOImpl;
+import com.management.dao.implementations.TechnicianDAOImpl;
+import com.management.dao.interfaces.CustomerDAO;
+import com.management.dao.interfaces.PaymentDAO;
+import com.management.dao.interfaces.QuoteDAO;
+import com.management.dao.interfaces.RollupDAO;
+import com.management.dao.interfaces.ServiceRequestDAO;
+import com.management.dao.interfaces.TechnicianDAO;
+import com.management.service.DatabaseService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generated database and DAOs shared by all benchmarks of one trial.
+ * Override the size with -p scale=100000.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    /** Number of customers; jobs are three times this */
+    @Param({"1000", "10000"})
+    public int scale;
+
+    DatabaseService databaseService;
+    CustomerDAO customerDAO;
+    TechnicianDAO technicianDAO;
+    ServiceRequestDAO serviceRequestDAO;
+    QuoteDAO quoteDAO;
+    PaymentDAO paymentDAO;
+    RollupDAO rollupDAO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        databaseService = BenchmarkDatabase.open(scale);
+        customerDAO = new CustomerDAOImpl(databaseService);
+        technicianDAO = new TechnicianDAOImpl(databaseService);
+        serviceRequestDAO = new ServiceRequestDAOImpl(databaseService);
+        quoteDAO = new QuoteDAOImpl(databaseService);
+        paymentDAO = new PaymentDAOImpl(databaseService);
+        rollupDAO = new RollupDAOImpl(databaseService);
+    }
+
+    /**
+     * Number of generated jobs; IDs run from 1 to this
+     * @return The job count
+     */
+    int jobCount() {
+        return scale * 3;
+    }
+}
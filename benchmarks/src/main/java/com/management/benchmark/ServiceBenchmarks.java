@@ -0,0 +1,86 @@
+package com.management.benchmark;
+
+import com.management.model.ServiceRequest;
+import com.management.model.Technician;
+import com.management.service.PaymentService;
+import com.management.service.ReadModel;
+import com.management.service.ServiceRequestService;
+import com.management.service.TechnicianService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer hot paths, with and without the session read model
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmarks {
+
+    @Param({"false", "true"})
+    public boolean readModel;
+
+    private ReadModel model;
+    private ServiceRequestService serviceRequestService;
+    private TechnicianService technicianService;
+    private PaymentService paymentService;
+    private int nextJobId;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededDatabase db) {
+        serviceRequestService = new ServiceRequestService(db.serviceRequestDAO, db.customerDAO,
+                db.technicianDAO, db.rollupDAO);
+        technicianService = new TechnicianService(db.technicianDAO, db.serviceRequestDAO);
+        paymentService = new PaymentService(db.paymentDAO, db.serviceRequestDAO, db.quoteDAO, db.rollupDAO);
+
+        if (readModel) {
+            model = new ReadModel(db.customerDAO, db.technicianDAO, db.serviceRequestDAO);
+            serviceRequestService.setReadModel(model);
+            technicianService.setReadModel(model);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        technicianService.close();
+        serviceRequestService.close();
+        if (model != null) {
+            model.close();
+        }
+    }
+
+    @Benchmark
+    public List<ServiceRequest> searchServiceRequests() {
+        return serviceRequestService.searchServiceRequests("smith");
+    }
+
+    @Benchmark
+    public List<Technician> findAvailableTechnicians() {
+        return technicianService.findAvailableTechnicians(BenchmarkDatabase.END_DATE.minusDays(14),
+                "09:00", "11:00", null, "94107");
+    }
+
+    @Benchmark
+    public double getRemainingBalance(SeededDatabase db) {
+        // Walk the jobs so each call reads a different row
+        nextJobId = nextJobId % db.jobCount() + 1;
+        return paymentService.getRemainingBalance(nextJobId);
+    }
+}
@@ -1,6 +1,18 @@
 package com.management;
 
+import com.management.api.ApiServer;
+import com.management.dao.implementations.ChangeTrackingDAOImpl;
+import com.management.dao.implementations.CustomerDAOImpl;
+import com.management.dao.implementations.RollupDAOImpl;
+import com.management.dao.implementations.ServiceRequestDAOImpl;
+import com.management.dao.implementations.TechnicianDAOImpl;
+import com.management.dao.implementations.ValueCodeDAOImpl;
+import com.management.dao.interfaces.RollupDAO;
+import com.management.dao.interfaces.TechnicianDAO;
 import com.management.service.DatabaseService;
+import com.management.util.BootSequence;
+import com.management.util.FxStallMonitor;
+import com.management.util.SyntheticDataGenerator;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -12,9 +24,28 @@ import java.io.File;
 import java.security.MessageDigest;
 import java.sql.*;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class App extends Application {
     private static final String DB_PATH = "client_management.db";
+
+    // Loaded and initialized during startup so the first dashboard does not wait on them
+    private static final String[] DASHBOARD_CLASSES = {
+            "javafx.fxml.FXMLLoader",
+            "com.management.controller.MainDashboardController",
+            "com.management.controller.DashboardController",
+            "com.management.service.ServiceRegistry",
+            "com.management.service.ServiceRequestService",
+            "com.management.service.ReadModel",
+            "com.management.dao.implementations.ServiceRequestDAOImpl",
+            "javafx.scene.chart.PieChart",
+            "javafx.scene.chart.AreaChart",
+            "javafx.scene.chart.BarChart",
+            "javafx.scene.chart.CategoryAxis",
+            "javafx.scene.chart.NumberAxis"
+    };
+
     private DatabaseService databaseService;
 
     static {
@@ -33,20 +64,42 @@ public class App extends Application {
             Platform.exit();
         });
 
+        // Watch the FX thread for stalls from the first screen on
+        FxStallMonitor.getInstance().start();
+
+        BootSequence boot = BootSequence.getInstance();
+
         try {
-            // Initialize the database service
-            databaseService = new DatabaseService();
+            // The database service is shared with the login screen and the dashboard
+            databaseService = boot.getDatabaseService();
+
+            // The schema is prepared in order on one boot thread; login waits for it
+            CompletableFuture<Void> database = boot.runAsync("database", () -> {
+                // Check if database exists, create if not
+                boot.time("schema check", () -> {
+                    if (!databaseExists()) {
+                        createDatabase();
+                    }
+                });
+                // Bring databases created by older versions up to date
+                boot.time("migrations", this::upgradeDatabase);
+                // Always check and create default admin if no users exist
+                boot.time("default admin", this::createDefaultAdmin);
+            }).whenComplete((result, error) -> {
+                if (error != null) {
+                    System.err.println("Error preparing database: " + error.getMessage());
+                    error.printStackTrace();
+                }
+                boot.markDatabaseReady();
+            });
 
-            // Check if database exists, create if not
-            if (!databaseExists()) {
-                createDatabase();
-            }
-            // Always check and create default admin if no users exist
-            createDefaultAdmin();
+            // Meanwhile load the driver and the classes of the main dashboard
+            CompletableFuture<Void> warmUp = boot.runAsync("connection warm-up", this::warmUpConnection);
+            CompletableFuture<Void> preload = boot.runAsync("dashboard classes", this::preloadDashboardClasses);
 
             // Load the login view with explicit error handling
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/login.fxml"));
-            Parent root = loader.load();
+            Parent root = boot.time("login view",
+                    () -> new FXMLLoader(getClass().getResource("/fxml/login.fxml")).load());
 
             // Set up the scene
             Scene scene = new Scene(root);
@@ -59,6 +112,9 @@ public class App extends Application {
             primaryStage.setScene(scene);
             primaryStage.setMaximized(true); // Use maximized instead of fullscreen for better user experience
             primaryStage.show();
+            boot.mark("login visible");
+
+            CompletableFuture.allOf(database, warmUp, preload).whenComplete((result, error) -> boot.printReport());
 
         } catch (Exception e) {
             System.err.println("Error starting application: " + e.getMessage());
@@ -67,6 +123,36 @@ public class App extends Application {
         }
     }
 
+    /**
+     * Open and close one connection so the SQLite driver and its native
+     * library are loaded before the first real query
+     */
+    private void warmUpConnection() {
+        try (Connection connection = databaseService.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Load and initialize the main dashboard's classes off the FX thread. The
+     * views themselves are still built on the FX thread after login, since
+     * their controllers create the session's services; the stylesheet is
+     * already parsed for the login scene.
+     */
+    private void preloadDashboardClasses() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        for (String className : DASHBOARD_CLASSES) {
+            try {
+                Class.forName(className, true, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("Error preloading " + className + ": " + e.getMessage());
+            }
+        }
+    }
+
     private boolean databaseExists() {
         File dbFile = new File(DB_PATH);
         return dbFile.exists() && dbFile.length() > 0;
@@ -76,8 +162,8 @@ public class App extends Application {
         Connection connection = null;
 
         try {
-            // Get database connection
-            connection = databaseService.getConnection();
+            // Get a connection of its own, since it changes the foreign key setting
+            connection = databaseService.getDedicatedConnection();
 
             // Disable auto-commit to ensure all tables are created in a single transaction
             connection.setAutoCommit(false);
@@ -263,6 +349,59 @@ public class App extends Application {
         }
     }
 
+    /**
+     * Create tables added after the initial schema. Derived tables are
+     * backfilled from the existing rows the first time they are created.
+     */
+    private void upgradeDatabase() {
+        // Customer numbers are reserved in blocks from this table
+        new CustomerDAOImpl(databaseService).createSequenceTable();
+
+        RollupDAO rollupDAO = new RollupDAOImpl(databaseService);
+        boolean rollupsExist = tableExists("service_request_monthly_rollup");
+
+        rollupDAO.createTables();
+
+        if (!rollupsExist) {
+            System.out.println("Building monthly rollups...");
+            rollupDAO.rebuild();
+        }
+
+        TechnicianDAO technicianDAO = new TechnicianDAOImpl(databaseService);
+        boolean coverageExists = tableExists("technician_coverage");
+
+        technicianDAO.createCoverageTable();
+
+        if (!coverageExists) {
+            System.out.println("Building technician coverage index...");
+            technicianDAO.rebuildCoverage();
+        }
+
+        // Low-cardinality text columns get dictionary codes; existing rows are encoded once
+        new ValueCodeDAOImpl(databaseService).createTables();
+
+        new ServiceRequestDAOImpl(databaseService).createSearchIndexes();
+
+        new ChangeTrackingDAOImpl(databaseService).createTables();
+    }
+
+    private boolean tableExists(String tableName) {
+        String sql = "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?";
+
+        try (Connection connection = databaseService.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setString(1, tableName);
+
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     private void createDefaultAdmin() {
         Connection connection = null;
         try {
@@ -331,13 +470,120 @@ public class App extends Application {
         // Clean up resources when the application stops
         try {
             System.out.println("Application stopping, cleaning up resources...");
-            // Add any cleanup code here if needed
+            FxStallMonitor.getInstance().stop();
+            BootSequence.getInstance().getDatabaseService().close();
         } catch (Exception e) {
             System.err.println("Error during application shutdown: " + e.getMessage());
         }
     }
 
+    /**
+     * Create the schema of a database without starting the UI, for example a
+     * generated database used for benchmarks. Existing tables are kept.
+     * @param databaseService The database to prepare
+     */
+    public static void prepareDatabase(DatabaseService databaseService) {
+        App app = new App();
+        app.databaseService = databaseService;
+        app.createDatabase();
+        app.upgradeDatabase();
+    }
+
+    private static boolean generateData(String[] args) {
+        try {
+            int customers = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+            DatabaseService databaseService = args.length > 3
+                    ? new DatabaseService("jdbc:sqlite:" + args[3]) : new DatabaseService();
+            prepareDatabase(databaseService);
+
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(seed);
+            generator.setCustomers(customers);
+
+            long started = System.nanoTime();
+            Map<String, Integer> rowCounts = generator.insertRows(databaseService);
+            double insertSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            started = System.nanoTime();
+            boolean rebuilt = generator.rebuildDerivedTables(databaseService);
+            double rebuildSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            int totalRows = 0;
+            for (Map.Entry<String, Integer> entry : rowCounts.entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                totalRows += entry.getValue();
+            }
+            System.out.printf("Inserted %d rows in %.1f s (%.0f rows/s)%n",
+                    totalRows, insertSeconds, totalRows / insertSeconds);
+            System.out.printf("Rebuilt rollups and coverage in %.1f s%n", rebuildSeconds);
+            return rebuilt;
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: --generate-data [customers] [seed] [database file]");
+            return false;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Serve the read-only HTTP/JSON API until the process is stopped
+     * @param args --api [port] [database file]
+     * @return false if the server could not be started
+     */
+    private static boolean startApi(String[] args) {
+        try {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            DatabaseService databaseService = args.length > 2
+                    ? new DatabaseService("jdbc:sqlite:" + args[2]) : new DatabaseService();
+            prepareDatabase(databaseService);
+
+            int threads = Integer.getInteger("api.threads", 16);
+            // Some DAO methods open a second connection while reading, so allow two per worker
+            databaseService.setConnectionLimit(Integer.getInteger("api.maxConnections", threads * 2),
+                    Long.getLong("api.connectionWaitMillis", 5000L));
+
+            // Other processes may write to the same file, so the in-memory read model is opt-in here
+            ApiServer server = ApiServer.create(databaseService,
+                    Boolean.parseBoolean(System.getProperty("app.readModel", "false")));
+            server.start(port, threads, Integer.getInteger("api.queue", 200));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "api-shutdown"));
+
+            System.out.println("API listening on port " + server.getPort());
+            return true;
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: --api [port] [database file]");
+            return false;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     public static void main(String[] args) {
+        // Repair the rollup tables without starting the UI
+        if (args.length > 0 && "--rebuild-rollups".equals(args[0])) {
+            RollupDAO rollupDAO = new RollupDAOImpl(new DatabaseService());
+            rollupDAO.createTables();
+            boolean rebuilt = rollupDAO.rebuild();
+            System.out.println(rebuilt ? "Rollups rebuilt" : "Rebuilding rollups failed");
+            System.exit(rebuilt ? 0 : 1);
+        }
+
+        // Fill the database with synthetic data: --generate-data [customers] [seed] [database file]
+        if (args.length > 0 && "--generate-data".equals(args[0])) {
+            System.exit(generateData(args) ? 0 : 1);
+        }
+
+        // Run headless as an HTTP/JSON API: --api [port] [database file]
+        if (args.length > 0 && "--api".equals(args[0])) {
+            if (!startApi(args)) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        BootSequence.getInstance().mark("launch");
         launch(args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,620 @@
+package com.management.api;
+
+import com.management.dao.implementations.*;
+import com.management.dao.interfaces.*;
+import com.management.dao.query.CustomerField;
+import com.management.dao.query.PaymentField;
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.QuoteField;
+import com.management.dao.query.ServiceRequestField;
+import com.management.dao.query.TechnicianField;
+import com.management.model.User;
+import com.management.service.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-only HTTP/JSON API over the service layer, for running without the
+ * JavaFX UI. Requests are served by a bounded pool of platform threads, not
+ * a virtual thread per request, which would need Java 21; when the pool and
+ * its queue are full the accepting thread runs the request itself, which
+ * slows down intake instead of queueing without limit. Database connections
+ * are capped separately through {@link DatabaseService#setConnectionLimit}.
+ *
+ * Every endpoint except /api/health requires HTTP Basic authentication with
+ * an application user. Accepted credentials are remembered for a short while
+ * and forgotten as soon as this process changes a user. Listings are
+ * paginated with ?page= (from 0) and ?size= (default 50, at most 500), with
+ * filters and paging applied by the database, and returned as
+ * {"page":0,"size":50,"total":123,"items":[...]}. The data is loaded
+ * before the status is sent, so lookup failures get their own status; the
+ * JSON is then streamed with chunked encoding as the rows are written, and a
+ * failure while writing cuts the response short.
+ *
+ * GET /api/health
+ * GET /api/customers[?q=&state=]                /api/customers/{id}
+ * GET /api/customers/{id}/service-requests
+ * GET /api/technicians[?q=&credentialLevel=]    /api/technicians/{id}
+ * GET /api/technicians/{id}/schedule[?from=&to=]
+ * GET /api/service-requests[?q=&status=&from=&to=]   /api/service-requests/{id}
+ * GET /api/service-requests/{id}/quotes|payments|balance
+ * GET /api/quotes[?status=]                     /api/quotes/{id}
+ * GET /api/payments[?status=&from=&to=]         /api/payments/{id}
+ */
+public class ApiServer {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Bounds how long a password changed by another process keeps working here
+    private static final long AUTH_CACHE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    private final CustomerService customerService;
+    private final TechnicianService technicianService;
+    private final ServiceRequestService serviceRequestService;
+    private final QuoteService quoteService;
+    private final PaymentService paymentService;
+    private final UserService userService;
+
+    // Digest of accepted Authorization headers -> expiry, so each request does not hit the users table
+    private final Map<String, Long> authenticated = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ThreadPoolExecutor executor;
+    private Runnable userSubscription;
+
+    public ApiServer(CustomerService customerService, TechnicianService technicianService,
+                     ServiceRequestService serviceRequestService, QuoteService quoteService,
+                     PaymentService paymentService, UserService userService) {
+        this.customerService = customerService;
+        this.technicianService = technicianService;
+        this.serviceRequestService = serviceRequestService;
+        this.quoteService = quoteService;
+        this.paymentService = paymentService;
+        this.userService = userService;
+    }
+
+    /**
+     * Create a server with the same services the desktop application uses
+     * @param databaseService The database to serve
+     * @param useReadModel Whether to serve listings from an in-memory read model
+     * @return The server, not yet started
+     */
+    public static ApiServer create(DatabaseService databaseService, boolean useReadModel) {
+        CustomerDAO customerDAO = new CustomerDAOImpl(databaseService);
+        TechnicianDAO technicianDAO = new TechnicianDAOImpl(databaseService);
+        ServiceRequestDAO serviceRequestDAO = new ServiceRequestDAOImpl(databaseService);
+        QuoteDAO quoteDAO = new QuoteDAOImpl(databaseService);
+        PaymentDAO paymentDAO = new PaymentDAOImpl(databaseService);
+        UserDAO userDAO = new UserDAOImpl(databaseService);
+        RollupDAO rollupDAO = new RollupDAOImpl(databaseService);
+
+        CustomerService customerService = new CustomerService(customerDAO, serviceRequestDAO);
+        TechnicianService technicianService = new TechnicianService(technicianDAO, serviceRequestDAO);
+        ServiceRequestService serviceRequestService =
+                new ServiceRequestService(serviceRequestDAO, customerDAO, technicianDAO, rollupDAO);
+
+        if (useReadModel) {
+            ReadModel readModel = new ReadModel(customerDAO, technicianDAO, serviceRequestDAO);
+            customerService.setReadModel(readModel);
+            technicianService.setReadModel(readModel);
+            serviceRequestService.setReadModel(readModel);
+        }
+
+        return new ApiServer(customerService, technicianService, serviceRequestService,
+                new QuoteService(quoteDAO, serviceRequestDAO),
+                new PaymentService(paymentDAO, serviceRequestDAO, quoteDAO, rollupDAO),
+                new UserService(userDAO));
+    }
+
+    /**
+     * Start listening
+     * @param port The TCP port
+     * @param threads Number of worker threads
+     * @param queueSize Number of requests that may wait for a worker
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start(int port, int threads, int queueSize) throws IOException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread thread = new Thread(r, "api-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        // Forget accepted credentials whenever a user is changed through this process
+        userSubscription = DataChangeBus.getInstance().subscribe(User.class, event -> authenticated.clear());
+
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Stop accepting requests and let running ones finish briefly
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(STOP_DELAY_SECONDS);
+            executor.shutdown();
+            userSubscription.run();
+            server = null;
+        }
+    }
+
+    /**
+     * The port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Only GET is supported");
+                return;
+            }
+
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            if (!(path.length == 1 && path[0].equals("health")) && !isAuthorized(exchange)) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"management\"");
+                sendError(exchange, 401, "Authentication required");
+                return;
+            }
+
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            Body body = route(path, params);
+            send(exchange, 200, body);
+        } catch (NotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Body route(String[] path, Map<String, String> params) {
+        String resource = path[0];
+        Integer id = path.length > 1 ? parseId(path[1]) : null;
+        String sub = path.length > 2 ? path[2] : null;
+        if (path.length > 3) {
+            throw new NotFoundException("No such resource");
+        }
+
+        switch (resource) {
+            case "health":
+                return json -> json.beginObject().name("status").value("ok").endObject();
+
+            case "customers":
+                if (id == null) {
+                    if (params.containsKey("q") || params.containsKey("state")) {
+                        QuerySpec<CustomerField> spec = customerSpec(params);
+                        return page(customerService.countCustomers(spec),
+                                (offset, limit) -> customerService.findCustomers(spec.page(offset, limit)),
+                                params, ModelJson::write);
+                    }
+                    return page(customerService.countCustomers(), customerService::getCustomersPage,
+                            params, ModelJson::write);
+                }
+                if (sub == null) {
+                    return item(customerService.findById(id).orElse(null), "Customer", ModelJson::write);
+                }
+                if (sub.equals("service-requests")) {
+                    QuerySpec<ServiceRequestField> spec = new QuerySpec<ServiceRequestField>()
+                            .equalTo(ServiceRequestField.CUSTOMER_ID, id)
+                            .orderBy(ServiceRequestField.SERVICE_DATE, false);
+                    return page(serviceRequestService.countServiceRequests(spec),
+                            (offset, limit) -> serviceRequestService.findServiceRequests(spec.page(offset, limit)),
+                            params, ModelJson::write);
+                }
+                break;
+
+            case "technicians":
+                if (id == null) {
+                    QuerySpec<TechnicianField> spec = technicianSpec(params);
+                    return page(technicianService.countTechnicians(spec),
+                            (offset, limit) -> technicianService.findTechnicians(spec.page(offset, limit)),
+                            params, ModelJson::write);
+                }
+                if (sub == null) {
+                    return item(technicianService.findById(id).orElse(null), "Technician", ModelJson::write);
+                }
+                if (sub.equals("schedule")) {
+                    return page(technicianService.getTechnicianSchedule(id,
+                            parseDate(params.get("from")), parseDate(params.get("to"))), params, ModelJson::write);
+                }
+                break;
+
+            case "service-requests":
+                if (id == null) {
+                    if (params.containsKey("q") || params.containsKey("from") || params.containsKey("to")) {
+                        QuerySpec<ServiceRequestField> spec = serviceRequestSpec(params);
+                        return page(serviceRequestService.countServiceRequests(spec),
+                                (offset, limit) -> serviceRequestService.findServiceRequests(spec.page(offset, limit)),
+                                params, ModelJson::write);
+                    }
+                    String status = params.get("status");
+                    return page(serviceRequestService.countServiceRequests(status),
+                            (offset, limit) -> serviceRequestService.getServiceRequestsPage(status, offset, limit),
+                            params, ModelJson::write);
+                }
+                if (sub == null) {
+                    return item(serviceRequestService.findById(id).orElse(null), "Service request", ModelJson::write);
+                }
+                if (sub.equals("quotes")) {
+                    return page(quoteService.getQuotesForServiceRequest(id), params, ModelJson::write);
+                }
+                if (sub.equals("payments")) {
+                    return page(paymentService.getPaymentsForServiceRequest(id), params, ModelJson::write);
+                }
+                if (sub.equals("balance")) {
+                    return balance(id);
+                }
+                break;
+
+            case "quotes":
+                if (id == null) {
+                    QuerySpec<QuoteField> spec = new QuerySpec<>();
+                    if (params.containsKey("status")) {
+                        spec.equalTo(QuoteField.STATUS, params.get("status"));
+                    }
+                    return page(quoteService.countQuotes(spec),
+                            (offset, limit) -> quoteService.findQuotes(spec.page(offset, limit)),
+                            params, ModelJson::write);
+                }
+                if (sub == null) {
+                    return item(quoteService.findById(id).orElse(null), "Quote", ModelJson::write);
+                }
+                break;
+
+            case "payments":
+                if (id == null) {
+                    QuerySpec<PaymentField> spec = paymentSpec(params);
+                    return page(paymentService.countPayments(spec),
+                            (offset, limit) -> paymentService.findPayments(spec.page(offset, limit)),
+                            params, ModelJson::write);
+                }
+                if (sub == null) {
+                    return item(paymentService.findById(id).orElse(null), "Payment", ModelJson::write);
+                }
+                break;
+
+            default:
+                break;
+        }
+        throw new NotFoundException("No such resource");
+    }
+
+    /**
+     * Customers matching ?q= in the same columns as the customer list, or in ?state=
+     */
+    private static QuerySpec<CustomerField> customerSpec(Map<String, String> params) {
+        QuerySpec<CustomerField> spec = new QuerySpec<>();
+        if (params.containsKey("q")) {
+            spec.containsAny(params.get("q"),
+                    CustomerField.COMPANY_NAME,
+                    CustomerField.FIRST_NAME,
+                    CustomerField.LAST_NAME,
+                    CustomerField.EMAIL,
+                    CustomerField.PHONE_NUMBER,
+                    CustomerField.MOBILE_NUMBER);
+        } else if (!params.get("state").trim().isEmpty()) {
+            spec.equalTo(CustomerField.STATE, params.get("state").trim().toUpperCase(Locale.ROOT));
+        }
+        return spec.orderBy(CustomerField.LAST_NAME, true).orderBy(CustomerField.FIRST_NAME, true);
+    }
+
+    /**
+     * Technicians matching ?q= in the same columns as the technician list, or of ?credentialLevel=
+     */
+    private static QuerySpec<TechnicianField> technicianSpec(Map<String, String> params) {
+        QuerySpec<TechnicianField> spec = new QuerySpec<>();
+        if (params.containsKey("q")) {
+            spec.containsAny(params.get("q"),
+                    TechnicianField.FIRST_NAME,
+                    TechnicianField.LAST_NAME,
+                    TechnicianField.EMAIL,
+                    TechnicianField.CREDENTIALS,
+                    TechnicianField.COVERAGE_AREA);
+        } else if (params.containsKey("credentialLevel")) {
+            spec.equalTo(TechnicianField.CREDENTIAL_LEVEL, params.get("credentialLevel"));
+        }
+        return spec.orderBy(TechnicianField.LAST_NAME, true).orderBy(TechnicianField.FIRST_NAME, true);
+    }
+
+    /**
+     * Service requests matching ?q= in the same columns as the service request
+     * list, within ?from= and ?to= and of ?status=, newest first
+     */
+    private static QuerySpec<ServiceRequestField> serviceRequestSpec(Map<String, String> params) {
+        QuerySpec<ServiceRequestField> spec = new QuerySpec<>();
+        if (params.containsKey("status")) {
+            spec.equalTo(ServiceRequestField.STATUS, params.get("status"));
+        }
+        if (params.containsKey("from") || params.containsKey("to")) {
+            spec.between(ServiceRequestField.SERVICE_DATE, requireDate(params, "from"), requireDate(params, "to"));
+        }
+        spec.containsAny(params.get("q"),
+                ServiceRequestField.DESCRIPTION,
+                ServiceRequestField.SERVICE_ADDRESS,
+                ServiceRequestField.SERVICE_CITY,
+                ServiceRequestField.BUILDING_NAME,
+                ServiceRequestField.REF_NO,
+                ServiceRequestField.JOB_NUMBER,
+                ServiceRequestField.TECHNICIAN_NAMES,
+                ServiceRequestField.CUSTOMER_FIRST_NAME,
+                ServiceRequestField.CUSTOMER_LAST_NAME,
+                ServiceRequestField.CUSTOMER_NUMBER);
+        return spec.orderBy(ServiceRequestField.SERVICE_DATE, false);
+    }
+
+    /**
+     * Payments of ?status= and within ?from= and ?to=, newest first
+     */
+    private static QuerySpec<PaymentField> paymentSpec(Map<String, String> params) {
+        QuerySpec<PaymentField> spec = new QuerySpec<>();
+        if (params.containsKey("status")) {
+            spec.equalTo(PaymentField.STATUS, params.get("status"));
+        }
+        if (params.containsKey("from") || params.containsKey("to")) {
+            spec.between(PaymentField.PAYMENT_DATE, requireDate(params, "from"), requireDate(params, "to"));
+        }
+        return spec.orderBy(PaymentField.PAYMENT_DATE, false);
+    }
+
+    private Body balance(int jobId) {
+        if (!serviceRequestService.findById(jobId).isPresent()) {
+            throw new NotFoundException("Service request " + jobId + " not found");
+        }
+        double totalCost = serviceRequestService.calculateTotalCost(jobId);
+        double paid = paymentService.getTotalPaymentsForServiceRequest(jobId);
+        double remaining = paymentService.getRemainingBalance(jobId);
+
+        return json -> json.beginObject()
+                .name("jobId").value(jobId)
+                .name("totalCost").value(totalCost)
+                .name("paid").value(paid)
+                .name("remaining").value(remaining)
+                .endObject();
+    }
+
+    private static <T> Body item(T value, String label, ItemWriter<T> writer) {
+        if (value == null) {
+            throw new NotFoundException(label + " not found");
+        }
+        return json -> writer.write(json, value);
+    }
+
+    /**
+     * A page cut from a list that was loaded in full; only for lists of one
+     * job or technician, which stay short
+     */
+    private static <T> Body page(List<T> items, Map<String, String> params, ItemWriter<T> writer) {
+        return page(items.size(), (offset, limit) -> {
+            int from = Math.min(offset, items.size());
+            return items.subList(from, Math.min(from + limit, items.size()));
+        }, params, writer);
+    }
+
+    /**
+     * A page loaded on its own, so only that page is read from the database
+     */
+    private static <T> Body page(int total, PageLoader<T> loader, Map<String, String> params, ItemWriter<T> writer) {
+        int page = parseInt(params.get("page"), 0, "page");
+        int size = parseInt(params.get("size"), DEFAULT_PAGE_SIZE, "size");
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long offset = (long) page * size;
+        List<T> items = offset < total ? loader.load((int) offset, size) : Collections.emptyList();
+        return json -> {
+            json.beginObject()
+                    .name("page").value(page)
+                    .name("size").value(size)
+                    .name("total").value(total)
+                    .name("items").beginArray();
+            for (T item : items) {
+                writer.write(json, item);
+            }
+            json.endArray().endObject();
+        };
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Basic ")) {
+            return false;
+        }
+
+        String key = digest(header);
+        Long expiry = authenticated.get(key);
+        long now = System.currentTimeMillis();
+        if (expiry != null && expiry > now) {
+            return true;
+        }
+
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        int colon = credentials.indexOf(':');
+        if (colon <= 0 || colon == credentials.length() - 1) {
+            return false;
+        }
+
+        if (userService.authenticate(credentials.substring(0, colon), credentials.substring(colon + 1))) {
+            authenticated.put(key, now + AUTH_CACHE_MILLIS);
+            return true;
+        }
+        authenticated.remove(key);
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, Body body) throws IOException {
+        boolean gzip = acceptsGzip(exchange);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+
+        // Length 0 sends the body chunked, so rows go out as they are written
+        exchange.sendResponseHeaders(status, 0);
+        OutputStream response = exchange.getResponseBody();
+        OutputStream stream = gzip ? new GZIPOutputStream(response, 8192) : response;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+            body.write(new JsonWriter(writer));
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        // Once a streamed body has started its status cannot change; closing the exchange cuts it short
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+
+        byte[] bytes;
+        try (java.io.StringWriter text = new java.io.StringWriter()) {
+            new JsonWriter(text).beginObject().name("error").value(message).endObject();
+            bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return accept != null && accept.contains("gzip");
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals >= 0 ? pair.substring(0, equals) : pair;
+            String value = equals >= 0 ? pair.substring(equals + 1) : "";
+            params.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+        }
+        return params;
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new NotFoundException("No such resource");
+        }
+    }
+
+    private static int parseInt(String value, int defaultValue, String name) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Dates must be written as YYYY-MM-DD");
+        }
+    }
+
+    private static LocalDate requireDate(Map<String, String> params, String name) {
+        LocalDate date = parseDate(params.get(name));
+        if (date == null) {
+            throw new IllegalArgumentException("Both from and to are required");
+        }
+        return date;
+    }
+
+    private static String digest(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Writes a response body
+     */
+    private interface Body {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    /**
+     * Loads the items of one page
+     */
+    private interface PageLoader<T> {
+        List<T> load(int offset, int limit);
+    }
+
+    /**
+     * Writes one model object
+     */
+    private interface ItemWriter<T> {
+        void write(JsonWriter json, T item) throws IOException;
+    }
+
+    private static class NotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NotFoundException(String message) {
+            super(message);
+        }
+    }
+}
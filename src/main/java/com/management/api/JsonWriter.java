@@ -0,0 +1,154 @@
+package com.management.api;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal streaming JSON writer. Values are written straight to the
+ * underlying writer, so large listings never have to be built in memory.
+ */
+public class JsonWriter {
+    private final Writer out;
+
+    // One entry per open object or array: true once it holds an element
+    private final Deque<Boolean> hasElements = new ArrayDeque<>();
+    private boolean afterName;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        hasElements.push(false);
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        hasElements.pop();
+        out.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        hasElements.push(false);
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        hasElements.pop();
+        out.write(']');
+        return this;
+    }
+
+    /**
+     * Write the name of the next member of the current object
+     */
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(Object value) throws IOException {
+        return value(value != null ? value.toString() : null);
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write(value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value) : Double.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else {
+            separate();
+        }
+    }
+
+    private void separate() throws IOException {
+        if (!hasElements.isEmpty()) {
+            if (hasElements.peek()) {
+                out.write(',');
+            } else {
+                hasElements.pop();
+                hasElements.push(true);
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
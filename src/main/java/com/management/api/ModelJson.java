@@ -0,0 +1,128 @@
+package com.management.api;
+
+import com.management.model.Customer;
+import com.management.model.Payment;
+import com.management.model.Quote;
+import com.management.model.ServiceRequest;
+import com.management.model.Technician;
+
+import java.io.IOException;
+
+/**
+ * JSON representations of the model classes served by the API. Binary
+ * columns (customer logos) and technicians' account details are left out.
+ */
+final class ModelJson {
+
+    private ModelJson() {
+    }
+
+    static void write(JsonWriter json, Customer customer) throws IOException {
+        json.beginObject()
+                .name("customerId").value(customer.getCustomerId())
+                .name("customerNumber").value(customer.getCustomerNumber())
+                .name("firstName").value(customer.getFirstName())
+                .name("lastName").value(customer.getLastName())
+                .name("email").value(customer.getEmail())
+                .name("companyName").value(customer.getCompanyName())
+                .name("businessName").value(customer.getBusinessName())
+                .name("position").value(customer.getPosition())
+                .name("phoneNumber").value(customer.getPhoneNumber())
+                .name("mobileNumber").value(customer.getMobileNumber())
+                .name("extensionNumber").value(customer.getExtensionNumber())
+                .name("streetAddress").value(customer.getStreetAddress())
+                .name("state").value(customer.getState())
+                .name("zipCode").value(customer.getZipCode())
+                .name("website").value(customer.getWebsite())
+                .name("billingDetails").value(customer.getBillingDetails())
+                .name("createdAt").value(customer.getCreatedAt())
+                .name("updatedAt").value(customer.getUpdatedAt())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Technician technician) throws IOException {
+        json.beginObject()
+                .name("technicianId").value(technician.getTechnicianId())
+                .name("firstName").value(technician.getFirstName())
+                .name("lastName").value(technician.getLastName())
+                .name("email").value(technician.getEmail())
+                .name("credentials").value(technician.getCredentials())
+                .name("credentialLevel").value(technician.getCredentialLevel())
+                .name("zipCode").value(technician.getZipCode())
+                .name("coverageArea").value(technician.getCoverageArea())
+                .name("payType").value(technician.getPayType())
+                .name("address").value(technician.getAddress())
+                .name("city").value(technician.getCity())
+                .name("state").value(technician.getState())
+                .name("zip").value(technician.getZip())
+                .name("createdAt").value(technician.getCreatedAt())
+                .name("updatedAt").value(technician.getUpdatedAt())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, ServiceRequest serviceRequest) throws IOException {
+        json.beginObject()
+                .name("jobId").value(serviceRequest.getJobId())
+                .name("refNo").value(serviceRequest.getRefNo())
+                .name("description").value(serviceRequest.getDescription())
+                .name("status").value(serviceRequest.getStatus())
+                .name("customerId").value(serviceRequest.getCustomerId());
+
+        Customer customer = serviceRequest.getCustomer();
+        if (customer != null) {
+            json.name("customerName").value(customer.getFullName());
+        }
+
+        json.name("serviceDate").value(serviceRequest.getServiceDate())
+                .name("startTime").value(serviceRequest.getStartTime())
+                .name("endTime").value(serviceRequest.getEndTime())
+                .name("buildingName").value(serviceRequest.getBuildingName())
+                .name("serviceAddress").value(serviceRequest.getServiceAddress())
+                .name("serviceCity").value(serviceRequest.getServiceCity())
+                .name("serviceState").value(serviceRequest.getServiceState())
+                .name("serviceZip").value(serviceRequest.getServiceZip())
+                .name("pocName").value(serviceRequest.getPocName())
+                .name("pocPhone").value(serviceRequest.getPocPhone())
+                .name("serviceNotes").value(serviceRequest.getServiceNotes())
+                .name("serviceCost").value(serviceRequest.getServiceCost())
+                .name("addedCost").value(serviceRequest.getAddedCost())
+                .name("parkingFees").value(serviceRequest.getParkingFees())
+                .name("technicianIds").beginArray();
+        if (serviceRequest.getTechnicians() != null) {
+            for (Technician technician : serviceRequest.getTechnicians()) {
+                json.value(technician.getTechnicianId());
+            }
+        }
+        json.endArray()
+                .name("createdAt").value(serviceRequest.getCreatedAt())
+                .name("updatedAt").value(serviceRequest.getUpdatedAt())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Quote quote) throws IOException {
+        json.beginObject()
+                .name("quoteId").value(quote.getQuoteId())
+                .name("jobId").value(quote.getJobId())
+                .name("amount").value(quote.getAmount())
+                .name("status").value(quote.getStatus())
+                .name("startDate").value(quote.getStartDate())
+                .name("endDate").value(quote.getEndDate())
+                .name("createdAt").value(quote.getCreatedAt())
+                .name("updatedAt").value(quote.getUpdatedAt())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Payment payment) throws IOException {
+        json.beginObject()
+                .name("paymentId").value(payment.getPaymentId())
+                .name("jobId").value(payment.getJobId())
+                .name("amount").value(payment.getAmount())
+                .name("status").value(payment.getStatus())
+                .name("paymentDate").value(payment.getPaymentDate())
+                .name("paymentMethod").value(payment.getPaymentMethod())
+                .name("notes").value(payment.getNotes())
+                .name("createdAt").value(payment.getCreatedAt())
+                .name("updatedAt").value(payment.getUpdatedAt())
+                .endObject();
+    }
+}
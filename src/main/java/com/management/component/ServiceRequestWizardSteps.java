@@ -10,6 +10,7 @@ import com.management.service.TechnicianService;
 import com.management.util.AlertUtils;
 import com.management.util.ValidationUtils;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -23,13 +24,117 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 /**
  * Steps for the service request wizard
  */
 public class ServiceRequestWizardSteps {
+    private static final int NEAREST_TECHNICIANS = 5;
+
+    // Step data is loaded one request at a time off the FX thread
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wizard-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Loads the data the wizard's steps need in the background, so a step
+     * can be shown before its lists have been read. Each load starts at
+     * most once and is shared by the steps; recommended technicians are
+     * loaded again when the date, times or zip code change. Methods must be
+     * called on the FX thread.
+     */
+    public static class Prefetcher {
+        private final CustomerService customerService;
+        private final TechnicianService technicianService;
+        private final ServiceRequest serviceRequest;
+
+        private CompletableFuture<List<Customer>> customers;
+        private CompletableFuture<List<Technician>> technicians;
+        private CompletableFuture<List<Technician>> recommendedTechnicians;
+        private List<Object> recommendedKey;
+
+        /**
+         * Create a new prefetcher
+         * @param customerService The customer service
+         * @param technicianService The technician service
+         * @param serviceRequest The service request being filled in by the wizard
+         */
+        public Prefetcher(CustomerService customerService, TechnicianService technicianService,
+                          ServiceRequest serviceRequest) {
+            this.customerService = customerService;
+            this.technicianService = technicianService;
+            this.serviceRequest = serviceRequest;
+        }
+
+        /**
+         * Get all customers, starting the load if needed
+         * @return The customers when loaded
+         */
+        public CompletableFuture<List<Customer>> customers() {
+            if (customers == null) {
+                customers = CompletableFuture.supplyAsync(customerService::getAllCustomers, PREFETCH_EXECUTOR);
+            }
+            return customers;
+        }
+
+        /**
+         * Get all technicians, starting the load if needed
+         * @return The technicians when loaded
+         */
+        public CompletableFuture<List<Technician>> technicians() {
+            if (technicians == null) {
+                technicians = CompletableFuture.supplyAsync(technicianService::getAllTechnicians, PREFETCH_EXECUTOR);
+            }
+            return technicians;
+        }
+
+        /**
+         * Get the technicians available on the service date who cover the
+         * service zip code, or the nearest ones if nobody covers it
+         * @return The recommended technicians when loaded; empty until a service date is chosen
+         */
+        public CompletableFuture<List<Technician>> recommendedTechnicians() {
+            LocalDate serviceDate = serviceRequest.getServiceDate();
+            if (serviceDate == null) {
+                return CompletableFuture.completedFuture(new ArrayList<>());
+            }
+
+            String startTime = serviceRequest.getStartTime() != null ? serviceRequest.getStartTime().toString() : null;
+            String endTime = serviceRequest.getEndTime() != null ? serviceRequest.getEndTime().toString() : null;
+            String zip = serviceRequest.getServiceZip() != null && !serviceRequest.getServiceZip().trim().isEmpty()
+                    ? serviceRequest.getServiceZip().trim() : null;
+
+            List<Object> key = Arrays.asList(serviceDate, startTime, endTime, zip);
+            if (recommendedTechnicians == null || !key.equals(recommendedKey)) {
+                recommendedKey = key;
+                recommendedTechnicians = CompletableFuture.supplyAsync(() -> {
+                    List<Technician> available = technicianService.findAvailableTechnicians(
+                            serviceDate, startTime, endTime, null, zip);
+                    if (!available.isEmpty() || zip == null || !ValidationUtils.isValidZipCode(zip)) {
+                        return available;
+                    }
+                    return technicianService.findNearestTechnicians(zip, NEAREST_TECHNICIANS);
+                }, PREFETCH_EXECUTOR);
+            }
+            return recommendedTechnicians;
+        }
+
+        /**
+         * Start loading what the technician step shows
+         */
+        public void prefetchTechnicians() {
+            technicians();
+            recommendedTechnicians();
+        }
+    }
 
     /**
      * Customer information step
@@ -41,19 +146,16 @@ public class ServiceRequestWizardSteps {
         private final Button createCustomerButton;
         private final Label customerHistory;
         private final Label customerInfoLabel;
-        private final CustomerService customerService;
-        private final List<Customer> customers;
         private final ServiceRequest serviceRequest;
         private Label errorLabel;
 
         /**
-         * Create a new customer step
-         * @param customerService The customer service
+         * Create a new customer step. The customer list is filled in once
+         * the prefetcher has loaded it.
+         * @param prefetcher Loads the customers
          * @param serviceRequest The service request to populate
          */
-        public CustomerStep(CustomerService customerService, ServiceRequest serviceRequest) {
-            this.customerService = customerService;
-            this.customers = customerService.getAllCustomers();
+        public CustomerStep(Prefetcher prefetcher, ServiceRequest serviceRequest) {
             this.serviceRequest = serviceRequest;
 
             content = new VBox(15);
@@ -68,9 +170,19 @@ public class ServiceRequestWizardSteps {
             customerBox.setAlignment(Pos.CENTER_LEFT);
             Label customerLabel = new Label("Select Customer:");
             customerLabel.setPrefWidth(120);
-            customerField = new AutoCompleteTextField<>(customers, c ->
+            customerField = new AutoCompleteTextField<>(new ArrayList<>(), c ->
                     c.getCustomerNumber() + " - " + c.getFirstName() + " " + c.getLastName());
             customerField.setPrefWidth(350);
+            customerField.setPromptText("Loading customers...");
+            prefetcher.customers().whenComplete((customers, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    customerField.setPromptText("Customers could not be loaded");
+                    error.printStackTrace();
+                } else {
+                    customerField.updateItems(customers);
+                    customerField.setPromptText("Search customers");
+                }
+            }));
 
             createCustomerButton = new Button("New Customer");
             createCustomerButton.setOnAction(e -> createNewCustomer());
@@ -890,20 +1002,24 @@ public class ServiceRequestWizardSteps {
         private final Label titleLabel;
         private final AutoCompleteTextField<Technician> technicianField;
         private final ListView<Technician> assignedTechniciansList;
-        private final TechnicianService technicianService;
-        private final List<Technician> technicians;
+        private final ListView<Technician> recommendedTechniciansList;
+        private final Label recommendedStatus;
+        private final Prefetcher prefetcher;
         private final ServiceRequest serviceRequest;
         private final Button assignButton;
         private final Button removeButton;
 
+        // Which recommendation load the list shows, so a slower earlier load cannot overwrite it
+        private CompletableFuture<List<Technician>> shownRecommendations;
+
         /**
-         * Create a new technician step
-         * @param technicianService The technician service
+         * Create a new technician step. The technician lists are filled in
+         * once the prefetcher has loaded them.
+         * @param prefetcher Loads the technicians and recommendations
          * @param serviceRequest The service request to populate
          */
-        public TechnicianStep(TechnicianService technicianService, ServiceRequest serviceRequest) {
-            this.technicianService = technicianService;
-            this.technicians = technicianService.getAllTechnicians();
+        public TechnicianStep(Prefetcher prefetcher, ServiceRequest serviceRequest) {
+            this.prefetcher = prefetcher;
             this.serviceRequest = serviceRequest;
 
             content = new VBox(15);
@@ -918,10 +1034,18 @@ public class ServiceRequestWizardSteps {
             technicianBox.setAlignment(Pos.CENTER_LEFT);
             Label technicianLabel = new Label("Select Technician:");
             technicianLabel.setPrefWidth(120);
-            technicianField = new AutoCompleteTextField<>(technicians, t ->
-                    t.getFirstName() + " " + t.getLastName() +
-                            (t.getCredentialLevel() != null ? " (" + t.getCredentialLevel() + ")" : ""));
+            technicianField = new AutoCompleteTextField<>(new ArrayList<>(), TechnicianStep::displayName);
             technicianField.setPrefWidth(350);
+            technicianField.setPromptText("Loading technicians...");
+            prefetcher.technicians().whenComplete((technicians, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    technicianField.setPromptText("Technicians could not be loaded");
+                    error.printStackTrace();
+                } else {
+                    technicianField.updateItems(technicians);
+                    technicianField.setPromptText("Search technicians");
+                }
+            }));
 
             assignButton = new Button("Assign");
             assignButton.setOnAction(e -> assignTechnician());
@@ -933,21 +1057,7 @@ public class ServiceRequestWizardSteps {
             Label assignedTechniciansLabel = new Label("Assigned Technicians:");
             assignedTechniciansList = new ListView<>();
             assignedTechniciansList.setPrefHeight(200);
-            assignedTechniciansList.setCellFactory(listView -> new ListCell<Technician>() {
-                @Override
-                protected void updateItem(Technician technician, boolean empty) {
-                    super.updateItem(technician, empty);
-
-                    if (technician == null || empty) {
-                        setText(null);
-                        setGraphic(null);
-                    } else {
-                        setText(technician.getFirstName() + " " + technician.getLastName() +
-                                (technician.getCredentialLevel() != null ?
-                                        " (" + technician.getCredentialLevel() + ")" : ""));
-                    }
-                }
-            });
+            assignedTechniciansList.setCellFactory(listView -> new TechnicianCell());
 
             removeButton = new Button("Remove Selected");
             removeButton.setOnAction(e -> removeTechnician());
@@ -959,16 +1069,24 @@ public class ServiceRequestWizardSteps {
 
             assignedTechniciansBox.getChildren().addAll(assignedTechniciansLabel, assignedTechniciansList, removeButton);
 
-            // Recommended technicians (placeholder)
+            // Recommended technicians: available on the service date and covering its zip code
             VBox recommendedBox = new VBox(5);
             Label recommendedLabel = new Label("Recommended Technicians:");
             recommendedLabel.setFont(Font.font(null, FontWeight.BOLD, 14));
 
-            // Placeholder for recommended technicians
-            Label recommendedPlaceholder = new Label("Recommendations will be based on availability, skills, and location.");
-            recommendedPlaceholder.setStyle("-fx-font-style: italic;");
+            recommendedStatus = new Label();
+            recommendedStatus.setStyle("-fx-font-style: italic;");
+
+            recommendedTechniciansList = new ListView<>();
+            recommendedTechniciansList.setPrefHeight(120);
+            recommendedTechniciansList.setCellFactory(listView -> new TechnicianCell());
+            recommendedTechniciansList.setOnMouseClicked(e -> {
+                if (e.getClickCount() == 2) {
+                    addAssignedTechnician(recommendedTechniciansList.getSelectionModel().getSelectedItem());
+                }
+            });
 
-            recommendedBox.getChildren().addAll(recommendedLabel, recommendedPlaceholder);
+            recommendedBox.getChildren().addAll(recommendedLabel, recommendedStatus, recommendedTechniciansList);
 
             content.getChildren().addAll(
                     titleLabel,
@@ -980,20 +1098,84 @@ public class ServiceRequestWizardSteps {
         }
 
         private void assignTechnician() {
-            Technician selectedTechnician = technicianField.getSelectedItem();
-            if (selectedTechnician != null) {
-                // Check if technician is already assigned
-                boolean alreadyAssigned = false;
-                for (Technician technician : assignedTechniciansList.getItems()) {
-                    if (technician.getTechnicianId() == selectedTechnician.getTechnicianId()) {
-                        alreadyAssigned = true;
-                        break;
-                    }
+            if (addAssignedTechnician(technicianField.getSelectedItem())) {
+                technicianField.reset();
+            }
+        }
+
+        /**
+         * Add a technician to the assigned list unless already there
+         * @param selectedTechnician The technician to assign
+         * @return true if the technician was added
+         */
+        private boolean addAssignedTechnician(Technician selectedTechnician) {
+            if (selectedTechnician == null) {
+                return false;
+            }
+
+            // Check if technician is already assigned
+            for (Technician technician : assignedTechniciansList.getItems()) {
+                if (technician.getTechnicianId() == selectedTechnician.getTechnicianId()) {
+                    return false;
                 }
+            }
 
-                if (!alreadyAssigned) {
-                    assignedTechniciansList.getItems().add(selectedTechnician);
-                    technicianField.reset();
+            assignedTechniciansList.getItems().add(selectedTechnician);
+            return true;
+        }
+
+        /**
+         * Show the recommendations for the current date, times and zip code
+         */
+        private void showRecommendations() {
+            if (serviceRequest.getServiceDate() == null) {
+                recommendedStatus.setText("Choose a service date to see available technicians.");
+                recommendedTechniciansList.getItems().clear();
+                return;
+            }
+
+            CompletableFuture<List<Technician>> recommendations = prefetcher.recommendedTechnicians();
+            shownRecommendations = recommendations;
+            if (!recommendations.isDone()) {
+                recommendedStatus.setText("Finding available technicians...");
+            }
+
+            recommendations.whenComplete((technicians, error) -> Platform.runLater(() -> {
+                if (recommendations != shownRecommendations) {
+                    return;
+                }
+
+                if (error != null) {
+                    recommendedStatus.setText("Recommendations could not be loaded.");
+                    recommendedTechniciansList.getItems().clear();
+                    error.printStackTrace();
+                } else {
+                    recommendedStatus.setText(technicians.isEmpty()
+                            ? "No technicians are available on this date."
+                            : "Double-click a technician to assign them.");
+                    recommendedTechniciansList.getItems().setAll(technicians);
+                }
+            }));
+        }
+
+        private static String displayName(Technician technician) {
+            return technician.getFirstName() + " " + technician.getLastName() +
+                    (technician.getCredentialLevel() != null ? " (" + technician.getCredentialLevel() + ")" : "");
+        }
+
+        /**
+         * List cell showing a technician's name and credential level
+         */
+        private static class TechnicianCell extends ListCell<Technician> {
+            @Override
+            protected void updateItem(Technician technician, boolean empty) {
+                super.updateItem(technician, empty);
+
+                if (technician == null || empty) {
+                    setText(null);
+                    setGraphic(null);
+                } else {
+                    setText(displayName(technician));
                 }
             }
         }
@@ -1026,12 +1208,16 @@ public class ServiceRequestWizardSteps {
             if (serviceRequest.getTechnicians() != null && !serviceRequest.getTechnicians().isEmpty()) {
                 assignedTechniciansList.getItems().setAll(serviceRequest.getTechnicians());
             }
+
+            showRecommendations();
         }
 
         @Override
         public void reset() {
             technicianField.reset();
             assignedTechniciansList.getItems().clear();
+            recommendedTechniciansList.getItems().clear();
+            shownRecommendations = null;
         }
 
         @Override
@@ -7,13 +7,17 @@ import javafx.scene.layout.StackPane;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
- * A framework for creating multi-step wizards
+ * A framework for creating multi-step wizards. Steps can be added as
+ * factories, in which case each is built the first time it is shown, and
+ * can name a prefetch action that loads their data while an earlier step
+ * is still showing.
  */
 public class WizardFramework {
     private final StackPane mainContainer;
-    private final List<WizardStep> steps;
+    private final List<StepSlot> steps;
     private final IntegerProperty currentStepIndex;
 
     /**
@@ -33,12 +37,31 @@ public class WizardFramework {
      * @param step The step to add
      */
     public void addStep(WizardStep step) {
-        steps.add(step);
-        mainContainer.getChildren().add(step.getContent());
+        addStep(() -> step, null);
+    }
+
+    /**
+     * Add a step that is built the first time it is shown
+     * @param stepFactory Creates the step
+     */
+    public void addStep(Supplier<? extends WizardStep> stepFactory) {
+        addStep(stepFactory, null);
+    }
+
+    /**
+     * Add a step that is built the first time it is shown
+     * @param stepFactory Creates the step
+     * @param prefetch Run on the FX thread each time an earlier step is shown, to start loading the
+     *                 data this step needs in the background; must return quickly and may be null
+     */
+    public void addStep(Supplier<? extends WizardStep> stepFactory, Runnable prefetch) {
+        StepSlot slot = new StepSlot(stepFactory, prefetch);
+        steps.add(slot);
+        mainContainer.getChildren().add(slot.container);
 
         // Initially hide all steps except the first one
         if (steps.size() > 1) {
-            step.getContent().setVisible(false);
+            slot.container.setVisible(false);
         }
     }
 
@@ -47,6 +70,10 @@ public class WizardFramework {
      * @return The main container node
      */
     public Node getContent() {
+        if (!steps.isEmpty()) {
+            steps.get(currentStepIndex.get()).step();
+            prefetchAhead();
+        }
         return mainContainer;
     }
 
@@ -57,16 +84,8 @@ public class WizardFramework {
     public boolean nextStep() {
         int currentIndex = currentStepIndex.get();
         if (currentIndex < steps.size() - 1) {
-            if (steps.get(currentIndex).validate()) {
-                // Hide current step
-                steps.get(currentIndex).getContent().setVisible(false);
-
-                // Show next step
-                currentIndex++;
-                steps.get(currentIndex).getContent().setVisible(true);
-                steps.get(currentIndex).onEnter();
-                currentStepIndex.set(currentIndex);
-
+            if (steps.get(currentIndex).step().validate()) {
+                showStep(currentIndex, currentIndex + 1);
                 return true;
             }
         }
@@ -80,26 +99,50 @@ public class WizardFramework {
     public boolean previousStep() {
         int currentIndex = currentStepIndex.get();
         if (currentIndex > 0) {
-            // Hide current step
-            steps.get(currentIndex).getContent().setVisible(false);
-
-            // Show previous step
-            currentIndex--;
-            steps.get(currentIndex).getContent().setVisible(true);
-            steps.get(currentIndex).onEnter();
-            currentStepIndex.set(currentIndex);
-
+            showStep(currentIndex, currentIndex - 1);
             return true;
         }
         return false;
     }
 
+    /**
+     * Hide one step and enter another, building it if needed
+     * @param fromIndex The step being left
+     * @param toIndex The step being entered
+     */
+    private void showStep(int fromIndex, int toIndex) {
+        steps.get(fromIndex).container.setVisible(false);
+
+        StepSlot slot = steps.get(toIndex);
+        slot.step().onEnter();
+        slot.container.setVisible(true);
+        currentStepIndex.set(toIndex);
+
+        prefetchAhead();
+    }
+
+    /**
+     * Let the steps after the current one start loading their data
+     */
+    private void prefetchAhead() {
+        for (int i = currentStepIndex.get() + 1; i < steps.size(); i++) {
+            StepSlot slot = steps.get(i);
+            if (slot.prefetch != null) {
+                try {
+                    slot.prefetch.run();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
     /**
      * Get the current step
      * @return The current step
      */
     public WizardStep getCurrentStep() {
-        return steps.get(currentStepIndex.get());
+        return steps.get(currentStepIndex.get()).step();
     }
 
     /**
@@ -147,17 +190,40 @@ public class WizardFramework {
      */
     public void reset() {
         // Hide current step
-        steps.get(currentStepIndex.get()).getContent().setVisible(false);
+        steps.get(currentStepIndex.get()).container.setVisible(false);
 
-        // Reset all steps
-        for (WizardStep step : steps) {
-            step.reset();
+        // Reset the steps that have been built; the others start out empty
+        for (StepSlot slot : steps) {
+            if (slot.step != null) {
+                slot.step.reset();
+            }
         }
 
         // Show first step
-        steps.get(0).getContent().setVisible(true);
-        steps.get(0).onEnter();
-        currentStepIndex.set(0);
+        showStep(currentStepIndex.get(), 0);
+    }
+
+    /**
+     * A step's place in the wizard, holding the step once it has been built
+     */
+    private static class StepSlot {
+        private final StackPane container = new StackPane();
+        private final Supplier<? extends WizardStep> factory;
+        private final Runnable prefetch;
+        private WizardStep step;
+
+        StepSlot(Supplier<? extends WizardStep> factory, Runnable prefetch) {
+            this.factory = factory;
+            this.prefetch = prefetch;
+        }
+
+        WizardStep step() {
+            if (step == null) {
+                step = factory.get();
+                container.getChildren().add(step.getContent());
+            }
+            return step;
+        }
     }
 
     /**
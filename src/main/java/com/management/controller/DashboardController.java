@@ -3,13 +3,23 @@ package com.management.controller;
 import com.management.controller.customer.CustomerFormController;
 import com.management.controller.service.ServiceRequestFormController;
 import com.management.controller.technician.TechnicianFormController;
+import com.management.dao.query.PaymentField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Customer;
+import com.management.model.DashboardSnapshot;
+import com.management.model.DashboardSnapshot.ChartSeries;
+import com.management.model.MonthlyRollup;
 import com.management.model.Payment;
+import com.management.model.PaymentStatus;
+import com.management.model.Quote;
 import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
 import com.management.model.Technician;
 import com.management.service.*;
 import com.management.util.AlertUtils;
+import com.management.util.ChartSync;
 import com.management.util.FXMLLoaderUtil;
+import com.management.util.ObservableListSync;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -26,16 +36,37 @@ import javafx.stage.Stage;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
  * Controller for the dashboard view
  */
 public class DashboardController {
+    // Dashboard queries run one at a time off the FX thread
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final List<ServiceRequestStatus> PIE_CHART_STATUSES = List.of(
+            ServiceRequestStatus.PENDING, ServiceRequestStatus.IN_PROGRESS,
+            ServiceRequestStatus.COMPLETED, ServiceRequestStatus.CANCELLED);
+
+    private static final List<ServiceRequestStatus> MONTHLY_TREND_STATUSES = List.of(
+            ServiceRequestStatus.PENDING, ServiceRequestStatus.IN_PROGRESS, ServiceRequestStatus.COMPLETED);
+
+    private static final Map<String, String> MONTHLY_TREND_COLORS = Map.of(
+            ServiceRequestStatus.PENDING.getLabel(), "#f39c12",
+            ServiceRequestStatus.IN_PROGRESS.getLabel(), "#3498db",
+            ServiceRequestStatus.COMPLETED.getLabel(), "#2ecc71");
+
 
     // Dashboard elements
     @FXML private Label welcomeLabel;
@@ -80,6 +111,11 @@ public class DashboardController {
     private UserService userService;
     private boolean servicesInitialized = false;
 
+    // What the dashboard shows now, and the copy kept for the next start
+    private DashboardSnapshotStore snapshotStore;
+    private DashboardSnapshot shownSnapshot;
+    private int refreshGeneration;
+
     private DashboardNavigationCallback navigationCallback;
 
     public interface DashboardNavigationCallback {
@@ -95,6 +131,14 @@ public class DashboardController {
         this.navigationCallback = callback;
     }
 
+    /**
+     * Set where the dashboard is kept between sessions; call before the services
+     * @param snapshotStore The store for the database the services use
+     */
+    public void setSnapshotStore(DashboardSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
     public void setCustomerService(CustomerService customerService) {
         this.customerService = customerService;
         checkServiceInitialization();
@@ -126,13 +170,23 @@ public class DashboardController {
     }
 
     private void checkServiceInitialization() {
+        // Later setters find the dashboard already loaded and subscribed
+        if (servicesInitialized) {
+            return;
+        }
+
         if (customerService != null &&
                 technicianService != null &&
                 serviceRequestService != null &&
                 quoteService != null &&
                 paymentService != null) {
             servicesInitialized = true;
+            showStoredSnapshot();
             loadDashboardData();
+
+            // Refresh when another instance changes anything the dashboard summarises
+            ObservableListSync.reloadOnExternalChange(totalCustomersLabel, this::refreshData,
+                    Customer.class, Technician.class, ServiceRequest.class, Quote.class, Payment.class);
         }
     }
 
@@ -235,49 +289,85 @@ public class DashboardController {
         }
     }
 
+    /**
+     * Recompute the dashboard in the background, then update only what
+     * changed and keep the result for the next start
+     */
     public void loadDashboardData() {
         if (!servicesInitialized) {
             System.out.println("Services not initialized yet, skipping data load");
             return;
         }
 
-        try {
-            // Use Platform.runLater to ensure UI updates happen on JavaFX thread
-            Platform.runLater(() -> {
-                System.out.println("Loading dashboard data...");
+        int generation = ++refreshGeneration;
+        REFRESH_EXECUTOR.submit(() -> {
+            try {
+                DashboardSnapshot snapshot = computeSnapshot();
+                Platform.runLater(() -> {
+                    // Ignore results overtaken by a newer refresh
+                    if (generation == refreshGeneration) {
+                        showSnapshot(snapshot);
+                    }
+                });
+                if (snapshotStore != null) {
+                    snapshotStore.save(snapshot);
+                }
+            } catch (Exception e) {
+                System.err.println("Error loading dashboard data: " + e.getMessage());
+                e.printStackTrace();
+                Platform.runLater(() ->
+                        AlertUtils.showErrorAlert("Error", "Failed to load dashboard data: " + e.getMessage()));
+            }
+        });
+    }
 
-                // Load counts and metrics
-                loadMetricsData();
+    /**
+     * Show the dashboard saved by the last session while fresh data loads
+     */
+    private void showStoredSnapshot() {
+        if (shownSnapshot == null && snapshotStore != null) {
+            snapshotStore.load().ifPresent(this::showSnapshot);
+        }
+    }
 
-                // Load charts
-                loadStatusPieChart();
-                loadEarningsChart();
-                loadTechnicianPerformanceChart();
-                loadMonthlyTrendsChart();
+    /**
+     * Query everything the dashboard shows. Runs off the FX thread.
+     */
+    private DashboardSnapshot computeSnapshot() {
+        System.out.println("Loading dashboard data...");
 
-                System.out.println("Dashboard data loaded successfully");
-            });
-        } catch (Exception e) {
-            System.err.println("Error loading dashboard data: " + e.getMessage());
-            e.printStackTrace();
-            AlertUtils.showErrorAlert("Error", "Failed to load dashboard data: " + e.getMessage());
-        }
+        DashboardSnapshot snapshot = new DashboardSnapshot();
+        snapshot.setCreatedAt(System.currentTimeMillis());
+
+        // Completed jobs feed both the hours card and the technician chart
+        List<ServiceRequest> completedRequests = serviceRequestService.getServiceRequestsByStatus(
+                ServiceRequestStatus.COMPLETED.getLabel());
+
+        computeMetrics(snapshot, completedRequests);
+        snapshot.setStatusCounts(computeStatusCounts());
+        snapshot.setEarnings(computeEarnings());
+        snapshot.setTechnicianPerformance(computeTechnicianPerformance(completedRequests));
+        snapshot.setMonthlyTrends(computeMonthlyTrends());
+
+        System.out.println("Dashboard data loaded successfully");
+        return snapshot;
     }
 
-    private void loadMetricsData() {
+    private void computeMetrics(DashboardSnapshot snapshot, List<ServiceRequest> completedRequests) {
         try {
             // Main metrics
-            int customerCount = customerService.countCustomers();
-            int technicianCount = technicianService.countTechnicians();
-            int activeServiceCount = serviceRequestService.getServiceRequestsByStatus("In Progress").size();
-            int pendingServiceCount = serviceRequestService.getServiceRequestsByStatus("Pending").size();
-            int pendingPaymentCount = paymentService.getPaymentsByStatus("Pending").size();
+            snapshot.setCustomerCount(customerService.countCustomers());
+            snapshot.setTechnicianCount(technicianService.countTechnicians());
+            snapshot.setActiveServiceCount(serviceRequestService.countServiceRequests(
+                    ServiceRequestStatus.IN_PROGRESS.getLabel()));
+            snapshot.setPendingPaymentCount(paymentService.countPayments(
+                    new QuerySpec<PaymentField>().equalTo(PaymentField.STATUS, PaymentStatus.PENDING.getLabel())));
 
             // Calculate total pending tasks (pending service requests + pending tasks for technicians)
-            int pendingTasks = pendingServiceCount;
+            snapshot.setPendingTasks(serviceRequestService.countServiceRequests(
+                    ServiceRequestStatus.PENDING.getLabel()));
 
             // Calculate total hours logged (estimate based on completed service requests)
-            List<ServiceRequest> completedRequests = serviceRequestService.getServiceRequestsByStatus("Completed");
             double totalHours = 0.0;
             for (ServiceRequest request : completedRequests) {
                 if (request.getStartTime() != null && request.getEndTime() != null) {
@@ -291,156 +381,61 @@ public class DashboardController {
             // Format the hours
             int hours = (int) totalHours;
             int minutes = (int) ((totalHours - hours) * 60);
-            String hoursFormatted = hours + " hrs " + minutes + " mins";
-
-            // Update dashboard labels
-            if (totalCustomersLabel != null) {
-                totalCustomersLabel.setText(String.valueOf(customerCount));
-            }
-            if (totalTechniciansLabel != null) {
-                totalTechniciansLabel.setText(String.valueOf(technicianCount));
-            }
-            if (activeServiceRequestsLabel != null) {
-                activeServiceRequestsLabel.setText(String.valueOf(activeServiceCount));
-            }
-            if (pendingPaymentsLabel != null) {
-                pendingPaymentsLabel.setText(String.valueOf(pendingPaymentCount));
-            }
-            if (pendingTasksLabel != null) {
-                pendingTasksLabel.setText(String.valueOf(pendingTasks));
-            }
-            if (hoursLoggedLabel != null) {
-                hoursLoggedLabel.setText(hoursFormatted);
-            }
+            snapshot.setHoursLogged(hours + " hrs " + minutes + " mins");
         } catch (Exception e) {
             System.err.println("Error loading metrics data: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private void loadStatusPieChart() {
-        if (statusChart == null) return;
+    private ChartSeries computeStatusCounts() {
+        ChartSeries statusCounts = new ChartSeries("Status");
 
         try {
-            // Get service request counts by status
-            List<ServiceRequest> pendingRequests = serviceRequestService.getServiceRequestsByStatus("Pending");
-            List<ServiceRequest> inProgressRequests = serviceRequestService.getServiceRequestsByStatus("In Progress");
-            List<ServiceRequest> completedRequests = serviceRequestService.getServiceRequestsByStatus("Completed");
-            List<ServiceRequest> cancelledRequests = serviceRequestService.getServiceRequestsByStatus("Cancelled");
-
-            // Create data for chart
-            ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
-
-            if (pendingRequests.size() > 0) {
-                pieChartData.add(new PieChart.Data("Pending", pendingRequests.size()));
-            }
-
-            if (inProgressRequests.size() > 0) {
-                pieChartData.add(new PieChart.Data("In Progress", inProgressRequests.size()));
-            }
-
-            if (completedRequests.size() > 0) {
-                pieChartData.add(new PieChart.Data("Completed", completedRequests.size()));
-            }
-
-            if (cancelledRequests.size() > 0) {
-                pieChartData.add(new PieChart.Data("Cancelled", cancelledRequests.size()));
-            }
-
-            statusChart.setData(pieChartData);
-
-            // Add percentage labels
-            int total = pendingRequests.size() + inProgressRequests.size() +
-                    completedRequests.size() + cancelledRequests.size();
-
-            for (final PieChart.Data data : statusChart.getData()) {
-                double percentage = data.getPieValue() / total * 100;
-                String text = String.format("%.1f%%", percentage);
-
-                javafx.scene.Node node = data.getNode();
-                if (node != null) {
-                    node.setOnMouseEntered(e -> {
-                        node.setStyle("-fx-border-color: white; -fx-border-width: 2; -fx-border-style: solid;");
-                    });
-
-                    node.setOnMouseExited(e -> {
-                        node.setStyle("");
-                    });
+            // Only statuses with jobs get a slice
+            for (ServiceRequestStatus status : PIE_CHART_STATUSES) {
+                int count = serviceRequestService.countServiceRequests(status.getLabel());
+                if (count > 0) {
+                    statusCounts.add(status.getLabel(), count);
                 }
             }
         } catch (Exception e) {
             System.err.println("Error loading status pie chart: " + e.getMessage());
             e.printStackTrace();
         }
+
+        return statusCounts;
     }
 
-    private void loadEarningsChart() {
-        if (earningsChart == null) return;
+    private List<ChartSeries> computeEarnings() {
+        List<ChartSeries> earnings = new ArrayList<>();
 
         try {
-            // Clear existing data
-            earningsChart.getData().clear();
-
             // Get completed payments for the last 30 days
             LocalDate endDate = LocalDate.now();
             LocalDate startDate = endDate.minusDays(30);
-            List<Payment> recentPayments = paymentService.getPaymentsByDateRange(startDate, endDate);
-
-            // Group payments by date
-            Map<LocalDate, Double> dailyPayments = new TreeMap<>();
-
-            // Initialize all dates in the range
-            LocalDate current = startDate;
-            while (!current.isAfter(endDate)) {
-                dailyPayments.put(current, 0.0);
-                current = current.plusDays(1);
-            }
-
-            // Sum payments by date
-            for (Payment payment : recentPayments) {
-                if ("Completed".equals(payment.getStatus()) && payment.getPaymentDate() != null) {
-                    LocalDate date = payment.getPaymentDate();
-                    dailyPayments.put(date, dailyPayments.getOrDefault(date, 0.0) + payment.getAmount());
-                }
-            }
-
-            // Create chart series
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
-            series.setName("Daily Revenue");
+            Map<LocalDate, Double> completedTotals = paymentService.getDailyPaymentTotals(startDate, endDate,
+                    PaymentStatus.COMPLETED.getLabel());
 
+            // One point per day in the range, including days without payments
+            ChartSeries series = new ChartSeries("Daily Revenue");
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd");
-            dailyPayments.forEach((date, amount) -> {
-                series.getData().add(new XYChart.Data<>(date.format(formatter), amount));
-            });
-
-            // Add series to chart
-            earningsChart.getData().add(series);
-
-            // Apply CSS to make the area look nicer
-            series.getNode().setStyle("-fx-stroke: #2980b9; -fx-stroke-width: 2px;");
-
-            // Set fill for area
-            for (XYChart.Data<String, Number> data : series.getData()) {
-                if (data.getNode() != null) {
-                    data.getNode().setStyle("-fx-background-color: #3498db, white;");
-                }
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                series.add(date.format(formatter), completedTotals.getOrDefault(date, 0.0));
             }
+            earnings.add(series);
         } catch (Exception e) {
             System.err.println("Error loading earnings chart: " + e.getMessage());
             e.printStackTrace();
         }
+
+        return earnings;
     }
 
-    private void loadTechnicianPerformanceChart() {
-        if (technicianChart == null) return;
+    private List<ChartSeries> computeTechnicianPerformance(List<ServiceRequest> completedRequests) {
+        List<ChartSeries> performance = new ArrayList<>();
 
         try {
-            // Clear existing data
-            technicianChart.getData().clear();
-
-            // Get all completed service requests
-            List<ServiceRequest> completedRequests = serviceRequestService.getServiceRequestsByStatus("Completed");
-
             // Count service requests by technician
             Map<Integer, Integer> technicianCounts = new HashMap<>();
             Map<Integer, String> technicianNames = new HashMap<>();
@@ -454,119 +449,197 @@ public class DashboardController {
                 }
             }
 
-            // Create chart series
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
-            series.setName("Completed Tasks");
+            ChartSeries series = new ChartSeries("Completed Tasks");
 
             // Sort technicians by number of completed tasks (descending) and limit to top 5
             technicianCounts.entrySet().stream()
                     .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
                     .limit(5)
-                    .forEach(entry -> {
-                        String techName = technicianNames.get(entry.getKey());
-                        series.getData().add(new XYChart.Data<>(techName, entry.getValue()));
-                    });
-
-            // Add series to chart
-            technicianChart.getData().add(series);
-
-            // Set bar colors
-            for (XYChart.Data<String, Number> data : series.getData()) {
-                if (data.getNode() != null) {
-                    data.getNode().setStyle("-fx-bar-fill: #2ecc71;");
-                }
-            }
+                    .forEach(entry -> series.add(technicianNames.get(entry.getKey()), entry.getValue()));
+
+            performance.add(series);
         } catch (Exception e) {
             System.err.println("Error loading technician performance chart: " + e.getMessage());
             e.printStackTrace();
         }
+
+        return performance;
     }
 
-    private void loadMonthlyTrendsChart() {
-        if (monthlyTrendsChart == null) return;
+    private List<ChartSeries> computeMonthlyTrends() {
+        List<ChartSeries> trends = new ArrayList<>();
 
         try {
-            // Clear existing data
-            monthlyTrendsChart.getData().clear();
-
-            // Get current year and all service requests
-            int currentYear = LocalDate.now().getYear();
-            List<ServiceRequest> allRequests = serviceRequestService.getAllServiceRequests();
+            // Read the last 6 months of job counts from the rollup table
+            YearMonth currentMonth = YearMonth.now();
+            YearMonth firstMonth = currentMonth.minusMonths(5);
+            List<MonthlyRollup> rollups = serviceRequestService.getMonthlyRollups(firstMonth, currentMonth);
 
             // Group by month and status
-            Map<Month, Map<String, Integer>> monthlyData = new TreeMap<>();
+            Map<YearMonth, Map<ServiceRequestStatus, Integer>> monthlyData = new TreeMap<>();
 
             // Initialize all months
-            for (Month month : Month.values()) {
-                Map<String, Integer> statusCounts = new HashMap<>();
-                statusCounts.put("Pending", 0);
-                statusCounts.put("In Progress", 0);
-                statusCounts.put("Completed", 0);
-                statusCounts.put("Cancelled", 0);
+            for (YearMonth month = firstMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+                Map<ServiceRequestStatus, Integer> statusCounts = new EnumMap<>(ServiceRequestStatus.class);
+                for (ServiceRequestStatus status : MONTHLY_TREND_STATUSES) {
+                    statusCounts.put(status, 0);
+                }
                 monthlyData.put(month, statusCounts);
             }
 
             // Count requests by month and status
-            for (ServiceRequest request : allRequests) {
-                if (request.getServiceDate() != null && request.getServiceDate().getYear() == currentYear) {
-                    Month month = request.getServiceDate().getMonth();
-                    String status = request.getStatus() != null ? request.getStatus() : "Pending";
-
-                    Map<String, Integer> statusCounts = monthlyData.get(month);
-                    statusCounts.put(status, statusCounts.getOrDefault(status, 0) + 1);
+            for (MonthlyRollup rollup : rollups) {
+                Map<ServiceRequestStatus, Integer> statusCounts = monthlyData.get(rollup.getMonth());
+                ServiceRequestStatus status = ServiceRequestStatus.fromLabel(rollup.getStatus());
+                if (statusCounts != null && statusCounts.containsKey(status)) {
+                    statusCounts.merge(status, rollup.getJobCount(), Integer::sum);
                 }
             }
 
             // Create series for each status
-            XYChart.Series<String, Number> pendingSeries = new XYChart.Series<>();
-            pendingSeries.setName("Pending");
+            for (ServiceRequestStatus status : MONTHLY_TREND_STATUSES) {
+                ChartSeries series = new ChartSeries(status.getLabel());
+
+                // Add last 6 months of data
+                for (Map.Entry<YearMonth, Map<ServiceRequestStatus, Integer>> entry : monthlyData.entrySet()) {
+                    String monthName = entry.getKey().getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault());
+                    series.add(monthName, entry.getValue().get(status));
+                }
 
-            XYChart.Series<String, Number> inProgressSeries = new XYChart.Series<>();
-            inProgressSeries.setName("In Progress");
+                trends.add(series);
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading monthly trends chart: " + e.getMessage());
+            e.printStackTrace();
+        }
 
-            XYChart.Series<String, Number> completedSeries = new XYChart.Series<>();
-            completedSeries.setName("Completed");
+        return trends;
+    }
 
-            // Add last 6 months of data
-            Month currentMonth = LocalDate.now().getMonth();
-            for (int i = 5; i >= 0; i--) {
-                Month month = currentMonth.minus(i);
-                Map<String, Integer> statusCounts = monthlyData.get(month);
+    /**
+     * Show a snapshot, leaving the parts equal to the one on screen untouched
+     */
+    private void showSnapshot(DashboardSnapshot snapshot) {
+        DashboardSnapshot previous = shownSnapshot;
+        shownSnapshot = snapshot;
 
-                String monthName = month.getDisplayName(TextStyle.SHORT, Locale.getDefault());
+        if (!snapshot.sameMetrics(previous)) {
+            showMetrics(snapshot);
+        }
+        if (previous == null || !Objects.equals(snapshot.getStatusCounts(), previous.getStatusCounts())) {
+            showStatusPieChart(snapshot.getStatusCounts());
+        }
+        if (previous == null || !snapshot.getEarnings().equals(previous.getEarnings())) {
+            showEarningsChart(snapshot.getEarnings());
+        }
+        if (previous == null || !snapshot.getTechnicianPerformance().equals(previous.getTechnicianPerformance())) {
+            showTechnicianPerformanceChart(snapshot.getTechnicianPerformance());
+        }
+        if (previous == null || !snapshot.getMonthlyTrends().equals(previous.getMonthlyTrends())) {
+            showMonthlyTrendsChart(snapshot.getMonthlyTrends());
+        }
+    }
 
-                pendingSeries.getData().add(new XYChart.Data<>(monthName, statusCounts.get("Pending")));
-                inProgressSeries.getData().add(new XYChart.Data<>(monthName, statusCounts.get("In Progress")));
-                completedSeries.getData().add(new XYChart.Data<>(monthName, statusCounts.get("Completed")));
-            }
+    private void showMetrics(DashboardSnapshot snapshot) {
+        // Update dashboard labels
+        if (totalCustomersLabel != null) {
+            totalCustomersLabel.setText(String.valueOf(snapshot.getCustomerCount()));
+        }
+        if (totalTechniciansLabel != null) {
+            totalTechniciansLabel.setText(String.valueOf(snapshot.getTechnicianCount()));
+        }
+        if (activeServiceRequestsLabel != null) {
+            activeServiceRequestsLabel.setText(String.valueOf(snapshot.getActiveServiceCount()));
+        }
+        if (pendingPaymentsLabel != null) {
+            pendingPaymentsLabel.setText(String.valueOf(snapshot.getPendingPaymentCount()));
+        }
+        if (pendingTasksLabel != null) {
+            pendingTasksLabel.setText(String.valueOf(snapshot.getPendingTasks()));
+        }
+        if (hoursLoggedLabel != null && snapshot.getHoursLogged() != null) {
+            hoursLoggedLabel.setText(snapshot.getHoursLogged());
+        }
+    }
 
-            // Add series to chart
-            monthlyTrendsChart.getData().addAll(pendingSeries, inProgressSeries, completedSeries);
+    private void showStatusPieChart(ChartSeries statusCounts) {
+        if (statusChart == null || statusCounts == null) return;
 
-            // Apply CSS to each series
-            pendingSeries.getNode().setStyle("-fx-stroke: #f39c12;");
-            for (XYChart.Data<String, Number> data : pendingSeries.getData()) {
-                if (data.getNode() != null) {
-                    data.getNode().setStyle("-fx-bar-fill: #f39c12;");
+        // Same slices: animate the new values in
+        ObservableList<PieChart.Data> shown = statusChart.getData();
+        if (shown != null && shown.size() == statusCounts.size()) {
+            boolean sameSlices = true;
+            for (int i = 0; i < shown.size(); i++) {
+                sameSlices &= shown.get(i).getName().equals(statusCounts.getCategories().get(i));
+            }
+            if (sameSlices) {
+                statusChart.setAnimated(true);
+                for (int i = 0; i < shown.size(); i++) {
+                    shown.get(i).setPieValue(statusCounts.getValues().get(i));
                 }
+                return;
             }
+        }
 
-            inProgressSeries.getNode().setStyle("-fx-stroke: #3498db;");
-            for (XYChart.Data<String, Number> data : inProgressSeries.getData()) {
-                if (data.getNode() != null) {
-                    data.getNode().setStyle("-fx-bar-fill: #3498db;");
-                }
+        statusChart.setAnimated(false);
+
+        // Create data for chart
+        ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
+        for (int i = 0; i < statusCounts.size(); i++) {
+            pieChartData.add(new PieChart.Data(statusCounts.getCategories().get(i), statusCounts.getValues().get(i)));
+        }
+
+        statusChart.setData(pieChartData);
+
+        for (final PieChart.Data data : statusChart.getData()) {
+            javafx.scene.Node node = data.getNode();
+            if (node != null) {
+                node.setOnMouseEntered(e -> {
+                    node.setStyle("-fx-border-color: white; -fx-border-width: 2; -fx-border-style: solid;");
+                });
+
+                node.setOnMouseExited(e -> {
+                    node.setStyle("");
+                });
             }
+        }
+    }
 
-            completedSeries.getNode().setStyle("-fx-stroke: #2ecc71;");
-            for (XYChart.Data<String, Number> data : completedSeries.getData()) {
-                if (data.getNode() != null) {
-                    data.getNode().setStyle("-fx-bar-fill: #2ecc71;");
-                }
+    private void showEarningsChart(List<ChartSeries> earnings) {
+        if (earningsChart == null) return;
+
+        ChartSync.show(earningsChart, earnings, series -> {
+            // Apply CSS to make the area look nicer
+            series.getNode().setStyle("-fx-stroke: #2980b9; -fx-stroke-width: 2px;");
+
+            // Set fill for area
+            styleDataNodes(series, "-fx-background-color: #3498db, white;");
+        });
+    }
+
+    private void showTechnicianPerformanceChart(List<ChartSeries> performance) {
+        if (technicianChart == null) return;
+
+        // Set bar colors
+        ChartSync.show(technicianChart, performance, series -> styleDataNodes(series, "-fx-bar-fill: #2ecc71;"));
+    }
+
+    private void showMonthlyTrendsChart(List<ChartSeries> trends) {
+        if (monthlyTrendsChart == null) return;
+
+        // Apply CSS to each series
+        ChartSync.show(monthlyTrendsChart, trends, series -> {
+            String color = MONTHLY_TREND_COLORS.getOrDefault(series.getName(), "#95a5a6");
+            series.getNode().setStyle("-fx-stroke: " + color + ";");
+            styleDataNodes(series, "-fx-bar-fill: " + color + ";");
+        });
+    }
+
+    private static void styleDataNodes(XYChart.Series<String, Number> series, String style) {
+        for (XYChart.Data<String, Number> data : series.getData()) {
+            if (data.getNode() != null) {
+                data.getNode().setStyle(style);
             }
-        } catch (Exception e) {
-            System.err.println("Error loading monthly trends chart: " + e.getMessage());
-            e.printStackTrace();
         }
     }
 
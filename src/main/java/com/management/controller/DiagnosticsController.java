@@ -0,0 +1,189 @@
+package com.management.controller;
+
+import com.management.service.QueryMetrics;
+import com.management.service.StatementCatalog;
+import com.management.util.AlertUtils;
+import com.management.util.FxStallMonitor;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
+import javafx.util.Callback;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Controller for the diagnostics view: query statistics per DAO method and
+ * screen, FX thread stalls, and the recent slow queries with their plans
+ */
+public class DiagnosticsController {
+    @FXML private Label summaryLabel;
+    @FXML private Button refreshButton;
+    @FXML private Button resetButton;
+    @FXML private Button exportUiReportButton;
+
+    @FXML private TableView<QueryMetrics.MethodStats> methodTable;
+    @FXML private TableColumn<QueryMetrics.MethodStats, String> methodColumn;
+    @FXML private TableColumn<QueryMetrics.MethodStats, Long> callsColumn;
+    @FXML private TableColumn<QueryMetrics.MethodStats, Long> errorsColumn;
+    @FXML private TableColumn<QueryMetrics.MethodStats, Long> rowsColumn;
+    @FXML private TableColumn<QueryMetrics.MethodStats, String> totalColumn;
+    @FXML private TableColumn<QueryMetrics.MethodStats, String> meanColumn;
+    @FXML private TableColumn<QueryMetrics.MethodStats, String> p95Column;
+    @FXML private TableColumn<QueryMetrics.MethodStats, String> maxColumn;
+    @FXML private TableColumn<QueryMetrics.MethodStats, String> connectionColumn;
+
+    @FXML private TableView<Map.Entry<String, Long>> screenTable;
+    @FXML private TableColumn<Map.Entry<String, Long>, String> screenColumn;
+    @FXML private TableColumn<Map.Entry<String, Long>, String> screenQueriesColumn;
+
+    @FXML private Label latencyLabel;
+    @FXML private TableView<FxStallMonitor.MethodStalls> stallTable;
+    @FXML private TableColumn<FxStallMonitor.MethodStalls, String> stallMethodColumn;
+    @FXML private TableColumn<FxStallMonitor.MethodStalls, Long> stallCountColumn;
+    @FXML private TableColumn<FxStallMonitor.MethodStalls, String> stallTotalColumn;
+    @FXML private TableColumn<FxStallMonitor.MethodStalls, String> stallMaxColumn;
+
+    @FXML private TableView<StatementCatalog.StatementStats> statementTable;
+    @FXML private TableColumn<StatementCatalog.StatementStats, String> statementNameColumn;
+    @FXML private TableColumn<StatementCatalog.StatementStats, Long> statementPreparesColumn;
+    @FXML private TableColumn<StatementCatalog.StatementStats, Long> statementHitsColumn;
+    @FXML private TableColumn<StatementCatalog.StatementStats, String> statementHitRateColumn;
+    @FXML private TableColumn<StatementCatalog.StatementStats, String> statementSqlColumn;
+
+    @FXML private TableView<QueryMetrics.SlowQuery> slowQueryTable;
+    @FXML private TableColumn<QueryMetrics.SlowQuery, String> slowTimeColumn;
+    @FXML private TableColumn<QueryMetrics.SlowQuery, String> slowMethodColumn;
+    @FXML private TableColumn<QueryMetrics.SlowQuery, String> slowMillisColumn;
+    @FXML private TableColumn<QueryMetrics.SlowQuery, Long> slowRowsColumn;
+    @FXML private TableColumn<QueryMetrics.SlowQuery, String> slowSqlColumn;
+    @FXML private TextArea planTextArea;
+
+    private final QueryMetrics metrics = QueryMetrics.getInstance();
+    private final FxStallMonitor stallMonitor = FxStallMonitor.getInstance();
+
+    @FXML
+    public void initialize() {
+        methodColumn.setCellValueFactory(new PropertyValueFactory<>("method"));
+        callsColumn.setCellValueFactory(new PropertyValueFactory<>("calls"));
+        errorsColumn.setCellValueFactory(new PropertyValueFactory<>("errors"));
+        rowsColumn.setCellValueFactory(new PropertyValueFactory<>("rows"));
+        totalColumn.setCellValueFactory(millis(QueryMetrics.MethodStats::getTotalMillis));
+        meanColumn.setCellValueFactory(millis(QueryMetrics.MethodStats::getMeanMillis));
+        p95Column.setCellValueFactory(millis(QueryMetrics.MethodStats::getP95Millis));
+        maxColumn.setCellValueFactory(millis(QueryMetrics.MethodStats::getMaxMillis));
+        connectionColumn.setCellValueFactory(millis(QueryMetrics.MethodStats::getMeanConnectionMillis));
+
+        screenColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getKey()));
+        screenQueriesColumn.setCellValueFactory(cellData ->
+                new SimpleStringProperty(String.valueOf(cellData.getValue().getValue())));
+
+        stallMethodColumn.setCellValueFactory(new PropertyValueFactory<>("method"));
+        stallCountColumn.setCellValueFactory(new PropertyValueFactory<>("count"));
+        stallTotalColumn.setCellValueFactory(millis(FxStallMonitor.MethodStalls::getTotalMillis));
+        stallMaxColumn.setCellValueFactory(millis(FxStallMonitor.MethodStalls::getMaxMillis));
+
+        statementNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        statementPreparesColumn.setCellValueFactory(new PropertyValueFactory<>("prepares"));
+        statementHitsColumn.setCellValueFactory(new PropertyValueFactory<>("hits"));
+        statementHitRateColumn.setCellValueFactory(cellData ->
+                new SimpleStringProperty(String.format("%.1f%%", cellData.getValue().getHitRate() * 100)));
+        statementSqlColumn.setCellValueFactory(new PropertyValueFactory<>("sql"));
+
+        slowTimeColumn.setCellValueFactory(new PropertyValueFactory<>("time"));
+        slowMethodColumn.setCellValueFactory(new PropertyValueFactory<>("method"));
+        slowMillisColumn.setCellValueFactory(millis(QueryMetrics.SlowQuery::getMillis));
+        slowRowsColumn.setCellValueFactory(new PropertyValueFactory<>("rows"));
+        slowSqlColumn.setCellValueFactory(new PropertyValueFactory<>("sql"));
+
+        slowQueryTable.getSelectionModel().selectedItemProperty().addListener((obs, oldQuery, query) -> {
+            if (query == null) {
+                planTextArea.clear();
+            } else {
+                planTextArea.setText(query.getSql() + "\n\nScreen: "
+                        + (query.getScreen() != null ? query.getScreen() : "-")
+                        + "\n\nQuery plan:\n" + query.getPlan());
+            }
+        });
+
+        refreshButton.setOnAction(e -> refresh());
+        resetButton.setOnAction(e -> {
+            metrics.reset();
+            stallMonitor.reset();
+            refresh();
+        });
+        exportUiReportButton.setOnAction(e -> handleExportUiReport());
+
+        refresh();
+    }
+
+    /**
+     * Reload the statistics
+     */
+    private void refresh() {
+        if (stallMonitor.isEnabled()) {
+            double[] latency = stallMonitor.getLatencyPercentilesMillis();
+            latencyLabel.setText(String.format(
+                    "FX thread latency: p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms (%d of %d probes over 33 ms)",
+                    latency[0], latency[1], latency[2], latency[3],
+                    stallMonitor.getSlowProbes(), stallMonitor.getTotalProbes()));
+            stallTable.setItems(FXCollections.observableArrayList(stallMonitor.getStallsByMethod()));
+        } else {
+            latencyLabel.setText("The FX stall monitor is disabled (-Dapp.fxMonitor=false)");
+        }
+
+        if (!metrics.isEnabled()) {
+            summaryLabel.setText("Query metrics are disabled (-Dapp.queryMetrics=false)");
+            return;
+        }
+
+        methodTable.setItems(FXCollections.observableArrayList(metrics.getMethodStats()));
+        screenTable.setItems(FXCollections.observableArrayList(metrics.getQueriesByScreen().entrySet()));
+        statementTable.setItems(FXCollections.observableArrayList(metrics.getStatements()));
+        slowQueryTable.setItems(FXCollections.observableArrayList(metrics.getSlowQueries()));
+
+        summaryLabel.setText(String.format("%d queries, %d errors, slow above %d ms, statement cache hit rate %.1f%%",
+                metrics.getTotalQueries(), metrics.getTotalErrors(), metrics.getSlowQueryThresholdMillis(),
+                metrics.getStatementCacheHitRate() * 100));
+    }
+
+    /**
+     * Save the FX stall report as a text file
+     */
+    private void handleExportUiReport() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export UI Report");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Text Files", "*.txt"));
+        fileChooser.setInitialFileName("ui-responsiveness.txt");
+
+        File file = fileChooser.showSaveDialog(stallTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        try (Writer writer = Files.newBufferedWriter(file.toPath())) {
+            stallMonitor.writeReport(writer);
+            AlertUtils.showInformationAlert("Export Successful", "UI report saved to " + file.getName());
+        } catch (IOException e) {
+            AlertUtils.showErrorAlert("Export Error", "Failed to export the UI report: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static <T> Callback<TableColumn.CellDataFeatures<T, String>, ObservableValue<String>> millis(
+            ToDoubleFunction<T> value) {
+        return cellData -> new SimpleStringProperty(String.format("%.2f", value.applyAsDouble(cellData.getValue())));
+    }
+}
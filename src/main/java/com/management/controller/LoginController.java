@@ -5,6 +5,8 @@ import com.management.model.User;
 import com.management.service.DatabaseService;
 import com.management.service.UserService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
+import com.management.util.BootSequence;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -18,6 +20,7 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.prefs.Preferences;
 
 public class LoginController {
@@ -42,6 +45,7 @@ public class LoginController {
     @FXML
     private Button loginButton;
 
+    private DatabaseService databaseService;
     private UserService userService;
     private Preferences prefs;
     private static final String PREF_USERNAME = "username";
@@ -53,7 +57,7 @@ public class LoginController {
     @FXML
     public void initialize() {
         // Set up the user service
-        DatabaseService databaseService = new DatabaseService();
+        databaseService = BootSequence.getInstance().getDatabaseService();
         userService = new UserService(new UserDAOImpl(databaseService));
 
         // Initialize preferences
@@ -147,45 +151,42 @@ public class LoginController {
         statusMessage.setText("Authenticating...");
         statusMessage.setStyle("-fx-text-fill: #3498db;");
 
-        try {
-            boolean authenticated = userService.authenticate(username, password);
+        // The schema may still be being prepared in the background on first start
+        CompletableFuture<Void> databaseReady = BootSequence.getInstance().databaseReady();
+        if (!databaseReady.isDone()) {
+            statusMessage.setText("Preparing database...");
+            databaseReady.whenComplete((result, error) -> Platform.runLater(() -> signIn(username, password)));
+            return;
+        }
 
-            if (authenticated) {
-                // Get user object
-                Optional<User> userOpt = userService.findByUsername(username);
-                if (userOpt.isEmpty()) {
-                    throw new IllegalStateException("User not found after authentication");
-                }
+        signIn(username, password);
+    }
 
-                User user = userOpt.get();
+    /**
+     * Authenticate the user and open the main dashboard
+     * @param username The entered username
+     * @param password The entered password
+     */
+    private void signIn(String username, String password) {
+        statusMessage.setText("Authenticating...");
 
-                // Show success message
-                statusMessage.setText("Login successful!");
-                statusMessage.setStyle("-fx-text-fill: #27ae60;");
+        BackgroundTasks.getInstance().submit(loginButton, BackgroundTasks.Resource.DATABASE, () -> {
+            if (!userService.authenticate(username, password)) {
+                return Optional.<User>empty();
+            }
 
-                // Load the main dashboard using an explicit path
+            // Get user object
+            Optional<User> userOpt = userService.findByUsername(username);
+            if (userOpt.isEmpty()) {
+                throw new IllegalStateException("User not found after authentication");
+            }
+            return userOpt;
+        }, userOpt -> {
+            if (userOpt.isPresent()) {
                 try {
-                    FXMLLoader loader = new FXMLLoader();
-                    loader.setLocation(getClass().getResource("/fxml/main_dashboard.fxml"));
-                    Parent root = loader.load();
-
-                    // Pass the user to the dashboard controller
-                    MainDashboardController dashboardController = loader.getController();
-                    dashboardController.initUser(user);
-
-                    // Create a new scene
-                    Stage stage = (Stage) loginButton.getScene().getWindow();
-                    Scene scene = new Scene(root);
-
-                    // Set the scene and show
-                    stage.setTitle("Client Management System - Dashboard");
-                    stage.setScene(scene);
-                    stage.setMaximized(true);
-                    stage.show();
-                } catch (IOException ex) {
-                    System.err.println("Failed to load dashboard: " + ex.getMessage());
-                    ex.printStackTrace();
-                    throw new RuntimeException("Failed to load dashboard", ex);
+                    showDashboard(userOpt.get());
+                } catch (Exception ex) {
+                    showLoginFailure(ex);
                 }
             } else {
                 // Show error message
@@ -193,15 +194,55 @@ public class LoginController {
                 statusMessage.setStyle("-fx-text-fill: #e74c3c;");
                 loginButton.setDisable(false);
             }
-        } catch (Exception ex) {
-            // Show error message
-            statusMessage.setText("Login failed: " + ex.getMessage());
-            statusMessage.setStyle("-fx-text-fill: #e74c3c;");
-            loginButton.setDisable(false);
+        }, this::showLoginFailure);
+    }
+
+    /**
+     * Replace the login screen with the main dashboard
+     * @param user The authenticated user
+     */
+    private void showDashboard(User user) {
+        // Show success message
+        statusMessage.setText("Login successful!");
+        statusMessage.setStyle("-fx-text-fill: #27ae60;");
+
+        // Load the main dashboard using an explicit path
+        try {
+            FXMLLoader loader = new FXMLLoader();
+            loader.setLocation(getClass().getResource("/fxml/main_dashboard.fxml"));
+            Parent root = loader.load();
+
+            // Pass the user to the dashboard controller
+            MainDashboardController dashboardController = loader.getController();
+            dashboardController.initUser(user);
+
+            // Create a new scene
+            Stage stage = (Stage) loginButton.getScene().getWindow();
+            Scene scene = new Scene(root);
+
+            // Stop the change watcher and release the dashboard's services when the window is closed
+            stage.setOnCloseRequest(event -> dashboardController.shutdown());
+
+            // Set the scene and show
+            stage.setTitle("Client Management System - Dashboard");
+            stage.setScene(scene);
+            stage.setMaximized(true);
+            stage.show();
+            BootSequence.getInstance().mark("dashboard visible");
+        } catch (IOException ex) {
+            System.err.println("Failed to load dashboard: " + ex.getMessage());
             ex.printStackTrace();
+            throw new RuntimeException("Failed to load dashboard", ex);
         }
     }
 
+    private void showLoginFailure(Throwable ex) {
+        // Show error message
+        statusMessage.setText("Login failed: " + ex.getMessage());
+        statusMessage.setStyle("-fx-text-fill: #e74c3c;");
+        loginButton.setDisable(false);
+    }
+
     /**
      * Handle exit application
      */
@@ -1,11 +1,11 @@
 package com.management.controller;
 
 import com.management.controller.dialogs.CreateMenuDialogController;
-import com.management.dao.implementations.*;
-import com.management.dao.interfaces.*;
+import com.management.dao.implementations.ChangeTrackingDAOImpl;
 import com.management.model.User;
 import com.management.service.*;
 import com.management.util.AlertUtils;
+import com.management.util.BootSequence;
 import com.management.util.FXMLLoaderUtil;
 import com.management.util.GenericPageLoader;
 import javafx.fxml.FXML;
@@ -14,11 +14,16 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller for the main dashboard
@@ -56,13 +61,9 @@ public class MainDashboardController implements DashboardController.DashboardNav
     @FXML
     private ScrollPane contentScrollPane;
 
-    // Services
-    private CustomerService customerService;
-    private TechnicianService technicianService;
-    private ServiceRequestService serviceRequestService;
-    private QuoteService quoteService;
-    private PaymentService paymentService;
-    private UserService userService;
+    // Services, created on first use
+    private ServiceRegistry services;
+    private ExternalChangeWatcher changeWatcher;
 
     // Page loader
     private GenericPageLoader pageLoader;
@@ -71,38 +72,34 @@ public class MainDashboardController implements DashboardController.DashboardNav
     private User currentUser;
     private String currentSection = "";
     private ScheduledExecutorService scheduler;
+    private boolean shutDown;
 
     /**
      * Initialize the controller
      */
     @FXML
     public void initialize() {
-        // Initialize services
-        DatabaseService databaseService = new DatabaseService();
-
-        CustomerDAO customerDAO = new CustomerDAOImpl(databaseService);
-        TechnicianDAO technicianDAO = new TechnicianDAOImpl(databaseService);
-        ServiceRequestDAO serviceRequestDAO = new ServiceRequestDAOImpl(databaseService);
-        QuoteDAO quoteDAO = new QuoteDAOImpl(databaseService);
-        PaymentDAO paymentDAO = new PaymentDAOImpl(databaseService);
-        UserDAO userDAO = new UserDAOImpl(databaseService);
-
-        customerService = new CustomerService(customerDAO, serviceRequestDAO);
-        technicianService = new TechnicianService(technicianDAO, serviceRequestDAO);
-        serviceRequestService = new ServiceRequestService(serviceRequestDAO, customerDAO, technicianDAO);
-        quoteService = new QuoteService(quoteDAO, serviceRequestDAO);
-        paymentService = new PaymentService(paymentDAO, serviceRequestDAO, quoteDAO);
-        userService = new UserService(userDAO);
+        // Services are created when a page first needs them; start with -Dapp.readModel=false to read
+        // listings from the database instead of the shared in-memory read model
+        // Share the connections the startup stages opened and warmed up
+        DatabaseService databaseService = BootSequence.getInstance().getDatabaseService();
+        services = new ServiceRegistry(databaseService,
+                Boolean.parseBoolean(System.getProperty("app.readModel", "true")));
+
+        // Poll for changes made by other instances sharing the database; -Dapp.changePollMillis=0 turns it off
+        long changePollMillis = Long.getLong("app.changePollMillis", 2000);
+        if (changePollMillis > 0) {
+            changeWatcher = new ExternalChangeWatcher(new ChangeTrackingDAOImpl(databaseService));
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "external-change-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::pollExternalChanges, 0, changePollMillis, TimeUnit.MILLISECONDS);
+        }
 
         // Initialize the page loader
-        pageLoader = new GenericPageLoader(
-                customerService,
-                technicianService,
-                serviceRequestService,
-                quoteService,
-                paymentService,
-                userService
-        );
+        pageLoader = new GenericPageLoader(services);
 
         // Set this controller as the navigation callback for dashboard
         pageLoader.setNavigationCallback(this);
@@ -138,6 +135,15 @@ public class MainDashboardController implements DashboardController.DashboardNav
             backButton.setOnAction(e -> navigateBack());
         }
 
+        // Ctrl+Shift+D opens the query diagnostics
+        mainBorderPane.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                newScene.getAccelerators().put(
+                        new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN),
+                        this::showDiagnostics);
+            }
+        });
+
         loadLogoIcon();
 
         // Default to dashboard view
@@ -313,6 +319,18 @@ public class MainDashboardController implements DashboardController.DashboardNav
         }
     }
 
+    /**
+     * Show the query diagnostics
+     */
+    private void showDiagnostics() {
+        if (currentSection.equals("diagnostics")) return;
+        currentSection = "diagnostics";
+
+        if (pageLoader.loadDiagnosticsPage(contentArea)) {
+            updateBreadcrumb("Home > Diagnostics");
+        }
+    }
+
     // Dashboard navigation callback implementations
     @Override
     public void navigateToCustomers() {
@@ -367,11 +385,11 @@ public class MainDashboardController implements DashboardController.DashboardNav
                     parentStage,
                     (CreateMenuDialogController controller) -> {
                         controller.setServices(
-                                customerService,
-                                technicianService,
-                                serviceRequestService,
-                                quoteService,
-                                paymentService
+                                services.getCustomerService(),
+                                services.getTechnicianService(),
+                                services.getServiceRequestService(),
+                                services.getQuoteService(),
+                                services.getPaymentService()
                         );
                     }
             );
@@ -408,7 +426,7 @@ public class MainDashboardController implements DashboardController.DashboardNav
                 "User Profile",
                 mainBorderPane.getScene().getWindow(),
                 (UserProfileController controller) -> {
-                    controller.setUserService(userService);
+                    controller.setUserService(services.getUserService());
                     controller.setCurrentUser(currentUser);
                     controller.initialize();
                 }
@@ -416,11 +434,32 @@ public class MainDashboardController implements DashboardController.DashboardNav
     }
 
     /**
-     * Stop the clock when the window is closed
+     * Check for changes made by other instances; the open views reload what changed
+     */
+    private void pollExternalChanges() {
+        try {
+            changeWatcher.poll();
+        } catch (Exception e) {
+            // Keep polling after a failure
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stop the change watcher and release the read model when the window is closed
      */
     public void shutdown() {
+        if (shutDown) {
+            return;
+        }
+        shutDown = true;
+
         if (scheduler != null) {
             scheduler.shutdown();
         }
+        if (changeWatcher != null) {
+            changeWatcher.close();
+        }
+        services.close();
     }
 }
\ No newline at end of file
@@ -1,31 +1,39 @@
 package com.management.controller;
 
 import com.management.model.*;
+import com.management.model.DashboardSnapshot.ChartSeries;
 import com.management.service.*;
+import com.management.util.BackgroundTasks;
+import com.management.util.ChartSync;
+import com.management.util.ReportAggregations;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.PieChart;
-import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
 
 import java.io.File;
 import java.io.FileWriter;
-import java.io.IOException;
 import java.io.PrintWriter;
 import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +48,18 @@ public class ReportsController {
     private QuoteService quoteService;
     private PaymentService paymentService;
 
+    // Report computations run here so the FX thread only applies finished results
+    private static final ForkJoinPool REPORT_POOL =
+            new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    // FXML Components - Tabs
+    @FXML private TabPane reportsTabPane;
+    @FXML private Tab summaryTab;
+    @FXML private Tab serviceRequestsTab;
+    @FXML private Tab financialTab;
+    @FXML private Tab customerReportsTab;
+    @FXML private Tab technicianReportsTab;
+
     // FXML Components - Date Filters
     @FXML private DatePicker startDatePicker;
     @FXML private DatePicker endDatePicker;
@@ -106,6 +126,13 @@ public class ReportsController {
     private LocalDate startDate;
     private LocalDate endDate;
 
+    // Data shared by all tabs, loaded once per filter change
+    private ReportDataset dataset;
+    private int reportGeneration;
+
+    // Results computed for tabs that were not visible when they finished
+    private final Map<Tab, Runnable> pendingTabUpdates = new HashMap<>();
+
     // Formatters
     private final DecimalFormat currencyFormat = new DecimalFormat("$#,##0.00");
     private final DecimalFormat percentFormat = new DecimalFormat("0.0%");
@@ -130,6 +157,14 @@ public class ReportsController {
         initializeCustomerReportTable();
         initializeTechnicianReportTable();
 
+        // Apply results for a tab when it becomes visible
+        reportsTabPane.getSelectionModel().selectedItemProperty().addListener((obs, oldTab, newTab) -> {
+            Runnable pendingUpdate = pendingTabUpdates.remove(newTab);
+            if (pendingUpdate != null) {
+                pendingUpdate.run();
+            }
+        });
+
         // Load initial data
         loadReportData();
     }
@@ -332,88 +367,160 @@ public class ReportsController {
     }
 
     /**
-     * Load all report data
+     * Load all report data. The shared dataset is read once in the background,
+     * then every tab is computed concurrently; only the visible tab is updated
+     * immediately, the others when they are selected.
      */
     private void loadReportData() {
-        try {
-            updateSummaryData();
-            updateServiceRequestsTable();
-            updateFinancialReport();
-            updateCustomerReport();
-            updateTechnicianReport();
-            reportStatusLabel.setText("Report data loaded successfully.");
-        } catch (Exception e) {
-            reportStatusLabel.setText("Error loading report data: " + e.getMessage());
-            e.printStackTrace();
+        if (serviceRequestService == null || customerService == null || technicianService == null
+                || paymentService == null) {
+            return;
         }
+
+        int generation = ++reportGeneration;
+        LocalDate from = startDate;
+        LocalDate to = endDate;
+
+        reportStatusLabel.setText("Loading report data...");
+
+        CompletableFuture.supplyAsync(() -> loadDataset(generation, from, to), REPORT_POOL)
+                // Swap the dataset in on the FX thread, where the current report options are read
+                .thenComposeAsync(data -> {
+                    if (data.generation != reportGeneration) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    dataset = data;
+                    pendingTabUpdates.clear();
+                    return computeAllTabs(data);
+                }, Platform::runLater)
+                .whenComplete((result, error) -> Platform.runLater(() -> {
+                    if (generation != reportGeneration) {
+                        return;
+                    }
+
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        reportStatusLabel.setText("Error loading report data: " + cause.getMessage());
+                        cause.printStackTrace();
+                    } else {
+                        reportStatusLabel.setText("Report data loaded successfully.");
+                    }
+                }));
     }
 
     /**
-     * Update summary data
+     * Compute every tab from a dataset with the report options currently selected.
+     * Must be called on the FX thread.
+     * @param data The report dataset
+     * @return A future completing when all tabs have been computed
      */
-    private void updateSummaryData() {
-        // Get filtered service requests
-        List<ServiceRequest> serviceRequests = getFilteredServiceRequests();
-
-        // Count service requests
-        int totalRequests = serviceRequests.size();
-        totalServiceRequestsLabel.setText(String.valueOf(totalRequests));
-
-        // Calculate total revenue
-        double totalRevenue = serviceRequests.stream()
-                .mapToDouble(ServiceRequest::getTotalCost)
-                .sum();
-        totalRevenueLabel.setText(currencyFormat.format(totalRevenue));
-
-        // Calculate outstanding payments
-        double outstandingPayments = 0;
-        for (ServiceRequest request : serviceRequests) {
-            double remaining = paymentService.getRemainingBalance(request.getJobId());
-            outstandingPayments += remaining;
-        }
-        outstandingPaymentsLabel.setText(currencyFormat.format(outstandingPayments));
-
-        // Count active customers
-        Set<Integer> activeCustomers = serviceRequests.stream()
-                .map(ServiceRequest::getCustomerId)
-                .collect(Collectors.toSet());
-        activeCustomersLabel.setText(String.valueOf(activeCustomers.size()));
-
-        // Count active technicians
-        Set<Integer> activeTechnicians = new HashSet<>();
-        for (ServiceRequest request : serviceRequests) {
-            for (Technician tech : request.getTechnicians()) {
-                activeTechnicians.add(tech.getTechnicianId());
-            }
-        }
-        activeTechniciansLabel.setText(String.valueOf(activeTechnicians.size()));
+    private CompletableFuture<Void> computeAllTabs(ReportDataset data) {
+        String statusFilter = serviceStatusComboBox.getValue();
+        String financialReportType = financialReportTypeComboBox.getValue();
+        String financialGroupBy = financialGroupByComboBox.getValue();
+        String customerReportType = customerReportTypeComboBox.getValue();
+        String technicianReportType = technicianReportTypeComboBox.getValue();
+
+        return CompletableFuture.allOf(
+                computeTab(data.generation, summaryTab, () -> computeSummaryData(data)),
+                computeTab(data.generation, serviceRequestsTab,
+                        () -> computeServiceRequestsTable(data, statusFilter)),
+                computeTab(data.generation, financialTab,
+                        () -> computeFinancialReport(data, financialReportType, financialGroupBy)),
+                computeTab(data.generation, customerReportsTab,
+                        () -> computeCustomerReport(data, customerReportType)),
+                computeTab(data.generation, technicianReportsTab,
+                        () -> computeTechnicianReport(data, technicianReportType))
+        );
+    }
+
+    /**
+     * Get the loaded dataset if it belongs to the current report generation.
+     * While a reload is in flight this returns null; the reload computes every
+     * tab with the then-selected options once its dataset arrives.
+     * @return The current dataset, or null
+     */
+    private ReportDataset currentDataset() {
+        ReportDataset data = dataset;
+        return data != null && data.generation == reportGeneration ? data : null;
+    }
+
+    /**
+     * Load the data shared by all report tabs
+     * @param generation The report generation the data is loaded for
+     * @param from The start of the date range
+     * @param to The end of the date range
+     * @return The report dataset
+     */
+    private ReportDataset loadDataset(int generation, LocalDate from, LocalDate to) {
+        return new ReportDataset(
+                generation,
+                from,
+                to,
+                serviceRequestService.getServiceRequestsByDateRange(from, to),
+                paymentService.getPaymentTotalsByJob(from, to),
+                customerService.getAllCustomers(),
+                technicianService.getAllTechnicians()
+        );
+    }
+
+    /**
+     * Compute a tab's results in the background and hand them to the FX thread
+     * @param generation The report generation the computation belongs to
+     * @param tab The tab whose widgets the results update
+     * @param computation Computes the results and returns the action that applies them
+     * @return A future completing when the results have been computed
+     */
+    private CompletableFuture<Void> computeTab(int generation, Tab tab, Supplier<Runnable> computation) {
+        return CompletableFuture.supplyAsync(computation, REPORT_POOL)
+                .thenAccept(applyResults -> Platform.runLater(() -> {
+                    // Discard results computed for an earlier filter
+                    if (generation != reportGeneration) {
+                        return;
+                    }
 
-        // Calculate completion rate
-        long completedRequests = serviceRequests.stream()
-                .filter(r -> "Completed".equals(r.getStatus()))
-                .count();
-        double completionRate = totalRequests > 0 ? (double) completedRequests / totalRequests : 0;
-        completionRateLabel.setText(percentFormat.format(completionRate));
+                    if (tab == null || tab.isSelected()) {
+                        applyResults.run();
+                    } else {
+                        pendingTabUpdates.put(tab, applyResults);
+                    }
+                }));
+    }
 
-        // Update service status chart
-        updateServiceStatusChart(serviceRequests);
+    /**
+     * Compute summary data
+     * @param reportDataset The report dataset
+     * @return Action applying the results to the summary widgets
+     */
+    private Runnable computeSummaryData(ReportDataset reportDataset) {
+        List<ServiceRequest> serviceRequests = reportDataset.serviceRequests;
+        ReportAggregations.Summary summary =
+                ReportAggregations.summarize(serviceRequests, reportDataset.paymentTotals);
+        Map<String, Long> statusCounts = ReportAggregations.statusCounts(serviceRequests);
+        Map<YearMonth, Double> monthlyRevenue = ReportAggregations.monthlyRevenue(reportDataset.from,
+                reportDataset.to, serviceRequests, serviceRequestService::getMonthlyRollups);
+        return () -> {
+            totalServiceRequestsLabel.setText(String.valueOf(summary.getTotalRequests()));
+            totalRevenueLabel.setText(currencyFormat.format(summary.getTotalRevenue()));
+            outstandingPaymentsLabel.setText(currencyFormat.format(summary.getOutstandingPayments()));
+            activeCustomersLabel.setText(String.valueOf(summary.getActiveCustomers()));
+            activeTechniciansLabel.setText(String.valueOf(summary.getActiveTechnicians()));
+            completionRateLabel.setText(percentFormat.format(summary.getCompletionRate()));
+
+            // Update service status chart
+            updateServiceStatusChart(statusCounts);
 
-        // Update revenue chart
-        updateRevenueChart(serviceRequests);
+            // Update revenue chart
+            updateRevenueChart(monthlyRevenue);
+        };
     }
 
     /**
      * Update service status chart
-     * @param serviceRequests List of service requests
+     * @param statusCounts Service request count per status
      */
-    private void updateServiceStatusChart(List<ServiceRequest> serviceRequests) {
-        // Count service requests by status
-        Map<String, Long> statusCounts = serviceRequests.stream()
-                .collect(Collectors.groupingBy(
-                        sr -> sr.getStatus() != null ? sr.getStatus() : "Unknown",
-                        Collectors.counting()
-                ));
-
+    private void updateServiceStatusChart(Map<String, Long> statusCounts) {
         // Create pie chart data
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
         for (Map.Entry<String, Long> entry : statusCounts.entrySet()) {
@@ -426,203 +533,77 @@ public class ReportsController {
 
     /**
      * Update revenue chart
-     * @param serviceRequests List of service requests
+     * @param monthlyRevenue Revenue per month
      */
-    private void updateRevenueChart(List<ServiceRequest> serviceRequests) {
-        // Group service requests by month
-        Map<String, Double> monthlyRevenue = new LinkedHashMap<>();
-
-        for (ServiceRequest request : serviceRequests) {
-            LocalDate date = request.getServiceDate();
-            if (date != null) {
-                String monthYear = date.getMonth().toString() + " " + date.getYear();
-                monthlyRevenue.merge(monthYear, request.getTotalCost(), Double::sum);
-            }
-        }
-
+    private void updateRevenueChart(Map<YearMonth, Double> monthlyRevenue) {
         // Create bar chart data
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.setName("Monthly Revenue");
+        ChartSeries series = new ChartSeries("Monthly Revenue");
 
-        for (Map.Entry<String, Double> entry : monthlyRevenue.entrySet()) {
-            series.getData().add(new XYChart.Data<>(entry.getKey(), entry.getValue()));
+        for (Map.Entry<YearMonth, Double> entry : monthlyRevenue.entrySet()) {
+            String monthYear = entry.getKey().getMonth().toString() + " " + entry.getKey().getYear();
+            series.add(monthYear, entry.getValue());
         }
 
-        revenueChart.getData().clear();
-        revenueChart.getData().add(series);
+        ChartSync.show(revenueChart, Collections.singletonList(series), null);
         revenueChart.setTitle("Monthly Revenue");
     }
 
     /**
-     * Update service requests table
+     * Update service requests table from the loaded dataset
      */
     private void updateServiceRequestsTable() {
-        List<ServiceRequest> filteredRequests = getFilteredServiceRequests();
+        ReportDataset data = currentDataset();
+        if (data != null) {
+            String statusFilter = serviceStatusComboBox.getValue();
+            computeTab(data.generation, serviceRequestsTab, () -> computeServiceRequestsTable(data, statusFilter));
+        }
+    }
+
+    /**
+     * Compute the service requests table
+     * @param reportDataset The report dataset
+     * @param statusFilter The selected status, or "All"
+     * @return Action applying the rows to the table
+     */
+    private Runnable computeServiceRequestsTable(ReportDataset reportDataset, String statusFilter) {
+        List<ServiceRequest> filteredRequests = reportDataset.serviceRequests;
 
         // Apply status filter if needed
-        String statusFilter = serviceStatusComboBox.getValue();
         if (!"All".equals(statusFilter)) {
             filteredRequests = filteredRequests.stream()
                     .filter(r -> statusFilter.equals(r.getStatus()))
                     .collect(Collectors.toList());
         }
 
-        serviceRequestsTable.setItems(FXCollections.observableArrayList(filteredRequests));
+        List<ServiceRequest> rows = filteredRequests;
+        return () -> serviceRequestsTable.setItems(FXCollections.observableArrayList(rows));
     }
 
     /**
-     * Update financial report
+     * Update financial report from the loaded dataset
      */
     private void updateFinancialReport() {
-        String reportType = financialReportTypeComboBox.getValue();
-        String groupBy = financialGroupByComboBox.getValue();
-
-        List<ServiceRequest> serviceRequests = getFilteredServiceRequests();
-        List<Map<String, Object>> reportData = new ArrayList<>();
-
-        switch (groupBy) {
-            case "Monthly":
-                reportData = generateMonthlyFinancialReport(serviceRequests, reportType);
-                break;
-            case "Quarterly":
-                reportData = generateQuarterlyFinancialReport(serviceRequests, reportType);
-                break;
-            case "Yearly":
-                reportData = generateYearlyFinancialReport(serviceRequests, reportType);
-                break;
-        }
-
-        financialTable.setItems(FXCollections.observableArrayList(reportData));
-        updateFinancialChart(reportData);
-    }
-
-    /**
-     * Generate monthly financial report
-     * @param serviceRequests List of service requests
-     * @param reportType Type of report
-     * @return List of report data
-     */
-    private List<Map<String, Object>> generateMonthlyFinancialReport(List<ServiceRequest> serviceRequests, String reportType) {
-        // Group service requests by month
-        Map<String, List<ServiceRequest>> groupedRequests = new LinkedHashMap<>();
-
-        for (ServiceRequest request : serviceRequests) {
-            LocalDate date = request.getServiceDate();
-            if (date != null) {
-                String monthYear = date.getMonth().toString() + " " + date.getYear();
-                groupedRequests.computeIfAbsent(monthYear, k -> new ArrayList<>()).add(request);
-            }
-        }
-
-        List<Map<String, Object>> reportData = new ArrayList<>();
-
-        for (Map.Entry<String, List<ServiceRequest>> entry : groupedRequests.entrySet()) {
-            String period = entry.getKey();
-            List<ServiceRequest> requests = entry.getValue();
-            double revenue = requests.stream().mapToDouble(ServiceRequest::getTotalCost).sum();
-
-            // For simplicity, assume costs are 60% of revenue
-            double costs = revenue * 0.6;
-            double profit = revenue - costs;
-            double margin = revenue > 0 ? profit / revenue : 0;
-
-            Map<String, Object> row = new HashMap<>();
-            row.put("period", period);
-            row.put("revenue", revenue);
-            row.put("costs", costs);
-            row.put("profit", profit);
-            row.put("margin", margin);
-
-            reportData.add(row);
-        }
-
-        return reportData;
-    }
-
-    /**
-     * Generate quarterly financial report
-     * @param serviceRequests List of service requests
-     * @param reportType Type of report
-     * @return List of report data
-     */
-    private List<Map<String, Object>> generateQuarterlyFinancialReport(List<ServiceRequest> serviceRequests, String reportType) {
-        // Group service requests by quarter
-        Map<String, List<ServiceRequest>> groupedRequests = new LinkedHashMap<>();
-
-        for (ServiceRequest request : serviceRequests) {
-            LocalDate date = request.getServiceDate();
-            if (date != null) {
-                int quarter = (date.getMonthValue() - 1) / 3 + 1;
-                String quarterYear = "Q" + quarter + " " + date.getYear();
-                groupedRequests.computeIfAbsent(quarterYear, k -> new ArrayList<>()).add(request);
-            }
-        }
-
-        List<Map<String, Object>> reportData = new ArrayList<>();
-
-        for (Map.Entry<String, List<ServiceRequest>> entry : groupedRequests.entrySet()) {
-            String period = entry.getKey();
-            List<ServiceRequest> requests = entry.getValue();
-            double revenue = requests.stream().mapToDouble(ServiceRequest::getTotalCost).sum();
-
-            // For simplicity, assume costs are 60% of revenue
-            double costs = revenue * 0.6;
-            double profit = revenue - costs;
-            double margin = revenue > 0 ? profit / revenue : 0;
-
-            Map<String, Object> row = new HashMap<>();
-            row.put("period", period);
-            row.put("revenue", revenue);
-            row.put("costs", costs);
-            row.put("profit", profit);
-            row.put("margin", margin);
-
-            reportData.add(row);
+        ReportDataset data = currentDataset();
+        if (data != null) {
+            String reportType = financialReportTypeComboBox.getValue();
+            String groupBy = financialGroupByComboBox.getValue();
+            computeTab(data.generation, financialTab, () -> computeFinancialReport(data, reportType, groupBy));
         }
-
-        return reportData;
     }
 
     /**
-     * Generate yearly financial report
-     * @param serviceRequests List of service requests
+     * Compute the financial report
+     * @param reportDataset The report dataset
      * @param reportType Type of report
-     * @return List of report data
+     * @param groupBy Period grouping
+     * @return Action applying the rows to the table and chart
      */
-    private List<Map<String, Object>> generateYearlyFinancialReport(List<ServiceRequest> serviceRequests, String reportType) {
-        // Group service requests by year
-        Map<Integer, List<ServiceRequest>> groupedRequests = new TreeMap<>();
-
-        for (ServiceRequest request : serviceRequests) {
-            LocalDate date = request.getServiceDate();
-            if (date != null) {
-                groupedRequests.computeIfAbsent(date.getYear(), k -> new ArrayList<>()).add(request);
-            }
-        }
-
-        List<Map<String, Object>> reportData = new ArrayList<>();
-
-        for (Map.Entry<Integer, List<ServiceRequest>> entry : groupedRequests.entrySet()) {
-            String period = String.valueOf(entry.getKey());
-            List<ServiceRequest> requests = entry.getValue();
-            double revenue = requests.stream().mapToDouble(ServiceRequest::getTotalCost).sum();
-
-            // For simplicity, assume costs are 60% of revenue
-            double costs = revenue * 0.6;
-            double profit = revenue - costs;
-            double margin = revenue > 0 ? profit / revenue : 0;
-
-            Map<String, Object> row = new HashMap<>();
-            row.put("period", period);
-            row.put("revenue", revenue);
-            row.put("costs", costs);
-            row.put("profit", profit);
-            row.put("margin", margin);
-
-            reportData.add(row);
-        }
-
-        return reportData;
+    private Runnable computeFinancialReport(ReportDataset reportDataset, String reportType, String groupBy) {
+        List<Map<String, Object>> rows = ReportAggregations.financialReport(reportDataset.serviceRequests, groupBy);
+        return () -> {
+            financialTable.setItems(FXCollections.observableArrayList(rows));
+            updateFinancialChart(rows);
+        };
     }
 
     /**
@@ -633,14 +614,9 @@ public class ReportsController {
         String reportType = financialReportTypeComboBox.getValue();
 
         // Create series for the chart
-        XYChart.Series<String, Number> revenueSeries = new XYChart.Series<>();
-        revenueSeries.setName("Revenue");
-
-        XYChart.Series<String, Number> costsSeries = new XYChart.Series<>();
-        costsSeries.setName("Costs");
-
-        XYChart.Series<String, Number> profitSeries = new XYChart.Series<>();
-        profitSeries.setName("Profit");
+        ChartSeries revenueSeries = new ChartSeries("Revenue");
+        ChartSeries costsSeries = new ChartSeries("Costs");
+        ChartSeries profitSeries = new ChartSeries("Profit");
 
         for (Map<String, Object> row : reportData) {
             String period = (String) row.get("period");
@@ -648,190 +624,69 @@ public class ReportsController {
             double costs = (Double) row.get("costs");
             double profit = (Double) row.get("profit");
 
-            revenueSeries.getData().add(new XYChart.Data<>(period, revenue));
-            costsSeries.getData().add(new XYChart.Data<>(period, costs));
-            profitSeries.getData().add(new XYChart.Data<>(period, profit));
+            revenueSeries.add(period, revenue);
+            costsSeries.add(period, costs);
+            profitSeries.add(period, profit);
         }
 
-        financialChart.getData().clear();
-
+        List<ChartSeries> shown = new ArrayList<>();
         if ("Revenue".equals(reportType)) {
-            financialChart.getData().add(revenueSeries);
+            shown.add(revenueSeries);
         } else if ("Profit & Loss".equals(reportType)) {
-            financialChart.getData().add(revenueSeries);
-            financialChart.getData().add(costsSeries);
-            financialChart.getData().add(profitSeries);
+            shown.add(revenueSeries);
+            shown.add(costsSeries);
+            shown.add(profitSeries);
         }
+        ChartSync.show(financialChart, shown, null);
 
         financialChart.setTitle(reportType + " Report");
     }
 
     /**
-     * Update customer report
+     * Update customer report from the loaded dataset
      */
     private void updateCustomerReport() {
-        String reportType = customerReportTypeComboBox.getValue();
-        List<ServiceRequest> serviceRequests = getFilteredServiceRequests();
-        List<Map<String, Object>> reportData = new ArrayList<>();
-
-        // Get all customers
-        List<Customer> allCustomers = customerService.getAllCustomers();
-
-        // Build customer data
-        Map<Integer, Map<String, Object>> customerData = new HashMap<>();
-
-        for (Customer customer : allCustomers) {
-            Map<String, Object> data = new HashMap<>();
-            data.put("customerId", customer.getCustomerId());
-            data.put("customerNumber", customer.getCustomerNumber());
-            data.put("name", customer.getFullName());
-            data.put("company", customer.getCompanyName() != null ? customer.getCompanyName() : "N/A");
-            data.put("serviceCount", 0);
-            data.put("totalSpending", 0.0);
-            data.put("lastService", null);
-            customerData.put(customer.getCustomerId(), data);
-        }
-
-        // Process service requests
-        for (ServiceRequest request : serviceRequests) {
-            int customerId = request.getCustomerId();
-            Map<String, Object> data = customerData.get(customerId);
-
-            if (data != null) {
-                // Update service count
-                data.put("serviceCount", (Integer) data.get("serviceCount") + 1);
-
-                // Update total spending
-                data.put("totalSpending", (Double) data.get("totalSpending") + request.getTotalCost());
-
-                // Update last service date
-                LocalDate currentLastService = (LocalDate) data.get("lastService");
-                if (currentLastService == null || request.getServiceDate().isAfter(currentLastService)) {
-                    data.put("lastService", request.getServiceDate());
-                }
-            }
-        }
-
-        // Create report data based on report type
-        if ("Top Customers by Revenue".equals(reportType)) {
-            // Sort by total spending
-            reportData = customerData.values().stream()
-                    .sorted(Comparator.comparing(m -> ((Double) m.get("totalSpending")), Comparator.reverseOrder()))
-                    .limit(20)
-                    .collect(Collectors.toList());
-        } else if ("Customer Activity".equals(reportType)) {
-            // Sort by service count
-            reportData = customerData.values().stream()
-                    .sorted(Comparator.comparing(m -> ((Integer) m.get("serviceCount")), Comparator.reverseOrder()))
-                    .limit(20)
-                    .collect(Collectors.toList());
-        } else if ("Customer Retention".equals(reportType)) {
-            // Filter to customers with at least one service
-            reportData = customerData.values().stream()
-                    .filter(m -> (Integer) m.get("serviceCount") > 0)
-                    .sorted(Comparator.comparing(m -> ((LocalDate) m.get("lastService")), Comparator.reverseOrder()))
-                    .collect(Collectors.toList());
+        ReportDataset data = currentDataset();
+        if (data != null) {
+            String reportType = customerReportTypeComboBox.getValue();
+            computeTab(data.generation, customerReportsTab, () -> computeCustomerReport(data, reportType));
         }
+    }
 
-        customerReportTable.setItems(FXCollections.observableArrayList(reportData));
+    /**
+     * Compute the customer report
+     * @param reportDataset The report dataset
+     * @param reportType Type of report
+     * @return Action applying the rows to the table
+     */
+    private Runnable computeCustomerReport(ReportDataset reportDataset, String reportType) {
+        List<Map<String, Object>> rows = ReportAggregations.customerReport(reportDataset.from, reportDataset.to,
+                reportDataset.serviceRequests, reportDataset.customers, reportType,
+                serviceRequestService::getCustomerMonthlyRollups);
+        return () -> customerReportTable.setItems(FXCollections.observableArrayList(rows));
     }
 
     /**
-     * Update technician report
+     * Update technician report from the loaded dataset
      */
     private void updateTechnicianReport() {
-        String reportType = technicianReportTypeComboBox.getValue();
-        List<ServiceRequest> serviceRequests = getFilteredServiceRequests();
-        List<Map<String, Object>> reportData = new ArrayList<>();
-
-        // Get all technicians
-        List<Technician> allTechnicians = technicianService.getAllTechnicians();
-
-        // Build technician data
-        Map<Integer, Map<String, Object>> technicianData = new HashMap<>();
-
-        for (Technician technician : allTechnicians) {
-            Map<String, Object> data = new HashMap<>();
-            data.put("technicianId", technician.getTechnicianId());
-            data.put("name", technician.getFullName());
-            data.put("credentials", technician.getCredentials() != null ? technician.getCredentials() : "N/A");
-            data.put("serviceCount", 0);
-            data.put("completedCount", 0);
-            data.put("completionRate", 0.0);
-            data.put("workload", 0.0);
-            technicianData.put(technician.getTechnicianId(), data);
-        }
-
-        // Process service requests
-        for (ServiceRequest request : serviceRequests) {
-            for (Technician technician : request.getTechnicians()) {
-                int technicianId = technician.getTechnicianId();
-                Map<String, Object> data = technicianData.get(technicianId);
-
-                if (data != null) {
-                    // Update service count
-                    data.put("serviceCount", (Integer) data.get("serviceCount") + 1);
-
-                    // Update completed count
-                    if ("Completed".equals(request.getStatus())) {
-                        data.put("completedCount", (Integer) data.get("completedCount") + 1);
-                    }
-                }
-            }
-        }
-
-        // Calculate completion rates and workload
-        double totalServices = serviceRequests.size();
-
-        for (Map<String, Object> data : technicianData.values()) {
-            int serviceCount = (Integer) data.get("serviceCount");
-            int completedCount = (Integer) data.get("completedCount");
-
-            // Calculate completion rate
-            double completionRate = serviceCount > 0 ? (double) completedCount / serviceCount : 0;
-            data.put("completionRate", completionRate);
-
-            // Calculate workload (percentage of all service requests)
-            double workload = totalServices > 0 ? (double) serviceCount / totalServices : 0;
-            data.put("workload", workload);
-        }
-
-        // Create report data based on report type
-        if ("Technician Performance".equals(reportType)) {
-            // Sort by completion rate
-            reportData = technicianData.values().stream()
-                    .filter(m -> (Integer) m.get("serviceCount") > 0)
-                    .sorted(Comparator.comparing(m -> ((Double) m.get("completionRate")), Comparator.reverseOrder()))
-                    .collect(Collectors.toList());
-        } else if ("Technician Workload".equals(reportType)) {
-            // Sort by service count
-            reportData = technicianData.values().stream()
-                    .sorted(Comparator.comparing(m -> ((Integer) m.get("serviceCount")), Comparator.reverseOrder()))
-                    .collect(Collectors.toList());
-        } else if ("Technician Utilization".equals(reportType)) {
-            // Sort by workload
-            reportData = technicianData.values().stream()
-                    .sorted(Comparator.comparing(m -> ((Double) m.get("workload")), Comparator.reverseOrder()))
-                    .collect(Collectors.toList());
+        ReportDataset data = currentDataset();
+        if (data != null) {
+            String reportType = technicianReportTypeComboBox.getValue();
+            computeTab(data.generation, technicianReportsTab, () -> computeTechnicianReport(data, reportType));
         }
-
-        technicianReportTable.setItems(FXCollections.observableArrayList(reportData));
     }
 
     /**
-     * Get filtered service requests based on date range
-     * @return List of filtered service requests
+     * Compute the technician report
+     * @param reportDataset The report dataset
+     * @param reportType Type of report
+     * @return Action applying the rows to the table
      */
-    private List<ServiceRequest> getFilteredServiceRequests() {
-        // Get all service requests
-        List<ServiceRequest> allRequests = serviceRequestService.getAllServiceRequests();
-
-        // Filter by date range
-        return allRequests.stream()
-                .filter(r -> r.getServiceDate() != null &&
-                        (!r.getServiceDate().isBefore(startDate) &&
-                                !r.getServiceDate().isAfter(endDate)))
-                .collect(Collectors.toList());
+    private Runnable computeTechnicianReport(ReportDataset reportDataset, String reportType) {
+        List<Map<String, Object>> rows = ReportAggregations.technicianReport(reportDataset.serviceRequests,
+                reportDataset.technicians, reportType);
+        return () -> technicianReportTable.setItems(FXCollections.observableArrayList(rows));
     }
 
     /**
@@ -926,24 +781,24 @@ public class ReportsController {
 
         File file = fileChooser.showSaveDialog(null);
         if (file != null) {
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
-                if (data.isEmpty()) {
-                    writer.println("No data to export");
-                    reportStatusLabel.setText("Report exported successfully (no data).");
-                    return;
-                }
+            List<T> rows = new ArrayList<>(data);
+            Task<String> export = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DISK, progress -> {
+                progress.message("Exporting " + rows.size() + " rows...");
+                try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+                    if (rows.isEmpty()) {
+                        writer.println("No data to export");
+                        return "Report exported successfully (no data).";
+                    }
 
-                if (data.get(0) instanceof ServiceRequest) {
-                    exportServiceRequestsReport(writer, (List<ServiceRequest>) data);
-                } else if (data.get(0) instanceof Map) {
-                    exportMapBasedReport(writer, (List<Map<String, Object>>) data);
+                    if (rows.get(0) instanceof ServiceRequest) {
+                        exportServiceRequestsReport(writer, (List<ServiceRequest>) rows);
+                    } else if (rows.get(0) instanceof Map) {
+                        exportMapBasedReport(writer, (List<Map<String, Object>>) rows);
+                    }
                 }
-
-                reportStatusLabel.setText("Report exported successfully.");
-            } catch (IOException e) {
-                reportStatusLabel.setText("Error exporting report: " + e.getMessage());
-                e.printStackTrace();
-            }
+                return "Report exported successfully.";
+            }, reportStatusLabel::setText, e -> reportStatusLabel.setText("Error exporting report: " + e.getMessage()));
+            BackgroundTasks.showStatus(export, reportStatusLabel);
         }
     }
 
@@ -1073,4 +928,29 @@ public class ReportsController {
     public void setPaymentService(PaymentService paymentService) {
         this.paymentService = paymentService;
     }
+
+    /**
+     * Data shared by all report tabs for one date range, tagged with the
+     * report generation it was loaded for
+     */
+    private static class ReportDataset {
+        private final int generation;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final List<ServiceRequest> serviceRequests;
+        private final Map<Integer, Double> paymentTotals;
+        private final List<Customer> customers;
+        private final List<Technician> technicians;
+
+        ReportDataset(int generation, LocalDate from, LocalDate to, List<ServiceRequest> serviceRequests,
+                      Map<Integer, Double> paymentTotals, List<Customer> customers, List<Technician> technicians) {
+            this.generation = generation;
+            this.from = from;
+            this.to = to;
+            this.serviceRequests = serviceRequests;
+            this.paymentTotals = paymentTotals;
+            this.customers = customers;
+            this.technicians = technicians;
+        }
+    }
 }
\ No newline at end of file
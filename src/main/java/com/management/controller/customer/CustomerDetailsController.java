@@ -7,12 +7,14 @@ import com.management.model.ServiceRequest;
 import com.management.service.CustomerService;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.CSVExporter;
 import com.management.util.FXMLLoaderUtil;
 import com.management.util.PDFGenerator;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -21,6 +23,7 @@ import javafx.stage.Stage;
 
 import java.io.File;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -189,9 +192,18 @@ public class CustomerDetailsController {
      * @param customerId The customer ID to load
      */
     public void loadCustomerDetails(int customerId) {
+        BackgroundTasks.getInstance().submit(customerNumberLabel, BackgroundTasks.Resource.DATABASE,
+                () -> customerService.findById(customerId),
+                this::showCustomerDetails,
+                e -> AlertUtils.showErrorAlert("Error", "Failed to load customer details: " + e.getMessage()));
+    }
+
+    /**
+     * Display a loaded customer and start loading their service requests
+     * @param customerOpt The customer, empty if it no longer exists
+     */
+    private void showCustomerDetails(Optional<Customer> customerOpt) {
         try {
-            // Load customer
-            Optional<Customer> customerOpt = customerService.findById(customerId);
             if (customerOpt.isEmpty()) {
                 AlertUtils.showErrorAlert("Error", "Customer not found.");
                 handleClose();
@@ -268,27 +280,28 @@ public class CustomerDetailsController {
      * Load service requests for the customer
      */
     private void loadServiceRequests() {
-        try {
-            if (serviceRequestService != null && customer != null) {
-                List<ServiceRequest> requests = customerService.getCustomerServiceRequests(customer.getCustomerId());
+        if (serviceRequestService == null || customer == null) {
+            return;
+        }
 
-                serviceRequests.clear();
-                serviceRequests.addAll(requests);
-                serviceRequestTable.setItems(serviceRequests);
+        int customerId = customer.getCustomerId();
+        BackgroundTasks.getInstance().submit(serviceRequestTable, BackgroundTasks.Resource.DATABASE,
+                () -> customerService.getCustomerServiceRequests(customerId),
+                requests -> {
+                    serviceRequests.clear();
+                    serviceRequests.addAll(requests);
+                    serviceRequestTable.setItems(serviceRequests);
 
-                // Update statistics
-                totalServicesLabel.setText(String.valueOf(requests.size()));
+                    // Update statistics
+                    totalServicesLabel.setText(String.valueOf(requests.size()));
 
-                double totalSpending = 0.0;
-                for (ServiceRequest request : requests) {
-                    totalSpending += request.getTotalCost();
-                }
-                totalSpendingLabel.setText(String.format("$%.2f", totalSpending));
-            }
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "Failed to load service requests: " + e.getMessage());
-            e.printStackTrace();
-        }
+                    double totalSpending = 0.0;
+                    for (ServiceRequest request : requests) {
+                        totalSpending += request.getTotalCost();
+                    }
+                    totalSpendingLabel.setText(String.format("$%.2f", totalSpending));
+                },
+                e -> AlertUtils.showErrorAlert("Error", "Failed to load service requests: " + e.getMessage()));
     }
 
     /**
@@ -341,26 +354,35 @@ public class CustomerDetailsController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = customerService.deleteCustomer(customer.getCustomerId());
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Customer deleted successfully.");
-                    handleClose();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to delete customer.");
-                }
-            } catch (IllegalStateException e) {
-                // Specific exception for deleting customers with existing service requests
-                AlertUtils.showErrorAlert(
-                        "Cannot Delete Customer",
-                        "This customer has existing service requests and cannot be deleted. " +
-                                "Please remove all service requests for this customer first."
-                );
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to delete customer: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int customerId = customer.getCustomerId();
+            String deleteText = deleteButton.getText();
+            Task<Boolean> delete = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                    progress -> {
+                        progress.message("Deleting...");
+                        return customerService.deleteCustomer(customerId);
+                    }, success -> {
+                        deleteButton.setText(deleteText);
+                        if (success) {
+                            AlertUtils.showInformationAlert("Success", "Customer deleted successfully.");
+                            handleClose();
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to delete customer.");
+                        }
+                    }, e -> {
+                        deleteButton.setText(deleteText);
+                        if (e instanceof IllegalStateException) {
+                            // Specific exception for deleting customers with existing service requests
+                            AlertUtils.showErrorAlert(
+                                    "Cannot Delete Customer",
+                                    "This customer has existing service requests and cannot be deleted. " +
+                                            "Please remove all service requests for this customer first."
+                            );
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to delete customer: " + e.getMessage());
+                        }
+                    });
+            BackgroundTasks.showStatus(delete, deleteButton);
+            BackgroundTasks.disableWhileRunning(delete, deleteButton.getScene().getRoot());
         }
     }
 
@@ -399,12 +421,15 @@ public class CustomerDetailsController {
             File file = fileChooser.showSaveDialog(customerNumberLabel.getScene().getWindow());
 
             if (file != null) {
-                PDFGenerator.generateCustomerReport(customer, serviceRequests, file.getAbsolutePath());
-
-                AlertUtils.showInformationAlert(
+                Customer reportCustomer = customer;
+                List<ServiceRequest> reportRequests = new ArrayList<>(serviceRequests);
+                BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DISK, () -> {
+                    PDFGenerator.generateCustomerReport(reportCustomer, reportRequests, file.getAbsolutePath());
+                    return file;
+                }, saved -> AlertUtils.showInformationAlert(
                         "Report Generated",
-                        "Customer report has been saved to " + file.getName()
-                );
+                        "Customer report has been saved to " + saved.getName()
+                ), e -> AlertUtils.showErrorAlert("Error", "Failed to generate report: " + e.getMessage()));
             }
         } catch (Exception e) {
             AlertUtils.showErrorAlert("Error", "Failed to generate report: " + e.getMessage());
@@ -427,12 +452,14 @@ public class CustomerDetailsController {
             File file = fileChooser.showSaveDialog(customerNumberLabel.getScene().getWindow());
 
             if (file != null) {
-                CSVExporter.exportServiceRequests(serviceRequests, true, file.getAbsolutePath());
-
-                AlertUtils.showInformationAlert(
+                List<ServiceRequest> exported = new ArrayList<>(serviceRequests);
+                BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DISK, () -> {
+                    CSVExporter.exportServiceRequests(exported, true, file.getAbsolutePath());
+                    return exported.size();
+                }, count -> AlertUtils.showInformationAlert(
                         "Export Successful",
-                        "Successfully exported " + serviceRequests.size() + " service requests to " + file.getName()
-                );
+                        "Successfully exported " + count + " service requests to " + file.getName()
+                ), e -> AlertUtils.showErrorAlert("Export Error", "Failed to export service requests: " + e.getMessage()));
             }
         } catch (Exception e) {
             AlertUtils.showErrorAlert("Export Error", "Failed to export service requests: " + e.getMessage());
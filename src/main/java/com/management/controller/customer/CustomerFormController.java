@@ -3,7 +3,9 @@ package com.management.controller.customer;
 import com.management.model.Customer;
 import com.management.service.CustomerService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.ValidationUtils;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
@@ -13,6 +15,7 @@ import javafx.stage.Stage;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoField;
+import java.util.concurrent.Callable;
 
 /**
  * Controller for the step-based customer form view (add/edit)
@@ -434,45 +437,57 @@ public class CustomerFormController {
             return;
         }
 
-        try {
-            if (mode == Mode.ADD) {
-                // Create new customer
-                Customer newCustomer = createCustomerFromForm();
-
-                // Generate the custom customer number
-                String customerId = generateCustomerNumber(
-                        zipCodeField.getText(),
-                        phoneField.getText(),
-                        LocalDate.now().toString()
-                );
-                newCustomer.setCustomerNumber(customerId);
-
-                int id = customerService.createCustomer(newCustomer);
-
-                if (id > 0) {
-                    AlertUtils.showInformationAlert("Success", "Customer created successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to create customer.");
-                }
-            } else {
-                // Update existing customer
-                updateCustomerFromForm();
-                boolean success = customerService.updateCustomer(customer);
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Customer updated successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to update customer.");
-                }
-            }
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
-            e.printStackTrace();
+        if (mode == Mode.ADD) {
+            // Create new customer
+            Customer newCustomer = createCustomerFromForm();
+
+            // Generate the custom customer number
+            String customerId = generateCustomerNumber(
+                    zipCodeField.getText(),
+                    phoneField.getText(),
+                    LocalDate.now().toString()
+            );
+            newCustomer.setCustomerNumber(customerId);
+
+            submitSave("Creating customer...", () -> customerService.createCustomer(newCustomer) > 0,
+                    "Customer created successfully.", "Failed to create customer.");
+        } else {
+            // Update existing customer
+            updateCustomerFromForm();
+            submitSave("Saving customer...", () -> customerService.updateCustomer(customer),
+                    "Customer updated successfully.", "Failed to update customer.");
         }
     }
 
+    /**
+     * Run a save on the database writer, keeping the form disabled and
+     * showing progress on the save button until it completes
+     * @param message The progress message
+     * @param save The write, returning whether it succeeded
+     * @param successMessage The message shown when it succeeded
+     * @param failureMessage The message shown when it did not
+     */
+    private void submitSave(String message, Callable<Boolean> save, String successMessage, String failureMessage) {
+        Task<Boolean> task = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    progress.message(message);
+                    return save.call();
+                }, success -> {
+                    updateFormTitle();
+                    if (success) {
+                        AlertUtils.showInformationAlert("Success", successMessage);
+                        closeForm();
+                    } else {
+                        AlertUtils.showErrorAlert("Error", failureMessage);
+                    }
+                }, e -> {
+                    updateFormTitle();
+                    AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, saveButton);
+        BackgroundTasks.disableWhileRunning(task, saveButton.getScene().getRoot());
+    }
+
     /**
      * Generate a custom customer number based on the specified format
      * @param zip ZIP code
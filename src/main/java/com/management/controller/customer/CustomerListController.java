@@ -1,21 +1,28 @@
 package com.management.controller.customer;
 
+import com.management.dao.query.CustomerField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Customer;
 import com.management.service.CustomerService;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.FXMLLoaderUtil;
+import com.management.util.ObservableListSync;
+import com.management.util.SearchQueryExecutor;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 
 /**
@@ -70,6 +77,9 @@ public class CustomerListController {
     private ServiceRequestService serviceRequestService;
     private ObservableList<Customer> customerList = FXCollections.observableArrayList();
     private FilteredList<Customer> filteredCustomers;
+    private int totalCustomers;
+    private final SearchQueryExecutor<QueryResult> queryExecutor =
+            new SearchQueryExecutor<>(this::showCustomers, this::showLoadError);
 
     /**
      * Initialize the controller
@@ -111,9 +121,10 @@ public class CustomerListController {
         filteredCustomers = new FilteredList<>(customerList, p -> true);
 
         // Configure search field listener
+        // The database does the searching; the predicate only screens rows added by live updates
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
             filteredCustomers.setPredicate(createSearchPredicate(newValue));
-            updateStatusLabel();
+            loadCustomers(true);
         });
 
         // Connect filtered list to TableView
@@ -190,6 +201,13 @@ public class CustomerListController {
     public void setCustomerService(CustomerService customerService) {
         this.customerService = customerService;
         loadCustomers();
+
+        // Apply row-level changes published by the service layer instead of reloading
+        ObservableListSync.bind(customerTable, Customer.class, customerList,
+                Customer::getCustomerId, this::updateStatusLabel);
+
+        // Reload when another instance changes customers
+        ObservableListSync.reloadOnExternalChange(customerTable, this::loadCustomers, Customer.class);
     }
 
     /**
@@ -203,31 +221,68 @@ public class CustomerListController {
      * Load customers from the database
      */
     private void loadCustomers() {
-        try {
-            statusLabel.setText("Loading customers...");
+        loadCustomers(false);
+    }
 
-            // Clear current list
-            customerList.clear();
+    /**
+     * Load the customers matching the search text. A newer load cancels the
+     * query of an older one still running.
+     * @param debounce Whether to wait for typing to pause before querying
+     */
+    private void loadCustomers(boolean debounce) {
+        if (customerService == null) {
+            return;
+        }
 
-            // Get the latest customer list
-            List<Customer> customers = customerService.getAllCustomers();
+        String searchText = searchField.getText();
+        CustomerService service = customerService;
+        statusLabel.setText("Loading customers...");
+
+        Callable<QueryResult> query = () -> new QueryResult(
+                searchText == null || searchText.isBlank()
+                        ? service.getAllCustomers()
+                        : service.findCustomers(createSearchSpec(searchText)),
+                service.countCustomers());
+        if (debounce) {
+            queryExecutor.submit(query);
+        } else {
+            queryExecutor.submitNow(query);
+        }
+    }
 
-            // Update the observable list
-            customerList.addAll(customers);
+    /**
+     * Build the database search matching {@link #createSearchPredicate(String)}
+     */
+    private QuerySpec<CustomerField> createSearchSpec(String searchText) {
+        return new QuerySpec<CustomerField>()
+                .containsAny(searchText,
+                        CustomerField.COMPANY_NAME,
+                        CustomerField.FIRST_NAME,
+                        CustomerField.LAST_NAME,
+                        CustomerField.EMAIL,
+                        CustomerField.PHONE_NUMBER,
+                        CustomerField.MOBILE_NUMBER)
+                .orderBy(CustomerField.LAST_NAME, true)
+                .orderBy(CustomerField.FIRST_NAME, true);
+    }
 
-            updateStatusLabel();
-        } catch (Exception e) {
-            statusLabel.setText("Error loading customers: " + e.getMessage());
-            AlertUtils.showErrorAlert("Error", "Failed to load customers: " + e.getMessage());
-            e.printStackTrace();
-        }
+    private void showCustomers(QueryResult result) {
+        totalCustomers = result.total;
+        customerList.setAll(result.customers);
+        updateStatusLabel();
+    }
+
+    private void showLoadError(Exception e) {
+        e.printStackTrace();
+        statusLabel.setText("Error loading customers: " + e.getMessage());
+        AlertUtils.showErrorAlert("Error", "Failed to load customers: " + e.getMessage());
     }
 
     /**
      * Update the status label with current filter results
      */
     private void updateStatusLabel() {
-        int totalCount = customerList.size();
+        int totalCount = Math.max(totalCustomers, customerList.size());
         int shownCount = filteredCustomers.size();
 
         if (totalCount == shownCount) {
@@ -257,9 +312,6 @@ public class CustomerListController {
                     controller.setMode(CustomerFormController.Mode.ADD);
                 }
         );
-
-        // Refresh the list to show the new customer
-        refreshCustomerList();
     }
 
     /**
@@ -281,9 +333,6 @@ public class CustomerListController {
                     controller.loadCustomer(selectedCustomer);
                 }
         );
-
-        // Refresh the list to show the updated customer
-        refreshCustomerList();
     }
 
     /**
@@ -304,26 +353,33 @@ public class CustomerListController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = customerService.deleteCustomer(selectedCustomer.getCustomerId());
-
-                if (success) {
-                    statusLabel.setText("Customer deleted successfully");
-                    refreshCustomerList();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to delete customer");
-                }
-            } catch (IllegalStateException e) {
-                // Specific exception for deleting customers with existing service requests
-                AlertUtils.showErrorAlert(
-                        "Cannot Delete Customer",
-                        "This customer has existing service requests and cannot be deleted. " +
-                                "Please remove all service requests for this customer first."
-                );
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to delete customer: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int customerId = selectedCustomer.getCustomerId();
+            Task<Boolean> delete = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                    progress -> {
+                        progress.message("Deleting customer...");
+                        return customerService.deleteCustomer(customerId);
+                    }, success -> {
+                        if (success) {
+                            statusLabel.setText("Customer deleted successfully");
+                        } else {
+                            statusLabel.setText("");
+                            AlertUtils.showErrorAlert("Error", "Failed to delete customer");
+                        }
+                    }, e -> {
+                        statusLabel.setText("");
+                        if (e instanceof IllegalStateException) {
+                            // Specific exception for deleting customers with existing service requests
+                            AlertUtils.showErrorAlert(
+                                    "Cannot Delete Customer",
+                                    "This customer has existing service requests and cannot be deleted. " +
+                                            "Please remove all service requests for this customer first."
+                            );
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to delete customer: " + e.getMessage());
+                        }
+                    });
+            BackgroundTasks.showStatus(delete, statusLabel);
+            BackgroundTasks.disableWhileRunning(delete, mainPane);
         }
     }
 
@@ -361,4 +417,17 @@ public class CustomerListController {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The matching customers with the total count for the status label
+     */
+    private static class QueryResult {
+        private final List<Customer> customers;
+        private final int total;
+
+        QueryResult(List<Customer> customers, int total) {
+            this.customers = customers;
+            this.total = total;
+        }
+    }
+}
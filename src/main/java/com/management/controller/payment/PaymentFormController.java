@@ -1,19 +1,22 @@
 package com.management.controller.payment;
 
 import com.management.model.Payment;
+import com.management.model.PaymentStatus;
 import com.management.model.ServiceRequest;
 import com.management.service.PaymentService;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
+import com.management.util.JobPicker;
 import com.management.util.ValidationUtils;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
-import javafx.util.StringConverter;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Controller for the payment form view (add/edit)
@@ -26,6 +29,9 @@ public class PaymentFormController {
     @FXML
     private ComboBox<ServiceRequest> serviceRequestComboBox;
 
+    @FXML
+    private TextField serviceRequestSearchField;
+
     @FXML
     private TextField paymentIdField;
 
@@ -70,6 +76,7 @@ public class PaymentFormController {
 
     private PaymentService paymentService;
     private ServiceRequestService serviceRequestService;
+    private JobPicker jobPicker;
     private Payment payment;
     private Mode mode = Mode.ADD;
 
@@ -85,26 +92,6 @@ public class PaymentFormController {
      */
     @FXML
     public void initialize() {
-        // Set up service request combo box converter
-        serviceRequestComboBox.setConverter(new StringConverter<ServiceRequest>() {
-            @Override
-            public String toString(ServiceRequest serviceRequest) {
-                if (serviceRequest == null) {
-                    return null;
-                }
-                String customerName = serviceRequest.getCustomer() != null ?
-                        serviceRequest.getCustomer().getFirstName() + " " + serviceRequest.getCustomer().getLastName() :
-                        "Unknown Customer";
-                return "Job #" + serviceRequest.getJobId() + " - " + customerName;
-            }
-
-            @Override
-            public ServiceRequest fromString(String string) {
-                // Not used for combo box
-                return null;
-            }
-        });
-
         // Setup service request selection listener
         serviceRequestComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
             updateServiceRequestInfo(newVal);
@@ -136,8 +123,8 @@ public class PaymentFormController {
         paymentDatePicker.setValue(LocalDate.now());
 
         // Set up status options
-        statusComboBox.getItems().addAll("Pending", "Completed", "Failed", "Refunded");
-        statusComboBox.setValue("Pending");
+        statusComboBox.getItems().addAll(PaymentStatus.labels());
+        statusComboBox.setValue(PaymentStatus.PENDING.getLabel());
 
         // Set up payment method options
         paymentMethodComboBox.getItems().addAll("", "Credit Card", "Debit Card", "Cash", "Check", "Bank Transfer", "PayPal", "Other");
@@ -208,7 +195,7 @@ public class PaymentFormController {
      */
     public void setServiceRequestService(ServiceRequestService serviceRequestService) {
         this.serviceRequestService = serviceRequestService;
-        loadServiceRequests();
+        jobPicker = new JobPicker(serviceRequestComboBox, serviceRequestSearchField, serviceRequestService);
     }
 
     /**
@@ -221,7 +208,12 @@ public class PaymentFormController {
 
         // In edit mode, disable service request selection and generate button
         if (mode == Mode.EDIT) {
-            serviceRequestComboBox.setDisable(true);
+            if (jobPicker != null) {
+                jobPicker.setDisable(true);
+            } else {
+                serviceRequestComboBox.setDisable(true);
+                serviceRequestSearchField.setDisable(true);
+            }
             generateButton.setDisable(true);
         }
     }
@@ -231,14 +223,8 @@ public class PaymentFormController {
      * @param serviceRequest The service request to set
      */
     public void setServiceRequest(ServiceRequest serviceRequest) {
-        if (serviceRequest != null) {
-            for (ServiceRequest sr : serviceRequestComboBox.getItems()) {
-                if (sr.getJobId() == serviceRequest.getJobId()) {
-                    serviceRequestComboBox.setValue(sr);
-                    serviceRequestComboBox.setDisable(true); // Lock selection
-                    break;
-                }
-            }
+        if (serviceRequest != null && jobPicker != null && jobPicker.select(serviceRequest.getJobId())) {
+            jobPicker.setDisable(true); // Lock selection
         }
     }
 
@@ -275,53 +261,8 @@ public class PaymentFormController {
         }
 
         // Set service request
-        if (payment.getServiceRequest() != null) {
-            for (ServiceRequest sr : serviceRequestComboBox.getItems()) {
-                if (sr.getJobId() == payment.getJobId()) {
-                    serviceRequestComboBox.setValue(sr);
-                    break;
-                }
-            }
-        } else if (payment.getJobId() > 0) {
-            // Try to load service request if not already loaded
-            try {
-                Optional<ServiceRequest> serviceRequest = serviceRequestService.findById(payment.getJobId());
-                if (serviceRequest.isPresent()) {
-                    // Check if this service request is already in the combo box
-                    boolean found = false;
-                    for (ServiceRequest sr : serviceRequestComboBox.getItems()) {
-                        if (sr.getJobId() == payment.getJobId()) {
-                            serviceRequestComboBox.setValue(sr);
-                            found = true;
-                            break;
-                        }
-                    }
-
-                    // If not found, add it
-                    if (!found) {
-                        serviceRequestComboBox.getItems().add(serviceRequest.get());
-                        serviceRequestComboBox.setValue(serviceRequest.get());
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    /**
-     * Load service requests for the combo box
-     */
-    private void loadServiceRequests() {
-        try {
-            if (serviceRequestService != null) {
-                List<ServiceRequest> serviceRequests = serviceRequestService.getAllServiceRequests();
-                serviceRequestComboBox.getItems().clear();
-                serviceRequestComboBox.getItems().addAll(serviceRequests);
-            }
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "Failed to load service requests: " + e.getMessage());
-            e.printStackTrace();
+        if (payment.getJobId() > 0 && jobPicker != null) {
+            jobPicker.select(payment.getJobId());
         }
     }
 
@@ -359,7 +300,7 @@ public class PaymentFormController {
             // Update amount field with remaining balance
             amountField.setText(String.format("%.2f", remainingBalance));
             paymentDatePicker.setValue(LocalDate.now());
-            statusComboBox.setValue("Pending");
+            statusComboBox.setValue(PaymentStatus.PENDING.getLabel());
 
             AlertUtils.showInformationAlert("Payment Generated",
                     "Payment amount has been set to the remaining balance: $" + String.format("%.2f", remainingBalance));
@@ -383,15 +324,22 @@ public class PaymentFormController {
 
         try {
             if (mode == Mode.ADD) {
-                // Create new payment
+                // Create new payment, marked as completed if a payment method is provided
                 Payment newPayment = createPaymentFromForm();
-                int paymentId = paymentService.createPayment(newPayment);
-
-                if (paymentId > 0) {
-                    // If payment method is provided, mark as completed
-                    if (newPayment.getPaymentMethod() != null && !newPayment.getPaymentMethod().isEmpty()) {
+                boolean process = newPayment.getPaymentMethod() != null && !newPayment.getPaymentMethod().isEmpty();
+                submitSave("Creating payment...", () -> {
+                    int paymentId = paymentService.createPayment(newPayment);
+                    if (paymentId > 0 && process) {
                         paymentService.processPayment(paymentId, newPayment.getPaymentMethod());
+                    }
+                    return paymentId;
+                }, paymentId -> {
+                    if (paymentId <= 0) {
+                        AlertUtils.showErrorAlert("Error", "Failed to create payment.");
+                        return;
+                    }
 
+                    if (process) {
                         // Ask if user wants to send receipt
                         boolean sendReceipt = AlertUtils.showConfirmationAlert(
                                 "Email Receipt",
@@ -401,36 +349,24 @@ public class PaymentFormController {
 
                         if (sendReceipt && newPayment.getServiceRequest() != null &&
                                 newPayment.getServiceRequest().getCustomer() != null) {
-                            // Load the payment with ID for email
-                            paymentService.findById(paymentId).ifPresent(updatedPayment -> {
-                                try {
-                                    com.management.util.EmailSender.sendPaymentReceipt(updatedPayment);
-                                    AlertUtils.showInformationAlert("Email Sent",
-                                            "Payment receipt has been sent to the customer.");
-                                } catch (Exception e) {
-                                    AlertUtils.showWarningAlert("Email Failed",
-                                            "Failed to send payment receipt: " + e.getMessage());
-                                }
-                            });
+                            sendReceipt(paymentId);
                         }
                     }
 
                     AlertUtils.showInformationAlert("Success", "Payment created successfully.");
                     closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to create payment.");
-                }
+                });
             } else {
                 // Update existing payment
                 updatePaymentFromForm();
-                boolean success = paymentService.updatePayment(payment);
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Payment updated successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to update payment.");
-                }
+                submitSave("Saving payment...", () -> paymentService.updatePayment(payment), success -> {
+                    if (success) {
+                        AlertUtils.showInformationAlert("Success", "Payment updated successfully.");
+                        closeForm();
+                    } else {
+                        AlertUtils.showErrorAlert("Error", "Failed to update payment.");
+                    }
+                });
             }
         } catch (Exception e) {
             AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
@@ -438,6 +374,54 @@ public class PaymentFormController {
         }
     }
 
+    /**
+     * Run a save on the database writer, keeping the form disabled and
+     * showing progress on the save button until it completes
+     * @param message The progress message
+     * @param save The write
+     * @param onSaved Receives the write's result on the FX thread
+     */
+    private <T> void submitSave(String message, Callable<T> save, Consumer<T> onSaved) {
+        Task<T> task = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    progress.message(message);
+                    return save.call();
+                }, result -> {
+                    updateFormTitle();
+                    onSaved.accept(result);
+                }, e -> {
+                    updateFormTitle();
+                    AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, saveButton);
+        BackgroundTasks.disableWhileRunning(task, saveButton.getScene().getRoot());
+    }
+
+    /**
+     * Load a saved payment and email its receipt in the background
+     * @param paymentId The payment ID
+     */
+    private void sendReceipt(int paymentId) {
+        BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE,
+                () -> paymentService.findById(paymentId),
+                paymentOpt -> paymentOpt.ifPresent(updatedPayment ->
+                        BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.SMTP,
+                                () -> com.management.util.EmailSender.sendPaymentReceipt(updatedPayment),
+                                sent -> {
+                                    if (sent) {
+                                        AlertUtils.showInformationAlert("Email Sent",
+                                                "Payment receipt has been sent to the customer.");
+                                    } else {
+                                        AlertUtils.showWarningAlert("Email Failed",
+                                                "Failed to send payment receipt.");
+                                    }
+                                },
+                                e -> AlertUtils.showWarningAlert("Email Failed",
+                                        "Failed to send payment receipt: " + e.getMessage()))),
+                e -> AlertUtils.showWarningAlert("Email Failed",
+                        "Failed to send payment receipt: " + e.getMessage()));
+    }
+
     /**
      * Create a new payment from the form data
      * @return The new payment
@@ -1,11 +1,16 @@
 package com.management.controller.payment;
 
 import com.management.model.Payment;
+import com.management.model.PaymentListItem;
+import com.management.model.PaymentStatus;
+import com.management.model.ServiceRequest;
 import com.management.service.PaymentService;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.CSVExporter;
 import com.management.util.FXMLLoaderUtil;
+import com.management.util.ObservableListSync;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -13,6 +18,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
@@ -24,6 +30,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Controller for the payment list view
@@ -34,31 +41,31 @@ public class PaymentListController {
     private BorderPane mainPane;
 
     @FXML
-    private TableView<Payment> paymentTable;
+    private TableView<PaymentListItem> paymentTable;
 
     @FXML
-    private TableColumn<Payment, String> paymentIdColumn;
+    private TableColumn<PaymentListItem, String> paymentIdColumn;
 
     @FXML
-    private TableColumn<Payment, String> jobIdColumn;
+    private TableColumn<PaymentListItem, String> jobIdColumn;
 
     @FXML
-    private TableColumn<Payment, String> customerColumn;
+    private TableColumn<PaymentListItem, String> customerColumn;
 
     @FXML
-    private TableColumn<Payment, String> serviceColumn;
+    private TableColumn<PaymentListItem, String> serviceColumn;
 
     @FXML
-    private TableColumn<Payment, Double> amountColumn;
+    private TableColumn<PaymentListItem, Double> amountColumn;
 
     @FXML
-    private TableColumn<Payment, String> statusColumn;
+    private TableColumn<PaymentListItem, String> statusColumn;
 
     @FXML
-    private TableColumn<Payment, String> paymentDateColumn;
+    private TableColumn<PaymentListItem, String> paymentDateColumn;
 
     @FXML
-    private TableColumn<Payment, String> paymentMethodColumn;
+    private TableColumn<PaymentListItem, String> paymentMethodColumn;
 
     @FXML
     private TextField searchField;
@@ -101,8 +108,8 @@ public class PaymentListController {
 
     private PaymentService paymentService;
     private ServiceRequestService serviceRequestService;
-    private ObservableList<Payment> paymentList = FXCollections.observableArrayList();
-    private FilteredList<Payment> filteredPayments;
+    private ObservableList<PaymentListItem> paymentList = FXCollections.observableArrayList();
+    private FilteredList<PaymentListItem> filteredPayments;
 
     /**
      * Initialize the controller
@@ -116,19 +123,12 @@ public class PaymentListController {
         jobIdColumn.setCellValueFactory(cellData ->
                 new SimpleStringProperty(String.valueOf(cellData.getValue().getJobId())));
 
-        customerColumn.setCellValueFactory(cellData -> {
-            if (cellData.getValue().getServiceRequest() != null &&
-                    cellData.getValue().getServiceRequest().getCustomer() != null) {
-                return new SimpleStringProperty(
-                        cellData.getValue().getServiceRequest().getCustomer().getFirstName() + " " +
-                                cellData.getValue().getServiceRequest().getCustomer().getLastName());
-            }
-            return new SimpleStringProperty("");
-        });
+        customerColumn.setCellValueFactory(cellData ->
+                new SimpleStringProperty(cellData.getValue().getCustomerName()));
 
         serviceColumn.setCellValueFactory(cellData -> {
-            if (cellData.getValue().getServiceRequest() != null) {
-                return new SimpleStringProperty(cellData.getValue().getServiceRequest().getDescription());
+            if (cellData.getValue().getServiceDescription() != null) {
+                return new SimpleStringProperty(cellData.getValue().getServiceDescription());
             }
             return new SimpleStringProperty("");
         });
@@ -137,7 +137,7 @@ public class PaymentListController {
                 new SimpleObjectProperty<>(cellData.getValue().getAmount()));
 
         // Set up cell factory for amount column to format as currency
-        amountColumn.setCellFactory(column -> new TableCell<Payment, Double>() {
+        amountColumn.setCellFactory(column -> new TableCell<PaymentListItem, Double>() {
             @Override
             protected void updateItem(Double amount, boolean empty) {
                 super.updateItem(amount, empty);
@@ -195,7 +195,7 @@ public class PaymentListController {
         });
 
         // Connect filtered list to TableView
-        SortedList<Payment> sortedPayments = new SortedList<>(filteredPayments);
+        SortedList<PaymentListItem> sortedPayments = new SortedList<>(filteredPayments);
         sortedPayments.comparatorProperty().bind(paymentTable.comparatorProperty());
         paymentTable.setItems(sortedPayments);
 
@@ -226,13 +226,13 @@ public class PaymentListController {
             deleteButton.setDisable(!hasSelection);
 
             // Enable process button only for pending payments
-            boolean isPending = hasSelection && "Pending".equals(newSelection.getStatus());
+            boolean isPending = hasSelection && newSelection.hasStatus(PaymentStatus.PENDING);
             processButton.setDisable(!isPending);
         });
 
         // Double-click to edit
         paymentTable.setRowFactory(tv -> {
-            TableRow<Payment> row = new TableRow<>();
+            TableRow<PaymentListItem> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     handleEditPayment();
@@ -263,6 +263,14 @@ public class PaymentListController {
         this.paymentService = paymentService;
         loadPayments();
         loadStatusFilters();
+
+        // Apply row-level changes published by the service layer instead of reloading
+        ObservableListSync.bind(paymentTable, Payment.class, paymentList,
+                PaymentListItem::fromPayment, PaymentListItem::getPaymentId, this::updateStatusLabel);
+
+        // Reload when another instance changes payments or the jobs they are for
+        ObservableListSync.reloadOnExternalChange(paymentTable, this::loadPayments,
+                Payment.class, ServiceRequest.class);
     }
 
     /**
@@ -281,7 +289,7 @@ public class PaymentListController {
      * @param endDate The end date for filtering
      * @return A predicate for filtering payments
      */
-    private Predicate<Payment> createPredicate(String searchText, String status,
+    private Predicate<PaymentListItem> createPredicate(String searchText, String status,
                                                LocalDate startDate, LocalDate endDate) {
         return payment -> {
             boolean matchesSearch = true;
@@ -309,19 +317,19 @@ public class PaymentListController {
                 }
 
                 // Search in service request description if available
-                if (payment.getServiceRequest() != null) {
+                matchesSearch = matchesSearch ||
+                        (payment.getServiceDescription() != null &&
+                                payment.getServiceDescription().toLowerCase().contains(lowerCaseSearch));
+
+                // Search in customer information if available
+                if (payment.hasCustomer()) {
                     matchesSearch = matchesSearch ||
-                            (payment.getServiceRequest().getDescription() != null &&
-                                    payment.getServiceRequest().getDescription().toLowerCase().contains(lowerCaseSearch));
-
-                    // Search in customer information if available
-                    if (payment.getServiceRequest().getCustomer() != null) {
-                        matchesSearch = matchesSearch ||
-                                (payment.getServiceRequest().getCustomer().getFirstName().toLowerCase().contains(lowerCaseSearch)) ||
-                                (payment.getServiceRequest().getCustomer().getLastName().toLowerCase().contains(lowerCaseSearch)) ||
-                                (payment.getServiceRequest().getCustomer().getEmail() != null &&
-                                        payment.getServiceRequest().getCustomer().getEmail().toLowerCase().contains(lowerCaseSearch));
-                    }
+                            (payment.getCustomerFirstName() != null &&
+                                    payment.getCustomerFirstName().toLowerCase().contains(lowerCaseSearch)) ||
+                            (payment.getCustomerLastName() != null &&
+                                    payment.getCustomerLastName().toLowerCase().contains(lowerCaseSearch)) ||
+                            (payment.getCustomerEmail() != null &&
+                                    payment.getCustomerEmail().toLowerCase().contains(lowerCaseSearch));
                 }
             }
 
@@ -366,8 +374,8 @@ public class PaymentListController {
             // Clear current list
             paymentList.clear();
 
-            // Get the latest payment list
-            List<Payment> payments = paymentService.getAllPayments();
+            // Get the latest payment list, joined with service request and customer columns
+            List<PaymentListItem> payments = paymentService.getPaymentListItems("payment_id", true);
 
             // Update the observable list
             paymentList.addAll(payments);
@@ -443,17 +451,21 @@ public class PaymentListController {
                     controller.setMode(PaymentFormController.Mode.ADD);
                 }
         );
-
-        // Refresh the list to show the new payment
-        refreshPaymentList();
     }
 
     /**
      * Handle editing a payment
      */
     private void handleEditPayment() {
-        Payment selectedPayment = paymentTable.getSelectionModel().getSelectedItem();
+        PaymentListItem selectedItem = paymentTable.getSelectionModel().getSelectedItem();
+        if (selectedItem == null) {
+            return;
+        }
+
+        // List rows carry only display columns, so load the full payment for editing
+        Payment selectedPayment = paymentService.findById(selectedItem.getPaymentId()).orElse(null);
         if (selectedPayment == null) {
+            AlertUtils.showErrorAlert("Error", "Payment #" + selectedItem.getPaymentId() + " no longer exists");
             return;
         }
 
@@ -468,16 +480,13 @@ public class PaymentListController {
                     controller.loadPayment(selectedPayment);
                 }
         );
-
-        // Refresh the list to show the updated payment
-        refreshPaymentList();
     }
 
     /**
      * Handle deleting a payment
      */
     private void handleDeletePayment() {
-        Payment selectedPayment = paymentTable.getSelectionModel().getSelectedItem();
+        PaymentListItem selectedPayment = paymentTable.getSelectionModel().getSelectedItem();
         if (selectedPayment == null) {
             return;
         }
@@ -491,19 +500,24 @@ public class PaymentListController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = paymentService.deletePayment(selectedPayment.getPaymentId());
-
-                if (success) {
-                    statusLabel.setText("Payment deleted successfully");
-                    refreshPaymentList();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to delete payment");
-                }
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to delete payment: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int paymentId = selectedPayment.getPaymentId();
+            Task<Boolean> delete = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                    progress -> {
+                        progress.message("Deleting payment...");
+                        return paymentService.deletePayment(paymentId);
+                    }, success -> {
+                        if (success) {
+                            statusLabel.setText("Payment deleted successfully");
+                        } else {
+                            statusLabel.setText("");
+                            AlertUtils.showErrorAlert("Error", "Failed to delete payment");
+                        }
+                    }, e -> {
+                        statusLabel.setText("");
+                        AlertUtils.showErrorAlert("Error", "Failed to delete payment: " + e.getMessage());
+                    });
+            BackgroundTasks.showStatus(delete, statusLabel);
+            BackgroundTasks.disableWhileRunning(delete, mainPane);
         }
     }
 
@@ -511,7 +525,7 @@ public class PaymentListController {
      * Handle processing a payment
      */
     private void handleProcessPayment() {
-        Payment selectedPayment = paymentTable.getSelectionModel().getSelectedItem();
+        PaymentListItem selectedPayment = paymentTable.getSelectionModel().getSelectedItem();
         if (selectedPayment == null) {
             return;
         }
@@ -526,38 +540,44 @@ public class PaymentListController {
         if (paymentMethodOpt.isPresent() && !paymentMethodOpt.get().trim().isEmpty()) {
             String paymentMethod = paymentMethodOpt.get().trim();
 
-            try {
-                boolean success = paymentService.processPayment(selectedPayment.getPaymentId(), paymentMethod);
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Payment processed successfully");
-
-                    // Optionally, send email receipt
-                    if (selectedPayment.getServiceRequest() != null &&
-                            selectedPayment.getServiceRequest().getCustomer() != null) {
-                        try {
-                            // First, refresh our payment data to get updated values
-                            paymentService.findById(selectedPayment.getPaymentId())
-                                    .ifPresent(updatedPayment -> {
-                                        com.management.util.EmailSender.sendPaymentReceipt(updatedPayment);
-                                    });
-
-                            AlertUtils.showInformationAlert("Email Sent",
-                                    "Payment receipt has been emailed to the customer");
-                        } catch (Exception e) {
-                            AlertUtils.showWarningAlert("Email Failed",
-                                    "Failed to send payment receipt email: " + e.getMessage());
+            int paymentId = selectedPayment.getPaymentId();
+            Task<Boolean> process = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                    progress -> {
+                        progress.message("Processing payment...");
+                        return paymentService.processPayment(paymentId, paymentMethod);
+                    }, success -> {
+                        statusLabel.setText("");
+                        if (success) {
+                            AlertUtils.showInformationAlert("Success", "Payment processed successfully");
+
+                            // Optionally, send email receipt
+                            if (selectedPayment.hasCustomer()) {
+                                BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.SMTP, () ->
+                                        // First, refresh our payment data to get updated values
+                                        paymentService.findById(paymentId)
+                                                .map(com.management.util.EmailSender::sendPaymentReceipt)
+                                                .orElse(false),
+                                        sent -> {
+                                            if (sent) {
+                                                AlertUtils.showInformationAlert("Email Sent",
+                                                        "Payment receipt has been emailed to the customer");
+                                            } else {
+                                                AlertUtils.showWarningAlert("Email Failed",
+                                                        "Failed to send payment receipt email");
+                                            }
+                                        },
+                                        e -> AlertUtils.showWarningAlert("Email Failed",
+                                                "Failed to send payment receipt email: " + e.getMessage()));
+                            }
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to process payment");
                         }
-                    }
-
-                    refreshPaymentList();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to process payment");
-                }
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to process payment: " + e.getMessage());
-                e.printStackTrace();
-            }
+                    }, e -> {
+                        statusLabel.setText("");
+                        AlertUtils.showErrorAlert("Error", "Failed to process payment: " + e.getMessage());
+                    });
+            BackgroundTasks.showStatus(process, statusLabel);
+            BackgroundTasks.disableWhileRunning(process, mainPane);
         }
     }
 
@@ -567,7 +587,9 @@ public class PaymentListController {
     private void handleExportPayments() {
         try {
             // Get the currently filtered payments
-            List<Payment> paymentsToExport = filteredPayments;
+            List<Payment> paymentsToExport = filteredPayments.stream()
+                    .map(PaymentListItem::toPayment)
+                    .collect(Collectors.toList());
 
             // Use save dialog to get file path
             FileChooser fileChooser = new FileChooser();
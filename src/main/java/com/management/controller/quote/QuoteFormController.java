@@ -1,19 +1,22 @@
 package com.management.controller.quote;
 
 import com.management.model.Quote;
+import com.management.model.QuoteStatus;
 import com.management.model.ServiceRequest;
 import com.management.service.QuoteService;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
+import com.management.util.JobPicker;
 import com.management.util.ValidationUtils;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
-import javafx.util.StringConverter;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Controller for the quote form view (add/edit)
@@ -26,6 +29,9 @@ public class QuoteFormController {
     @FXML
     private ComboBox<ServiceRequest> serviceRequestComboBox;
 
+    @FXML
+    private TextField serviceRequestSearchField;
+
     @FXML
     private TextField quoteIdField;
 
@@ -67,6 +73,7 @@ public class QuoteFormController {
 
     private QuoteService quoteService;
     private ServiceRequestService serviceRequestService;
+    private JobPicker jobPicker;
     private Quote quote;
     private Mode mode = Mode.ADD;
 
@@ -82,26 +89,6 @@ public class QuoteFormController {
      */
     @FXML
     public void initialize() {
-        // Set up service request combo box converter
-        serviceRequestComboBox.setConverter(new StringConverter<ServiceRequest>() {
-            @Override
-            public String toString(ServiceRequest serviceRequest) {
-                if (serviceRequest == null) {
-                    return null;
-                }
-                String customerName = serviceRequest.getCustomer() != null ?
-                        serviceRequest.getCustomer().getFirstName() + " " + serviceRequest.getCustomer().getLastName() :
-                        "Unknown Customer";
-                return "Job #" + serviceRequest.getJobId() + " - " + customerName;
-            }
-
-            @Override
-            public ServiceRequest fromString(String string) {
-                // Not used for combo box
-                return null;
-            }
-        });
-
         // Setup service request selection listener
         serviceRequestComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
             updateServiceRequestInfo(newVal);
@@ -118,7 +105,7 @@ public class QuoteFormController {
 
         // Set up status options
         statusComboBox.getItems().addAll("Pending", "Approved", "Rejected");
-        statusComboBox.setValue("Pending");
+        statusComboBox.setValue(QuoteStatus.PENDING.getLabel());
 
         // Set up validation for amount field
         ValidationUtils.setupDoubleTextField(amountField);
@@ -195,7 +182,7 @@ public class QuoteFormController {
      */
     public void setServiceRequestService(ServiceRequestService serviceRequestService) {
         this.serviceRequestService = serviceRequestService;
-        loadServiceRequests();
+        jobPicker = new JobPicker(serviceRequestComboBox, serviceRequestSearchField, serviceRequestService);
     }
 
     /**
@@ -208,7 +195,12 @@ public class QuoteFormController {
 
         // In edit mode, disable service request selection and generate button
         if (mode == Mode.EDIT) {
-            serviceRequestComboBox.setDisable(true);
+            if (jobPicker != null) {
+                jobPicker.setDisable(true);
+            } else {
+                serviceRequestComboBox.setDisable(true);
+                serviceRequestSearchField.setDisable(true);
+            }
             generateButton.setDisable(true);
         }
     }
@@ -218,14 +210,8 @@ public class QuoteFormController {
      * @param serviceRequest The service request to set
      */
     public void setServiceRequest(ServiceRequest serviceRequest) {
-        if (serviceRequest != null) {
-            for (ServiceRequest sr : serviceRequestComboBox.getItems()) {
-                if (sr.getJobId() == serviceRequest.getJobId()) {
-                    serviceRequestComboBox.setValue(sr);
-                    serviceRequestComboBox.setDisable(true); // Lock selection
-                    break;
-                }
-            }
+        if (serviceRequest != null && jobPicker != null && jobPicker.select(serviceRequest.getJobId())) {
+            jobPicker.setDisable(true); // Lock selection
         }
     }
 
@@ -252,53 +238,8 @@ public class QuoteFormController {
         statusComboBox.setValue(quote.getStatus());
 
         // Set service request
-        if (quote.getServiceRequest() != null) {
-            for (ServiceRequest sr : serviceRequestComboBox.getItems()) {
-                if (sr.getJobId() == quote.getJobId()) {
-                    serviceRequestComboBox.setValue(sr);
-                    break;
-                }
-            }
-        } else if (quote.getJobId() > 0) {
-            // Try to load service request if not already loaded
-            try {
-                Optional<ServiceRequest> serviceRequest = serviceRequestService.findById(quote.getJobId());
-                if (serviceRequest.isPresent()) {
-                    // Check if this service request is already in the combo box
-                    boolean found = false;
-                    for (ServiceRequest sr : serviceRequestComboBox.getItems()) {
-                        if (sr.getJobId() == quote.getJobId()) {
-                            serviceRequestComboBox.setValue(sr);
-                            found = true;
-                            break;
-                        }
-                    }
-
-                    // If not found, add it
-                    if (!found) {
-                        serviceRequestComboBox.getItems().add(serviceRequest.get());
-                        serviceRequestComboBox.setValue(serviceRequest.get());
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    /**
-     * Load service requests for the combo box
-     */
-    private void loadServiceRequests() {
-        try {
-            if (serviceRequestService != null) {
-                List<ServiceRequest> serviceRequests = serviceRequestService.getAllServiceRequests();
-                serviceRequestComboBox.getItems().clear();
-                serviceRequestComboBox.getItems().addAll(serviceRequests);
-            }
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "Failed to load service requests: " + e.getMessage());
-            e.printStackTrace();
+        if (quote.getJobId() > 0 && jobPicker != null) {
+            jobPicker.select(quote.getJobId());
         }
     }
 
@@ -363,9 +304,12 @@ public class QuoteFormController {
             if (mode == Mode.ADD) {
                 // Create new quote
                 Quote newQuote = createQuoteFromForm();
-                int quoteId = quoteService.createQuote(newQuote);
+                submitSave("Creating quote...", () -> quoteService.createQuote(newQuote), quoteId -> {
+                    if (quoteId <= 0) {
+                        AlertUtils.showErrorAlert("Error", "Failed to create quote.");
+                        return;
+                    }
 
-                if (quoteId > 0) {
                     // Ask if user wants to send notification email
                     boolean sendEmail = AlertUtils.showConfirmationAlert(
                             "Email Notification",
@@ -377,32 +321,35 @@ public class QuoteFormController {
                             newQuote.getServiceRequest().getCustomer() != null) {
                         // Load the quote with ID for email
                         newQuote.setQuoteId(quoteId);
-                        try {
-                            com.management.util.EmailSender.sendQuoteNotification(newQuote);
-                            AlertUtils.showInformationAlert("Email Sent",
-                                    "Quote notification email has been sent to the customer.");
-                        } catch (Exception e) {
-                            AlertUtils.showWarningAlert("Email Failed",
-                                    "Failed to send notification email: " + e.getMessage());
-                        }
+                        BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.SMTP,
+                                () -> com.management.util.EmailSender.sendQuoteNotification(newQuote),
+                                sent -> {
+                                    if (sent) {
+                                        AlertUtils.showInformationAlert("Email Sent",
+                                                "Quote notification email has been sent to the customer.");
+                                    } else {
+                                        AlertUtils.showWarningAlert("Email Failed",
+                                                "Failed to send notification email.");
+                                    }
+                                },
+                                e -> AlertUtils.showWarningAlert("Email Failed",
+                                        "Failed to send notification email: " + e.getMessage()));
                     }
 
                     AlertUtils.showInformationAlert("Success", "Quote created successfully.");
                     closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to create quote.");
-                }
+                });
             } else {
                 // Update existing quote
                 updateQuoteFromForm();
-                boolean success = quoteService.updateQuote(quote);
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Quote updated successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to update quote.");
-                }
+                submitSave("Saving quote...", () -> quoteService.updateQuote(quote), success -> {
+                    if (success) {
+                        AlertUtils.showInformationAlert("Success", "Quote updated successfully.");
+                        closeForm();
+                    } else {
+                        AlertUtils.showErrorAlert("Error", "Failed to update quote.");
+                    }
+                });
             }
         } catch (Exception e) {
             AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
@@ -410,6 +357,29 @@ public class QuoteFormController {
         }
     }
 
+    /**
+     * Run a save on the database writer, keeping the form disabled and
+     * showing progress on the save button until it completes
+     * @param message The progress message
+     * @param save The write
+     * @param onSaved Receives the write's result on the FX thread
+     */
+    private <T> void submitSave(String message, Callable<T> save, Consumer<T> onSaved) {
+        Task<T> task = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    progress.message(message);
+                    return save.call();
+                }, result -> {
+                    updateFormTitle();
+                    onSaved.accept(result);
+                }, e -> {
+                    updateFormTitle();
+                    AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, saveButton);
+        BackgroundTasks.disableWhileRunning(task, saveButton.getScene().getRoot());
+    }
+
     /**
      * Create a new quote from the form data
      * @return The new quote
@@ -1,11 +1,15 @@
 package com.management.controller.quote;
 
 import com.management.model.Quote;
+import com.management.model.QuoteStatus;
+import com.management.model.ServiceRequest;
 import com.management.service.QuoteService;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.CSVExporter;
 import com.management.util.FXMLLoaderUtil;
+import com.management.util.ObservableListSync;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -13,6 +17,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
@@ -22,6 +27,7 @@ import java.io.File;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 
 /**
@@ -218,7 +224,7 @@ public class QuoteListController {
             deleteButton.setDisable(!hasSelection);
 
             // Enable approve/reject buttons only for pending quotes
-            boolean isPending = hasSelection && "Pending".equals(newSelection.getStatus());
+            boolean isPending = hasSelection && newSelection.hasStatus(QuoteStatus.PENDING);
             approveButton.setDisable(!isPending);
             rejectButton.setDisable(!isPending);
         });
@@ -258,6 +264,14 @@ public class QuoteListController {
         this.quoteService = quoteService;
         loadQuotes();
         loadStatusFilters();
+
+        // Apply row-level changes published by the service layer instead of reloading
+        ObservableListSync.bind(quoteTable, Quote.class, quoteList,
+                Quote::getQuoteId, this::updateStatusLabel);
+
+        // Reload when another instance changes quotes or the jobs they are for
+        ObservableListSync.reloadOnExternalChange(quoteTable, this::loadQuotes,
+                Quote.class, ServiceRequest.class);
     }
 
     /**
@@ -426,9 +440,6 @@ public class QuoteListController {
                     controller.setMode(QuoteFormController.Mode.ADD);
                 }
         );
-
-        // Refresh the list to show the new quote
-        refreshQuoteList();
     }
 
     /**
@@ -451,9 +462,6 @@ public class QuoteListController {
                     controller.loadQuote(selectedQuote);
                 }
         );
-
-        // Refresh the list to show the updated quote
-        refreshQuoteList();
     }
 
     /**
@@ -474,19 +482,9 @@ public class QuoteListController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = quoteService.deleteQuote(selectedQuote.getQuoteId());
-
-                if (success) {
-                    statusLabel.setText("Quote deleted successfully");
-                    refreshQuoteList();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to delete quote");
-                }
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to delete quote: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int quoteId = selectedQuote.getQuoteId();
+            submitQuoteChange("Deleting quote...", () -> quoteService.deleteQuote(quoteId),
+                    "Quote deleted successfully", "Failed to delete quote", null);
         }
     }
 
@@ -507,31 +505,19 @@ public class QuoteListController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = quoteService.approveQuote(selectedQuote.getQuoteId());
-
-                if (success) {
-                    statusLabel.setText("Quote approved successfully");
-
-                    // Optionally, send an email notification to the customer
-                    if (selectedQuote.getServiceRequest() != null &&
-                            selectedQuote.getServiceRequest().getCustomer() != null) {
-                        try {
-                            com.management.util.EmailSender.sendQuoteNotification(selectedQuote);
-                        } catch (Exception e) {
-                            // Just log the error, don't stop the approval process
-                            System.err.println("Failed to send email notification: " + e.getMessage());
+            int quoteId = selectedQuote.getQuoteId();
+            submitQuoteChange("Approving quote...", () -> quoteService.approveQuote(quoteId),
+                    "Quote approved successfully", "Failed to approve quote", () -> {
+                        // Optionally, send an email notification to the customer
+                        if (selectedQuote.getServiceRequest() != null &&
+                                selectedQuote.getServiceRequest().getCustomer() != null) {
+                            // Just log a failure, don't stop the approval process
+                            BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.SMTP,
+                                    () -> com.management.util.EmailSender.sendQuoteNotification(selectedQuote),
+                                    null,
+                                    e -> System.err.println("Failed to send email notification: " + e.getMessage()));
                         }
-                    }
-
-                    refreshQuoteList();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to approve quote");
-                }
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to approve quote: " + e.getMessage());
-                e.printStackTrace();
-            }
+                    });
         }
     }
 
@@ -552,22 +538,45 @@ public class QuoteListController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = quoteService.rejectQuote(selectedQuote.getQuoteId());
-
-                if (success) {
-                    statusLabel.setText("Quote rejected successfully");
-                    refreshQuoteList();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to reject quote");
-                }
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to reject quote: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int quoteId = selectedQuote.getQuoteId();
+            submitQuoteChange("Rejecting quote...", () -> quoteService.rejectQuote(quoteId),
+                    "Quote rejected successfully", "Failed to reject quote", null);
         }
     }
 
+    /**
+     * Run a change to a quote on the database writer, keeping the list
+     * disabled and showing progress in the status bar until it completes
+     * @param message The progress message
+     * @param change The write, returning whether it succeeded
+     * @param successMessage The status shown when it succeeded
+     * @param failureMessage The error shown when it did not
+     * @param afterSuccess Run on the FX thread when it succeeded, may be null
+     */
+    private void submitQuoteChange(String message, Callable<Boolean> change, String successMessage,
+                                   String failureMessage, Runnable afterSuccess) {
+        Task<Boolean> task = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    progress.message(message);
+                    return change.call();
+                }, success -> {
+                    if (success) {
+                        statusLabel.setText(successMessage);
+                        if (afterSuccess != null) {
+                            afterSuccess.run();
+                        }
+                    } else {
+                        statusLabel.setText("");
+                        AlertUtils.showErrorAlert("Error", failureMessage);
+                    }
+                }, e -> {
+                    statusLabel.setText("");
+                    AlertUtils.showErrorAlert("Error", failureMessage + ": " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, statusLabel);
+        BackgroundTasks.disableWhileRunning(task, mainPane);
+    }
+
     /**
      * Handle exporting quotes to CSV
      */
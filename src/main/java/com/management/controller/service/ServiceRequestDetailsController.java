@@ -1,8 +1,11 @@
 package com.management.controller.service;
 
 import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -154,36 +157,41 @@ public class ServiceRequestDetailsController {
         statusLabel.getStyleClass().removeAll("status-badge-pending", "status-badge-confirmed",
                 "status-badge-completed", "status-badge-cancelled");
 
-        switch (serviceRequest.getStatus()) {
-            case "Pending":
-                statusLabel.getStyleClass().add("status-badge-pending");
-                break;
-            case "Confirmed":
-                statusLabel.getStyleClass().add("status-badge-confirmed");
-                break;
-            case "Completed":
-                statusLabel.getStyleClass().add("status-badge-completed");
-                break;
-            case "Cancelled":
-                statusLabel.getStyleClass().add("status-badge-cancelled");
-                break;
+        ServiceRequestStatus status = serviceRequest.getStatusValue();
+        if (status != null) {
+            switch (status) {
+                case PENDING:
+                    statusLabel.getStyleClass().add("status-badge-pending");
+                    break;
+                case CONFIRMED:
+                    statusLabel.getStyleClass().add("status-badge-confirmed");
+                    break;
+                case COMPLETED:
+                    statusLabel.getStyleClass().add("status-badge-completed");
+                    break;
+                case CANCELLED:
+                    statusLabel.getStyleClass().add("status-badge-cancelled");
+                    break;
+            }
         }
 
         // Set summary card background based on status
         summaryCard.getStyleClass().removeAll("status-pending", "status-confirmed", "status-completed", "status-cancelled");
-        switch (serviceRequest.getStatus()) {
-            case "Pending":
-                summaryCard.getStyleClass().add("status-pending");
-                break;
-            case "Confirmed":
-                summaryCard.getStyleClass().add("status-confirmed");
-                break;
-            case "Completed":
-                summaryCard.getStyleClass().add("status-completed");
-                break;
-            case "Cancelled":
-                summaryCard.getStyleClass().add("status-cancelled");
-                break;
+        if (status != null) {
+            switch (status) {
+                case PENDING:
+                    summaryCard.getStyleClass().add("status-pending");
+                    break;
+                case CONFIRMED:
+                    summaryCard.getStyleClass().add("status-confirmed");
+                    break;
+                case COMPLETED:
+                    summaryCard.getStyleClass().add("status-completed");
+                    break;
+                case CANCELLED:
+                    summaryCard.getStyleClass().add("status-cancelled");
+                    break;
+            }
         }
 
         // Set additional details
@@ -219,46 +227,54 @@ public class ServiceRequestDetailsController {
      * Handle copy booking action
      */
     private void handleCopyBooking() {
-        try {
-            Optional<ServiceRequest> serviceRequestOpt = serviceRequestService.findById(serviceRequestId);
-
-            if (serviceRequestOpt.isPresent()) {
-                ServiceRequest original = serviceRequestOpt.get();
-
-                // Create a new service request based on the current one
-                ServiceRequest copy = new ServiceRequest();
-                copy.setDescription(original.getDescription());
-                copy.setCustomerId(original.getCustomerId());
-                copy.setServiceDate(original.getServiceDate().plusDays(1)); // Schedule for next day
-                copy.setStartTime(original.getStartTime());
-                copy.setEndTime(original.getEndTime());
-                copy.setBuildingName(original.getBuildingName());
-                copy.setServiceAddress(original.getServiceAddress());
-                copy.setServiceCity(original.getServiceCity());
-                copy.setServiceState(original.getServiceState());
-                copy.setServiceZip(original.getServiceZip());
-                copy.setPocName(original.getPocName());
-                copy.setPocPhone(original.getPocPhone());
-                copy.setServiceParticipantName(original.getServiceParticipantName());
-                copy.setServiceNotes(original.getServiceNotes());
-                copy.setServiceCost(original.getServiceCost());
-                copy.setStatus("Pending"); // New copy should be pending
-
-                int newId = serviceRequestService.createServiceRequest(copy);
-
-                if (newId > 0) {
-                    AlertUtils.showInformationAlert(
-                            "Successfully created a copy of service request #" + original.getJobId(),
-                            "New service request ID: #" + newId);
-                    closeWindow();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to create copy of service request");
-                }
-            }
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "Failed to copy service request: " + e.getMessage());
-            e.printStackTrace();
-        }
+        String copyText = copyBookingButton.getText();
+        Task<Optional<Integer>> task = BackgroundTasks.getInstance().submit(null,
+                BackgroundTasks.Resource.DATABASE_WRITER, progress -> {
+                    progress.message("Copying...");
+                    Optional<ServiceRequest> serviceRequestOpt = serviceRequestService.findById(serviceRequestId);
+                    if (serviceRequestOpt.isEmpty()) {
+                        return Optional.<Integer>empty();
+                    }
+                    ServiceRequest original = serviceRequestOpt.get();
+
+                    // Create a new service request based on the current one
+                    ServiceRequest copy = new ServiceRequest();
+                    copy.setDescription(original.getDescription());
+                    copy.setCustomerId(original.getCustomerId());
+                    copy.setServiceDate(original.getServiceDate().plusDays(1)); // Schedule for next day
+                    copy.setStartTime(original.getStartTime());
+                    copy.setEndTime(original.getEndTime());
+                    copy.setBuildingName(original.getBuildingName());
+                    copy.setServiceAddress(original.getServiceAddress());
+                    copy.setServiceCity(original.getServiceCity());
+                    copy.setServiceState(original.getServiceState());
+                    copy.setServiceZip(original.getServiceZip());
+                    copy.setPocName(original.getPocName());
+                    copy.setPocPhone(original.getPocPhone());
+                    copy.setServiceParticipantName(original.getServiceParticipantName());
+                    copy.setServiceNotes(original.getServiceNotes());
+                    copy.setServiceCost(original.getServiceCost());
+                    copy.setStatus(ServiceRequestStatus.PENDING.getLabel()); // New copy should be pending
+
+                    return Optional.of(serviceRequestService.createServiceRequest(copy));
+                }, newIdOpt -> {
+                    copyBookingButton.setText(copyText);
+                    newIdOpt.ifPresent(newId -> {
+                        if (newId > 0) {
+                            AlertUtils.showInformationAlert(
+                                    "Successfully created a copy of service request #" + serviceRequestId,
+                                    "New service request ID: #" + newId);
+                            closeWindow();
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to create copy of service request");
+                        }
+                    });
+                }, e -> {
+                    copyBookingButton.setText(copyText);
+                    AlertUtils.showErrorAlert("Error", "Failed to copy service request: " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, copyBookingButton);
+        BackgroundTasks.disableWhileRunning(task, mainPane);
     }
 
     /**
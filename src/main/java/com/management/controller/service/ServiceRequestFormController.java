@@ -2,10 +2,13 @@ package com.management.controller.service;
 
 import com.management.model.Customer;
 import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
 import com.management.service.CustomerService;
 import com.management.service.ServiceRequestService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.ValidationUtils;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
@@ -15,6 +18,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * Controller for the service request form view (add/edit)
@@ -150,7 +154,7 @@ public class ServiceRequestFormController {
 
         // Set up status options
         statusComboBox.getItems().addAll("Pending", "Scheduled", "In Progress", "Completed", "Cancelled");
-        statusComboBox.setValue("Pending");
+        statusComboBox.setValue(ServiceRequestStatus.PENDING.getLabel());
 
         // Set up text formatters
         ValidationUtils.setupZipCodeTextField(zipField);
@@ -362,25 +366,15 @@ public class ServiceRequestFormController {
             if (mode == Mode.ADD) {
                 // Create new service request
                 ServiceRequest newServiceRequest = createServiceRequestFromForm();
-                int jobId = serviceRequestService.createServiceRequest(newServiceRequest);
-
-                if (jobId > 0) {
-                    AlertUtils.showInformationAlert("Success", "Service request created successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to create service request.");
-                }
+                submitSave("Creating service request...",
+                        () -> serviceRequestService.createServiceRequest(newServiceRequest) > 0,
+                        "Service request created successfully.", "Failed to create service request.");
             } else {
                 // Update existing service request
                 updateServiceRequestFromForm();
-                boolean success = serviceRequestService.updateServiceRequest(serviceRequest);
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Service request updated successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to update service request.");
-                }
+                submitSave("Saving service request...",
+                        () -> serviceRequestService.updateServiceRequest(serviceRequest),
+                        "Service request updated successfully.", "Failed to update service request.");
             }
         } catch (Exception e) {
             AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
@@ -388,6 +382,35 @@ public class ServiceRequestFormController {
         }
     }
 
+    /**
+     * Run a save on the database writer, keeping the form disabled and
+     * showing progress on the save button until it completes
+     * @param message The progress message
+     * @param save The write, returning whether it succeeded
+     * @param successMessage The message shown when it succeeded
+     * @param failureMessage The message shown when it did not
+     */
+    private void submitSave(String message, Callable<Boolean> save, String successMessage, String failureMessage) {
+        Task<Boolean> task = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    progress.message(message);
+                    return save.call();
+                }, success -> {
+                    updateFormTitle();
+                    if (success) {
+                        AlertUtils.showInformationAlert("Success", successMessage);
+                        closeForm();
+                    } else {
+                        AlertUtils.showErrorAlert("Error", failureMessage);
+                    }
+                }, e -> {
+                    updateFormTitle();
+                    AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, saveButton);
+        BackgroundTasks.disableWhileRunning(task, saveButton.getScene().getRoot());
+    }
+
     /**
      * Create a new service request from the form data
      * @return The new service request
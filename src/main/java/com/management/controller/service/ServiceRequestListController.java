@@ -1,12 +1,20 @@
 package com.management.controller.service;
 
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.ServiceRequestField;
+import com.management.model.Customer;
 import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
+import com.management.model.Technician;
 import com.management.service.CustomerService;
 import com.management.service.ServiceRequestService;
 import com.management.service.TechnicianService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.CSVExporter;
 import com.management.util.FXMLLoaderUtil;
+import com.management.util.ObservableListSync;
+import com.management.util.SearchQueryExecutor;
 
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -15,6 +23,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
@@ -27,6 +36,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 
 /**
@@ -120,15 +130,12 @@ public class ServiceRequestListController {
     private TechnicianService technicianService;
     private ObservableList<ServiceRequest> serviceRequestList = FXCollections.observableArrayList();
     private FilteredList<ServiceRequest> filteredServiceRequests;
+    private int totalServiceRequests;
+    private final SearchQueryExecutor<QueryResult> queryExecutor =
+            new SearchQueryExecutor<>(this::showServiceRequests, this::showLoadError);
     private boolean selectionMode = false;
     private java.util.function.Consumer<Integer> onServiceRequestSelectedCallback;
 
-    // Status constants
-    private static final String STATUS_PENDING = "Pending";
-    private static final String STATUS_CONFIRMED = "Confirmed";
-    private static final String STATUS_COMPLETED = "Completed";
-    private static final String STATUS_CANCELLED = "Cancelled";
-
     /**
      * Initialize the controller
      */
@@ -180,7 +187,7 @@ public class ServiceRequestListController {
 
         // Configure search field listener
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            applyFilters();
+            applyFilters(true);
         });
 
         // Connect filtered list to TableView
@@ -223,18 +230,18 @@ public class ServiceRequestListController {
                     }
 
                     // Apply the appropriate style class to the entire row
-                    if (item.getStatus() != null) {
-                        switch (item.getStatus()) {
-                            case STATUS_PENDING:
+                    if (item.getStatusValue() != null) {
+                        switch (item.getStatusValue()) {
+                            case PENDING:
                                 getStyleClass().add("status-pending");
                                 break;
-                            case STATUS_CONFIRMED:
+                            case CONFIRMED:
                                 getStyleClass().add("status-confirmed");
                                 break;
-                            case STATUS_COMPLETED:
+                            case COMPLETED:
                                 getStyleClass().add("status-completed");
                                 break;
-                            case STATUS_CANCELLED:
+                            case CANCELLED:
                                 getStyleClass().add("status-cancelled");
                                 break;
                         }
@@ -292,17 +299,22 @@ public class ServiceRequestListController {
                         "status-badge-confirmed", "status-badge-completed", "status-badge-cancelled");
                 getStyleClass().add("status-badge");
 
-                switch (status) {
-                    case STATUS_PENDING:
+                ServiceRequestStatus statusValue = ServiceRequestStatus.fromLabel(status);
+                if (statusValue == null) {
+                    return;
+                }
+
+                switch (statusValue) {
+                    case PENDING:
                         getStyleClass().add("status-badge-pending");
                         break;
-                    case STATUS_CONFIRMED:
+                    case CONFIRMED:
                         getStyleClass().add("status-badge-confirmed");
                         break;
-                    case STATUS_COMPLETED:
+                    case COMPLETED:
                         getStyleClass().add("status-badge-completed");
                         break;
-                    case STATUS_CANCELLED:
+                    case CANCELLED:
                         getStyleClass().add("status-badge-cancelled");
                         break;
                 }
@@ -317,6 +329,14 @@ public class ServiceRequestListController {
     public void setServiceRequestService(ServiceRequestService serviceRequestService) {
         this.serviceRequestService = serviceRequestService;
         loadServiceRequests();
+
+        // Apply row-level changes published by the service layer instead of reloading
+        ObservableListSync.bind(serviceRequestTable, ServiceRequest.class, serviceRequestList,
+                ServiceRequest::getJobId, this::updateStatusLabel);
+
+        // Reload when another instance changes jobs or the names shown with them
+        ObservableListSync.reloadOnExternalChange(serviceRequestTable, this::loadServiceRequests,
+                ServiceRequest.class, Customer.class, Technician.class);
     }
 
     /**
@@ -336,16 +356,58 @@ public class ServiceRequestListController {
     }
 
     /**
-     * Apply all filters based on current UI state
+     * Apply all filters based on current UI state at once
      */
     private void applyFilters() {
+        applyFilters(false);
+    }
+
+    /**
+     * Apply all filters based on current UI state. The database does the
+     * filtering; the predicate only screens rows added by live updates.
+     * @param debounce Whether to wait for typing to pause before querying
+     */
+    private void applyFilters(boolean debounce) {
         String searchText = searchField.getText();
         LocalDate startDate = startDatePicker.getValue();
         LocalDate endDate = endDatePicker.getValue();
         String statusFilter = getSelectedStatusFilter();
 
         filteredServiceRequests.setPredicate(createPredicate(searchText, statusFilter, startDate, endDate));
-        updateStatusLabel();
+        loadServiceRequests(debounce);
+    }
+
+    /**
+     * Build the query for the current filters
+     * @return The query specification, newest service dates first
+     */
+    private QuerySpec<ServiceRequestField> createQuerySpec() {
+        QuerySpec<ServiceRequestField> spec = new QuerySpec<>();
+
+        String statusFilter = getSelectedStatusFilter();
+        if (statusFilter != null) {
+            spec.equalTo(ServiceRequestField.STATUS, statusFilter);
+        }
+
+        LocalDate startDate = startDatePicker.getValue();
+        LocalDate endDate = endDatePicker.getValue();
+        if (startDate != null || endDate != null) {
+            spec.between(ServiceRequestField.SERVICE_DATE, startDate, endDate);
+        }
+
+        spec.containsAny(searchField.getText(),
+                ServiceRequestField.DESCRIPTION,
+                ServiceRequestField.SERVICE_ADDRESS,
+                ServiceRequestField.SERVICE_CITY,
+                ServiceRequestField.BUILDING_NAME,
+                ServiceRequestField.REF_NO,
+                ServiceRequestField.JOB_NUMBER,
+                ServiceRequestField.TECHNICIAN_NAMES,
+                ServiceRequestField.CUSTOMER_FIRST_NAME,
+                ServiceRequestField.CUSTOMER_LAST_NAME,
+                ServiceRequestField.CUSTOMER_NUMBER);
+
+        return spec.orderBy(ServiceRequestField.SERVICE_DATE, false);
     }
 
     /**
@@ -358,13 +420,13 @@ public class ServiceRequestListController {
         if (selectedTab == allTab) {
             return null;
         } else if (selectedTab == pendingTab) {
-            return STATUS_PENDING;
+            return ServiceRequestStatus.PENDING.getLabel();
         } else if (selectedTab == confirmedTab) {
-            return STATUS_CONFIRMED;
+            return ServiceRequestStatus.CONFIRMED.getLabel();
         } else if (selectedTab == completedTab) {
-            return STATUS_COMPLETED;
+            return ServiceRequestStatus.COMPLETED.getLabel();
         } else if (selectedTab == cancelledTab) {
-            return STATUS_CANCELLED;
+            return ServiceRequestStatus.CANCELLED.getLabel();
         }
 
         return null;
@@ -379,7 +441,7 @@ public class ServiceRequestListController {
         startDatePicker.setValue(null);
         endDatePicker.setValue(null);
         filteredServiceRequests.setPredicate(p -> true);
-        updateStatusLabel();
+        loadServiceRequests();
     }
 
     /**
@@ -454,34 +516,52 @@ public class ServiceRequestListController {
     }
 
     /**
-     * Load service requests from the database
+     * Load the service requests matching the current filters from the database
      */
     private void loadServiceRequests() {
-        try {
-            statusLabel.setText("Loading service requests...");
-
-            // Clear current list
-            serviceRequestList.clear();
+        loadServiceRequests(false);
+    }
 
-            // Get the latest service request list
-            List<ServiceRequest> serviceRequests = serviceRequestService.getAllServiceRequests();
+    /**
+     * Load the service requests matching the current filters from the database.
+     * A newer load cancels the query of an older one still running.
+     * @param debounce Whether to wait for typing to pause before querying
+     */
+    private void loadServiceRequests(boolean debounce) {
+        if (serviceRequestService == null) {
+            return;
+        }
 
-            // Update the observable list
-            serviceRequestList.addAll(serviceRequests);
+        QuerySpec<ServiceRequestField> spec = createQuerySpec();
+        ServiceRequestService service = serviceRequestService;
+        statusLabel.setText("Loading service requests...");
 
-            updateStatusLabel();
-        } catch (Exception e) {
-            statusLabel.setText("Error loading service requests: " + e.getMessage());
-            AlertUtils.showErrorAlert("Error", "Failed to load service requests: " + e.getMessage());
-            e.printStackTrace();
+        Callable<QueryResult> query = () -> new QueryResult(
+                service.findServiceRequests(spec), service.countServiceRequests());
+        if (debounce) {
+            queryExecutor.submit(query);
+        } else {
+            queryExecutor.submitNow(query);
         }
     }
 
+    private void showServiceRequests(QueryResult result) {
+        totalServiceRequests = result.total;
+        serviceRequestList.setAll(result.serviceRequests);
+        updateStatusLabel();
+    }
+
+    private void showLoadError(Exception e) {
+        e.printStackTrace();
+        statusLabel.setText("Error loading service requests: " + e.getMessage());
+        AlertUtils.showErrorAlert("Error", "Failed to load service requests: " + e.getMessage());
+    }
+
     /**
      * Update the status label with current filter results
      */
     private void updateStatusLabel() {
-        int totalCount = serviceRequestList.size();
+        int totalCount = Math.max(totalServiceRequests, serviceRequestList.size());
         int shownCount = filteredServiceRequests.size();
 
         if (totalCount == shownCount) {
@@ -510,9 +590,6 @@ public class ServiceRequestListController {
                 null,  // null for new service request (not editing)
                 null   // null for no pre-selected customer
         );
-
-        // Refresh the list to show the new service request
-        refreshServiceRequestList();
     }
 
     /**
@@ -533,9 +610,6 @@ public class ServiceRequestListController {
                 selectedServiceRequest,  // Pass the selected service request for editing
                 null                     // No need to pre-select customer as it's already in the service request
         );
-
-        // Refresh the list to show the updated service request
-        refreshServiceRequestList();
     }
 
     /**
@@ -576,19 +650,24 @@ public class ServiceRequestListController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = serviceRequestService.deleteServiceRequest(selectedServiceRequest.getJobId());
-
-                if (success) {
-                    statusLabel.setText("Service request deleted successfully");
-                    refreshServiceRequestList();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to delete service request");
-                }
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to delete service request: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int jobId = selectedServiceRequest.getJobId();
+            Task<Boolean> delete = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                    progress -> {
+                        progress.message("Deleting service request...");
+                        return serviceRequestService.deleteServiceRequest(jobId);
+                    }, success -> {
+                        if (success) {
+                            statusLabel.setText("Service request deleted successfully");
+                        } else {
+                            statusLabel.setText("");
+                            AlertUtils.showErrorAlert("Error", "Failed to delete service request");
+                        }
+                    }, e -> {
+                        statusLabel.setText("");
+                        AlertUtils.showErrorAlert("Error", "Failed to delete service request: " + e.getMessage());
+                    });
+            BackgroundTasks.showStatus(delete, statusLabel);
+            BackgroundTasks.disableWhileRunning(delete, mainPane);
         }
     }
 
@@ -667,18 +746,18 @@ public class ServiceRequestListController {
 
                         // Add style class based on status
                         getStyleClass().removeAll("status-pending", "status-confirmed", "status-completed", "status-cancelled");
-                        if (item.getStatus() != null) {
-                            switch (item.getStatus()) {
-                                case STATUS_PENDING:
+                        if (item.getStatusValue() != null) {
+                            switch (item.getStatusValue()) {
+                                case PENDING:
                                     getStyleClass().add("status-pending");
                                     break;
-                                case STATUS_CONFIRMED:
+                                case CONFIRMED:
                                     getStyleClass().add("status-confirmed");
                                     break;
-                                case STATUS_COMPLETED:
+                                case COMPLETED:
                                     getStyleClass().add("status-completed");
                                     break;
-                                case STATUS_CANCELLED:
+                                case CANCELLED:
                                     getStyleClass().add("status-cancelled");
                                     break;
                             }
@@ -698,4 +777,17 @@ public class ServiceRequestListController {
             });
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The matching service requests with the total count for the status label
+     */
+    private static class QueryResult {
+        private final List<ServiceRequest> serviceRequests;
+        private final int total;
+
+        QueryResult(List<ServiceRequest> serviceRequests, int total) {
+            this.serviceRequests = serviceRequests;
+            this.total = total;
+        }
+    }
+}
@@ -8,7 +8,9 @@ import com.management.service.CustomerService;
 import com.management.service.ServiceRequestService;
 import com.management.service.TechnicianService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -156,36 +158,18 @@ public class ServiceRequestViewController {
             // Create wizard
             wizard = new WizardFramework();
 
-            // Create steps
-            ServiceRequestWizardSteps.CustomerStep customerStep =
-                    new ServiceRequestWizardSteps.CustomerStep(customerService, serviceRequest);
+            // Steps are built when first shown; the prefetcher loads their lists meanwhile
+            ServiceRequestWizardSteps.Prefetcher prefetcher =
+                    new ServiceRequestWizardSteps.Prefetcher(customerService, technicianService, serviceRequest);
 
-            ServiceRequestWizardSteps.ServiceDetailsStep detailsStep =
-                    new ServiceRequestWizardSteps.ServiceDetailsStep(serviceRequest);
-
-            ServiceRequestWizardSteps.SchedulingStep schedulingStep =
-                    new ServiceRequestWizardSteps.SchedulingStep(serviceRequest);
-
-            ServiceRequestWizardSteps.LocationStep locationStep =
-                    new ServiceRequestWizardSteps.LocationStep(serviceRequest);
-
-            ServiceRequestWizardSteps.TechnicianStep technicianStep =
-                    new ServiceRequestWizardSteps.TechnicianStep(technicianService, serviceRequest);
-
-            ServiceRequestWizardSteps.CostEstimationStep costStep =
-                    new ServiceRequestWizardSteps.CostEstimationStep(serviceRequest);
-
-            ServiceRequestWizardSteps.ReviewStep reviewStep =
-                    new ServiceRequestWizardSteps.ReviewStep(serviceRequest, this::saveServiceRequest);
-
-            // Add steps to wizard
-            wizard.addStep(customerStep);
-            wizard.addStep(detailsStep);
-            wizard.addStep(schedulingStep);
-            wizard.addStep(locationStep);
-            wizard.addStep(technicianStep);
-            wizard.addStep(costStep);
-            wizard.addStep(reviewStep);
+            wizard.addStep(() -> new ServiceRequestWizardSteps.CustomerStep(prefetcher, serviceRequest));
+            wizard.addStep(() -> new ServiceRequestWizardSteps.ServiceDetailsStep(serviceRequest));
+            wizard.addStep(() -> new ServiceRequestWizardSteps.SchedulingStep(serviceRequest));
+            wizard.addStep(() -> new ServiceRequestWizardSteps.LocationStep(serviceRequest));
+            wizard.addStep(() -> new ServiceRequestWizardSteps.TechnicianStep(prefetcher, serviceRequest),
+                    prefetcher::prefetchTechnicians);
+            wizard.addStep(() -> new ServiceRequestWizardSteps.CostEstimationStep(serviceRequest));
+            wizard.addStep(() -> new ServiceRequestWizardSteps.ReviewStep(serviceRequest, this::saveServiceRequest));
 
             // Pre-select customer if provided
             if (preselectedCustomer != null && !isEditMode) {
@@ -276,13 +260,12 @@ public class ServiceRequestViewController {
     }
 
     /**
-     * Handle finish button click
+     * Handle finish button click. The review step saves the service request,
+     * and the window closes once the save has completed.
      */
     private void handleFinish() {
-        if (wizard != null && wizard.getCurrentStep().validate()) {
-            // Close the window
-            Stage stage = (Stage) mainContainer.getScene().getWindow();
-            stage.close();
+        if (wizard != null) {
+            wizard.getCurrentStep().validate();
         }
     }
 
@@ -298,31 +281,44 @@ public class ServiceRequestViewController {
     }
 
     /**
-     * Save the service request
+     * Save the service request on the database writer, keeping the view
+     * disabled until the save completes and closing it when it succeeded
      * @param serviceRequest The service request to save
      */
     private void saveServiceRequest(ServiceRequest serviceRequest) {
-        try {
-            if (isEditMode) {
-                boolean success = serviceRequestService.updateServiceRequest(serviceRequest);
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Service request updated successfully.");
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to update service request.");
-                }
-            } else {
-                int jobId = serviceRequestService.createServiceRequest(serviceRequest);
-                if (jobId > 0) {
-                    serviceRequest.setJobId(jobId);
-                    AlertUtils.showInformationAlert("Success", "Service request created successfully.");
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to create service request.");
-                }
-            }
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
-            e.printStackTrace();
-        }
+        boolean update = isEditMode;
+        String finishText = finishButton.getText();
+        Task<Boolean> task = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    if (update) {
+                        progress.message("Saving...");
+                        return serviceRequestService.updateServiceRequest(serviceRequest);
+                    }
+                    progress.message("Creating...");
+                    int jobId = serviceRequestService.createServiceRequest(serviceRequest);
+                    if (jobId > 0) {
+                        serviceRequest.setJobId(jobId);
+                    }
+                    return jobId > 0;
+                }, success -> {
+                    finishButton.setText(finishText);
+                    if (success) {
+                        AlertUtils.showInformationAlert("Success", update
+                                ? "Service request updated successfully."
+                                : "Service request created successfully.");
+                        Stage stage = (Stage) mainContainer.getScene().getWindow();
+                        stage.close();
+                    } else {
+                        AlertUtils.showErrorAlert("Error", update
+                                ? "Failed to update service request."
+                                : "Failed to create service request.");
+                    }
+                }, e -> {
+                    finishButton.setText(finishText);
+                    AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, finishButton);
+        BackgroundTasks.disableWhileRunning(task, mainContainer);
     }
 
     /**
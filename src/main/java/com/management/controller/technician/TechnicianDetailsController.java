@@ -3,16 +3,19 @@ package com.management.controller.technician;
 import com.management.controller.service.ServiceRequestDetailsController;
 import com.management.controller.service.ServiceRequestListController;
 import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
 import com.management.model.Technician;
 import com.management.service.ServiceRequestService;
 import com.management.service.TechnicianService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.CSVExporter;
 import com.management.util.FXMLLoaderUtil;
 import com.management.util.PDFGenerator;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -21,6 +24,7 @@ import javafx.stage.Stage;
 
 import java.io.File;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -298,7 +302,7 @@ public class TechnicianDetailsController {
 
                 // Count completed service requests
                 int completedCount = (int) requests.stream()
-                        .filter(sr -> "Completed".equals(sr.getStatus()))
+                        .filter(sr -> sr.hasStatus(ServiceRequestStatus.COMPLETED))
                         .count();
                 completedServicesLabel.setText(String.valueOf(completedCount));
             }
@@ -358,26 +362,35 @@ public class TechnicianDetailsController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = technicianService.deleteTechnician(technician.getTechnicianId());
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Technician deleted successfully.");
-                    handleClose();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to delete technician.");
-                }
-            } catch (IllegalStateException e) {
-                // Specific exception for deleting technicians with existing service assignments
-                AlertUtils.showErrorAlert(
-                        "Cannot Delete Technician",
-                        "This technician has existing service assignments and cannot be deleted. " +
-                                "Please remove all service assignments for this technician first."
-                );
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to delete technician: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int technicianId = technician.getTechnicianId();
+            String deleteText = deleteButton.getText();
+            Task<Boolean> delete = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                    progress -> {
+                        progress.message("Deleting...");
+                        return technicianService.deleteTechnician(technicianId);
+                    }, success -> {
+                        deleteButton.setText(deleteText);
+                        if (success) {
+                            AlertUtils.showInformationAlert("Success", "Technician deleted successfully.");
+                            handleClose();
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to delete technician.");
+                        }
+                    }, e -> {
+                        deleteButton.setText(deleteText);
+                        if (e instanceof IllegalStateException) {
+                            // Specific exception for deleting technicians with existing service assignments
+                            AlertUtils.showErrorAlert(
+                                    "Cannot Delete Technician",
+                                    "This technician has existing service assignments and cannot be deleted. " +
+                                            "Please remove all service assignments for this technician first."
+                            );
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to delete technician: " + e.getMessage());
+                        }
+                    });
+            BackgroundTasks.showStatus(delete, deleteButton);
+            BackgroundTasks.disableWhileRunning(delete, deleteButton.getScene().getRoot());
         }
     }
 
@@ -407,33 +420,47 @@ public class TechnicianDetailsController {
                 (ServiceRequestListController controller) -> {
                     controller.setServiceRequestService(serviceRequestService);
                     controller.setSelectionMode(true);
-                    controller.setOnServiceRequestSelectedCallback(jobId -> {
-                        try {
-                            boolean success = serviceRequestService.assignTechnician(jobId, technician.getTechnicianId());
-                            if (success) {
-                                AlertUtils.showInformationAlert(
-                                        "Success",
-                                        "Technician successfully assigned to service request."
-                                );
-                                loadServiceRequests();
-                            } else {
-                                AlertUtils.showErrorAlert(
-                                        "Error",
-                                        "Failed to assign technician to service request."
-                                );
-                            }
-                        } catch (Exception e) {
-                            AlertUtils.showErrorAlert(
-                                    "Error",
-                                    "Failed to assign technician: " + e.getMessage()
-                            );
-                            e.printStackTrace();
-                        }
-                    });
+                    controller.setOnServiceRequestSelectedCallback(this::assignToServiceRequest);
                 }
         );
     }
 
+    /**
+     * Assign the technician to a service request on the database writer
+     * @param jobId The service request's job ID
+     */
+    private void assignToServiceRequest(int jobId) {
+        int technicianId = technician.getTechnicianId();
+        String assignText = assignButton.getText();
+        Task<Boolean> assign = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    progress.message("Assigning...");
+                    return serviceRequestService.assignTechnician(jobId, technicianId);
+                }, success -> {
+                    assignButton.setText(assignText);
+                    if (success) {
+                        AlertUtils.showInformationAlert(
+                                "Success",
+                                "Technician successfully assigned to service request."
+                        );
+                        loadServiceRequests();
+                    } else {
+                        AlertUtils.showErrorAlert(
+                                "Error",
+                                "Failed to assign technician to service request."
+                        );
+                    }
+                }, e -> {
+                    assignButton.setText(assignText);
+                    AlertUtils.showErrorAlert(
+                            "Error",
+                            "Failed to assign technician: " + e.getMessage()
+                    );
+                });
+        BackgroundTasks.showStatus(assign, assignButton);
+        BackgroundTasks.disableWhileRunning(assign, assignButton.getScene().getRoot());
+    }
+
     /**
      * Handle printing technician details to PDF
      */
@@ -450,12 +477,15 @@ public class TechnicianDetailsController {
             File file = fileChooser.showSaveDialog(technicianIdLabel.getScene().getWindow());
 
             if (file != null) {
-                PDFGenerator.generateTechnicianReport(technician, serviceRequests, file.getAbsolutePath());
-
-                AlertUtils.showInformationAlert(
+                Technician reportTechnician = technician;
+                List<ServiceRequest> reportRequests = new ArrayList<>(serviceRequests);
+                BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DISK, () -> {
+                    PDFGenerator.generateTechnicianReport(reportTechnician, reportRequests, file.getAbsolutePath());
+                    return file;
+                }, saved -> AlertUtils.showInformationAlert(
                         "Report Generated",
-                        "Technician report has been saved to " + file.getName()
-                );
+                        "Technician report has been saved to " + saved.getName()
+                ), e -> AlertUtils.showErrorAlert("Error", "Failed to generate report: " + e.getMessage()));
             }
         } catch (Exception e) {
             AlertUtils.showErrorAlert("Error", "Failed to generate report: " + e.getMessage());
@@ -478,12 +508,14 @@ public class TechnicianDetailsController {
             File file = fileChooser.showSaveDialog(technicianIdLabel.getScene().getWindow());
 
             if (file != null) {
-                CSVExporter.exportServiceRequests(serviceRequests, true, file.getAbsolutePath());
-
-                AlertUtils.showInformationAlert(
+                List<ServiceRequest> exported = new ArrayList<>(serviceRequests);
+                BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DISK, () -> {
+                    CSVExporter.exportServiceRequests(exported, true, file.getAbsolutePath());
+                    return exported.size();
+                }, count -> AlertUtils.showInformationAlert(
                         "Export Successful",
-                        "Successfully exported " + serviceRequests.size() + " service requests to " + file.getName()
-                );
+                        "Successfully exported " + count + " service requests to " + file.getName()
+                ), e -> AlertUtils.showErrorAlert("Export Error", "Failed to export service requests: " + e.getMessage()));
             }
         } catch (Exception e) {
             AlertUtils.showErrorAlert("Export Error", "Failed to export service requests: " + e.getMessage());
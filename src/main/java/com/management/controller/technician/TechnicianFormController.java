@@ -3,7 +3,9 @@ package com.management.controller.technician;
 import com.management.model.Technician;
 import com.management.service.TechnicianService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.ValidationUtils;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
@@ -11,6 +13,8 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
+import java.util.concurrent.Callable;
+
 /**
  * Controller for the step-based technician form view (add/edit)
  */
@@ -482,36 +486,48 @@ public class TechnicianFormController {
             return;
         }
 
-        try {
-            if (mode == Mode.ADD) {
-                // Create new technician
-                Technician newTechnician = createTechnicianFromForm();
-                int id = technicianService.createTechnician(newTechnician);
-
-                if (id > 0) {
-                    AlertUtils.showInformationAlert("Success", "Technician created successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to create technician.");
-                }
-            } else {
-                // Update existing technician
-                updateTechnicianFromForm();
-                boolean success = technicianService.updateTechnician(technician);
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Technician updated successfully.");
-                    closeForm();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to update technician.");
-                }
-            }
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
-            e.printStackTrace();
+        if (mode == Mode.ADD) {
+            // Create new technician
+            Technician newTechnician = createTechnicianFromForm();
+            submitSave("Creating technician...", () -> technicianService.createTechnician(newTechnician) > 0,
+                    "Technician created successfully.", "Failed to create technician.");
+        } else {
+            // Update existing technician
+            updateTechnicianFromForm();
+            submitSave("Saving technician...", () -> technicianService.updateTechnician(technician),
+                    "Technician updated successfully.", "Failed to update technician.");
         }
     }
 
+    /**
+     * Run a save on the database writer, keeping the form disabled and
+     * showing progress on the save button until it completes
+     * @param message The progress message
+     * @param save The write, returning whether it succeeded
+     * @param successMessage The message shown when it succeeded
+     * @param failureMessage The message shown when it did not
+     */
+    private void submitSave(String message, Callable<Boolean> save, String successMessage, String failureMessage) {
+        Task<Boolean> task = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                progress -> {
+                    progress.message(message);
+                    return save.call();
+                }, success -> {
+                    updateFormTitle();
+                    if (success) {
+                        AlertUtils.showInformationAlert("Success", successMessage);
+                        closeForm();
+                    } else {
+                        AlertUtils.showErrorAlert("Error", failureMessage);
+                    }
+                }, e -> {
+                    updateFormTitle();
+                    AlertUtils.showErrorAlert("Error", "An error occurred: " + e.getMessage());
+                });
+        BackgroundTasks.showStatus(task, saveButton);
+        BackgroundTasks.disableWhileRunning(task, saveButton.getScene().getRoot());
+    }
+
     /**
      * Create a new technician from the form data
      * @return The new technician
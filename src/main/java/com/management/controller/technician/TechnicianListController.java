@@ -1,17 +1,24 @@
 package com.management.controller.technician;
 
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.TechnicianField;
 import com.management.model.ServiceRequest;
 import com.management.model.Technician;
+import com.management.model.TechnicianWorkload;
 import com.management.service.ServiceRequestService;
 import com.management.service.TechnicianService;
 import com.management.util.AlertUtils;
+import com.management.util.BackgroundTasks;
 import com.management.util.FXMLLoaderUtil;
+import com.management.util.ObservableListSync;
+import com.management.util.SearchQueryExecutor;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -20,7 +27,10 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 
 /**
@@ -71,6 +81,9 @@ public class TechnicianListController {
     private ServiceRequestService serviceRequestService;
     private ObservableList<Technician> technicianList = FXCollections.observableArrayList();
     private FilteredList<Technician> filteredTechnicians;
+    private int totalTechnicians;
+    private final SearchQueryExecutor<QueryResult> queryExecutor =
+            new SearchQueryExecutor<>(this::showTechnicians, this::showLoadError);
 
     /**
      * Initialize the controller
@@ -92,8 +105,8 @@ public class TechnicianListController {
         // Get assigned service requests count for each technician
         assignedServicesColumn.setCellValueFactory(data -> {
             if (serviceRequestService != null) {
-                List<ServiceRequest> requests = serviceRequestService.getTechnicianServiceRequests(data.getValue().getTechnicianId());
-                return new SimpleIntegerProperty(requests.size()).asObject();
+                TechnicianWorkload workload = serviceRequestService.getTechnicianWorkload(data.getValue().getTechnicianId());
+                return new SimpleIntegerProperty(workload.getAssignedCount()).asObject();
             }
             return new SimpleIntegerProperty(0).asObject();
         });
@@ -101,8 +114,8 @@ public class TechnicianListController {
         // Determine status based on assigned jobs
         statusColumn.setCellValueFactory(data -> {
             if (serviceRequestService != null) {
-                List<ServiceRequest> requests = serviceRequestService.getTechnicianServiceRequests(data.getValue().getTechnicianId());
-                return new SimpleStringProperty(requests.isEmpty() ? "AVAILABLE" : "ASSIGNED");
+                TechnicianWorkload workload = serviceRequestService.getTechnicianWorkload(data.getValue().getTechnicianId());
+                return new SimpleStringProperty(workload.isAvailable() ? "AVAILABLE" : "ASSIGNED");
             }
             return new SimpleStringProperty("AVAILABLE");
         });
@@ -135,11 +148,10 @@ public class TechnicianListController {
         // Set up filtering
         filteredTechnicians = new FilteredList<>(technicianList, p -> true);
 
-        // Configure search field listener
+        // The database does the searching; the predicate only screens rows added by live updates
         searchField.textProperty().addListener((obs, oldVal, newVal) -> {
             filteredTechnicians.setPredicate(createSearchPredicate(newVal));
-            updateStatusLabel();
-            updateSummaryCards();
+            loadTechnicians(true);
         });
 
         // Connect filtered list to TableView
@@ -191,6 +203,17 @@ public class TechnicianListController {
     public void setTechnicianService(TechnicianService technicianService) {
         this.technicianService = technicianService;
         loadTechnicians();
+
+        // Apply row-level changes published by the service layer instead of reloading
+        ObservableListSync.bind(technicianTable, Technician.class, technicianList,
+                Technician::getTechnicianId, () -> {
+                    updateStatusLabel();
+                    updateSummaryCards();
+                });
+
+        // Reload when another instance changes technicians or their jobs
+        ObservableListSync.reloadOnExternalChange(technicianTable, this::loadTechnicians,
+                Technician.class, ServiceRequest.class);
     }
 
     /**
@@ -246,32 +269,67 @@ public class TechnicianListController {
      * Load all technicians
      */
     private void loadTechnicians() {
-        try {
-            statusLabel.setText("Loading technicians...");
+        loadTechnicians(false);
+    }
 
-            // Clear current list
-            technicianList.clear();
+    /**
+     * Load the technicians matching the search text. A newer load cancels
+     * the query of an older one still running.
+     * @param debounce Whether to wait for typing to pause before querying
+     */
+    private void loadTechnicians(boolean debounce) {
+        if (technicianService == null) {
+            return;
+        }
 
-            // Get the latest technician list
-            List<Technician> technicians = technicianService.getAllTechnicians();
+        String searchText = searchField.getText();
+        TechnicianService service = technicianService;
+        statusLabel.setText("Loading technicians...");
+
+        Callable<QueryResult> query = () -> new QueryResult(
+                searchText == null || searchText.isBlank()
+                        ? service.getAllTechnicians()
+                        : service.findTechnicians(createSearchSpec(searchText)),
+                service.countTechnicians());
+        if (debounce) {
+            queryExecutor.submit(query);
+        } else {
+            queryExecutor.submitNow(query);
+        }
+    }
 
-            // Update the observable list
-            technicianList.addAll(technicians);
+    /**
+     * Build the database search matching {@link #createSearchPredicate(String)}
+     */
+    private QuerySpec<TechnicianField> createSearchSpec(String searchText) {
+        return new QuerySpec<TechnicianField>()
+                .containsAny(searchText,
+                        TechnicianField.FIRST_NAME,
+                        TechnicianField.LAST_NAME,
+                        TechnicianField.EMAIL,
+                        TechnicianField.CREDENTIALS,
+                        TechnicianField.COVERAGE_AREA)
+                .orderBy(TechnicianField.LAST_NAME, true)
+                .orderBy(TechnicianField.FIRST_NAME, true);
+    }
 
-            updateStatusLabel();
-            updateSummaryCards();
+    private void showTechnicians(QueryResult result) {
+        totalTechnicians = result.total;
+        technicianList.setAll(result.technicians);
+        updateStatusLabel();
+        updateSummaryCards();
+    }
 
-        } catch (Exception e) {
-            statusLabel.setText("Error loading technicians: " + e.getMessage());
-            e.printStackTrace();
-        }
+    private void showLoadError(Exception e) {
+        e.printStackTrace();
+        statusLabel.setText("Error loading technicians: " + e.getMessage());
     }
 
     /**
      * Update the status label
      */
     private void updateStatusLabel() {
-        int totalCount = technicianList.size();
+        int totalCount = Math.max(totalTechnicians, technicianList.size());
         int shownCount = filteredTechnicians.size();
 
         if (totalCount == shownCount) {
@@ -288,16 +346,17 @@ public class TechnicianListController {
         int available = 0;
         int assigned = 0;
 
+        // One cached grouped query covers every technician in the list
+        Map<Integer, TechnicianWorkload> workloads = serviceRequestService != null
+                ? serviceRequestService.getTechnicianWorkloads()
+                : Collections.emptyMap();
+
         for (Technician tech : filteredTechnicians) {
-            if (serviceRequestService != null) {
-                List<ServiceRequest> requests = serviceRequestService.getTechnicianServiceRequests(tech.getTechnicianId());
-                if (requests.isEmpty()) {
-                    available++;
-                } else {
-                    assigned++;
-                }
-            } else {
+            TechnicianWorkload workload = workloads.get(tech.getTechnicianId());
+            if (workload == null || workload.isAvailable()) {
                 available++;
+            } else {
+                assigned++;
             }
         }
 
@@ -319,9 +378,6 @@ public class TechnicianListController {
                     controller.setMode(TechnicianFormController.Mode.ADD);
                 }
         );
-
-        // Refresh the list
-        loadTechnicians();
     }
 
     /**
@@ -344,9 +400,6 @@ public class TechnicianListController {
                     controller.loadTechnician(selectedTechnician);
                 }
         );
-
-        // Refresh the list
-        loadTechnicians();
     }
 
     /**
@@ -365,24 +418,31 @@ public class TechnicianListController {
         );
 
         if (confirmed) {
-            try {
-                boolean success = technicianService.deleteTechnician(selectedTechnician.getTechnicianId());
-
-                if (success) {
-                    AlertUtils.showInformationAlert("Success", "Technician deleted successfully");
-                    loadTechnicians();
-                } else {
-                    AlertUtils.showErrorAlert("Error", "Failed to delete technician");
-                }
-            } catch (IllegalStateException e) {
-                AlertUtils.showErrorAlert(
-                        "Cannot Delete Technician",
-                        "This technician has existing service assignments and cannot be deleted."
-                );
-            } catch (Exception e) {
-                AlertUtils.showErrorAlert("Error", "Failed to delete technician: " + e.getMessage());
-                e.printStackTrace();
-            }
+            int technicianId = selectedTechnician.getTechnicianId();
+            Task<Boolean> delete = BackgroundTasks.getInstance().submit(null, BackgroundTasks.Resource.DATABASE_WRITER,
+                    progress -> {
+                        progress.message("Deleting technician...");
+                        return technicianService.deleteTechnician(technicianId);
+                    }, success -> {
+                        statusLabel.setText("");
+                        if (success) {
+                            AlertUtils.showInformationAlert("Success", "Technician deleted successfully");
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to delete technician");
+                        }
+                    }, e -> {
+                        statusLabel.setText("");
+                        if (e instanceof IllegalStateException) {
+                            AlertUtils.showErrorAlert(
+                                    "Cannot Delete Technician",
+                                    "This technician has existing service assignments and cannot be deleted."
+                            );
+                        } else {
+                            AlertUtils.showErrorAlert("Error", "Failed to delete technician: " + e.getMessage());
+                        }
+                    });
+            BackgroundTasks.showStatus(delete, statusLabel);
+            BackgroundTasks.disableWhileRunning(delete, mainPane);
         }
     }
 
@@ -547,4 +607,17 @@ public class TechnicianListController {
     public void refreshTechnicianList() {
         loadTechnicians();
     }
-}
\ No newline at end of file
+
+    /**
+     * The matching technicians with the total count for the status label
+     */
+    private static class QueryResult {
+        private final List<Technician> technicians;
+        private final int total;
+
+        QueryResult(List<Technician> technicians, int total) {
+            this.technicians = technicians;
+            this.total = total;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.management.controller.technician;
 import com.management.controller.service.ServiceRequestDetailsController;
 import com.management.model.ServiceRequest;
 import com.management.model.Technician;
+import com.management.service.DataChangeBus;
 import com.management.service.ServiceRequestService;
 import com.management.service.TechnicianService;
 import com.management.util.AlertUtils;
@@ -17,6 +18,7 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 import java.io.File;
 import java.time.DayOfWeek;
@@ -26,12 +28,22 @@ import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Controller for the technician schedule view
  */
 public class TechnicianScheduleController {
+    private static final int MAX_CACHED_PERIODS = 24;
+
+    // Adjacent periods are loaded one at a time off the FX thread
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "schedule-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @FXML
     private Label technicianNameLabel;
@@ -89,6 +101,11 @@ public class TechnicianScheduleController {
     private Technician technician;
     private ObservableList<ServiceRequest> serviceRequests = FXCollections.observableArrayList();
 
+    // Loaded periods keyed by technician and date range, dropped whenever a job changes
+    private final Map<String, List<ServiceRequest>> periodCache = new ConcurrentHashMap<>();
+    private volatile int cacheVersion;
+    private boolean adjustingDates;
+
     // View types
     private enum ViewType {
         WEEK("Week View"),
@@ -167,7 +184,7 @@ public class TechnicianScheduleController {
 
         previousButton.setOnAction(e -> navigatePrevious());
         nextButton.setOnAction(e -> navigateNext());
-        refreshButton.setOnAction(e -> refreshSchedule());
+        refreshButton.setOnAction(e -> handleRefresh());
         exportButton.setOnAction(e -> handleExportSchedule());
         printButton.setOnAction(e -> handlePrintSchedule());
         closeButton.setOnAction(e -> handleClose());
@@ -182,6 +199,18 @@ public class TechnicianScheduleController {
             });
             return row;
         });
+
+        // Any job change can move an appointment into or out of a cached period
+        Runnable unsubscribe = DataChangeBus.getInstance().subscribe(ServiceRequest.class, event -> clearCache());
+        scheduleTable.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                newScene.windowProperty().addListener((windowObs, oldWindow, newWindow) -> {
+                    if (newWindow != null) {
+                        newWindow.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> unsubscribe.run());
+                    }
+                });
+            }
+        });
     }
 
     /**
@@ -223,17 +252,14 @@ public class TechnicianScheduleController {
         if (ViewType.WEEK.toString().equals(viewTypeStr)) {
             currentViewType = ViewType.WEEK;
             LocalDate monday = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-            startDatePicker.setValue(monday);
-            endDatePicker.setValue(monday.plusDays(6));
+            setDateRange(monday, periodEnd(monday));
         } else if (ViewType.MONTH.toString().equals(viewTypeStr)) {
             currentViewType = ViewType.MONTH;
             LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
-            startDatePicker.setValue(firstOfMonth);
-            endDatePicker.setValue(firstOfMonth.plusMonths(1).minusDays(1));
+            setDateRange(firstOfMonth, periodEnd(firstOfMonth));
         } else {
             currentViewType = ViewType.ALL;
-            startDatePicker.setValue(null);
-            endDatePicker.setValue(null);
+            setDateRange(null, null);
         }
 
         refreshSchedule();
@@ -243,6 +269,10 @@ public class TechnicianScheduleController {
      * Validate date range
      */
     private void validateDateRange() {
+        if (adjustingDates) {
+            return;
+        }
+
         if (startDatePicker.getValue() != null && endDatePicker.getValue() != null) {
             if (startDatePicker.getValue().isAfter(endDatePicker.getValue())) {
                 endDatePicker.setValue(startDatePicker.getValue());
@@ -256,33 +286,55 @@ public class TechnicianScheduleController {
      * Navigate to previous period
      */
     private void navigatePrevious() {
-        if (currentViewType == ViewType.WEEK) {
-            LocalDate newStart = startDatePicker.getValue().minusWeeks(1);
-            startDatePicker.setValue(newStart);
-            endDatePicker.setValue(newStart.plusDays(6));
-        } else if (currentViewType == ViewType.MONTH) {
-            LocalDate newStart = startDatePicker.getValue().minusMonths(1);
-            startDatePicker.setValue(newStart);
-            endDatePicker.setValue(newStart.plusMonths(1).minusDays(1));
+        navigate(-1);
+    }
+
+    /**
+     * Navigate to next period
+     */
+    private void navigateNext() {
+        navigate(1);
+    }
+
+    /**
+     * Move the date range by whole periods of the current view
+     * @param periods Number of periods to move, negative to go back
+     */
+    private void navigate(int periods) {
+        if (currentViewType != ViewType.ALL && startDatePicker.getValue() != null) {
+            LocalDate newStart = shiftPeriod(startDatePicker.getValue(), periods);
+            setDateRange(newStart, periodEnd(newStart));
         }
 
         refreshSchedule();
     }
 
     /**
-     * Navigate to next period
+     * Set both date pickers without each change triggering its own reload
      */
-    private void navigateNext() {
-        if (currentViewType == ViewType.WEEK) {
-            LocalDate newStart = startDatePicker.getValue().plusWeeks(1);
-            startDatePicker.setValue(newStart);
-            endDatePicker.setValue(newStart.plusDays(6));
-        } else if (currentViewType == ViewType.MONTH) {
-            LocalDate newStart = startDatePicker.getValue().plusMonths(1);
-            startDatePicker.setValue(newStart);
-            endDatePicker.setValue(newStart.plusMonths(1).minusDays(1));
+    private void setDateRange(LocalDate startDate, LocalDate endDate) {
+        adjustingDates = true;
+        try {
+            startDatePicker.setValue(startDate);
+            endDatePicker.setValue(endDate);
+        } finally {
+            adjustingDates = false;
         }
+    }
 
+    private LocalDate shiftPeriod(LocalDate startDate, int periods) {
+        return currentViewType == ViewType.MONTH ? startDate.plusMonths(periods) : startDate.plusWeeks(periods);
+    }
+
+    private LocalDate periodEnd(LocalDate startDate) {
+        return currentViewType == ViewType.MONTH ? startDate.plusMonths(1).minusDays(1) : startDate.plusDays(6);
+    }
+
+    /**
+     * Handle the refresh button, reloading from the database
+     */
+    private void handleRefresh() {
+        clearCache();
         refreshSchedule();
     }
 
@@ -297,33 +349,21 @@ public class TechnicianScheduleController {
                 return;
             }
 
-            List<ServiceRequest> requests = technicianService.getTechnicianServiceRequests(technician.getTechnicianId());
-
-            // Filter by date range if applicable
+            LocalDate startDate = null;
+            LocalDate endDate = null;
             if (currentViewType != ViewType.ALL) {
-                LocalDate startDate = startDatePicker.getValue();
-                LocalDate endDate = endDatePicker.getValue();
-
-                if (startDate != null && endDate != null) {
-                    requests = requests.stream()
-                            .filter(sr -> !sr.getServiceDate().isBefore(startDate) && !sr.getServiceDate().isAfter(endDate))
-                            .collect(Collectors.toList());
-                }
+                startDate = startDatePicker.getValue();
+                endDate = endDatePicker.getValue();
             }
 
-            // Sort by date and time
-            requests.sort((sr1, sr2) -> {
-                int dateCompare = sr1.getServiceDate().compareTo(sr2.getServiceDate());
-                if (dateCompare != 0) {
-                    return dateCompare;
-                }
-
-                if (sr1.getStartTime() != null && sr2.getStartTime() != null) {
-                    return sr1.getStartTime().compareTo(sr2.getStartTime());
-                }
-
-                return 0;
-            });
+            // Date range and ordering are applied in the query
+            List<ServiceRequest> requests;
+            if (startDate != null && endDate != null) {
+                requests = loadPeriod(technician.getTechnicianId(), startDate, endDate);
+                prefetchAdjacentPeriods(technician.getTechnicianId(), startDate);
+            } else {
+                requests = technicianService.getTechnicianSchedule(technician.getTechnicianId(), startDate, endDate);
+            }
 
             // Update table
             serviceRequests.addAll(requests);
@@ -335,6 +375,56 @@ public class TechnicianScheduleController {
         }
     }
 
+    /**
+     * Get one period of a technician's schedule, from the cache if loaded
+     * @return The period's service requests in schedule order
+     */
+    private List<ServiceRequest> loadPeriod(int technicianId, LocalDate startDate, LocalDate endDate) {
+        String key = technicianId + ":" + startDate + "/" + endDate;
+        List<ServiceRequest> cached = periodCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int version = cacheVersion;
+        List<ServiceRequest> requests = technicianService.getTechnicianSchedule(technicianId, startDate, endDate);
+
+        // Skip caching a load that raced with a change
+        if (version == cacheVersion) {
+            if (periodCache.size() >= MAX_CACHED_PERIODS) {
+                periodCache.clear();
+            }
+            periodCache.put(key, requests);
+        }
+
+        return requests;
+    }
+
+    /**
+     * Load the periods before and after the one shown so previous/next
+     * navigation is served from the cache
+     */
+    private void prefetchAdjacentPeriods(int technicianId, LocalDate startDate) {
+        LocalDate previousStart = shiftPeriod(startDate, -1);
+        LocalDate previousEnd = periodEnd(previousStart);
+        LocalDate nextStart = shiftPeriod(startDate, 1);
+        LocalDate nextEnd = periodEnd(nextStart);
+
+        PREFETCH_EXECUTOR.submit(() -> {
+            try {
+                loadPeriod(technicianId, nextStart, nextEnd);
+                loadPeriod(technicianId, previousStart, previousEnd);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private void clearCache() {
+        cacheVersion++;
+        periodCache.clear();
+    }
+
     /**
      * View details of a service request
      * @param serviceRequest The service request to view
@@ -0,0 +1,187 @@
+package com.management.dao.implementations;
+
+import com.management.dao.interfaces.ChangeTrackingDAO;
+import com.management.service.DatabaseService;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Detects changes committed by other connections, including other processes
+ * sharing the database file. Triggers count the writes to each tracked table
+ * in table_change_counters. PRAGMA data_version only changes between two
+ * reads on the same connection, so the reads share one long-lived connection.
+ *
+ * To tell other writers apart from this process, {@link #excludeOwnWrites()}
+ * gives the process an instance ID and puts TEMP triggers on each of its
+ * connections. TEMP triggers only fire for writes made on the connection
+ * that created them, and they count this instance's writes in
+ * instance_change_counters, which the change counts then leave out.
+ */
+public class ChangeTrackingDAOImpl implements ChangeTrackingDAO {
+    private final DatabaseService databaseService;
+
+    // Tables whose writes are counted; names are only ever taken from this list
+    public static final List<String> TRACKED_TABLES = List.of(
+            "customers", "technicians", "service_requests", "service_technicians", "quotes", "payments");
+
+    private Connection watchConnection;
+
+    // Set once this process's own writes are counted separately
+    private volatile String instanceId;
+
+    public ChangeTrackingDAOImpl(DatabaseService databaseService) {
+        this.databaseService = databaseService;
+    }
+
+    @Override
+    public synchronized long getDataVersion() {
+        try {
+            try (Statement stmt = watchConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            closeWatchConnection();
+            return -1;
+        }
+    }
+
+    @Override
+    public synchronized Map<String, Long> getChangeCounts() {
+        Map<String, Long> counts = new HashMap<>();
+
+        // Both counters are read in one statement, so they are consistent with each other
+        String sql = "SELECT t.table_name, t.change_count - COALESCE(i.change_count, 0) AS change_count " +
+                "FROM table_change_counters t " +
+                "LEFT JOIN instance_change_counters i ON i.table_name = t.table_name AND i.instance_id = ?";
+
+        try {
+            try (PreparedStatement pstmt = watchConnection().prepareStatement(sql)) {
+                pstmt.setString(1, instanceId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(rs.getString("table_name"), rs.getLong("change_count"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            closeWatchConnection();
+        }
+
+        return counts;
+    }
+
+    @Override
+    public void createTables() {
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS table_change_counters (" +
+                    "table_name TEXT PRIMARY KEY, " +
+                    "change_count INTEGER NOT NULL DEFAULT 0)");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS instance_change_counters (" +
+                    "instance_id TEXT NOT NULL, " +
+                    "table_name TEXT NOT NULL, " +
+                    "change_count INTEGER NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (instance_id, table_name))");
+
+            for (String table : TRACKED_TABLES) {
+                stmt.execute("INSERT OR IGNORE INTO table_change_counters (table_name) VALUES ('" + table + "')");
+
+                for (String operation : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+                    stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_" + table + "_" + operation.toLowerCase() +
+                            "_count AFTER " + operation + " ON " + table + " BEGIN " +
+                            "UPDATE table_change_counters SET change_count = change_count + 1 " +
+                            "WHERE table_name = '" + table + "'; END");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void excludeOwnWrites() {
+        if (instanceId != null) {
+            return;
+        }
+
+        String id = UUID.randomUUID().toString();
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            for (String table : TRACKED_TABLES) {
+                stmt.execute("INSERT OR IGNORE INTO instance_change_counters (instance_id, table_name) " +
+                        "VALUES ('" + id + "', '" + table + "')");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        instanceId = id;
+        databaseService.setConnectionInitializer(this::createInstanceTriggers);
+    }
+
+    @Override
+    public synchronized void close() {
+        closeWatchConnection();
+
+        String id = instanceId;
+        if (id == null) {
+            return;
+        }
+
+        databaseService.setConnectionInitializer(null);
+        instanceId = null;
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "DELETE FROM instance_change_counters WHERE instance_id = ?")) {
+            pstmt.setString(1, id);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Count this instance's writes on a new connection
+     * @param connection The connection
+     * @throws SQLException if a trigger cannot be created
+     */
+    private void createInstanceTriggers(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String table : TRACKED_TABLES) {
+                for (String operation : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+                    stmt.execute("CREATE TEMP TRIGGER IF NOT EXISTS trg_own_" + table + "_" +
+                            operation.toLowerCase() + "_count AFTER " + operation + " ON main." + table + " BEGIN " +
+                            "UPDATE instance_change_counters SET change_count = change_count + 1 " +
+                            "WHERE instance_id = '" + instanceId + "' AND table_name = '" + table + "'; END");
+                }
+            }
+        }
+    }
+
+    private Connection watchConnection() throws SQLException {
+        if (watchConnection == null) {
+            watchConnection = databaseService.getConnection();
+        }
+        return watchConnection;
+    }
+
+    private void closeWatchConnection() {
+        if (watchConnection != null) {
+            databaseService.closeConnection(watchConnection);
+            watchConnection = null;
+        }
+    }
+}
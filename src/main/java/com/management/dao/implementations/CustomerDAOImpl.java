@@ -1,8 +1,11 @@
 package com.management.dao.implementations;
 
 import com.management.dao.interfaces.CustomerDAO;
+import com.management.dao.query.CustomerField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Customer;
 import com.management.service.DatabaseService;
+import com.management.util.ValueDictionary;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -12,6 +15,14 @@ import java.util.Optional;
 public class CustomerDAOImpl implements CustomerDAO {
     private final DatabaseService databaseService;
 
+    // Customer numbers are reserved from customer_number_sequence in blocks of this size
+    private static final int CUSTOMER_NUMBER_BLOCK_SIZE = 20;
+
+    // Currently reserved block: [nextCustomerNumber, blockLimit) for blockYear
+    private int blockYear;
+    private int nextCustomerNumber;
+    private int blockLimit;
+
     public CustomerDAOImpl(DatabaseService databaseService) {
         this.databaseService = databaseService;
     }
@@ -20,8 +31,8 @@ public class CustomerDAOImpl implements CustomerDAO {
     public int save(Customer customer) {
         String sql = "INSERT INTO customers (first_name, last_name, email, company_name, " +
                 "customer_number, phone_number, mobile_number, position, billing_details, " +
-                "extension_number, business_name, street_address, state, zip_code, logo, website) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                "extension_number, business_name, street_address, state, zip_code, logo, website, state_code) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -42,6 +53,7 @@ public class CustomerDAOImpl implements CustomerDAO {
             pstmt.setString(14, customer.getZipCode());
             pstmt.setBytes(15, customer.getLogo());
             pstmt.setString(16, customer.getWebsite());
+            ValueCodeDAOImpl.bindCode(pstmt, 17, ValueDictionary.STATES, customer.getState());
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -104,6 +116,53 @@ public class CustomerDAOImpl implements CustomerDAO {
         return customers;
     }
 
+    @Override
+    public List<Customer> find(QuerySpec<CustomerField> spec) {
+        List<Customer> customers = new ArrayList<>();
+        String sql = "SELECT c.* FROM customers c " + spec.whereClause() +
+                spec.orderByClause("c.customer_id") + spec.limitClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapResultSetToCustomer(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return customers;
+    }
+
+    @Override
+    public List<Customer> findPage(int offset, int limit) {
+        List<Customer> customers = new ArrayList<>();
+        // customer_id breaks ties so pages do not overlap
+        String sql = "SELECT * FROM customers ORDER BY last_name, first_name, customer_id LIMIT ? OFFSET ?";
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, limit);
+            pstmt.setInt(2, offset);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapResultSetToCustomer(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return customers;
+    }
+
     @Override
     public List<Customer> findByName(String searchTerm) {
         List<Customer> customers = new ArrayList<>();
@@ -176,7 +235,7 @@ public class CustomerDAOImpl implements CustomerDAO {
         String sql = "UPDATE customers SET first_name = ?, last_name = ?, email = ?, company_name = ?, " +
                 "customer_number = ?, phone_number = ?, mobile_number = ?, position = ?, billing_details = ?, " +
                 "extension_number = ?, business_name = ?, street_address = ?, state = ?, zip_code = ?, " +
-                "logo = ?, website = ?, updated_at = CURRENT_TIMESTAMP " +
+                "logo = ?, website = ?, state_code = ?, updated_at = CURRENT_TIMESTAMP " +
                 "WHERE customer_id = ?";
 
         try (Connection conn = databaseService.getConnection();
@@ -198,7 +257,8 @@ public class CustomerDAOImpl implements CustomerDAO {
             pstmt.setString(14, customer.getZipCode());
             pstmt.setBytes(15, customer.getLogo());
             pstmt.setString(16, customer.getWebsite());
-            pstmt.setInt(17, customer.getCustomerId());
+            ValueCodeDAOImpl.bindCode(pstmt, 17, ValueDictionary.STATES, customer.getState());
+            pstmt.setInt(18, customer.getCustomerId());
 
             int affectedRows = pstmt.executeUpdate();
             return affectedRows > 0;
@@ -228,23 +288,117 @@ public class CustomerDAOImpl implements CustomerDAO {
     }
 
     @Override
-    public String generateCustomerNumber() {
+    public synchronized String generateCustomerNumber() {
         // Format: CM-YYYY-XXXX (where XXXX is a sequential number)
-        try (Connection conn = databaseService.getConnection();
-             Statement stmt = conn.createStatement()) {
+        int year = java.time.LocalDate.now().getYear();
+
+        // Hand out numbers from the reserved block; only touch the database when it runs out
+        if (blockYear != year || nextCustomerNumber >= blockLimit) {
+            if (!reserveCustomerNumberBlock(year)) {
+                // Without a block, continue after the highest number already in use
+                return String.format("CM-%d-%04d", year, findMaxCustomerNumber(year) + 1);
+            }
+        }
+
+        return String.format("CM-%d-%04d", year, nextCustomerNumber++);
+    }
 
-            String query = "SELECT COUNT(*) + 1 AS next_number FROM customers";
-            ResultSet rs = stmt.executeQuery(query);
+    /**
+     * Reserve the next block of customer numbers for a year in a single transaction.
+     * The sequence row is seeded from the highest existing number for that year, so
+     * databases created before the sequence table existed continue where they left off.
+     * @param year The year the numbers belong to
+     * @return true if a block was reserved
+     */
+    private boolean reserveCustomerNumberBlock(int year) {
+        String prefix = "CM-" + year + "-";
+
+        try (Connection conn = databaseService.getConnection()) {
+            conn.setAutoCommit(false);
+
+            // Seed the sequence for a new year
+            String seedSql = "INSERT OR IGNORE INTO customer_number_sequence (year, next_value) " +
+                    "SELECT ?, COALESCE(MAX(CAST(substr(customer_number, ?) AS INTEGER)), 0) + 1 " +
+                    "FROM customers WHERE customer_number LIKE ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(seedSql)) {
+                pstmt.setInt(1, year);
+                pstmt.setInt(2, prefix.length() + 1);
+                pstmt.setString(3, prefix + "%");
+                pstmt.executeUpdate();
+            }
 
-            if (rs.next()) {
-                int nextNumber = rs.getInt("next_number");
-                return String.format("CM-%tY-%04d", java.time.LocalDate.now(), nextNumber);
+            // Advance the sequence first so the write lock is held before reading it back
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "UPDATE customer_number_sequence SET next_value = next_value + ? WHERE year = ?")) {
+                pstmt.setInt(1, CUSTOMER_NUMBER_BLOCK_SIZE);
+                pstmt.setInt(2, year);
+                pstmt.executeUpdate();
             }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT next_value FROM customer_number_sequence WHERE year = ?")) {
+                pstmt.setInt(1, year);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    blockLimit = rs.getInt("next_value");
+                }
+            }
+
+            conn.commit();
+
+            blockYear = year;
+            nextCustomerNumber = blockLimit - CUSTOMER_NUMBER_BLOCK_SIZE;
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Find the highest sequential part of the customer numbers issued for a year
+     * @param year The year the numbers belong to
+     * @return The highest number, or 0 if none were issued
+     */
+    private int findMaxCustomerNumber(int year) {
+        String prefix = "CM-" + year + "-";
+        String sql = "SELECT COALESCE(MAX(CAST(substr(customer_number, ?) AS INTEGER)), 0) AS max_number " +
+                "FROM customers WHERE customer_number LIKE ?";
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, prefix.length() + 1);
+            pstmt.setString(2, prefix + "%");
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("max_number");
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not generate a customer number", e);
         }
 
-        return "CM-" + java.time.LocalDate.now().getYear() + "-0001";
+        return 0;
+    }
+
+    @Override
+    public void createSequenceTable() {
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS customer_number_sequence (" +
+                    "year INTEGER PRIMARY KEY, " +
+                    "next_value INTEGER NOT NULL)");
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
     }
 
     @Override
@@ -265,6 +419,27 @@ public class CustomerDAOImpl implements CustomerDAO {
         return 0;
     }
 
+    @Override
+    public int count(QuerySpec<CustomerField> spec) {
+        String sql = "SELECT COUNT(*) AS total FROM customers c " + spec.whereClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("total");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
     private Customer mapResultSetToCustomer(ResultSet rs) throws SQLException {
         Customer customer = new Customer();
 
@@ -281,7 +456,7 @@ public class CustomerDAOImpl implements CustomerDAO {
         customer.setExtensionNumber(rs.getString("extension_number"));
         customer.setBusinessName(rs.getString("business_name"));
         customer.setStreetAddress(rs.getString("street_address"));
-        customer.setState(rs.getString("state"));
+        customer.setState(ValueCodeDAOImpl.readValue(rs, "state", ValueDictionary.STATES));
         customer.setZipCode(rs.getString("zip_code"));
         customer.setLogo(rs.getBytes("logo"));
         customer.setWebsite(rs.getString("website"));
@@ -1,13 +1,19 @@
 package com.management.dao.implementations;
 
 import com.management.dao.interfaces.PaymentDAO;
+import com.management.dao.query.PaymentField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Payment;
+import com.management.model.PaymentListItem;
 import com.management.service.DatabaseService;
+import com.management.util.ValueDictionary;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class PaymentDAOImpl implements PaymentDAO {
@@ -19,40 +25,46 @@ public class PaymentDAOImpl implements PaymentDAO {
 
     @Override
     public int save(Payment payment) {
-        String sql = "INSERT INTO payments (job_id, amount, status, payment_date, payment_method, notes) " +
-                "VALUES (?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, payment.getJobId());
-            pstmt.setDouble(2, payment.getAmount());
-            pstmt.setString(3, payment.getStatus());
-
-            if (payment.getPaymentDate() != null) {
-                pstmt.setString(4, payment.getPaymentDate().toString());
-            } else {
-                pstmt.setNull(4, Types.VARCHAR);
-            }
-
-            pstmt.setString(5, payment.getPaymentMethod());
-            pstmt.setString(6, payment.getNotes());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows == 0) {
-                throw new SQLException("Creating payment failed, no rows affected.");
-            }
-
-            // Get the generated ID using SQLite's last_insert_rowid() function
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                } else {
-                    throw new SQLException("Creating payment failed, no ID obtained.");
+        String sql = "INSERT INTO payments (job_id, amount, status, payment_date, payment_method, notes, " +
+                "status_code, payment_method_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                    pstmt.setInt(1, payment.getJobId());
+                    pstmt.setDouble(2, payment.getAmount());
+                    pstmt.setString(3, payment.getStatus());
+
+                    if (payment.getPaymentDate() != null) {
+                        pstmt.setString(4, payment.getPaymentDate().toString());
+                    } else {
+                        pstmt.setNull(4, Types.VARCHAR);
+                    }
+
+                    pstmt.setString(5, payment.getPaymentMethod());
+                    pstmt.setString(6, payment.getNotes());
+                    bindCodes(pstmt, 7, payment);
+
+                    int affectedRows = pstmt.executeUpdate();
+
+                    if (affectedRows == 0) {
+                        throw new SQLException("Creating payment failed, no rows affected.");
+                    }
+
+                    // Get the generated ID using SQLite's last_insert_rowid() function
+                    try (Statement stmt = conn.createStatement();
+                         ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                        if (rs.next()) {
+                            int paymentId = rs.getInt(1);
+                            RollupDAOImpl.applyPayment(conn, paymentId, 1);
+                            return paymentId;
+                        } else {
+                            throw new SQLException("Creating payment failed, no ID obtained.");
+                        }
+                    }
                 }
-            }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return -1;
@@ -99,6 +111,109 @@ public class PaymentDAOImpl implements PaymentDAO {
         return payments;
     }
 
+    @Override
+    public List<Payment> find(QuerySpec<PaymentField> spec) {
+        List<Payment> payments = new ArrayList<>();
+        String sql = "SELECT p.* FROM payments p " + spec.whereClause() +
+                spec.orderByClause("p.payment_id") + spec.limitClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    payments.add(mapResultSetToPayment(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return payments;
+    }
+
+    @Override
+    public List<PaymentListItem> findListItems(String sortField, boolean ascending) {
+        List<PaymentListItem> items = new ArrayList<>();
+        String sql = "SELECT p.payment_id, p.job_id, p.amount, p.status, p.status_code, p.payment_date, " +
+                "p.payment_method, p.payment_method_code, p.notes, " +
+                "sr.description, c.first_name, c.last_name, c.email " +
+                "FROM payments p " +
+                "LEFT JOIN service_requests sr ON sr.job_id = p.job_id " +
+                "LEFT JOIN customers c ON c.customer_id = sr.customer_id " +
+                orderByClause(sortField, ascending);
+
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                PaymentListItem item = new PaymentListItem();
+
+                item.setPaymentId(rs.getInt("payment_id"));
+                item.setJobId(rs.getInt("job_id"));
+                item.setAmount(rs.getDouble("amount"));
+                item.setStatus(ValueCodeDAOImpl.readValue(rs, "status", ValueDictionary.PAYMENT_STATUSES));
+
+                String paymentDateStr = rs.getString("payment_date");
+                if (paymentDateStr != null && !paymentDateStr.isEmpty()) {
+                    item.setPaymentDate(LocalDate.parse(paymentDateStr));
+                }
+
+                item.setPaymentMethod(ValueCodeDAOImpl.readValue(rs, "payment_method", ValueDictionary.PAYMENT_METHODS));
+                item.setNotes(rs.getString("notes"));
+                item.setServiceDescription(rs.getString("description"));
+                item.setCustomerFirstName(rs.getString("first_name"));
+                item.setCustomerLastName(rs.getString("last_name"));
+                item.setCustomerEmail(rs.getString("email"));
+
+                items.add(item);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return items;
+    }
+
+    /**
+     * Build an ORDER BY clause for a sort field. Only known fields map to
+     * columns; anything else sorts by payment ID.
+     */
+    private String orderByClause(String sortField, boolean ascending) {
+        String[] columns;
+
+        switch (sortField != null ? sortField.toLowerCase() : "") {
+            case "amount":
+                columns = new String[] {"p.amount"};
+                break;
+            case "status":
+                columns = new String[] {"COALESCE(p.status, '')"};
+                break;
+            case "payment_date":
+                // Payments without a date sort last, as with the in-memory sort
+                columns = new String[] {"p.payment_date IS NULL", "p.payment_date"};
+                break;
+            case "payment_method":
+                columns = new String[] {"COALESCE(p.payment_method, '')"};
+                break;
+            case "created_at":
+                columns = new String[] {"p.created_at"};
+                break;
+            default:
+                columns = new String[0];
+        }
+
+        String direction = ascending ? " ASC" : " DESC";
+        StringBuilder clause = new StringBuilder("ORDER BY ");
+        for (String column : columns) {
+            clause.append(column).append(direction).append(", ");
+        }
+        return clause.append("p.payment_id").append(direction).toString();
+    }
+
     @Override
     public List<Payment> findByJobId(int jobId) {
         List<Payment> payments = new ArrayList<>();
@@ -124,7 +239,9 @@ public class PaymentDAOImpl implements PaymentDAO {
     @Override
     public List<Payment> findByStatus(String status) {
         List<Payment> payments = new ArrayList<>();
-        String sql = "SELECT * FROM payments WHERE status = ? ORDER BY payment_date DESC, created_at DESC";
+        String sql = "SELECT * FROM payments WHERE status_code = (SELECT code FROM " +
+                ValueDictionary.PAYMENT_STATUSES.getTable() + " WHERE value = ?) " +
+                "ORDER BY payment_date DESC, created_at DESC";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -170,28 +287,38 @@ public class PaymentDAOImpl implements PaymentDAO {
     @Override
     public boolean update(Payment payment) {
         String sql = "UPDATE payments SET job_id = ?, amount = ?, status = ?, payment_date = ?, " +
-                "payment_method = ?, notes = ?, updated_at = CURRENT_TIMESTAMP WHERE payment_id = ?";
+                "payment_method = ?, notes = ?, status_code = ?, payment_method_code = ?, " +
+                "updated_at = CURRENT_TIMESTAMP WHERE payment_id = ?";
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, payment.getJobId());
-            pstmt.setDouble(2, payment.getAmount());
-            pstmt.setString(3, payment.getStatus());
+                    // Take the payment's old values out of the rollups before they change
+                    RollupDAOImpl.applyPayment(conn, payment.getPaymentId(), -1);
 
-            if (payment.getPaymentDate() != null) {
-                pstmt.setString(4, payment.getPaymentDate().toString());
-            } else {
-                pstmt.setNull(4, Types.VARCHAR);
-            }
+                    pstmt.setInt(1, payment.getJobId());
+                    pstmt.setDouble(2, payment.getAmount());
+                    pstmt.setString(3, payment.getStatus());
 
-            pstmt.setString(5, payment.getPaymentMethod());
-            pstmt.setString(6, payment.getNotes());
-            pstmt.setInt(7, payment.getPaymentId());
+                    if (payment.getPaymentDate() != null) {
+                        pstmt.setString(4, payment.getPaymentDate().toString());
+                    } else {
+                        pstmt.setNull(4, Types.VARCHAR);
+                    }
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+                    pstmt.setString(5, payment.getPaymentMethod());
+                    pstmt.setString(6, payment.getNotes());
+                    bindCodes(pstmt, 7, payment);
+                    pstmt.setInt(9, payment.getPaymentId());
 
+                    int affectedRows = pstmt.executeUpdate();
+
+                    RollupDAOImpl.applyPayment(conn, payment.getPaymentId(), 1);
+                    return affectedRows > 0;
+
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -200,17 +327,26 @@ public class PaymentDAOImpl implements PaymentDAO {
 
     @Override
     public boolean updateStatus(int paymentId, String status) {
-        String sql = "UPDATE payments SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE payment_id = ?";
+        String sql = "UPDATE payments SET status = ?, status_code = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE payment_id = ?";
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, status);
-            pstmt.setInt(2, paymentId);
+                    RollupDAOImpl.applyPayment(conn, paymentId, -1);
+
+                    pstmt.setString(1, status);
+                    ValueCodeDAOImpl.bindCode(pstmt, 2, ValueDictionary.PAYMENT_STATUSES, status);
+                    pstmt.setInt(3, paymentId);
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+                    int affectedRows = pstmt.executeUpdate();
 
+                    RollupDAOImpl.applyPayment(conn, paymentId, 1);
+                    return affectedRows > 0;
+
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -221,14 +357,19 @@ public class PaymentDAOImpl implements PaymentDAO {
     public boolean delete(int paymentId) {
         String sql = "DELETE FROM payments WHERE payment_id = ?";
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, paymentId);
+                    RollupDAOImpl.applyPayment(conn, paymentId, -1);
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+                    pstmt.setInt(1, paymentId);
 
+                    int affectedRows = pstmt.executeUpdate();
+                    return affectedRows > 0;
+
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -253,6 +394,27 @@ public class PaymentDAOImpl implements PaymentDAO {
         return 0;
     }
 
+    @Override
+    public int count(QuerySpec<PaymentField> spec) {
+        String sql = "SELECT COUNT(*) AS total FROM payments p " + spec.whereClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("total");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
     @Override
     public double getTotalPaymentsForJob(int jobId) {
         String sql = "SELECT SUM(amount) AS total_amount FROM payments WHERE job_id = ?";
@@ -274,20 +436,53 @@ public class PaymentDAOImpl implements PaymentDAO {
         return 0.0;
     }
 
+    @Override
+    public Map<Integer, Double> getTotalPaymentsByJob(LocalDate startDate, LocalDate endDate) {
+        Map<Integer, Double> totals = new HashMap<>();
+        String sql = "SELECT p.job_id, SUM(p.amount) AS total_amount FROM payments p " +
+                "JOIN service_requests sr ON sr.job_id = p.job_id " +
+                "WHERE sr.service_date BETWEEN ? AND ? GROUP BY p.job_id";
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, startDate.toString());
+            pstmt.setString(2, endDate.toString());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(rs.getInt("job_id"), rs.getDouble("total_amount"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return totals;
+    }
+
+    /**
+     * Bind the codes of the status and payment method, in that order
+     */
+    private void bindCodes(PreparedStatement pstmt, int firstIndex, Payment payment) throws SQLException {
+        ValueCodeDAOImpl.bindCode(pstmt, firstIndex, ValueDictionary.PAYMENT_STATUSES, payment.getStatus());
+        ValueCodeDAOImpl.bindCode(pstmt, firstIndex + 1, ValueDictionary.PAYMENT_METHODS, payment.getPaymentMethod());
+    }
+
     private Payment mapResultSetToPayment(ResultSet rs) throws SQLException {
         Payment payment = new Payment();
 
         payment.setPaymentId(rs.getInt("payment_id"));
         payment.setJobId(rs.getInt("job_id"));
         payment.setAmount(rs.getDouble("amount"));
-        payment.setStatus(rs.getString("status"));
+        payment.setStatus(ValueCodeDAOImpl.readValue(rs, "status", ValueDictionary.PAYMENT_STATUSES));
 
         String paymentDateStr = rs.getString("payment_date");
         if (paymentDateStr != null && !paymentDateStr.isEmpty()) {
             payment.setPaymentDate(LocalDate.parse(paymentDateStr));
         }
 
-        payment.setPaymentMethod(rs.getString("payment_method"));
+        payment.setPaymentMethod(ValueCodeDAOImpl.readValue(rs, "payment_method", ValueDictionary.PAYMENT_METHODS));
         payment.setNotes(rs.getString("notes"));
 
         // Convert timestamps to LocalDateTime
@@ -1,8 +1,11 @@
 package com.management.dao.implementations;
 
 import com.management.dao.interfaces.QuoteDAO;
+import com.management.dao.query.QuoteField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Quote;
 import com.management.service.DatabaseService;
+import com.management.util.ValueDictionary;
 
 import java.sql.*;
 import java.time.LocalDate;
@@ -19,7 +22,8 @@ public class QuoteDAOImpl implements QuoteDAO {
 
     @Override
     public int save(Quote quote) {
-        String sql = "INSERT INTO quotes (job_id, start_date, end_date, amount, status) VALUES (?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO quotes (job_id, start_date, end_date, amount, status, status_code) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -40,6 +44,7 @@ public class QuoteDAOImpl implements QuoteDAO {
 
             pstmt.setDouble(4, quote.getAmount());
             pstmt.setString(5, quote.getStatus());
+            ValueCodeDAOImpl.bindCode(pstmt, 6, ValueDictionary.QUOTE_STATUSES, quote.getStatus());
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -102,6 +107,29 @@ public class QuoteDAOImpl implements QuoteDAO {
         return quotes;
     }
 
+    @Override
+    public List<Quote> find(QuerySpec<QuoteField> spec) {
+        List<Quote> quotes = new ArrayList<>();
+        String sql = "SELECT q.* FROM quotes q " + spec.whereClause() +
+                spec.orderByClause("q.quote_id") + spec.limitClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    quotes.add(mapResultSetToQuote(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return quotes;
+    }
+
     @Override
     public List<Quote> findByJobId(int jobId) {
         List<Quote> quotes = new ArrayList<>();
@@ -127,7 +155,8 @@ public class QuoteDAOImpl implements QuoteDAO {
     @Override
     public List<Quote> findByStatus(String status) {
         List<Quote> quotes = new ArrayList<>();
-        String sql = "SELECT * FROM quotes WHERE status = ? ORDER BY created_at DESC";
+        String sql = "SELECT * FROM quotes WHERE status_code = (SELECT code FROM " +
+                ValueDictionary.QUOTE_STATUSES.getTable() + " WHERE value = ?) ORDER BY created_at DESC";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -149,7 +178,7 @@ public class QuoteDAOImpl implements QuoteDAO {
     @Override
     public boolean update(Quote quote) {
         String sql = "UPDATE quotes SET job_id = ?, start_date = ?, end_date = ?, amount = ?, " +
-                "status = ?, updated_at = CURRENT_TIMESTAMP WHERE quote_id = ?";
+                "status = ?, status_code = ?, updated_at = CURRENT_TIMESTAMP WHERE quote_id = ?";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -170,7 +199,8 @@ public class QuoteDAOImpl implements QuoteDAO {
 
             pstmt.setDouble(4, quote.getAmount());
             pstmt.setString(5, quote.getStatus());
-            pstmt.setInt(6, quote.getQuoteId());
+            ValueCodeDAOImpl.bindCode(pstmt, 6, ValueDictionary.QUOTE_STATUSES, quote.getStatus());
+            pstmt.setInt(7, quote.getQuoteId());
 
             int affectedRows = pstmt.executeUpdate();
             return affectedRows > 0;
@@ -183,13 +213,15 @@ public class QuoteDAOImpl implements QuoteDAO {
 
     @Override
     public boolean updateStatus(int quoteId, String status) {
-        String sql = "UPDATE quotes SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE quote_id = ?";
+        String sql = "UPDATE quotes SET status = ?, status_code = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE quote_id = ?";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, status);
-            pstmt.setInt(2, quoteId);
+            ValueCodeDAOImpl.bindCode(pstmt, 2, ValueDictionary.QUOTE_STATUSES, status);
+            pstmt.setInt(3, quoteId);
 
             int affectedRows = pstmt.executeUpdate();
             return affectedRows > 0;
@@ -236,6 +268,27 @@ public class QuoteDAOImpl implements QuoteDAO {
         return 0;
     }
 
+    @Override
+    public int count(QuerySpec<QuoteField> spec) {
+        String sql = "SELECT COUNT(*) AS total FROM quotes q " + spec.whereClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("total");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
     private Quote mapResultSetToQuote(ResultSet rs) throws SQLException {
         Quote quote = new Quote();
 
@@ -253,7 +306,7 @@ public class QuoteDAOImpl implements QuoteDAO {
         }
 
         quote.setAmount(rs.getDouble("amount"));
-        quote.setStatus(rs.getString("status"));
+        quote.setStatus(ValueCodeDAOImpl.readValue(rs, "status", ValueDictionary.QUOTE_STATUSES));
 
         // Convert timestamps to LocalDateTime
         Timestamp createdTimestamp = rs.getTimestamp("created_at");
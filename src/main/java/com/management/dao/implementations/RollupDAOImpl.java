@@ -0,0 +1,334 @@
+package com.management.dao.implementations;
+
+import com.management.dao.interfaces.RollupDAO;
+import com.management.model.MonthlyRollup;
+import com.management.service.DatabaseService;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads and maintains the monthly rollup tables. The write paths of
+ * ServiceRequestDAOImpl and PaymentDAOImpl call the static apply methods
+ * inside their own transaction, subtracting a row's old contribution before
+ * it changes and adding the new one afterwards, so the rollups commit or
+ * roll back together with the write.
+ */
+public class RollupDAOImpl implements RollupDAO {
+    private final DatabaseService databaseService;
+
+    // Shared column list of the three service request rollup tables
+    private static final String TOTALS_UPSERT =
+            "job_count = job_count + excluded.job_count, " +
+            "service_cost = service_cost + excluded.service_cost, " +
+            "added_cost = added_cost + excluded.added_cost, " +
+            "parking_fees = parking_fees + excluded.parking_fees";
+
+    private static final String TOTALS_SELECT =
+            "?, ? * COALESCE(sr.service_cost, 0), ? * COALESCE(sr.added_cost, 0), ? * COALESCE(sr.parking_fees, 0)";
+
+    private static final String APPLY_MONTHLY_SQL =
+            "INSERT INTO service_request_monthly_rollup " +
+            "(month, status, job_count, service_cost, added_cost, parking_fees) " +
+            "SELECT substr(sr.service_date, 1, 7), COALESCE(sr.status, 'Pending'), " + TOTALS_SELECT + " " +
+            "FROM service_requests sr WHERE sr.job_id = ? " +
+            "ON CONFLICT (month, status) DO UPDATE SET " + TOTALS_UPSERT;
+
+    private static final String APPLY_CUSTOMER_SQL =
+            "INSERT INTO customer_monthly_rollup " +
+            "(month, customer_id, status, job_count, service_cost, added_cost, parking_fees) " +
+            "SELECT substr(sr.service_date, 1, 7), sr.customer_id, COALESCE(sr.status, 'Pending'), " + TOTALS_SELECT + " " +
+            "FROM service_requests sr WHERE sr.job_id = ? " +
+            "ON CONFLICT (month, customer_id, status) DO UPDATE SET " + TOTALS_UPSERT;
+
+    private static final String APPLY_TECHNICIAN_SQL =
+            "INSERT INTO technician_monthly_rollup " +
+            "(month, technician_id, status, job_count, service_cost, added_cost, parking_fees) " +
+            "SELECT substr(sr.service_date, 1, 7), st.technician_id, COALESCE(sr.status, 'Pending'), " + TOTALS_SELECT + " " +
+            "FROM service_requests sr JOIN service_technicians st ON st.job_id = sr.job_id " +
+            "WHERE sr.job_id = ? AND (? = 0 OR st.technician_id = ?) " +
+            "ON CONFLICT (month, technician_id, status) DO UPDATE SET " + TOTALS_UPSERT;
+
+    private static final String APPLY_PAYMENT_SQL =
+            "INSERT INTO payment_daily_rollup (payment_date, status, payment_count, amount) " +
+            "SELECT payment_date, COALESCE(status, 'Pending'), ?, ? * amount " +
+            "FROM payments WHERE payment_id = ? AND payment_date IS NOT NULL " +
+            "ON CONFLICT (payment_date, status) DO UPDATE SET " +
+            "payment_count = payment_count + excluded.payment_count, amount = amount + excluded.amount";
+
+    public RollupDAOImpl(DatabaseService databaseService) {
+        this.databaseService = databaseService;
+    }
+
+    @Override
+    public List<MonthlyRollup> findMonthlyRollups(YearMonth fromMonth, YearMonth toMonth) {
+        String sql = "SELECT * FROM service_request_monthly_rollup " +
+                "WHERE month BETWEEN ? AND ? AND job_count > 0 ORDER BY month, status";
+        return findRollups(sql, fromMonth, toMonth);
+    }
+
+    @Override
+    public List<MonthlyRollup> findTechnicianMonthlyRollups(YearMonth fromMonth, YearMonth toMonth) {
+        String sql = "SELECT * FROM technician_monthly_rollup " +
+                "WHERE month BETWEEN ? AND ? AND job_count > 0 ORDER BY month, technician_id, status";
+        return findRollups(sql, fromMonth, toMonth);
+    }
+
+    @Override
+    public List<MonthlyRollup> findCustomerMonthlyRollups(YearMonth fromMonth, YearMonth toMonth) {
+        String sql = "SELECT * FROM customer_monthly_rollup " +
+                "WHERE month BETWEEN ? AND ? AND job_count > 0 ORDER BY month, customer_id, status";
+        return findRollups(sql, fromMonth, toMonth);
+    }
+
+    @Override
+    public Map<LocalDate, Double> findDailyPaymentTotals(LocalDate startDate, LocalDate endDate, String status) {
+        Map<LocalDate, Double> totals = new TreeMap<>();
+        String sql = "SELECT payment_date, SUM(amount) AS total_amount FROM payment_daily_rollup " +
+                "WHERE payment_date BETWEEN ? AND ? AND payment_count > 0 AND (? IS NULL OR status = ?) " +
+                "GROUP BY payment_date ORDER BY payment_date";
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, startDate.toString());
+            pstmt.setString(2, endDate.toString());
+            pstmt.setString(3, status);
+            pstmt.setString(4, status);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(LocalDate.parse(rs.getString("payment_date")), rs.getDouble("total_amount"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return totals;
+    }
+
+    @Override
+    public void createTables() {
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS service_request_monthly_rollup (" +
+                    "month TEXT NOT NULL, " +
+                    "status TEXT NOT NULL, " +
+                    "job_count INTEGER NOT NULL DEFAULT 0, " +
+                    "service_cost REAL NOT NULL DEFAULT 0, " +
+                    "added_cost REAL NOT NULL DEFAULT 0, " +
+                    "parking_fees REAL NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (month, status))");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS technician_monthly_rollup (" +
+                    "month TEXT NOT NULL, " +
+                    "technician_id INTEGER NOT NULL, " +
+                    "status TEXT NOT NULL, " +
+                    "job_count INTEGER NOT NULL DEFAULT 0, " +
+                    "service_cost REAL NOT NULL DEFAULT 0, " +
+                    "added_cost REAL NOT NULL DEFAULT 0, " +
+                    "parking_fees REAL NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (month, technician_id, status))");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS customer_monthly_rollup (" +
+                    "month TEXT NOT NULL, " +
+                    "customer_id INTEGER NOT NULL, " +
+                    "status TEXT NOT NULL, " +
+                    "job_count INTEGER NOT NULL DEFAULT 0, " +
+                    "service_cost REAL NOT NULL DEFAULT 0, " +
+                    "added_cost REAL NOT NULL DEFAULT 0, " +
+                    "parking_fees REAL NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (month, customer_id, status))");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS payment_daily_rollup (" +
+                    "payment_date TEXT NOT NULL, " +
+                    "status TEXT NOT NULL, " +
+                    "payment_count INTEGER NOT NULL DEFAULT 0, " +
+                    "amount REAL NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (payment_date, status))");
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public boolean rebuild() {
+        Connection conn = null;
+
+        try {
+            conn = databaseService.getConnection();
+            conn.setAutoCommit(false);
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM service_request_monthly_rollup");
+                stmt.execute("DELETE FROM technician_monthly_rollup");
+                stmt.execute("DELETE FROM customer_monthly_rollup");
+                stmt.execute("DELETE FROM payment_daily_rollup");
+
+                String totals = "COUNT(*), SUM(COALESCE(sr.service_cost, 0)), " +
+                        "SUM(COALESCE(sr.added_cost, 0)), SUM(COALESCE(sr.parking_fees, 0))";
+
+                stmt.execute("INSERT INTO service_request_monthly_rollup " +
+                        "(month, status, job_count, service_cost, added_cost, parking_fees) " +
+                        "SELECT substr(sr.service_date, 1, 7), COALESCE(sr.status, 'Pending'), " + totals + " " +
+                        "FROM service_requests sr GROUP BY 1, 2");
+
+                stmt.execute("INSERT INTO customer_monthly_rollup " +
+                        "(month, customer_id, status, job_count, service_cost, added_cost, parking_fees) " +
+                        "SELECT substr(sr.service_date, 1, 7), sr.customer_id, COALESCE(sr.status, 'Pending'), " + totals + " " +
+                        "FROM service_requests sr GROUP BY 1, 2, 3");
+
+                stmt.execute("INSERT INTO technician_monthly_rollup " +
+                        "(month, technician_id, status, job_count, service_cost, added_cost, parking_fees) " +
+                        "SELECT substr(sr.service_date, 1, 7), st.technician_id, COALESCE(sr.status, 'Pending'), " + totals + " " +
+                        "FROM service_requests sr JOIN service_technicians st ON st.job_id = sr.job_id " +
+                        "GROUP BY 1, 2, 3");
+
+                stmt.execute("INSERT INTO payment_daily_rollup (payment_date, status, payment_count, amount) " +
+                        "SELECT payment_date, COALESCE(status, 'Pending'), COUNT(*), SUM(amount) " +
+                        "FROM payments WHERE payment_date IS NOT NULL GROUP BY 1, 2");
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Add (sign = 1) or remove (sign = -1) a service request's contribution to
+     * the monthly, customer and technician rollups, using its current row
+     * @param conn The connection of the calling write path
+     * @param jobId The job ID
+     * @param sign 1 to add, -1 to subtract
+     * @throws SQLException if the rollups cannot be updated
+     */
+    static void applyServiceRequest(Connection conn, int jobId, int sign) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(APPLY_MONTHLY_SQL)) {
+            bindTotals(pstmt, sign);
+            pstmt.setInt(5, jobId);
+            pstmt.executeUpdate();
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(APPLY_CUSTOMER_SQL)) {
+            bindTotals(pstmt, sign);
+            pstmt.setInt(5, jobId);
+            pstmt.executeUpdate();
+        }
+
+        applyTechnicianAssignment(conn, jobId, 0, sign);
+    }
+
+    /**
+     * Add or remove the technician rollup contribution of a job's assignments
+     * @param conn The connection of the calling write path
+     * @param jobId The job ID
+     * @param technicianId The assigned technician, or 0 for all of the job's technicians
+     * @param sign 1 to add, -1 to subtract
+     * @throws SQLException if the rollups cannot be updated
+     */
+    static void applyTechnicianAssignment(Connection conn, int jobId, int technicianId, int sign) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(APPLY_TECHNICIAN_SQL)) {
+            bindTotals(pstmt, sign);
+            pstmt.setInt(5, jobId);
+            pstmt.setInt(6, technicianId);
+            pstmt.setInt(7, technicianId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Add or remove a payment's contribution to the daily payment rollup
+     * @param conn The connection of the calling write path
+     * @param paymentId The payment ID
+     * @param sign 1 to add, -1 to subtract
+     * @throws SQLException if the rollups cannot be updated
+     */
+    static void applyPayment(Connection conn, int paymentId, int sign) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(APPLY_PAYMENT_SQL)) {
+            pstmt.setInt(1, sign);
+            pstmt.setInt(2, sign);
+            pstmt.setInt(3, paymentId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void bindTotals(PreparedStatement pstmt, int sign) throws SQLException {
+        pstmt.setInt(1, sign);
+        pstmt.setInt(2, sign);
+        pstmt.setInt(3, sign);
+        pstmt.setInt(4, sign);
+    }
+
+    private List<MonthlyRollup> findRollups(String sql, YearMonth fromMonth, YearMonth toMonth) {
+        List<MonthlyRollup> rollups = new ArrayList<>();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, fromMonth.toString());
+            pstmt.setString(2, toMonth.toString());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rollups.add(mapResultSetToRollup(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return rollups;
+    }
+
+    private MonthlyRollup mapResultSetToRollup(ResultSet rs) throws SQLException {
+        MonthlyRollup rollup = new MonthlyRollup();
+        ResultSetMetaData metaData = rs.getMetaData();
+
+        rollup.setMonth(YearMonth.parse(rs.getString("month")));
+        rollup.setStatus(rs.getString("status"));
+        rollup.setJobCount(rs.getInt("job_count"));
+        rollup.setServiceCost(rs.getDouble("service_cost"));
+        rollup.setAddedCost(rs.getDouble("added_cost"));
+        rollup.setParkingFees(rs.getDouble("parking_fees"));
+
+        // Technician and customer rollups carry one extra key column
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String column = metaData.getColumnName(i);
+            if ("technician_id".equals(column)) {
+                rollup.setTechnicianId(rs.getInt(i));
+            } else if ("customer_id".equals(column)) {
+                rollup.setCustomerId(rs.getInt(i));
+            }
+        }
+
+        return rollup;
+    }
+}
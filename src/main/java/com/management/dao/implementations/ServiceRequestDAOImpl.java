@@ -1,18 +1,34 @@
 package com.management.dao.implementations;
 
 import com.management.dao.interfaces.ServiceRequestDAO;
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.ServiceRequestField;
+import com.management.model.Customer;
 import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
 import com.management.model.Technician;
+import com.management.model.TechnicianWorkload;
 import com.management.service.DatabaseService;
+import com.management.util.ValueDictionary;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class ServiceRequestDAOImpl implements ServiceRequestDAO {
+    // Job ids bound per technician query, well below SQLite's host parameter limit
+    private static final int TECHNICIAN_BATCH_SIZE = 500;
+
+    // The code of a bound status label, for filtering on the indexed status_code column
+    private static final String STATUS_CODE_LOOKUP = "(SELECT code FROM " +
+            ValueDictionary.SERVICE_REQUEST_STATUSES.getTable() + " WHERE value = ?)";
+
     private final DatabaseService databaseService;
 
     public ServiceRequestDAOImpl(DatabaseService databaseService) {
@@ -25,72 +41,80 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
                 "ref_no, start_time, end_time, building_name, service_address, service_city, service_state, " +
                 "service_zip, poc_name, poc_phone, service_participant_name, service_notes, added_cost, " +
                 "status, postref_number, parking_fees, start_time_ics, end_time_ics, technician_status, " +
-                "technician_notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                "technician_notes, status_code, technician_status_code, service_state_code) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                    pstmt.setString(1, serviceRequest.getDescription());
+                    pstmt.setDouble(2, serviceRequest.getServiceCost());
+                    pstmt.setInt(3, serviceRequest.getCustomerId());
+                    pstmt.setString(4, serviceRequest.getServiceDate().toString());
+                    pstmt.setString(5, serviceRequest.getRefNo());
+
+                    if (serviceRequest.getStartTime() != null) {
+                        pstmt.setString(6, serviceRequest.getStartTime().toString());
+                    } else {
+                        pstmt.setNull(6, Types.VARCHAR);
+                    }
 
-            pstmt.setString(1, serviceRequest.getDescription());
-            pstmt.setDouble(2, serviceRequest.getServiceCost());
-            pstmt.setInt(3, serviceRequest.getCustomerId());
-            pstmt.setString(4, serviceRequest.getServiceDate().toString());
-            pstmt.setString(5, serviceRequest.getRefNo());
+                    if (serviceRequest.getEndTime() != null) {
+                        pstmt.setString(7, serviceRequest.getEndTime().toString());
+                    } else {
+                        pstmt.setNull(7, Types.VARCHAR);
+                    }
 
-            if (serviceRequest.getStartTime() != null) {
-                pstmt.setString(6, serviceRequest.getStartTime().toString());
-            } else {
-                pstmt.setNull(6, Types.VARCHAR);
-            }
+                    pstmt.setString(8, serviceRequest.getBuildingName());
+                    pstmt.setString(9, serviceRequest.getServiceAddress());
+                    pstmt.setString(10, serviceRequest.getServiceCity());
+                    pstmt.setString(11, serviceRequest.getServiceState());
+                    pstmt.setString(12, serviceRequest.getServiceZip());
+                    pstmt.setString(13, serviceRequest.getPocName());
+                    pstmt.setString(14, serviceRequest.getPocPhone());
+                    pstmt.setString(15, serviceRequest.getServiceParticipantName());
+                    pstmt.setString(16, serviceRequest.getServiceNotes());
+                    pstmt.setDouble(17, serviceRequest.getAddedCost());
+                    pstmt.setString(18, serviceRequest.getStatus());
+                    pstmt.setString(19, serviceRequest.getPostrefNumber());
+                    pstmt.setDouble(20, serviceRequest.getParkingFees());
+                    pstmt.setString(21, serviceRequest.getStartTimeIcs());
+                    pstmt.setString(22, serviceRequest.getEndTimeIcs());
+                    pstmt.setString(23, serviceRequest.getTechnicianStatus());
+                    pstmt.setString(24, serviceRequest.getTechnicianNotes());
+                    bindCodes(pstmt, 25, serviceRequest);
+
+                    int affectedRows = pstmt.executeUpdate();
+
+                    if (affectedRows == 0) {
+                        throw new SQLException("Creating service request failed, no rows affected.");
+                    }
 
-            if (serviceRequest.getEndTime() != null) {
-                pstmt.setString(7, serviceRequest.getEndTime().toString());
-            } else {
-                pstmt.setNull(7, Types.VARCHAR);
-            }
+                    // Get the generated ID using SQLite's last_insert_rowid() function
+                    int jobId;
+                    try (Statement stmt = conn.createStatement();
+                         ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                        if (rs.next()) {
+                            jobId = rs.getInt(1);
+                        } else {
+                            throw new SQLException("Creating service request failed, no ID obtained.");
+                        }
+                    }
 
-            pstmt.setString(8, serviceRequest.getBuildingName());
-            pstmt.setString(9, serviceRequest.getServiceAddress());
-            pstmt.setString(10, serviceRequest.getServiceCity());
-            pstmt.setString(11, serviceRequest.getServiceState());
-            pstmt.setString(12, serviceRequest.getServiceZip());
-            pstmt.setString(13, serviceRequest.getPocName());
-            pstmt.setString(14, serviceRequest.getPocPhone());
-            pstmt.setString(15, serviceRequest.getServiceParticipantName());
-            pstmt.setString(16, serviceRequest.getServiceNotes());
-            pstmt.setDouble(17, serviceRequest.getAddedCost());
-            pstmt.setString(18, serviceRequest.getStatus());
-            pstmt.setString(19, serviceRequest.getPostrefNumber());
-            pstmt.setDouble(20, serviceRequest.getParkingFees());
-            pstmt.setString(21, serviceRequest.getStartTimeIcs());
-            pstmt.setString(22, serviceRequest.getEndTimeIcs());
-            pstmt.setString(23, serviceRequest.getTechnicianStatus());
-            pstmt.setString(24, serviceRequest.getTechnicianNotes());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows == 0) {
-                throw new SQLException("Creating service request failed, no rows affected.");
-            }
+                    // Assign technicians if available
+                    if (serviceRequest.getTechnicians() != null && !serviceRequest.getTechnicians().isEmpty()) {
+                        for (Technician technician : serviceRequest.getTechnicians()) {
+                            insertAssignment(conn, jobId, technician.getTechnicianId());
+                        }
+                    }
 
-            // Get the generated ID using SQLite's last_insert_rowid() function
-            int jobId;
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) {
-                    jobId = rs.getInt(1);
-                } else {
-                    throw new SQLException("Creating service request failed, no ID obtained.");
-                }
-            }
+                    // Add the new job (and its assignments) to the rollups
+                    RollupDAOImpl.applyServiceRequest(conn, jobId, 1);
 
-            // Assign technicians if available
-            if (serviceRequest.getTechnicians() != null && !serviceRequest.getTechnicians().isEmpty()) {
-                for (Technician technician : serviceRequest.getTechnicians()) {
-                    assignTechnician(jobId, technician.getTechnicianId());
+                    return jobId;
                 }
-            }
-
-            return jobId;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return -1;
@@ -99,24 +123,37 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
 
     @Override
     public boolean assignTechnician(int jobId, int technicianId) {
-        String sql = "INSERT INTO service_technicians (job_id, technician_id) VALUES (?, ?)";
+        try {
+            return databaseService.inTransaction(conn -> {
+                if (insertAssignment(conn, jobId, technicianId)) {
+                    RollupDAOImpl.applyTechnicianAssignment(conn, jobId, technicianId, 1);
+                }
+                return true;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Insert a technician assignment on the given connection
+     * @return true if a new row was inserted, false if the assignment already existed
+     */
+    private boolean insertAssignment(Connection conn, int jobId, int technicianId) throws SQLException {
+        String sql = "INSERT INTO service_technicians (job_id, technician_id) VALUES (?, ?)";
 
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, jobId);
             pstmt.setInt(2, technicianId);
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
-
+            return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             // Check if this is a unique constraint violation (error code 19 in SQLite is SQLITE_CONSTRAINT)
             if (e.getMessage().contains("UNIQUE constraint failed") || e.getErrorCode() == 19) {
-                return true; // Assignment already exists
+                return false; // Assignment already exists
             }
-            e.printStackTrace();
-            return false;
+            throw e;
         }
     }
 
@@ -157,13 +194,73 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
+                serviceRequests.add(mapResultSetToServiceRequest(rs));
+            }
+
+            // Technicians of all jobs in batches rather than one query per job
+            attachTechnicians(conn, serviceRequests);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-                // Load technicians for this service request
-                List<Technician> technicians = findTechniciansForJob(serviceRequest.getJobId());
-                serviceRequest.setTechnicians(technicians);
+        return serviceRequests;
+    }
+
+    @Override
+    public List<ServiceRequest> find(QuerySpec<ServiceRequestField> spec) {
+        List<ServiceRequest> serviceRequests = new ArrayList<>();
+        String from = "FROM service_requests sr LEFT JOIN customers c ON c.customer_id = sr.customer_id " +
+                spec.whereClause() + spec.orderByClause("sr.job_id") + spec.limitClause();
+        String sql = "SELECT sr.*, c.first_name AS customer_first_name, c.last_name AS customer_last_name, " +
+                "c.company_name AS customer_company_name, c.customer_number AS customer_number, " +
+                "c.email AS customer_email " + from;
+
+        // Technicians of all matching jobs in one query rather than one per job
+        String technicianSql = "SELECT st.job_id AS assigned_job_id, t.* FROM service_technicians st " +
+                "JOIN technicians t ON t.technician_id = st.technician_id " +
+                "WHERE st.job_id IN (SELECT sr.job_id " + from + ") " +
+                "ORDER BY t.last_name, t.first_name";
 
-                serviceRequests.add(serviceRequest);
+        Map<Integer, ServiceRequest> jobsById = new HashMap<>();
+        try (Connection conn = databaseService.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                spec.bind(pstmt, 1);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
+                        serviceRequest.setTechnicians(new ArrayList<>());
+
+                        if (rs.getString("customer_last_name") != null) {
+                            Customer customer = new Customer();
+                            customer.setCustomerId(serviceRequest.getCustomerId());
+                            customer.setFirstName(rs.getString("customer_first_name"));
+                            customer.setLastName(rs.getString("customer_last_name"));
+                            customer.setCompanyName(rs.getString("customer_company_name"));
+                            customer.setCustomerNumber(rs.getString("customer_number"));
+                            customer.setEmail(rs.getString("customer_email"));
+                            serviceRequest.setCustomer(customer);
+                        }
+
+                        serviceRequests.add(serviceRequest);
+                        jobsById.put(serviceRequest.getJobId(), serviceRequest);
+                    }
+                }
+            }
+
+            if (!serviceRequests.isEmpty()) {
+                try (PreparedStatement pstmt = conn.prepareStatement(technicianSql)) {
+                    spec.bind(pstmt, 1);
+
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            ServiceRequest serviceRequest = jobsById.get(rs.getInt("assigned_job_id"));
+                            if (serviceRequest != null) {
+                                serviceRequest.getTechnicians().add(mapResultSetToTechnician(rs));
+                            }
+                        }
+                    }
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -184,15 +281,12 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
-
-                    // Load technicians for this service request
-                    List<Technician> technicians = findTechniciansForJob(serviceRequest.getJobId());
-                    serviceRequest.setTechnicians(technicians);
-
-                    serviceRequests.add(serviceRequest);
+                    serviceRequests.add(mapResultSetToServiceRequest(rs));
                 }
             }
+
+            // Technicians of all returned jobs in batches rather than one query per job
+            attachTechnicians(conn, serviceRequests);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -213,13 +307,66 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
 
             pstmt.setInt(1, technicianId);
 
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    serviceRequests.add(mapResultSetToServiceRequest(rs));
+                }
+            }
+
+            // Technicians of all returned jobs in batches rather than one query per job
+            attachTechnicians(conn, serviceRequests);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return serviceRequests;
+    }
+
+    @Override
+    public List<ServiceRequest> findByTechnicianAndDateRange(int technicianId, LocalDate startDate, LocalDate endDate) {
+        List<ServiceRequest> serviceRequests = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT sr.*, c.first_name AS customer_first_name, c.last_name AS customer_last_name, " +
+                "c.company_name AS customer_company_name " +
+                "FROM service_technicians st " +
+                "JOIN service_requests sr ON sr.job_id = st.job_id " +
+                "LEFT JOIN customers c ON c.customer_id = sr.customer_id " +
+                "WHERE st.technician_id = ? ");
+        List<Object> params = new ArrayList<>();
+        params.add(technicianId);
+
+        // Either bound may be left open
+        if (startDate != null) {
+            sql.append("AND sr.service_date >= ? ");
+            params.add(startDate.toString());
+        }
+        if (endDate != null) {
+            sql.append("AND sr.service_date <= ? ");
+            params.add(endDate.toString());
+        }
+
+        sql.append("ORDER BY sr.service_date, sr.start_time");
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
 
-                    // Load technicians for this service request
-                    List<Technician> technicians = findTechniciansForJob(serviceRequest.getJobId());
-                    serviceRequest.setTechnicians(technicians);
+                    // Only the customer columns a schedule shows; technicians are not loaded
+                    if (rs.getString("customer_last_name") != null) {
+                        Customer customer = new Customer();
+                        customer.setCustomerId(serviceRequest.getCustomerId());
+                        customer.setFirstName(rs.getString("customer_first_name"));
+                        customer.setLastName(rs.getString("customer_last_name"));
+                        customer.setCompanyName(rs.getString("customer_company_name"));
+                        serviceRequest.setCustomer(customer);
+                    }
 
                     serviceRequests.add(serviceRequest);
                 }
@@ -234,7 +381,8 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
     @Override
     public List<ServiceRequest> findByStatus(String status) {
         List<ServiceRequest> serviceRequests = new ArrayList<>();
-        String sql = "SELECT * FROM service_requests WHERE status = ? ORDER BY service_date DESC";
+        String sql = "SELECT * FROM service_requests WHERE status_code = " + STATUS_CODE_LOOKUP +
+                " ORDER BY service_date DESC";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -243,15 +391,12 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
-
-                    // Load technicians for this service request
-                    List<Technician> technicians = findTechniciansForJob(serviceRequest.getJobId());
-                    serviceRequest.setTechnicians(technicians);
-
-                    serviceRequests.add(serviceRequest);
+                    serviceRequests.add(mapResultSetToServiceRequest(rs));
                 }
             }
+
+            // Technicians of all returned jobs in batches rather than one query per job
+            attachTechnicians(conn, serviceRequests);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -272,15 +417,12 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
-
-                    // Load technicians for this service request
-                    List<Technician> technicians = findTechniciansForJob(serviceRequest.getJobId());
-                    serviceRequest.setTechnicians(technicians);
-
-                    serviceRequests.add(serviceRequest);
+                    serviceRequests.add(mapResultSetToServiceRequest(rs));
                 }
             }
+
+            // Technicians of all returned jobs in batches rather than one query per job
+            attachTechnicians(conn, serviceRequests);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -303,44 +445,211 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Technician technician = new Technician();
-
-                    technician.setTechnicianId(rs.getInt("technician_id"));
-                    technician.setFirstName(rs.getString("first_name"));
-                    technician.setLastName(rs.getString("last_name"));
-                    technician.setCredentials(rs.getString("credentials"));
-                    technician.setCredentialLevel(rs.getString("credential_level"));
-                    technician.setEmail(rs.getString("email"));
-                    technician.setZipCode(rs.getString("zip_code"));
-                    technician.setCoverageArea(rs.getString("coverage_area"));
-                    technician.setPayType(rs.getString("pay_type"));
-                    technician.setAccountInfo(rs.getString("account_info"));
-                    technician.setAddress(rs.getString("address"));
-                    technician.setCity(rs.getString("city"));
-                    technician.setState(rs.getString("state"));
-                    technician.setZip(rs.getString("zip"));
-                    technician.setLegalName(rs.getString("legal_name"));
-                    technician.setNotes(rs.getString("notes"));
-
-                    // Convert timestamps to LocalDateTime
-                    Timestamp createdTimestamp = rs.getTimestamp("created_at");
-                    if (createdTimestamp != null) {
-                        technician.setCreatedAt(createdTimestamp.toLocalDateTime());
+                    technicians.add(mapResultSetToTechnician(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return technicians;
+    }
+
+    @Override
+    public Map<Integer, TechnicianWorkload> findTechnicianWorkloads(LocalDate today) {
+        Map<Integer, TechnicianWorkload> workloads = new HashMap<>();
+        String openCondition = "COALESCE(sr.status_code, " + ServiceRequestStatus.PENDING.getCode() + ") NOT IN (" +
+                ServiceRequestStatus.COMPLETED.getCode() + ", " + ServiceRequestStatus.CANCELLED.getCode() + ")";
+        String sql = "SELECT st.technician_id, COUNT(*) AS assigned_count, " +
+                "SUM(CASE WHEN " + openCondition + " THEN 1 ELSE 0 END) AS open_count, " +
+                "SUM(CASE WHEN " + openCondition + " AND sr.service_date >= ? THEN 1 ELSE 0 END) AS upcoming_count " +
+                "FROM service_technicians st " +
+                "JOIN service_requests sr ON sr.job_id = st.job_id " +
+                "GROUP BY st.technician_id";
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, today.toString());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int technicianId = rs.getInt("technician_id");
+                    workloads.put(technicianId, new TechnicianWorkload(
+                            technicianId,
+                            rs.getInt("assigned_count"),
+                            rs.getInt("open_count"),
+                            rs.getInt("upcoming_count")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return workloads;
+    }
+
+    @Override
+    public List<ServiceRequest> searchByPrefix(String prefix, int offset, int limit) {
+        List<ServiceRequest> serviceRequests = new ArrayList<>();
+        String term = prefix != null ? prefix.trim() : "";
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT sr.*, c.first_name AS customer_first_name, c.last_name AS customer_last_name, " +
+                "c.company_name AS customer_company_name " +
+                "FROM service_requests sr " +
+                "LEFT JOIN customers c ON c.customer_id = sr.customer_id ");
+        List<Object> params = new ArrayList<>();
+
+        if (!term.isEmpty()) {
+            // Prefix matches only, one branch per indexed column; OR-ing columns of
+            // both joined tables would make SQLite scan every job instead
+            String pattern = escapeLike(term) + "%";
+            sql.append("WHERE sr.job_id IN (" +
+                    "SELECT job_id FROM service_requests WHERE ref_no LIKE ? ESCAPE '\\' " +
+                    "UNION SELECT job_id FROM service_requests WHERE service_date >= ? AND service_date < ? " +
+                    "UNION SELECT job_id FROM service_requests WHERE customer_id IN (" +
+                    "SELECT customer_id FROM customers WHERE first_name LIKE ? ESCAPE '\\' " +
+                    "UNION SELECT customer_id FROM customers WHERE last_name LIKE ? ESCAPE '\\' " +
+                    "UNION SELECT customer_id FROM customers WHERE company_name LIKE ? ESCAPE '\\')");
+            params.add(pattern);
+            params.add(term);
+            params.add(term + "~");
+            params.add(pattern);
+            params.add(pattern);
+            params.add(pattern);
+
+            // "#123" or "123" also finds the job with that ID
+            String jobIdText = term.startsWith("#") ? term.substring(1) : term;
+            if (jobIdText.matches("\\d{1,9}")) {
+                sql.append(" UNION SELECT ?");
+                params.add(Integer.parseInt(jobIdText));
+            }
+            sql.append(") ");
+        }
+
+        sql.append("ORDER BY sr.service_date DESC, sr.job_id DESC LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
+
+                    // Only the customer columns the picker shows; technicians are not loaded
+                    if (rs.getString("customer_last_name") != null) {
+                        Customer customer = new Customer();
+                        customer.setCustomerId(serviceRequest.getCustomerId());
+                        customer.setFirstName(rs.getString("customer_first_name"));
+                        customer.setLastName(rs.getString("customer_last_name"));
+                        customer.setCompanyName(rs.getString("customer_company_name"));
+                        serviceRequest.setCustomer(customer);
                     }
 
-                    Timestamp updatedTimestamp = rs.getTimestamp("updated_at");
-                    if (updatedTimestamp != null) {
-                        technician.setUpdatedAt(updatedTimestamp.toLocalDateTime());
+                    serviceRequests.add(serviceRequest);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return serviceRequests;
+    }
+
+    @Override
+    public List<ServiceRequest> findPage(String status, int offset, int limit) {
+        List<ServiceRequest> serviceRequests = new ArrayList<>();
+        String sql = "SELECT sr.*, c.first_name AS customer_first_name, c.last_name AS customer_last_name, " +
+                "c.company_name AS customer_company_name " +
+                "FROM service_requests sr " +
+                "LEFT JOIN customers c ON c.customer_id = sr.customer_id " +
+                (status != null ? "WHERE sr.status_code = " + STATUS_CODE_LOOKUP + " " : "") +
+                "ORDER BY sr.service_date DESC, sr.job_id DESC LIMIT ? OFFSET ?";
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (status != null) {
+                pstmt.setString(index++, status);
+            }
+            pstmt.setInt(index++, limit);
+            pstmt.setInt(index, offset);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ServiceRequest serviceRequest = mapResultSetToServiceRequest(rs);
+
+                    if (serviceRequest.getCustomerId() > 0 && rs.getString("customer_last_name") != null) {
+                        Customer customer = new Customer();
+                        customer.setCustomerId(serviceRequest.getCustomerId());
+                        customer.setFirstName(rs.getString("customer_first_name"));
+                        customer.setLastName(rs.getString("customer_last_name"));
+                        customer.setCompanyName(rs.getString("customer_company_name"));
+                        serviceRequest.setCustomer(customer);
                     }
 
-                    technicians.add(technician);
+                    serviceRequests.add(serviceRequest);
                 }
             }
+
+            // Technicians of the whole page in one query on the same connection
+            attachTechnicians(conn, serviceRequests);
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return technicians;
+        return serviceRequests;
+    }
+
+    /**
+     * Load the technicians of several service requests with one query per batch of jobs
+     * instead of one query per job
+     * @param conn The connection to query on
+     * @param serviceRequests The service requests whose technician lists are filled in
+     * @throws SQLException If the query fails
+     */
+    private void attachTechnicians(Connection conn, List<ServiceRequest> serviceRequests) throws SQLException {
+        Map<Integer, ServiceRequest> jobsById = new HashMap<>();
+        for (ServiceRequest serviceRequest : serviceRequests) {
+            serviceRequest.setTechnicians(new ArrayList<>());
+            jobsById.put(serviceRequest.getJobId(), serviceRequest);
+        }
+
+        List<Integer> jobIds = new ArrayList<>(jobsById.keySet());
+        for (int start = 0; start < jobIds.size(); start += TECHNICIAN_BATCH_SIZE) {
+            List<Integer> batch = jobIds.subList(start, Math.min(start + TECHNICIAN_BATCH_SIZE, jobIds.size()));
+            String sql = "SELECT st.job_id AS assigned_job_id, t.* FROM service_technicians st " +
+                    "JOIN technicians t ON t.technician_id = st.technician_id " +
+                    "WHERE st.job_id IN (" + String.join(", ", Collections.nCopies(batch.size(), "?")) + ") " +
+                    "ORDER BY t.last_name, t.first_name";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    pstmt.setInt(i + 1, batch.get(i));
+                }
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        ServiceRequest serviceRequest = jobsById.get(rs.getInt("assigned_job_id"));
+                        if (serviceRequest != null) {
+                            serviceRequest.getTechnicians().add(mapResultSetToTechnician(rs));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     @Override
@@ -351,67 +660,77 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
                 "poc_name = ?, poc_phone = ?, service_participant_name = ?, service_notes = ?, " +
                 "added_cost = ?, status = ?, postref_number = ?, parking_fees = ?, " +
                 "start_time_ics = ?, end_time_ics = ?, technician_status = ?, technician_notes = ?, " +
+                "status_code = ?, technician_status_code = ?, service_state_code = ?, " +
                 "updated_at = CURRENT_TIMESTAMP WHERE job_id = ?";
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, serviceRequest.getDescription());
-            pstmt.setDouble(2, serviceRequest.getServiceCost());
-            pstmt.setInt(3, serviceRequest.getCustomerId());
-            pstmt.setString(4, serviceRequest.getServiceDate().toString());
-            pstmt.setString(5, serviceRequest.getRefNo());
+                    // Take the job's old values out of the rollups before they change
+                    RollupDAOImpl.applyServiceRequest(conn, serviceRequest.getJobId(), -1);
 
-            if (serviceRequest.getStartTime() != null) {
-                pstmt.setString(6, serviceRequest.getStartTime().toString());
-            } else {
-                pstmt.setNull(6, Types.VARCHAR);
-            }
+                    pstmt.setString(1, serviceRequest.getDescription());
+                    pstmt.setDouble(2, serviceRequest.getServiceCost());
+                    pstmt.setInt(3, serviceRequest.getCustomerId());
+                    pstmt.setString(4, serviceRequest.getServiceDate().toString());
+                    pstmt.setString(5, serviceRequest.getRefNo());
 
-            if (serviceRequest.getEndTime() != null) {
-                pstmt.setString(7, serviceRequest.getEndTime().toString());
-            } else {
-                pstmt.setNull(7, Types.VARCHAR);
-            }
+                    if (serviceRequest.getStartTime() != null) {
+                        pstmt.setString(6, serviceRequest.getStartTime().toString());
+                    } else {
+                        pstmt.setNull(6, Types.VARCHAR);
+                    }
 
-            pstmt.setString(8, serviceRequest.getBuildingName());
-            pstmt.setString(9, serviceRequest.getServiceAddress());
-            pstmt.setString(10, serviceRequest.getServiceCity());
-            pstmt.setString(11, serviceRequest.getServiceState());
-            pstmt.setString(12, serviceRequest.getServiceZip());
-            pstmt.setString(13, serviceRequest.getPocName());
-            pstmt.setString(14, serviceRequest.getPocPhone());
-            pstmt.setString(15, serviceRequest.getServiceParticipantName());
-            pstmt.setString(16, serviceRequest.getServiceNotes());
-            pstmt.setDouble(17, serviceRequest.getAddedCost());
-            pstmt.setString(18, serviceRequest.getStatus());
-            pstmt.setString(19, serviceRequest.getPostrefNumber());
-            pstmt.setDouble(20, serviceRequest.getParkingFees());
-            pstmt.setString(21, serviceRequest.getStartTimeIcs());
-            pstmt.setString(22, serviceRequest.getEndTimeIcs());
-            pstmt.setString(23, serviceRequest.getTechnicianStatus());
-            pstmt.setString(24, serviceRequest.getTechnicianNotes());
-            pstmt.setInt(25, serviceRequest.getJobId());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            // If technicians are provided, update the assignments
-            if (serviceRequest.getTechnicians() != null) {
-                // Remove all current technician assignments
-                String deleteSql = "DELETE FROM service_technicians WHERE job_id = ?";
-                try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
-                    deleteStmt.setInt(1, serviceRequest.getJobId());
-                    deleteStmt.executeUpdate();
-                }
+                    if (serviceRequest.getEndTime() != null) {
+                        pstmt.setString(7, serviceRequest.getEndTime().toString());
+                    } else {
+                        pstmt.setNull(7, Types.VARCHAR);
+                    }
 
-                // Add new technician assignments
-                for (Technician technician : serviceRequest.getTechnicians()) {
-                    assignTechnician(serviceRequest.getJobId(), technician.getTechnicianId());
-                }
-            }
+                    pstmt.setString(8, serviceRequest.getBuildingName());
+                    pstmt.setString(9, serviceRequest.getServiceAddress());
+                    pstmt.setString(10, serviceRequest.getServiceCity());
+                    pstmt.setString(11, serviceRequest.getServiceState());
+                    pstmt.setString(12, serviceRequest.getServiceZip());
+                    pstmt.setString(13, serviceRequest.getPocName());
+                    pstmt.setString(14, serviceRequest.getPocPhone());
+                    pstmt.setString(15, serviceRequest.getServiceParticipantName());
+                    pstmt.setString(16, serviceRequest.getServiceNotes());
+                    pstmt.setDouble(17, serviceRequest.getAddedCost());
+                    pstmt.setString(18, serviceRequest.getStatus());
+                    pstmt.setString(19, serviceRequest.getPostrefNumber());
+                    pstmt.setDouble(20, serviceRequest.getParkingFees());
+                    pstmt.setString(21, serviceRequest.getStartTimeIcs());
+                    pstmt.setString(22, serviceRequest.getEndTimeIcs());
+                    pstmt.setString(23, serviceRequest.getTechnicianStatus());
+                    pstmt.setString(24, serviceRequest.getTechnicianNotes());
+                    bindCodes(pstmt, 25, serviceRequest);
+                    pstmt.setInt(28, serviceRequest.getJobId());
+
+                    int affectedRows = pstmt.executeUpdate();
+
+                    // If technicians are provided, update the assignments
+                    if (serviceRequest.getTechnicians() != null) {
+                        // Remove all current technician assignments
+                        String deleteSql = "DELETE FROM service_technicians WHERE job_id = ?";
+                        try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
+                            deleteStmt.setInt(1, serviceRequest.getJobId());
+                            deleteStmt.executeUpdate();
+                        }
+
+                        // Add new technician assignments
+                        for (Technician technician : serviceRequest.getTechnicians()) {
+                            insertAssignment(conn, serviceRequest.getJobId(), technician.getTechnicianId());
+                        }
+                    }
+
+                    RollupDAOImpl.applyServiceRequest(conn, serviceRequest.getJobId(), 1);
 
-            return affectedRows > 0;
+                    return affectedRows > 0;
 
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -420,17 +739,26 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
 
     @Override
     public boolean updateStatus(int jobId, String status) {
-        String sql = "UPDATE service_requests SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE job_id = ?";
+        String sql = "UPDATE service_requests SET status = ?, status_code = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_id = ?";
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, status);
-            pstmt.setInt(2, jobId);
+                    RollupDAOImpl.applyServiceRequest(conn, jobId, -1);
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+                    pstmt.setString(1, status);
+                    ValueCodeDAOImpl.bindCode(pstmt, 2, ValueDictionary.SERVICE_REQUEST_STATUSES, status);
+                    pstmt.setInt(3, jobId);
 
+                    int affectedRows = pstmt.executeUpdate();
+
+                    RollupDAOImpl.applyServiceRequest(conn, jobId, 1);
+                    return affectedRows > 0;
+
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -441,20 +769,25 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
     public boolean delete(int jobId) {
         String sql = "DELETE FROM service_requests WHERE job_id = ?";
 
-        try (Connection conn = databaseService.getConnection()) {
-            // First delete related records in service_technicians
-            String deleteRelatedSql = "DELETE FROM service_technicians WHERE job_id = ?";
-            try (PreparedStatement deleteRelatedStmt = conn.prepareStatement(deleteRelatedSql)) {
-                deleteRelatedStmt.setInt(1, jobId);
-                deleteRelatedStmt.executeUpdate();
-            }
+        try {
+            return databaseService.inTransaction(conn -> {
+                // Remove the job from the rollups while its assignments still exist
+                RollupDAOImpl.applyServiceRequest(conn, jobId, -1);
 
-            // Then delete the service request
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, jobId);
-                int affectedRows = pstmt.executeUpdate();
-                return affectedRows > 0;
-            }
+                // First delete related records in service_technicians
+                String deleteRelatedSql = "DELETE FROM service_technicians WHERE job_id = ?";
+                try (PreparedStatement deleteRelatedStmt = conn.prepareStatement(deleteRelatedSql)) {
+                    deleteRelatedStmt.setInt(1, jobId);
+                    deleteRelatedStmt.executeUpdate();
+                }
+
+                // Then delete the service request
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, jobId);
+                    int affectedRows = pstmt.executeUpdate();
+                    return affectedRows > 0;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -465,15 +798,20 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
     public boolean removeTechnician(int jobId, int technicianId) {
         String sql = "DELETE FROM service_technicians WHERE job_id = ? AND technician_id = ?";
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, jobId);
-            pstmt.setInt(2, technicianId);
+                    RollupDAOImpl.applyTechnicianAssignment(conn, jobId, technicianId, -1);
+
+                    pstmt.setInt(1, jobId);
+                    pstmt.setInt(2, technicianId);
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+                    int affectedRows = pstmt.executeUpdate();
+                    return affectedRows > 0;
 
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -498,6 +836,79 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
         return 0;
     }
 
+    @Override
+    public int count(QuerySpec<ServiceRequestField> spec) {
+        String sql = "SELECT COUNT(*) AS total FROM service_requests sr " +
+                "LEFT JOIN customers c ON c.customer_id = sr.customer_id " + spec.whereClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("total");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    @Override
+    public int countByStatus(String status) {
+        String sql = "SELECT COUNT(*) AS total FROM service_requests WHERE status_code = " + STATUS_CODE_LOOKUP;
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, status);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("total");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    @Override
+    public void createSearchIndexes() {
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            // NOCASE indexes let SQLite use them for case-insensitive prefix LIKE
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_service_requests_ref_no " +
+                    "ON service_requests (ref_no COLLATE NOCASE)");
+            // Date lookups and schedules ordered by date and start time; the
+            // composite index replaces the earlier service_date-only index
+            stmt.execute("DROP INDEX IF EXISTS idx_service_requests_service_date");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_service_requests_date_time " +
+                    "ON service_requests (service_date, start_time)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_service_technicians_technician " +
+                    "ON service_technicians (technician_id, job_id)");
+            // Jobs of the customers matched by a picker search
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_service_requests_customer " +
+                    "ON service_requests (customer_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_customers_first_name " +
+                    "ON customers (first_name COLLATE NOCASE)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_customers_last_name " +
+                    "ON customers (last_name COLLATE NOCASE)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_customers_company_name " +
+                    "ON customers (company_name COLLATE NOCASE)");
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
     @Override
     public double calculateTotalCost(int jobId) {
         String sql = "SELECT service_cost + added_cost + parking_fees AS total_cost FROM service_requests WHERE job_id = ?";
@@ -528,6 +939,51 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
         return findTechniciansForJob(jobId);
     }
 
+    /**
+     * Bind the codes of the status, technician status and service state, in that order
+     */
+    private void bindCodes(PreparedStatement pstmt, int firstIndex, ServiceRequest serviceRequest) throws SQLException {
+        ValueCodeDAOImpl.bindCode(pstmt, firstIndex, ValueDictionary.SERVICE_REQUEST_STATUSES,
+                serviceRequest.getStatus());
+        ValueCodeDAOImpl.bindCode(pstmt, firstIndex + 1, ValueDictionary.TECHNICIAN_STATUSES,
+                serviceRequest.getTechnicianStatus());
+        ValueCodeDAOImpl.bindCode(pstmt, firstIndex + 2, ValueDictionary.STATES, serviceRequest.getServiceState());
+    }
+
+    private Technician mapResultSetToTechnician(ResultSet rs) throws SQLException {
+        Technician technician = new Technician();
+
+        technician.setTechnicianId(rs.getInt("technician_id"));
+        technician.setFirstName(rs.getString("first_name"));
+        technician.setLastName(rs.getString("last_name"));
+        technician.setCredentials(rs.getString("credentials"));
+        technician.setCredentialLevel(ValueCodeDAOImpl.readValue(rs, "credential_level", ValueDictionary.CREDENTIAL_LEVELS));
+        technician.setEmail(rs.getString("email"));
+        technician.setZipCode(rs.getString("zip_code"));
+        technician.setCoverageArea(rs.getString("coverage_area"));
+        technician.setPayType(rs.getString("pay_type"));
+        technician.setAccountInfo(rs.getString("account_info"));
+        technician.setAddress(rs.getString("address"));
+        technician.setCity(rs.getString("city"));
+        technician.setState(ValueCodeDAOImpl.readValue(rs, "state", ValueDictionary.STATES));
+        technician.setZip(rs.getString("zip"));
+        technician.setLegalName(rs.getString("legal_name"));
+        technician.setNotes(rs.getString("notes"));
+
+        // Convert timestamps to LocalDateTime
+        Timestamp createdTimestamp = rs.getTimestamp("created_at");
+        if (createdTimestamp != null) {
+            technician.setCreatedAt(createdTimestamp.toLocalDateTime());
+        }
+
+        Timestamp updatedTimestamp = rs.getTimestamp("updated_at");
+        if (updatedTimestamp != null) {
+            technician.setUpdatedAt(updatedTimestamp.toLocalDateTime());
+        }
+
+        return technician;
+    }
+
     private ServiceRequest mapResultSetToServiceRequest(ResultSet rs) throws SQLException {
         ServiceRequest serviceRequest = new ServiceRequest();
 
@@ -556,19 +1012,20 @@ public class ServiceRequestDAOImpl implements ServiceRequestDAO {
         serviceRequest.setBuildingName(rs.getString("building_name"));
         serviceRequest.setServiceAddress(rs.getString("service_address"));
         serviceRequest.setServiceCity(rs.getString("service_city"));
-        serviceRequest.setServiceState(rs.getString("service_state"));
+        serviceRequest.setServiceState(ValueCodeDAOImpl.readValue(rs, "service_state", ValueDictionary.STATES));
         serviceRequest.setServiceZip(rs.getString("service_zip"));
         serviceRequest.setPocName(rs.getString("poc_name"));
         serviceRequest.setPocPhone(rs.getString("poc_phone"));
         serviceRequest.setServiceParticipantName(rs.getString("service_participant_name"));
         serviceRequest.setServiceNotes(rs.getString("service_notes"));
         serviceRequest.setAddedCost(rs.getDouble("added_cost"));
-        serviceRequest.setStatus(rs.getString("status"));
+        serviceRequest.setStatus(ValueCodeDAOImpl.readValue(rs, "status", ValueDictionary.SERVICE_REQUEST_STATUSES));
         serviceRequest.setPostrefNumber(rs.getString("postref_number"));
         serviceRequest.setParkingFees(rs.getDouble("parking_fees"));
         serviceRequest.setStartTimeIcs(rs.getString("start_time_ics"));
         serviceRequest.setEndTimeIcs(rs.getString("end_time_ics"));
-        serviceRequest.setTechnicianStatus(rs.getString("technician_status"));
+        serviceRequest.setTechnicianStatus(ValueCodeDAOImpl.readValue(rs, "technician_status",
+                ValueDictionary.TECHNICIAN_STATUSES));
         serviceRequest.setTechnicianNotes(rs.getString("technician_notes"));
 
         // Convert timestamps to LocalDateTime
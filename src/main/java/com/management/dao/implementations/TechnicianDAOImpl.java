@@ -1,13 +1,15 @@
 package com.management.dao.implementations;
 
 import com.management.dao.interfaces.TechnicianDAO;
+import com.management.dao.query.TechnicianField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Technician;
 import com.management.service.DatabaseService;
+import com.management.util.CoverageAreaParser;
+import com.management.util.ValueDictionary;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 public class TechnicianDAOImpl implements TechnicianDAO {
     private final DatabaseService databaseService;
@@ -20,42 +22,49 @@ public class TechnicianDAOImpl implements TechnicianDAO {
     public int save(Technician technician) {
         String sql = "INSERT INTO technicians (first_name, last_name, credentials, credential_level, " +
                 "email, zip_code, coverage_area, pay_type, account_info, address, city, state, zip, " +
-                "legal_name, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, technician.getFirstName());
-            pstmt.setString(2, technician.getLastName());
-            pstmt.setString(3, technician.getCredentials());
-            pstmt.setString(4, technician.getCredentialLevel());
-            pstmt.setString(5, technician.getEmail());
-            pstmt.setString(6, technician.getZipCode());
-            pstmt.setString(7, technician.getCoverageArea());
-            pstmt.setString(8, technician.getPayType());
-            pstmt.setString(9, technician.getAccountInfo());
-            pstmt.setString(10, technician.getAddress());
-            pstmt.setString(11, technician.getCity());
-            pstmt.setString(12, technician.getState());
-            pstmt.setString(13, technician.getZip());
-            pstmt.setString(14, technician.getLegalName());
-            pstmt.setString(15, technician.getNotes());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows == 0) {
-                throw new SQLException("Creating technician failed, no rows affected.");
-            }
-
-            // Get the generated ID using SQLite's last_insert_rowid() function
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                } else {
-                    throw new SQLException("Creating technician failed, no ID obtained.");
+                "legal_name, notes, credential_level_code, state_code) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                    pstmt.setString(1, technician.getFirstName());
+                    pstmt.setString(2, technician.getLastName());
+                    pstmt.setString(3, technician.getCredentials());
+                    pstmt.setString(4, technician.getCredentialLevel());
+                    pstmt.setString(5, technician.getEmail());
+                    pstmt.setString(6, technician.getZipCode());
+                    pstmt.setString(7, technician.getCoverageArea());
+                    pstmt.setString(8, technician.getPayType());
+                    pstmt.setString(9, technician.getAccountInfo());
+                    pstmt.setString(10, technician.getAddress());
+                    pstmt.setString(11, technician.getCity());
+                    pstmt.setString(12, technician.getState());
+                    pstmt.setString(13, technician.getZip());
+                    pstmt.setString(14, technician.getLegalName());
+                    pstmt.setString(15, technician.getNotes());
+                    bindCodes(pstmt, 16, technician);
+
+                    int affectedRows = pstmt.executeUpdate();
+
+                    if (affectedRows == 0) {
+                        throw new SQLException("Creating technician failed, no rows affected.");
+                    }
+
+                    // Get the generated ID using SQLite's last_insert_rowid() function
+                    try (Statement stmt = conn.createStatement();
+                         ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                        if (rs.next()) {
+                            int technicianId = rs.getInt(1);
+                            replaceCoverage(conn, technicianId, technician);
+                            return technicianId;
+                        } else {
+                            throw new SQLException("Creating technician failed, no ID obtained.");
+                        }
+                    }
                 }
-            }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return -1;
@@ -102,6 +111,29 @@ public class TechnicianDAOImpl implements TechnicianDAO {
         return technicians;
     }
 
+    @Override
+    public List<Technician> find(QuerySpec<TechnicianField> spec) {
+        List<Technician> technicians = new ArrayList<>();
+        String sql = "SELECT t.* FROM technicians t " + spec.whereClause() +
+                spec.orderByClause("t.technician_id") + spec.limitClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    technicians.add(mapResultSetToTechnician(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return technicians;
+    }
+
     @Override
     public List<Technician> findByName(String searchTerm) {
         List<Technician> technicians = new ArrayList<>();
@@ -150,7 +182,8 @@ public class TechnicianDAOImpl implements TechnicianDAO {
     @Override
     public List<Technician> findByCredentialLevel(String credentialLevel) {
         List<Technician> technicians = new ArrayList<>();
-        String sql = "SELECT * FROM technicians WHERE credential_level = ? ORDER BY last_name, first_name";
+        String sql = "SELECT * FROM technicians WHERE credential_level_code = (SELECT code FROM " +
+                ValueDictionary.CREDENTIAL_LEVELS.getTable() + " WHERE value = ?) ORDER BY last_name, first_name";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -171,15 +204,45 @@ public class TechnicianDAOImpl implements TechnicianDAO {
 
     @Override
     public List<Technician> findByCoverageArea(String coverageArea) {
+        String zip = CoverageAreaParser.normalizeZip(coverageArea);
+        if (zip == null) {
+            // Not a zip code, so fall back to matching the free text
+            return findByCoverageText(coverageArea);
+        }
+
         List<Technician> technicians = new ArrayList<>();
-        String sql = "SELECT * FROM technicians WHERE coverage_area LIKE ? OR zip_code = ? ORDER BY last_name, first_name";
+        String sql = "SELECT * FROM technicians WHERE technician_id IN (" +
+                "SELECT technician_id FROM technician_coverage WHERE zip_prefix IN (?, ?, ?, ?, ?)) " +
+                "ORDER BY last_name, first_name";
 
         try (Connection conn = databaseService.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            String searchPattern = "%" + coverageArea + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, coverageArea); // Exact match for zip code
+            // The zip itself and each of its prefixes
+            for (int length = 1; length <= zip.length(); length++) {
+                pstmt.setString(length, zip.substring(0, length));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    technicians.add(mapResultSetToTechnician(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return technicians;
+    }
+
+    private List<Technician> findByCoverageText(String coverageArea) {
+        List<Technician> technicians = new ArrayList<>();
+        String sql = "SELECT * FROM technicians WHERE coverage_area LIKE ? ORDER BY last_name, first_name";
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, "%" + coverageArea + "%");
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -193,36 +256,65 @@ public class TechnicianDAOImpl implements TechnicianDAO {
         return technicians;
     }
 
+    @Override
+    public Map<Integer, Set<String>> findAllCoverageEntries() {
+        Map<Integer, Set<String>> entries = new HashMap<>();
+        String sql = "SELECT technician_id, zip_prefix FROM technician_coverage";
+
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                entries.computeIfAbsent(rs.getInt("technician_id"), id -> new HashSet<>())
+                        .add(rs.getString("zip_prefix"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return entries;
+    }
+
     @Override
     public boolean update(Technician technician) {
         String sql = "UPDATE technicians SET first_name = ?, last_name = ?, credentials = ?, " +
                 "credential_level = ?, email = ?, zip_code = ?, coverage_area = ?, pay_type = ?, " +
                 "account_info = ?, address = ?, city = ?, state = ?, zip = ?, legal_name = ?, " +
-                "notes = ?, updated_at = CURRENT_TIMESTAMP WHERE technician_id = ?";
-
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, technician.getFirstName());
-            pstmt.setString(2, technician.getLastName());
-            pstmt.setString(3, technician.getCredentials());
-            pstmt.setString(4, technician.getCredentialLevel());
-            pstmt.setString(5, technician.getEmail());
-            pstmt.setString(6, technician.getZipCode());
-            pstmt.setString(7, technician.getCoverageArea());
-            pstmt.setString(8, technician.getPayType());
-            pstmt.setString(9, technician.getAccountInfo());
-            pstmt.setString(10, technician.getAddress());
-            pstmt.setString(11, technician.getCity());
-            pstmt.setString(12, technician.getState());
-            pstmt.setString(13, technician.getZip());
-            pstmt.setString(14, technician.getLegalName());
-            pstmt.setString(15, technician.getNotes());
-            pstmt.setInt(16, technician.getTechnicianId());
-
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+                "notes = ?, credential_level_code = ?, state_code = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE technician_id = ?";
+
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                    pstmt.setString(1, technician.getFirstName());
+                    pstmt.setString(2, technician.getLastName());
+                    pstmt.setString(3, technician.getCredentials());
+                    pstmt.setString(4, technician.getCredentialLevel());
+                    pstmt.setString(5, technician.getEmail());
+                    pstmt.setString(6, technician.getZipCode());
+                    pstmt.setString(7, technician.getCoverageArea());
+                    pstmt.setString(8, technician.getPayType());
+                    pstmt.setString(9, technician.getAccountInfo());
+                    pstmt.setString(10, technician.getAddress());
+                    pstmt.setString(11, technician.getCity());
+                    pstmt.setString(12, technician.getState());
+                    pstmt.setString(13, technician.getZip());
+                    pstmt.setString(14, technician.getLegalName());
+                    pstmt.setString(15, technician.getNotes());
+                    bindCodes(pstmt, 16, technician);
+                    pstmt.setInt(18, technician.getTechnicianId());
+
+                    int affectedRows = pstmt.executeUpdate();
+
+                    if (affectedRows > 0) {
+                        replaceCoverage(conn, technician.getTechnicianId(), technician);
+                    }
+                    return affectedRows > 0;
 
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -233,14 +325,24 @@ public class TechnicianDAOImpl implements TechnicianDAO {
     public boolean delete(int technicianId) {
         String sql = "DELETE FROM technicians WHERE technician_id = ?";
 
-        try (Connection conn = databaseService.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return databaseService.inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, technicianId);
+                    // Remove the technician's coverage entries first
+                    try (PreparedStatement coverageStmt = conn.prepareStatement(
+                            "DELETE FROM technician_coverage WHERE technician_id = ?")) {
+                        coverageStmt.setInt(1, technicianId);
+                        coverageStmt.executeUpdate();
+                    }
 
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+                    pstmt.setInt(1, technicianId);
 
+                    int affectedRows = pstmt.executeUpdate();
+                    return affectedRows > 0;
+
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -265,6 +367,125 @@ public class TechnicianDAOImpl implements TechnicianDAO {
         return 0;
     }
 
+    @Override
+    public int count(QuerySpec<TechnicianField> spec) {
+        String sql = "SELECT COUNT(*) AS total FROM technicians t " + spec.whereClause();
+
+        try (Connection conn = databaseService.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            spec.bind(pstmt, 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("total");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    @Override
+    public void createCoverageTable() {
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS technician_coverage (" +
+                    "technician_id INTEGER NOT NULL, " +
+                    "zip_prefix TEXT NOT NULL, " +
+                    "PRIMARY KEY (technician_id, zip_prefix), " +
+                    "FOREIGN KEY (technician_id) REFERENCES technicians(technician_id))");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_technician_coverage_zip " +
+                    "ON technician_coverage (zip_prefix)");
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public boolean rebuildCoverage() {
+        Connection conn = null;
+
+        try {
+            conn = databaseService.getConnection();
+            conn.setAutoCommit(false);
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM technician_coverage");
+            }
+
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT technician_id, zip_code, coverage_area FROM technicians")) {
+                while (rs.next()) {
+                    insertCoverage(conn, rs.getInt("technician_id"),
+                            CoverageAreaParser.parse(rs.getString("coverage_area"), rs.getString("zip_code")));
+                }
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace a technician's coverage entries with those parsed from its
+     * current coverage area and zip code
+     */
+    private void replaceCoverage(Connection conn, int technicianId, Technician technician) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM technician_coverage WHERE technician_id = ?")) {
+            pstmt.setInt(1, technicianId);
+            pstmt.executeUpdate();
+        }
+
+        insertCoverage(conn, technicianId,
+                CoverageAreaParser.parse(technician.getCoverageArea(), technician.getZipCode()));
+    }
+
+    private void insertCoverage(Connection conn, int technicianId, Set<String> entries) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO technician_coverage (technician_id, zip_prefix) VALUES (?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (String entry : entries) {
+                pstmt.setInt(1, technicianId);
+                pstmt.setString(2, entry);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Bind the codes of the credential level and state, in that order
+     */
+    private void bindCodes(PreparedStatement pstmt, int firstIndex, Technician technician) throws SQLException {
+        ValueCodeDAOImpl.bindCode(pstmt, firstIndex, ValueDictionary.CREDENTIAL_LEVELS, technician.getCredentialLevel());
+        ValueCodeDAOImpl.bindCode(pstmt, firstIndex + 1, ValueDictionary.STATES, technician.getState());
+    }
+
     private Technician mapResultSetToTechnician(ResultSet rs) throws SQLException {
         Technician technician = new Technician();
 
@@ -272,7 +493,7 @@ public class TechnicianDAOImpl implements TechnicianDAO {
         technician.setFirstName(rs.getString("first_name"));
         technician.setLastName(rs.getString("last_name"));
         technician.setCredentials(rs.getString("credentials"));
-        technician.setCredentialLevel(rs.getString("credential_level"));
+        technician.setCredentialLevel(ValueCodeDAOImpl.readValue(rs, "credential_level", ValueDictionary.CREDENTIAL_LEVELS));
         technician.setEmail(rs.getString("email"));
         technician.setZipCode(rs.getString("zip_code"));
         technician.setCoverageArea(rs.getString("coverage_area"));
@@ -280,7 +501,7 @@ public class TechnicianDAOImpl implements TechnicianDAO {
         technician.setAccountInfo(rs.getString("account_info"));
         technician.setAddress(rs.getString("address"));
         technician.setCity(rs.getString("city"));
-        technician.setState(rs.getString("state"));
+        technician.setState(ValueCodeDAOImpl.readValue(rs, "state", ValueDictionary.STATES));
         technician.setZip(rs.getString("zip"));
         technician.setLegalName(rs.getString("legal_name"));
         technician.setNotes(rs.getString("notes"));
@@ -0,0 +1,263 @@
+package com.management.dao.implementations;
+
+import com.management.dao.interfaces.ValueCodeDAO;
+import com.management.service.DatabaseService;
+import com.management.util.ValueDictionary;
+
+import java.sql.*;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dictionary encoding of the low-cardinality text columns. Each coded column,
+ * such as service_requests.status, has an INTEGER companion, such as
+ * status_code, referencing a dictionary table that holds each value once.
+ * The DAOs write both, map rows from the code and filter on the code; the
+ * text stays alongside for the rollups, the search columns and exports,
+ * which all work on labels.
+ */
+public class ValueCodeDAOImpl implements ValueCodeDAO {
+    private final DatabaseService databaseService;
+
+    // Every coded column; table and column names are only ever taken from this list
+    private static final CodedColumn[] CODED_COLUMNS = {
+            new CodedColumn("service_requests", "status", ValueDictionary.SERVICE_REQUEST_STATUSES, true),
+            new CodedColumn("service_requests", "technician_status", ValueDictionary.TECHNICIAN_STATUSES, false),
+            new CodedColumn("service_requests", "service_state", ValueDictionary.STATES, false),
+            new CodedColumn("quotes", "status", ValueDictionary.QUOTE_STATUSES, true),
+            new CodedColumn("payments", "status", ValueDictionary.PAYMENT_STATUSES, true),
+            new CodedColumn("payments", "payment_method", ValueDictionary.PAYMENT_METHODS, false),
+            new CodedColumn("technicians", "credential_level", ValueDictionary.CREDENTIAL_LEVELS, true),
+            new CodedColumn("technicians", "state", ValueDictionary.STATES, false),
+            new CodedColumn("customers", "state", ValueDictionary.STATES, true)
+    };
+
+    public ValueCodeDAOImpl(DatabaseService databaseService) {
+        this.databaseService = databaseService;
+    }
+
+    @Override
+    public void createTables() {
+        try (Connection conn = databaseService.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            Set<ValueDictionary> dictionaries = new LinkedHashSet<>();
+            for (CodedColumn column : CODED_COLUMNS) {
+                dictionaries.add(column.dictionary);
+            }
+
+            for (ValueDictionary dictionary : dictionaries) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS " + dictionary.getTable() + " (" +
+                        "code INTEGER PRIMARY KEY, " +
+                        "value TEXT NOT NULL UNIQUE)");
+
+                // Status codes are fixed by their enums, so they are the same in every database
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT OR IGNORE INTO " + dictionary.getTable() + " (code, value) VALUES (?, ?)")) {
+                    for (Map.Entry<Integer, String> entry : dictionary.entries().entrySet()) {
+                        pstmt.setInt(1, entry.getKey());
+                        pstmt.setString(2, entry.getValue());
+                        pstmt.executeUpdate();
+                    }
+                }
+            }
+
+            for (CodedColumn column : CODED_COLUMNS) {
+                if (!columnExists(conn, column.table, column.codeColumn())) {
+                    stmt.execute("ALTER TABLE " + column.table + " ADD COLUMN " + column.codeColumn() +
+                            " INTEGER REFERENCES " + column.dictionary.getTable() + "(code)");
+
+                    System.out.println("Encoding " + column.table + "." + column.textColumn + "...");
+                    backfill(stmt, column);
+                }
+
+                if (column.indexed) {
+                    stmt.execute("CREATE INDEX IF NOT EXISTS idx_" + column.table + "_" + column.codeColumn() +
+                            " ON " + column.table + "(" + column.codeColumn() + ")");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public boolean rebuild() {
+        Connection conn = null;
+
+        try {
+            conn = databaseService.getConnection();
+            conn.setAutoCommit(false);
+
+            try (Statement stmt = conn.createStatement()) {
+                for (CodedColumn column : CODED_COLUMNS) {
+                    backfill(stmt, column);
+                }
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Bind the code of a value, giving the value a code first if it has none
+     * @param pstmt The statement of the calling write path
+     * @param index The parameter index
+     * @param dictionary The dictionary of the column
+     * @param value The value, or null
+     * @throws SQLException if the dictionary cannot be read or written
+     */
+    static void bindCode(PreparedStatement pstmt, int index, ValueDictionary dictionary, String value)
+            throws SQLException {
+        Integer code = codeFor(pstmt.getConnection(), dictionary, value);
+        if (code != null) {
+            pstmt.setInt(index, code);
+        } else {
+            pstmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    /**
+     * Get the code of a value, giving the value a code first if it has none
+     * @param conn The connection of the calling write path
+     * @param dictionary The dictionary of the column
+     * @param value The value, or null
+     * @return The code, or null for a null value
+     * @throws SQLException if the dictionary cannot be read or written
+     */
+    static Integer codeFor(Connection conn, ValueDictionary dictionary, String value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+
+        Integer code = dictionary.codeOf(value);
+        if (code != null) {
+            return code;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT OR IGNORE INTO " + dictionary.getTable() + " (value) VALUES (?)")) {
+            pstmt.setString(1, value);
+            pstmt.executeUpdate();
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT code FROM " + dictionary.getTable() + " WHERE value = ?")) {
+            pstmt.setString(1, value);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                code = rs.getInt("code");
+            }
+        }
+
+        dictionary.remember(code, value);
+        return code;
+    }
+
+    /**
+     * Read a coded column of the current row as its shared value
+     * @param rs The result set, which must also contain the text column
+     * @param textColumn The text column, such as status; the code column is textColumn_code
+     * @param dictionary The dictionary of the column
+     * @return The value, or null
+     * @throws SQLException if the row or the dictionary cannot be read
+     */
+    static String readValue(ResultSet rs, String textColumn, ValueDictionary dictionary) throws SQLException {
+        int code = rs.getInt(textColumn + "_code");
+        if (rs.wasNull()) {
+            // Written by a tool that only sets the text, such as a bulk load not yet encoded
+            String value = rs.getString(textColumn);
+            Integer known = dictionary.codeOf(value);
+            return known != null ? dictionary.valueOf(known) : value;
+        }
+
+        String value = dictionary.valueOf(code);
+        if (value == null) {
+            loadDictionary(rs.getStatement().getConnection(), dictionary);
+            value = dictionary.valueOf(code);
+        }
+
+        // The dictionary may be too large to cache in full
+        return value != null ? value : rs.getString(textColumn);
+    }
+
+    private static void loadDictionary(Connection conn, ValueDictionary dictionary) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT code, value FROM " + dictionary.getTable())) {
+            while (rs.next()) {
+                dictionary.remember(rs.getInt("code"), rs.getString("value"));
+            }
+        }
+    }
+
+    /**
+     * Give every value of a column a code and set the code column from the text
+     */
+    private static void backfill(Statement stmt, CodedColumn column) throws SQLException {
+        String dictionaryTable = column.dictionary.getTable();
+        String lookup = "(SELECT d.code FROM " + dictionaryTable + " d WHERE d.value = " +
+                column.table + "." + column.textColumn + ")";
+
+        stmt.execute("INSERT OR IGNORE INTO " + dictionaryTable + " (value) " +
+                "SELECT DISTINCT " + column.textColumn + " FROM " + column.table +
+                " WHERE " + column.textColumn + " IS NOT NULL");
+        stmt.execute("UPDATE " + column.table + " SET " + column.codeColumn() + " = " + lookup +
+                " WHERE " + column.codeColumn() + " IS NOT " + lookup);
+    }
+
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM pragma_table_info(?) WHERE name = ?")) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, column);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * A text column and the dictionary its code column refers to
+     */
+    private static final class CodedColumn {
+        private final String table;
+        private final String textColumn;
+        private final ValueDictionary dictionary;
+        // Whether equality filters on the column are common enough to index the code
+        private final boolean indexed;
+
+        CodedColumn(String table, String textColumn, ValueDictionary dictionary, boolean indexed) {
+            this.table = table;
+            this.textColumn = textColumn;
+            this.dictionary = dictionary;
+            this.indexed = indexed;
+        }
+
+        String codeColumn() {
+            return textColumn + "_code";
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.management.dao.interfaces;
+
+import java.util.Map;
+
+public interface ChangeTrackingDAO {
+    // Read
+    long getDataVersion();
+    Map<String, Long> getChangeCounts();
+
+    // Maintenance
+    void createTables();
+    void excludeOwnWrites();
+    void close();
+}
@@ -1,5 +1,7 @@
 package com.management.dao.interfaces;
 
+import com.management.dao.query.CustomerField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Customer;
 
 import java.util.List;
@@ -12,6 +14,8 @@ public interface CustomerDAO {
     // Read
     Optional<Customer> findById(int customerId);
     List<Customer> findAll();
+    List<Customer> find(QuerySpec<CustomerField> spec);
+    List<Customer> findPage(int offset, int limit);
     List<Customer> findByName(String searchTerm);
     Optional<Customer> findByEmail(String email);
     Optional<Customer> findByCustomerNumber(String customerNumber);
@@ -25,4 +29,8 @@ public interface CustomerDAO {
     // Utility
     String generateCustomerNumber();
     int count();
+    int count(QuerySpec<CustomerField> spec);
+
+    // Schema
+    void createSequenceTable();
 }
\ No newline at end of file
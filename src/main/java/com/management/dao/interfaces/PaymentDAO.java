@@ -1,9 +1,13 @@
 package com.management.dao.interfaces;
 
+import com.management.dao.query.PaymentField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Payment;
+import com.management.model.PaymentListItem;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface PaymentDAO {
@@ -13,6 +17,8 @@ public interface PaymentDAO {
     // Read
     Optional<Payment> findById(int paymentId);
     List<Payment> findAll();
+    List<Payment> find(QuerySpec<PaymentField> spec);
+    List<PaymentListItem> findListItems(String sortField, boolean ascending);
     List<Payment> findByJobId(int jobId);
     List<Payment> findByStatus(String status);
     List<Payment> findByDateRange(LocalDate startDate, LocalDate endDate);
@@ -26,5 +32,7 @@ public interface PaymentDAO {
 
     // Utility
     int count();
+    int count(QuerySpec<PaymentField> spec);
     double getTotalPaymentsForJob(int jobId);
+    Map<Integer, Double> getTotalPaymentsByJob(LocalDate startDate, LocalDate endDate);
 }
\ No newline at end of file
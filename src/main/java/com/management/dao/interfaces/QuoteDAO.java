@@ -1,5 +1,7 @@
 package com.management.dao.interfaces;
 
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.QuoteField;
 import com.management.model.Quote;
 
 import java.util.List;
@@ -12,6 +14,7 @@ public interface QuoteDAO {
     // Read
     Optional<Quote> findById(int quoteId);
     List<Quote> findAll();
+    List<Quote> find(QuerySpec<QuoteField> spec);
     List<Quote> findByJobId(int jobId);
     List<Quote> findByStatus(String status);
 
@@ -24,4 +27,5 @@ public interface QuoteDAO {
 
     // Utility
     int count();
+    int count(QuerySpec<QuoteField> spec);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.management.dao.interfaces;
+
+import com.management.model.MonthlyRollup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+public interface RollupDAO {
+    // Read
+    List<MonthlyRollup> findMonthlyRollups(YearMonth fromMonth, YearMonth toMonth);
+    List<MonthlyRollup> findTechnicianMonthlyRollups(YearMonth fromMonth, YearMonth toMonth);
+    List<MonthlyRollup> findCustomerMonthlyRollups(YearMonth fromMonth, YearMonth toMonth);
+    Map<LocalDate, Double> findDailyPaymentTotals(LocalDate startDate, LocalDate endDate, String status);
+
+    // Maintenance
+    void createTables();
+    boolean rebuild();
+}
@@ -1,10 +1,14 @@
 package com.management.dao.interfaces;
 
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.ServiceRequestField;
 import com.management.model.ServiceRequest;
 import com.management.model.Technician;
+import com.management.model.TechnicianWorkload;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ServiceRequestDAO {
@@ -15,11 +19,16 @@ public interface ServiceRequestDAO {
     // Read
     Optional<ServiceRequest> findById(int jobId);
     List<ServiceRequest> findAll();
+    List<ServiceRequest> find(QuerySpec<ServiceRequestField> spec);
     List<ServiceRequest> findByCustomerId(int customerId);
     List<ServiceRequest> findByTechnicianId(int technicianId);
     List<ServiceRequest> findByStatus(String status);
     List<ServiceRequest> findByDateRange(LocalDate startDate, LocalDate endDate);
+    List<ServiceRequest> findByTechnicianAndDateRange(int technicianId, LocalDate startDate, LocalDate endDate);
     List<Technician> findTechniciansForJob(int jobId);
+    Map<Integer, TechnicianWorkload> findTechnicianWorkloads(LocalDate today);
+    List<ServiceRequest> searchByPrefix(String prefix, int offset, int limit);
+    List<ServiceRequest> findPage(String status, int offset, int limit);
 
     // Update
     boolean update(ServiceRequest serviceRequest);
@@ -31,6 +40,9 @@ public interface ServiceRequestDAO {
 
     // Utility
     int count();
+    int count(QuerySpec<ServiceRequestField> spec);
+    int countByStatus(String status);
+    void createSearchIndexes();
     double calculateTotalCost(int jobId);
 
     List<Technician> getTechniciansForServiceRequest(int jobId);
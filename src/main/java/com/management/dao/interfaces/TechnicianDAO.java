@@ -1,9 +1,13 @@
 package com.management.dao.interfaces;
 
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.TechnicianField;
 import com.management.model.Technician;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TechnicianDAO {
     // Create
@@ -12,10 +16,12 @@ public interface TechnicianDAO {
     // Read
     Optional<Technician> findById(int technicianId);
     List<Technician> findAll();
+    List<Technician> find(QuerySpec<TechnicianField> spec);
     List<Technician> findByName(String searchTerm);
     Optional<Technician> findByEmail(String email);
     List<Technician> findByCredentialLevel(String credentialLevel);
     List<Technician> findByCoverageArea(String coverageArea);
+    Map<Integer, Set<String>> findAllCoverageEntries();
 
     // Update
     boolean update(Technician technician);
@@ -25,4 +31,7 @@ public interface TechnicianDAO {
 
     // Utility
     int count();
+    int count(QuerySpec<TechnicianField> spec);
+    void createCoverageTable();
+    boolean rebuildCoverage();
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.management.dao.interfaces;
+
+public interface ValueCodeDAO {
+    // Maintenance
+    void createTables();
+    boolean rebuild();
+}
@@ -0,0 +1,64 @@
+package com.management.dao.query;
+
+import com.management.util.ValueDictionary;
+
+/**
+ * Customer columns available to {@link QuerySpec}, on the customers table aliased as c
+ */
+public enum CustomerField implements QueryField {
+    CUSTOMER_ID("c.customer_id"),
+    CUSTOMER_NUMBER("c.customer_number"),
+    FIRST_NAME("c.first_name"),
+    LAST_NAME("c.last_name"),
+    EMAIL("c.email"),
+    COMPANY_NAME("c.company_name"),
+    PHONE_NUMBER("c.phone_number"),
+    MOBILE_NUMBER("c.mobile_number"),
+    STATE("c.state", "c.state_code", ValueDictionary.STATES),
+    ZIP_CODE("c.zip_code"),
+    CREATED_AT("c.created_at");
+
+    private final String column;
+    private final boolean nullsLast;
+    private final String codeColumn;
+    private final ValueDictionary dictionary;
+
+    CustomerField(String column) {
+        this(column, false);
+    }
+
+    CustomerField(String column, boolean nullsLast) {
+        this(column, nullsLast, null, null);
+    }
+
+    CustomerField(String column, String codeColumn, ValueDictionary dictionary) {
+        this(column, false, codeColumn, dictionary);
+    }
+
+    CustomerField(String column, boolean nullsLast, String codeColumn, ValueDictionary dictionary) {
+        this.column = column;
+        this.nullsLast = nullsLast;
+        this.codeColumn = codeColumn;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean nullsLast() {
+        return nullsLast;
+    }
+
+    @Override
+    public String codeColumn() {
+        return codeColumn;
+    }
+
+    @Override
+    public ValueDictionary dictionary() {
+        return dictionary;
+    }
+}
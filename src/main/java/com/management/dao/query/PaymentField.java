@@ -0,0 +1,60 @@
+package com.management.dao.query;
+
+import com.management.util.ValueDictionary;
+
+/**
+ * Payment columns available to {@link QuerySpec}, on the payments table aliased as p
+ */
+public enum PaymentField implements QueryField {
+    PAYMENT_ID("p.payment_id"),
+    JOB_ID("p.job_id"),
+    AMOUNT("p.amount"),
+    STATUS("p.status", "p.status_code", ValueDictionary.PAYMENT_STATUSES),
+    PAYMENT_DATE("p.payment_date", true),
+    PAYMENT_METHOD("p.payment_method", "p.payment_method_code", ValueDictionary.PAYMENT_METHODS),
+    CREATED_AT("p.created_at");
+
+    private final String column;
+    private final boolean nullsLast;
+    private final String codeColumn;
+    private final ValueDictionary dictionary;
+
+    PaymentField(String column) {
+        this(column, false);
+    }
+
+    PaymentField(String column, boolean nullsLast) {
+        this(column, nullsLast, null, null);
+    }
+
+    PaymentField(String column, String codeColumn, ValueDictionary dictionary) {
+        this(column, false, codeColumn, dictionary);
+    }
+
+    PaymentField(String column, boolean nullsLast, String codeColumn, ValueDictionary dictionary) {
+        this.column = column;
+        this.nullsLast = nullsLast;
+        this.codeColumn = codeColumn;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean nullsLast() {
+        return nullsLast;
+    }
+
+    @Override
+    public String codeColumn() {
+        return codeColumn;
+    }
+
+    @Override
+    public ValueDictionary dictionary() {
+        return dictionary;
+    }
+}
@@ -0,0 +1,42 @@
+package com.management.dao.query;
+
+import com.management.util.ValueDictionary;
+
+/**
+ * A column that a {@link QuerySpec} may filter or sort on. Implementations
+ * are enums whose SQL is fixed in code, so the columns a query can touch are
+ * whitelisted and caller input only ever reaches the database as a parameter.
+ */
+public interface QueryField {
+    /**
+     * Get the SQL expression for this field, qualified with the table alias used by its DAO
+     * @return The SQL expression
+     */
+    String column();
+
+    /**
+     * Whether rows without a value sort after all others in ascending order
+     * @return true to sort missing values last
+     */
+    default boolean nullsLast() {
+        return false;
+    }
+
+    /**
+     * Get the integer column that stores this field's dictionary code, for
+     * fields kept both as text and as a code. Equality filters compare the
+     * code; sorting and text matching use {@link #column()}.
+     * @return The SQL expression of the code, or null if the field is not coded
+     */
+    default String codeColumn() {
+        return null;
+    }
+
+    /**
+     * Get the dictionary whose codes {@link #codeColumn()} holds
+     * @return The dictionary, or null if the field is not coded
+     */
+    default ValueDictionary dictionary() {
+        return null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.management.dao.query;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A typed description of which rows to read and in which order. Conditions
+ * are combined with AND; a DAO turns the specification into a WHERE,
+ * ORDER BY and LIMIT clause with bound parameters.
+ *
+ * <pre>
+ * new QuerySpec&lt;ServiceRequestField&gt;()
+ *         .in(ServiceRequestField.STATUS, Arrays.asList("Pending", "Confirmed"))
+ *         .between(ServiceRequestField.SERVICE_DATE, from, to)
+ *         .orderBy(ServiceRequestField.SERVICE_DATE, false)
+ * </pre>
+ *
+ * @param <F> The fields of the entity being queried
+ */
+public final class QuerySpec<F extends QueryField> {
+    // Timestamps are stored by SQLite's CURRENT_TIMESTAMP in this form
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> parameters = new ArrayList<>();
+    private final List<String> sortKeys = new ArrayList<>();
+    private int offset;
+    private int limit = -1;
+
+    /**
+     * Match rows whose field equals a value, or is empty when the value is null
+     * @param field The field
+     * @param value The value
+     * @return This specification
+     */
+    public QuerySpec<F> equalTo(F field, Object value) {
+        if (field.codeColumn() != null) {
+            // Compare codes; the value's code is looked up once per statement
+            if (value == null) {
+                conditions.add(field.codeColumn() + " IS NULL");
+            } else {
+                conditions.add(field.codeColumn() + " = (SELECT code FROM " + field.dictionary().getTable() +
+                        " WHERE value = ?)");
+                parameters.add(value);
+            }
+        } else if (value == null) {
+            conditions.add(field.column() + " IS NULL");
+        } else {
+            conditions.add(field.column() + " = ?");
+            parameters.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Match rows whose field is one of the values; an empty list matches nothing
+     * @param field The field
+     * @param values The accepted values
+     * @return This specification
+     */
+    public QuerySpec<F> in(F field, Collection<?> values) {
+        if (values.isEmpty()) {
+            conditions.add("0");
+            return this;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(values.size(), "?"));
+        if (field.codeColumn() != null) {
+            conditions.add(field.codeColumn() + " IN (SELECT code FROM " + field.dictionary().getTable() +
+                    " WHERE value IN (" + placeholders + "))");
+        } else {
+            conditions.add(field.column() + " IN (" + placeholders + ")");
+        }
+        parameters.addAll(values);
+        return this;
+    }
+
+    /**
+     * Match rows whose field lies in a range, inclusive at both ends
+     * @param field The field
+     * @param from The lowest accepted value, or null for no lower bound
+     * @param to The highest accepted value, or null for no upper bound
+     * @return This specification
+     */
+    public QuerySpec<F> between(F field, Object from, Object to) {
+        if (from != null && to != null) {
+            conditions.add(field.column() + " BETWEEN ? AND ?");
+            parameters.add(from);
+            parameters.add(to);
+        } else if (from != null) {
+            conditions.add(field.column() + " >= ?");
+            parameters.add(from);
+        } else if (to != null) {
+            conditions.add(field.column() + " <= ?");
+            parameters.add(to);
+        }
+        return this;
+    }
+
+    /**
+     * Match rows whose field starts with a prefix, which lets SQLite use an index on the field
+     * @param field The field
+     * @param prefix The prefix
+     * @return This specification
+     */
+    public QuerySpec<F> startsWith(F field, String prefix) {
+        conditions.add(field.column() + " LIKE ? ESCAPE '\\'");
+        parameters.add(escapeLike(prefix) + "%");
+        return this;
+    }
+
+    /**
+     * Match rows where any of the fields contains the text, ignoring case.
+     * Blank text matches every row.
+     * @param text The text to look for
+     * @param fields The fields to search
+     * @return This specification
+     */
+    @SafeVarargs
+    public final QuerySpec<F> containsAny(String text, F... fields) {
+        if (text == null || text.trim().isEmpty() || fields.length == 0) {
+            return this;
+        }
+
+        String pattern = "%" + escapeLike(text.trim()) + "%";
+        List<String> alternatives = new ArrayList<>();
+        for (F field : fields) {
+            alternatives.add(field.column() + " LIKE ? ESCAPE '\\'");
+            parameters.add(pattern);
+        }
+        conditions.add("(" + String.join(" OR ", alternatives) + ")");
+        return this;
+    }
+
+    /**
+     * Add a sort key; keys apply in the order they are added
+     * @param field The field to sort by
+     * @param ascending Whether to sort in ascending order
+     * @return This specification
+     */
+    public QuerySpec<F> orderBy(F field, boolean ascending) {
+        String key = field.column() + (ascending ? " ASC" : " DESC");
+        if (field.nullsLast()) {
+            key += ascending ? " NULLS LAST" : " NULLS FIRST";
+        }
+        sortKeys.add(key);
+        return this;
+    }
+
+    /**
+     * Read only part of the result
+     * @param offset Number of rows to skip
+     * @param limit Maximum number of rows to return
+     * @return This specification
+     */
+    public QuerySpec<F> page(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Get the WHERE clause, empty if every row matches
+     * @return The clause with a trailing space, or an empty string
+     */
+    public String whereClause() {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+
+    /**
+     * Get the ORDER BY clause. The tie breaker is appended so rows with equal
+     * sort keys come back in a stable order, which paging relies on.
+     * @param tieBreaker A unique column, sorted in the direction of the last sort key
+     * @return The clause with a trailing space
+     */
+    public String orderByClause(String tieBreaker) {
+        boolean descending = !sortKeys.isEmpty()
+                && sortKeys.get(sortKeys.size() - 1).contains(" DESC");
+        List<String> keys = new ArrayList<>(sortKeys);
+        keys.add(tieBreaker + (descending ? " DESC" : " ASC"));
+        return "ORDER BY " + String.join(", ", keys) + " ";
+    }
+
+    /**
+     * Get the LIMIT clause, empty when the whole result is wanted
+     * @return The clause with a trailing space, or an empty string
+     */
+    public String limitClause() {
+        return limit > 0 ? "LIMIT " + limit + " OFFSET " + offset + " " : "";
+    }
+
+    /**
+     * Bind the condition parameters
+     * @param statement The statement compiled from {@link #whereClause()}
+     * @param firstIndex The index of the first parameter
+     * @return The index after the last bound parameter
+     * @throws SQLException if a parameter cannot be bound
+     */
+    public int bind(PreparedStatement statement, int firstIndex) throws SQLException {
+        int index = firstIndex;
+        for (Object parameter : parameters) {
+            statement.setObject(index++, toSqlValue(parameter));
+        }
+        return index;
+    }
+
+    /**
+     * Dates and times are stored as text, so they are compared in their stored form
+     */
+    private static Object toSqlValue(Object value) {
+        if (value instanceof LocalDateTime) {
+            return TIMESTAMP_FORMAT.format((LocalDateTime) value);
+        }
+        if (value instanceof TemporalAccessor || value instanceof Enum) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,60 @@
+package com.management.dao.query;
+
+import com.management.util.ValueDictionary;
+
+/**
+ * Quote columns available to {@link QuerySpec}, on the quotes table aliased as q
+ */
+public enum QuoteField implements QueryField {
+    QUOTE_ID("q.quote_id"),
+    JOB_ID("q.job_id"),
+    AMOUNT("q.amount"),
+    STATUS("q.status", "q.status_code", ValueDictionary.QUOTE_STATUSES),
+    START_DATE("q.start_date", true),
+    END_DATE("q.end_date", true),
+    CREATED_AT("q.created_at", true);
+
+    private final String column;
+    private final boolean nullsLast;
+    private final String codeColumn;
+    private final ValueDictionary dictionary;
+
+    QuoteField(String column) {
+        this(column, false);
+    }
+
+    QuoteField(String column, boolean nullsLast) {
+        this(column, nullsLast, null, null);
+    }
+
+    QuoteField(String column, String codeColumn, ValueDictionary dictionary) {
+        this(column, false, codeColumn, dictionary);
+    }
+
+    QuoteField(String column, boolean nullsLast, String codeColumn, ValueDictionary dictionary) {
+        this.column = column;
+        this.nullsLast = nullsLast;
+        this.codeColumn = codeColumn;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean nullsLast() {
+        return nullsLast;
+    }
+
+    @Override
+    public String codeColumn() {
+        return codeColumn;
+    }
+
+    @Override
+    public ValueDictionary dictionary() {
+        return dictionary;
+    }
+}
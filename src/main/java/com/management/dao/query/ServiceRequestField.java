@@ -0,0 +1,77 @@
+package com.management.dao.query;
+
+import com.management.util.ValueDictionary;
+
+/**
+ * Service request columns available to {@link QuerySpec}, on the service_requests table
+ * aliased as sr, with the job's customer joined as c
+ */
+public enum ServiceRequestField implements QueryField {
+    JOB_ID("sr.job_id"),
+    // The job number as text, for searching
+    JOB_NUMBER("CAST(sr.job_id AS TEXT)"),
+    REF_NO("sr.ref_no"),
+    DESCRIPTION("sr.description"),
+    STATUS("sr.status", "sr.status_code", ValueDictionary.SERVICE_REQUEST_STATUSES),
+    SERVICE_DATE("sr.service_date"),
+    START_TIME("sr.start_time", true),
+    CUSTOMER_ID("sr.customer_id"),
+    BUILDING_NAME("sr.building_name"),
+    SERVICE_ADDRESS("sr.service_address"),
+    SERVICE_CITY("sr.service_city"),
+    SERVICE_STATE("sr.service_state", "sr.service_state_code", ValueDictionary.STATES),
+    SERVICE_ZIP("sr.service_zip"),
+    TOTAL_COST("(COALESCE(sr.service_cost, 0) + COALESCE(sr.added_cost, 0) + COALESCE(sr.parking_fees, 0))"),
+    CREATED_AT("sr.created_at"),
+    CUSTOMER_FIRST_NAME("c.first_name"),
+    CUSTOMER_LAST_NAME("c.last_name"),
+    CUSTOMER_NUMBER("c.customer_number"),
+    // Names of the assigned technicians, for searching
+    TECHNICIAN_NAMES("(SELECT group_concat(t.first_name || ' ' || t.last_name, ', ') " +
+            "FROM service_technicians st JOIN technicians t ON t.technician_id = st.technician_id " +
+            "WHERE st.job_id = sr.job_id)");
+
+    private final String column;
+    private final boolean nullsLast;
+    private final String codeColumn;
+    private final ValueDictionary dictionary;
+
+    ServiceRequestField(String column) {
+        this(column, false);
+    }
+
+    ServiceRequestField(String column, boolean nullsLast) {
+        this(column, nullsLast, null, null);
+    }
+
+    ServiceRequestField(String column, String codeColumn, ValueDictionary dictionary) {
+        this(column, false, codeColumn, dictionary);
+    }
+
+    ServiceRequestField(String column, boolean nullsLast, String codeColumn, ValueDictionary dictionary) {
+        this.column = column;
+        this.nullsLast = nullsLast;
+        this.codeColumn = codeColumn;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean nullsLast() {
+        return nullsLast;
+    }
+
+    @Override
+    public String codeColumn() {
+        return codeColumn;
+    }
+
+    @Override
+    public ValueDictionary dictionary() {
+        return dictionary;
+    }
+}
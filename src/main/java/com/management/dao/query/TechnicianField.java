@@ -0,0 +1,64 @@
+package com.management.dao.query;
+
+import com.management.util.ValueDictionary;
+
+/**
+ * Technician columns available to {@link QuerySpec}, on the technicians table aliased as t
+ */
+public enum TechnicianField implements QueryField {
+    TECHNICIAN_ID("t.technician_id"),
+    FIRST_NAME("t.first_name"),
+    LAST_NAME("t.last_name"),
+    EMAIL("t.email"),
+    CREDENTIALS("t.credentials"),
+    CREDENTIAL_LEVEL("t.credential_level", "t.credential_level_code", ValueDictionary.CREDENTIAL_LEVELS),
+    COVERAGE_AREA("t.coverage_area"),
+    PAY_TYPE("t.pay_type"),
+    ZIP_CODE("t.zip_code"),
+    STATE("t.state", "t.state_code", ValueDictionary.STATES),
+    CREATED_AT("t.created_at");
+
+    private final String column;
+    private final boolean nullsLast;
+    private final String codeColumn;
+    private final ValueDictionary dictionary;
+
+    TechnicianField(String column) {
+        this(column, false);
+    }
+
+    TechnicianField(String column, boolean nullsLast) {
+        this(column, nullsLast, null, null);
+    }
+
+    TechnicianField(String column, String codeColumn, ValueDictionary dictionary) {
+        this(column, false, codeColumn, dictionary);
+    }
+
+    TechnicianField(String column, boolean nullsLast, String codeColumn, ValueDictionary dictionary) {
+        this.column = column;
+        this.nullsLast = nullsLast;
+        this.codeColumn = codeColumn;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public String column() {
+        return column;
+    }
+
+    @Override
+    public boolean nullsLast() {
+        return nullsLast;
+    }
+
+    @Override
+    public String codeColumn() {
+        return codeColumn;
+    }
+
+    @Override
+    public ValueDictionary dictionary() {
+        return dictionary;
+    }
+}
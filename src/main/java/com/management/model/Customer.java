@@ -36,6 +36,29 @@ public class Customer {
         this.customerNumber = customerNumber;
     }
 
+    // Copy constructor
+    public Customer(Customer other) {
+        this.customerId = other.customerId;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.companyName = other.companyName;
+        this.customerNumber = other.customerNumber;
+        this.phoneNumber = other.phoneNumber;
+        this.mobileNumber = other.mobileNumber;
+        this.position = other.position;
+        this.billingDetails = other.billingDetails;
+        this.extensionNumber = other.extensionNumber;
+        this.businessName = other.businessName;
+        this.streetAddress = other.streetAddress;
+        this.state = other.state;
+        this.zipCode = other.zipCode;
+        this.logo = other.logo;
+        this.website = other.website;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Getters and setters
     public int getCustomerId() {
         return customerId;
@@ -0,0 +1,191 @@
+package com.management.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Everything the dashboard shows: the metric cards and the data behind each
+ * chart. Snapshots are compared to find the charts that changed.
+ */
+public class DashboardSnapshot {
+    private long createdAt;
+    private int customerCount;
+    private int technicianCount;
+    private int activeServiceCount;
+    private int pendingPaymentCount;
+    private int pendingTasks;
+    private String hoursLogged;
+    private ChartSeries statusCounts;
+    private List<ChartSeries> earnings = new ArrayList<>();
+    private List<ChartSeries> technicianPerformance = new ArrayList<>();
+    private List<ChartSeries> monthlyTrends = new ArrayList<>();
+
+    // Default constructor
+    public DashboardSnapshot() {}
+
+    // Getters and setters
+    /**
+     * @return When the snapshot was computed, in epoch milliseconds
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getCustomerCount() {
+        return customerCount;
+    }
+
+    public void setCustomerCount(int customerCount) {
+        this.customerCount = customerCount;
+    }
+
+    public int getTechnicianCount() {
+        return technicianCount;
+    }
+
+    public void setTechnicianCount(int technicianCount) {
+        this.technicianCount = technicianCount;
+    }
+
+    public int getActiveServiceCount() {
+        return activeServiceCount;
+    }
+
+    public void setActiveServiceCount(int activeServiceCount) {
+        this.activeServiceCount = activeServiceCount;
+    }
+
+    public int getPendingPaymentCount() {
+        return pendingPaymentCount;
+    }
+
+    public void setPendingPaymentCount(int pendingPaymentCount) {
+        this.pendingPaymentCount = pendingPaymentCount;
+    }
+
+    public int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public void setPendingTasks(int pendingTasks) {
+        this.pendingTasks = pendingTasks;
+    }
+
+    public String getHoursLogged() {
+        return hoursLogged;
+    }
+
+    public void setHoursLogged(String hoursLogged) {
+        this.hoursLogged = hoursLogged;
+    }
+
+    /**
+     * @return Service request counts, one category per status
+     */
+    public ChartSeries getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(ChartSeries statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public List<ChartSeries> getEarnings() {
+        return earnings;
+    }
+
+    public void setEarnings(List<ChartSeries> earnings) {
+        this.earnings = earnings;
+    }
+
+    public List<ChartSeries> getTechnicianPerformance() {
+        return technicianPerformance;
+    }
+
+    public void setTechnicianPerformance(List<ChartSeries> technicianPerformance) {
+        this.technicianPerformance = technicianPerformance;
+    }
+
+    public List<ChartSeries> getMonthlyTrends() {
+        return monthlyTrends;
+    }
+
+    public void setMonthlyTrends(List<ChartSeries> monthlyTrends) {
+        this.monthlyTrends = monthlyTrends;
+    }
+
+    /**
+     * @return Whether the metric cards show the same values as another snapshot's
+     */
+    public boolean sameMetrics(DashboardSnapshot other) {
+        return other != null &&
+                customerCount == other.customerCount &&
+                technicianCount == other.technicianCount &&
+                activeServiceCount == other.activeServiceCount &&
+                pendingPaymentCount == other.pendingPaymentCount &&
+                pendingTasks == other.pendingTasks &&
+                Objects.equals(hoursLogged, other.hoursLogged);
+    }
+
+    /**
+     * One named chart series: a value per category, in display order
+     */
+    public static class ChartSeries {
+        private final String name;
+        private final List<String> categories = new ArrayList<>();
+        private final List<Double> values = new ArrayList<>();
+
+        public ChartSeries(String name) {
+            this.name = name;
+        }
+
+        public ChartSeries add(String category, double value) {
+            categories.add(category);
+            values.add(value);
+            return this;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getCategories() {
+            return Collections.unmodifiableList(categories);
+        }
+
+        public List<Double> getValues() {
+            return Collections.unmodifiableList(values);
+        }
+
+        public int size() {
+            return categories.size();
+        }
+
+        /**
+         * @return Whether another series has the same name and categories, so
+         *         only its values would need updating
+         */
+        public boolean sameShape(ChartSeries other) {
+            return other != null && name.equals(other.name) && categories.equals(other.categories);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ChartSeries that = (ChartSeries) o;
+            return name.equals(that.name) && categories.equals(that.categories) && values.equals(that.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, categories, values);
+        }
+    }
+}
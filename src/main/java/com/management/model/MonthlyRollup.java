@@ -0,0 +1,101 @@
+package com.management.model;
+
+import java.time.YearMonth;
+
+/**
+ * Pre-aggregated service request totals for one month and status,
+ * optionally scoped to a single technician or customer
+ */
+public class MonthlyRollup {
+    private YearMonth month;
+    private String status;
+    private int technicianId;
+    private int customerId;
+    private int jobCount;
+    private double serviceCost;
+    private double addedCost;
+    private double parkingFees;
+
+    // Default constructor
+    public MonthlyRollup() {}
+
+    // Getters and setters
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTechnicianId() {
+        return technicianId;
+    }
+
+    public void setTechnicianId(int technicianId) {
+        this.technicianId = technicianId;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(int customerId) {
+        this.customerId = customerId;
+    }
+
+    public int getJobCount() {
+        return jobCount;
+    }
+
+    public void setJobCount(int jobCount) {
+        this.jobCount = jobCount;
+    }
+
+    public double getServiceCost() {
+        return serviceCost;
+    }
+
+    public void setServiceCost(double serviceCost) {
+        this.serviceCost = serviceCost;
+    }
+
+    public double getAddedCost() {
+        return addedCost;
+    }
+
+    public void setAddedCost(double addedCost) {
+        this.addedCost = addedCost;
+    }
+
+    public double getParkingFees() {
+        return parkingFees;
+    }
+
+    public void setParkingFees(double parkingFees) {
+        this.parkingFees = parkingFees;
+    }
+
+    // Helper methods
+    public double getRevenue() {
+        return serviceCost + addedCost + parkingFees;
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlyRollup{" +
+                "month=" + month +
+                ", status='" + status + '\'' +
+                ", jobCount=" + jobCount +
+                ", revenue=" + getRevenue() +
+                '}';
+    }
+}
@@ -8,6 +8,7 @@ public class Payment {
     private int jobId;
     private double amount;
     private String status;
+    private PaymentStatus statusValue;
     private LocalDate paymentDate;
     private String paymentMethod;
     private String notes;
@@ -24,7 +25,7 @@ public class Payment {
     public Payment(int jobId, double amount) {
         this.jobId = jobId;
         this.amount = amount;
-        this.status = "Pending";
+        setStatus(PaymentStatus.PENDING.getLabel());
         this.paymentDate = LocalDate.now();
     }
 
@@ -57,8 +58,21 @@ public class Payment {
         return status;
     }
 
+    /**
+     * @return The status as a constant, or null when it is not one of the known statuses
+     */
+    public PaymentStatus getStatusValue() {
+        return statusValue;
+    }
+
+    public boolean hasStatus(PaymentStatus status) {
+        return statusValue == status;
+    }
+
     public void setStatus(String status) {
-        this.status = status;
+        this.statusValue = PaymentStatus.fromLabel(status);
+        // Share the constant's label instead of keeping each row's own copy
+        this.status = statusValue != null ? statusValue.getLabel() : status;
     }
 
     public LocalDate getPaymentDate() {
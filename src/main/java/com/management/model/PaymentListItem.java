@@ -0,0 +1,207 @@
+package com.management.model;
+
+import java.time.LocalDate;
+
+/**
+ * Flat row for the payment list: a payment plus the service request and
+ * customer columns shown next to it, read with a single join
+ */
+public class PaymentListItem {
+    private int paymentId;
+    private int jobId;
+    private double amount;
+    private String status;
+    private PaymentStatus statusValue;
+    private LocalDate paymentDate;
+    private String paymentMethod;
+    private String notes;
+    private String serviceDescription;
+    private String customerFirstName;
+    private String customerLastName;
+    private String customerEmail;
+
+    // Default constructor
+    public PaymentListItem() {}
+
+    /**
+     * Build a row from a payment with its service request and customer loaded
+     * @param payment The payment
+     * @return The list row
+     */
+    public static PaymentListItem fromPayment(Payment payment) {
+        PaymentListItem item = new PaymentListItem();
+
+        item.setPaymentId(payment.getPaymentId());
+        item.setJobId(payment.getJobId());
+        item.setAmount(payment.getAmount());
+        item.setStatus(payment.getStatus());
+        item.setPaymentDate(payment.getPaymentDate());
+        item.setPaymentMethod(payment.getPaymentMethod());
+        item.setNotes(payment.getNotes());
+
+        ServiceRequest serviceRequest = payment.getServiceRequest();
+        if (serviceRequest != null) {
+            item.setServiceDescription(serviceRequest.getDescription());
+
+            Customer customer = serviceRequest.getCustomer();
+            if (customer != null) {
+                item.setCustomerFirstName(customer.getFirstName());
+                item.setCustomerLastName(customer.getLastName());
+                item.setCustomerEmail(customer.getEmail());
+            }
+        }
+
+        return item;
+    }
+
+    /**
+     * Convert the payment columns of this row back to a payment
+     * @return A payment without service request details
+     */
+    public Payment toPayment() {
+        Payment payment = new Payment();
+
+        payment.setPaymentId(paymentId);
+        payment.setJobId(jobId);
+        payment.setAmount(amount);
+        payment.setStatus(status);
+        payment.setPaymentDate(paymentDate);
+        payment.setPaymentMethod(paymentMethod);
+        payment.setNotes(notes);
+
+        return payment;
+    }
+
+    // Getters and setters
+    public int getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(int paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(int jobId) {
+        this.jobId = jobId;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The status as a constant, or null when it is not one of the known statuses
+     */
+    public PaymentStatus getStatusValue() {
+        return statusValue;
+    }
+
+    public boolean hasStatus(PaymentStatus status) {
+        return statusValue == status;
+    }
+
+    public void setStatus(String status) {
+        this.statusValue = PaymentStatus.fromLabel(status);
+        // Share the constant's label instead of keeping each row's own copy
+        this.status = statusValue != null ? statusValue.getLabel() : status;
+    }
+
+    public LocalDate getPaymentDate() {
+        return paymentDate;
+    }
+
+    public void setPaymentDate(LocalDate paymentDate) {
+        this.paymentDate = paymentDate;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public String getServiceDescription() {
+        return serviceDescription;
+    }
+
+    public void setServiceDescription(String serviceDescription) {
+        this.serviceDescription = serviceDescription;
+    }
+
+    public String getCustomerFirstName() {
+        return customerFirstName;
+    }
+
+    public void setCustomerFirstName(String customerFirstName) {
+        this.customerFirstName = customerFirstName;
+    }
+
+    public String getCustomerLastName() {
+        return customerLastName;
+    }
+
+    public void setCustomerLastName(String customerLastName) {
+        this.customerLastName = customerLastName;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    /**
+     * Check if the payment's service request has a customer
+     * @return true if customer columns are present
+     */
+    public boolean hasCustomer() {
+        return customerFirstName != null || customerLastName != null;
+    }
+
+    /**
+     * Get the customer's full name
+     * @return The full name, or an empty string if there is no customer
+     */
+    public String getCustomerName() {
+        if (!hasCustomer()) {
+            return "";
+        }
+        return (customerFirstName != null ? customerFirstName : "") + " " +
+                (customerLastName != null ? customerLastName : "");
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentListItem{" +
+                "paymentId=" + paymentId +
+                ", jobId=" + jobId +
+                ", amount=" + amount +
+                ", status='" + status + '\'' +
+                ", customer='" + getCustomerName() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package com.management.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statuses a payment can have. Statuses are stored as the codes below,
+ * which the status dictionary table maps to the labels; models keep the
+ * matching constant alongside, so checks are identity comparisons and every
+ * loaded row shares the label instances below. Codes are persisted and must
+ * never be renumbered.
+ */
+public enum PaymentStatus {
+    PENDING(1, "Pending"),
+    COMPLETED(2, "Completed"),
+    FAILED(3, "Failed"),
+    REFUNDED(4, "Refunded");
+
+    private static final Map<String, PaymentStatus> BY_LABEL = new HashMap<>();
+    private static final Map<Integer, PaymentStatus> BY_CODE = new HashMap<>();
+    private static final List<String> LABELS = new ArrayList<>();
+
+    static {
+        for (PaymentStatus status : values()) {
+            BY_LABEL.put(status.label, status);
+            BY_CODE.put(status.code, status);
+            LABELS.add(status.label);
+        }
+    }
+
+    private final int code;
+    private final String label;
+    private final String lowerCaseLabel;
+
+    PaymentStatus(int code, String label) {
+        this.code = code;
+        this.label = label;
+        this.lowerCaseLabel = label.toLowerCase();
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return Whether the label contains a lower case search term
+     */
+    public boolean matches(String lowerCaseTerm) {
+        return lowerCaseLabel.contains(lowerCaseTerm);
+    }
+
+    /**
+     * Find the status stored under a label
+     * @param label The stored label
+     * @return The status, or null for null or unknown labels
+     */
+    public static PaymentStatus fromLabel(String label) {
+        return label != null ? BY_LABEL.get(label) : null;
+    }
+
+    /**
+     * Find the status stored under a code
+     * @param code The stored code
+     * @return The status, or null for unknown codes
+     */
+    public static PaymentStatus fromCode(int code) {
+        return BY_CODE.get(code);
+    }
+
+    /**
+     * @return The labels of all statuses, in workflow order
+     */
+    public static List<String> labels() {
+        return Collections.unmodifiableList(LABELS);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
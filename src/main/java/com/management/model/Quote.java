@@ -10,6 +10,7 @@ public class Quote {
     private LocalDate endDate;
     private double amount;
     private String status;
+    private QuoteStatus statusValue;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -23,7 +24,7 @@ public class Quote {
     public Quote(int jobId, double amount) {
         this.jobId = jobId;
         this.amount = amount;
-        this.status = "Pending";
+        setStatus(QuoteStatus.PENDING.getLabel());
     }
 
     // Getters and setters
@@ -71,8 +72,21 @@ public class Quote {
         return status;
     }
 
+    /**
+     * @return The status as a constant, or null when it is not one of the known statuses
+     */
+    public QuoteStatus getStatusValue() {
+        return statusValue;
+    }
+
+    public boolean hasStatus(QuoteStatus status) {
+        return statusValue == status;
+    }
+
     public void setStatus(String status) {
-        this.status = status;
+        this.statusValue = QuoteStatus.fromLabel(status);
+        // Share the constant's label instead of keeping each row's own copy
+        this.status = statusValue != null ? statusValue.getLabel() : status;
     }
 
     public LocalDateTime getCreatedAt() {
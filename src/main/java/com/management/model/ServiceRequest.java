@@ -26,6 +26,7 @@ public class ServiceRequest {
     private String serviceNotes;
     private double addedCost;
     private String status;
+    private ServiceRequestStatus statusValue;
     private String postrefNumber;
     private double parkingFees;
     private String startTimeIcs;
@@ -47,7 +48,41 @@ public class ServiceRequest {
         this.description = description;
         this.customerId = customerId;
         this.serviceDate = serviceDate;
-        this.status = "Pending";
+        setStatus(ServiceRequestStatus.PENDING.getLabel());
+    }
+
+    // Copy constructor
+    public ServiceRequest(ServiceRequest other) {
+        this.jobId = other.jobId;
+        this.description = other.description;
+        this.serviceCost = other.serviceCost;
+        this.customerId = other.customerId;
+        this.serviceDate = other.serviceDate;
+        this.refNo = other.refNo;
+        this.startTime = other.startTime;
+        this.endTime = other.endTime;
+        this.buildingName = other.buildingName;
+        this.serviceAddress = other.serviceAddress;
+        this.serviceCity = other.serviceCity;
+        this.serviceState = other.serviceState;
+        this.serviceZip = other.serviceZip;
+        this.pocName = other.pocName;
+        this.pocPhone = other.pocPhone;
+        this.serviceParticipantName = other.serviceParticipantName;
+        this.serviceNotes = other.serviceNotes;
+        this.addedCost = other.addedCost;
+        this.status = other.status;
+        this.statusValue = other.statusValue;
+        this.postrefNumber = other.postrefNumber;
+        this.parkingFees = other.parkingFees;
+        this.startTimeIcs = other.startTimeIcs;
+        this.endTimeIcs = other.endTimeIcs;
+        this.technicianStatus = other.technicianStatus;
+        this.technicianNotes = other.technicianNotes;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.customer = other.customer;
+        this.technicians = other.technicians != null ? new ArrayList<>(other.technicians) : new ArrayList<>();
     }
 
     // Getters and setters
@@ -199,8 +234,21 @@ public class ServiceRequest {
         return status;
     }
 
+    /**
+     * @return The status as a constant, or null when it is not one of the known statuses
+     */
+    public ServiceRequestStatus getStatusValue() {
+        return statusValue;
+    }
+
+    public boolean hasStatus(ServiceRequestStatus status) {
+        return statusValue == status;
+    }
+
     public void setStatus(String status) {
-        this.status = status;
+        this.statusValue = ServiceRequestStatus.fromLabel(status);
+        // Share the constant's label instead of keeping each row's own copy
+        this.status = statusValue != null ? statusValue.getLabel() : status;
     }
 
     public String getPostrefNumber() {
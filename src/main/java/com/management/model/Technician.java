@@ -32,6 +32,28 @@ public class Technician {
         this.email = email;
     }
 
+    // Copy constructor
+    public Technician(Technician other) {
+        this.technicianId = other.technicianId;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.credentials = other.credentials;
+        this.credentialLevel = other.credentialLevel;
+        this.email = other.email;
+        this.zipCode = other.zipCode;
+        this.coverageArea = other.coverageArea;
+        this.payType = other.payType;
+        this.accountInfo = other.accountInfo;
+        this.address = other.address;
+        this.city = other.city;
+        this.state = other.state;
+        this.zip = other.zip;
+        this.legalName = other.legalName;
+        this.notes = other.notes;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Getters and setters
     public int getTechnicianId() {
         return technicianId;
@@ -0,0 +1,82 @@
+package com.management.model;
+
+/**
+ * Assignment counts for one technician
+ */
+public class TechnicianWorkload {
+    private int technicianId;
+    private int assignedCount;
+    private int openCount;
+    private int upcomingCount;
+
+    // Default constructor
+    public TechnicianWorkload() {}
+
+    // Constructor with fields
+    public TechnicianWorkload(int technicianId, int assignedCount, int openCount, int upcomingCount) {
+        this.technicianId = technicianId;
+        this.assignedCount = assignedCount;
+        this.openCount = openCount;
+        this.upcomingCount = upcomingCount;
+    }
+
+    // Getters and setters
+    public int getTechnicianId() {
+        return technicianId;
+    }
+
+    public void setTechnicianId(int technicianId) {
+        this.technicianId = technicianId;
+    }
+
+    /**
+     * @return Number of service requests the technician is assigned to
+     */
+    public int getAssignedCount() {
+        return assignedCount;
+    }
+
+    public void setAssignedCount(int assignedCount) {
+        this.assignedCount = assignedCount;
+    }
+
+    /**
+     * @return Number of assigned service requests that are not completed or cancelled
+     */
+    public int getOpenCount() {
+        return openCount;
+    }
+
+    public void setOpenCount(int openCount) {
+        this.openCount = openCount;
+    }
+
+    /**
+     * @return Number of open assigned service requests dated today or later
+     */
+    public int getUpcomingCount() {
+        return upcomingCount;
+    }
+
+    public void setUpcomingCount(int upcomingCount) {
+        this.upcomingCount = upcomingCount;
+    }
+
+    /**
+     * Check if the technician has no assigned service requests
+     * @return true if the technician is available
+     */
+    public boolean isAvailable() {
+        return assignedCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "TechnicianWorkload{" +
+                "technicianId=" + technicianId +
+                ", assignedCount=" + assignedCount +
+                ", openCount=" + openCount +
+                ", upcomingCount=" + upcomingCount +
+                '}';
+    }
+}
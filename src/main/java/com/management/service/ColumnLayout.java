@@ -0,0 +1,318 @@
+package com.management.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Column-wise storage of one entity type for the read model. Every declared
+ * field has its own array: whole numbers in int[], amounts in double[], and
+ * dates, times and timestamps as long[] counts, so stored rows keep no entity
+ * objects and no boxed values. A row is written from an entity through the
+ * field getters and read back into a new entity through the setters.
+ *
+ * The table contents are an Object[] holding one array per column, in
+ * declaration order, all of the same length.
+ */
+final class ColumnLayout<T> {
+    /** Stored in a temporal column in place of null */
+    static final long NULL_TEMPORAL = Long.MIN_VALUE;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Supplier<T> factory;
+    private final List<Column<T>> columns = new ArrayList<>();
+
+    /**
+     * Constructor
+     * @param factory Creates the empty entities that rows are read into
+     */
+    ColumnLayout(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Declare an int column
+     * @param getter Reads the field
+     * @param setter Writes the field
+     * @return The column index, for use in a row order
+     */
+    int integer(ToIntFunction<T> getter, ObjIntConsumer<T> setter) {
+        return add(new Column<T>() {
+            Object allocate(int size) {
+                return new int[size];
+            }
+
+            void write(Object array, int row, T entity) {
+                ((int[]) array)[row] = getter.applyAsInt(entity);
+            }
+
+            void read(Object array, int row, T entity) {
+                setter.accept(entity, ((int[]) array)[row]);
+            }
+        });
+    }
+
+    /**
+     * Declare a double column
+     * @param getter Reads the field
+     * @param setter Writes the field
+     * @return The column index, for use in a row order
+     */
+    int number(ToDoubleFunction<T> getter, ObjDoubleConsumer<T> setter) {
+        return add(new Column<T>() {
+            Object allocate(int size) {
+                return new double[size];
+            }
+
+            void write(Object array, int row, T entity) {
+                ((double[]) array)[row] = getter.applyAsDouble(entity);
+            }
+
+            void read(Object array, int row, T entity) {
+                setter.accept(entity, ((double[]) array)[row]);
+            }
+        });
+    }
+
+    /**
+     * Declare a text column
+     * @param getter Reads the field
+     * @param setter Writes the field
+     * @return The column index, for use in a row order
+     */
+    int text(Function<T, String> getter, BiConsumer<T, String> setter) {
+        return reference(String[]::new, getter, setter);
+    }
+
+    /**
+     * Declare a date column, stored as the epoch day
+     * @param getter Reads the field
+     * @param setter Writes the field
+     * @return The column index, for use in a row order
+     */
+    int date(Function<T, LocalDate> getter, BiConsumer<T, LocalDate> setter) {
+        return temporal(getter, setter, LocalDate::toEpochDay, LocalDate::ofEpochDay);
+    }
+
+    /**
+     * Declare a time column, stored as the nanosecond of the day
+     * @param getter Reads the field
+     * @param setter Writes the field
+     * @return The column index, for use in a row order
+     */
+    int time(Function<T, LocalTime> getter, BiConsumer<T, LocalTime> setter) {
+        return temporal(getter, setter, LocalTime::toNanoOfDay, LocalTime::ofNanoOfDay);
+    }
+
+    /**
+     * Declare a timestamp column, stored as nanoseconds since the epoch. That
+     * covers the years 1678 to 2261, which is ample for record times.
+     * @param getter Reads the field
+     * @param setter Writes the field
+     * @return The column index, for use in a row order
+     */
+    int timestamp(Function<T, LocalDateTime> getter, BiConsumer<T, LocalDateTime> setter) {
+        return temporal(getter, setter,
+                value -> Math.addExact(Math.multiplyExact(value.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                        value.getNano()),
+                nanos -> LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                        (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC));
+    }
+
+    /**
+     * Declare a column of values that have no primitive form, such as images.
+     * The values are shared with the entities, as the copy constructors do.
+     * @param allocator Creates the column array
+     * @param getter Reads the field
+     * @param setter Writes the field
+     * @return The column index, for use in a row order
+     */
+    <V> int reference(IntFunction<V[]> allocator, Function<T, V> getter, BiConsumer<T, V> setter) {
+        return add(new Column<T>() {
+            Object allocate(int size) {
+                return allocator.apply(size);
+            }
+
+            @SuppressWarnings("unchecked")
+            void write(Object array, int row, T entity) {
+                ((V[]) array)[row] = getter.apply(entity);
+            }
+
+            @SuppressWarnings("unchecked")
+            void read(Object array, int row, T entity) {
+                setter.accept(entity, ((V[]) array)[row]);
+            }
+        });
+    }
+
+    /**
+     * Create empty table contents
+     * @param size Number of rows
+     * @return One array per column
+     */
+    Object[] allocate(int size) {
+        Object[] data = new Object[columns.size()];
+        for (int c = 0; c < data.length; c++) {
+            data[c] = columns.get(c).allocate(size);
+        }
+        return data;
+    }
+
+    /**
+     * Store an entity's fields in a row
+     */
+    void write(Object[] data, int row, T entity) {
+        for (int c = 0; c < data.length; c++) {
+            columns.get(c).write(data[c], row, entity);
+        }
+    }
+
+    /**
+     * Read a row into a new entity
+     * @return The new entity
+     */
+    T read(Object[] data, int row) {
+        return read(data, row, factory.get());
+    }
+
+    /**
+     * Read a row into an existing entity, overwriting every declared field
+     * @return The entity
+     */
+    T read(Object[] data, int row, T entity) {
+        for (int c = 0; c < data.length; c++) {
+            columns.get(c).read(data[c], row, entity);
+        }
+        return entity;
+    }
+
+    /**
+     * Copy table contents so one row can be overwritten
+     */
+    Object[] copy(Object[] data, int size) {
+        Object[] copy = allocate(size);
+        for (int c = 0; c < data.length; c++) {
+            System.arraycopy(data[c], 0, copy[c], 0, size);
+        }
+        return copy;
+    }
+
+    /**
+     * Copy table contents with an unset row opened at an index
+     * @param size Number of rows in the given contents
+     * @param at Index of the new row
+     */
+    Object[] insert(Object[] data, int size, int at) {
+        Object[] copy = allocate(size + 1);
+        for (int c = 0; c < data.length; c++) {
+            System.arraycopy(data[c], 0, copy[c], 0, at);
+            System.arraycopy(data[c], at, copy[c], at + 1, size - at);
+        }
+        return copy;
+    }
+
+    /**
+     * Copy table contents without the row at an index
+     * @param size Number of rows in the given contents
+     * @param at Index of the row to leave out
+     */
+    Object[] remove(Object[] data, int size, int at) {
+        Object[] copy = allocate(size - 1);
+        for (int c = 0; c < data.length; c++) {
+            System.arraycopy(data[c], 0, copy[c], 0, at);
+            System.arraycopy(data[c], at + 1, copy[c], at, size - at - 1);
+        }
+        return copy;
+    }
+
+    /**
+     * Order rows by a text column, nulls first
+     * @param column Index of a column declared with text
+     */
+    static RowOrder textAscending(int column) {
+        return (data, a, b) -> {
+            String[] values = (String[]) data[column];
+            String first = values[a];
+            String second = values[b];
+            if (first == null || second == null) {
+                return first == null ? (second == null ? 0 : -1) : 1;
+            }
+            return first.compareTo(second);
+        };
+    }
+
+    /**
+     * Order rows by a date, time or timestamp column, latest first and nulls last
+     * @param column Index of a temporal column
+     */
+    static RowOrder temporalDescending(int column) {
+        return (data, a, b) -> {
+            long[] values = (long[]) data[column];
+            return Long.compare(values[b], values[a]);
+        };
+    }
+
+    private <V> int temporal(Function<T, V> getter, BiConsumer<T, V> setter,
+                             ToLongFunction<V> encoder,
+                             LongFunction<V> decoder) {
+        return add(new Column<T>() {
+            Object allocate(int size) {
+                return new long[size];
+            }
+
+            void write(Object array, int row, T entity) {
+                V value = getter.apply(entity);
+                ((long[]) array)[row] = value != null ? encoder.applyAsLong(value) : NULL_TEMPORAL;
+            }
+
+            void read(Object array, int row, T entity) {
+                long value = ((long[]) array)[row];
+                setter.accept(entity, value != NULL_TEMPORAL ? decoder.apply(value) : null);
+            }
+        });
+    }
+
+    private int add(Column<T> column) {
+        columns.add(column);
+        return columns.size() - 1;
+    }
+
+    /**
+     * Listing order of rows, compared by their column values
+     */
+    interface RowOrder {
+        int compare(Object[] data, int a, int b);
+
+        default RowOrder then(RowOrder next) {
+            return (data, a, b) -> {
+                int comparison = compare(data, a, b);
+                return comparison != 0 ? comparison : next.compare(data, a, b);
+            };
+        }
+    }
+
+    /**
+     * One field: its array type and how it moves between entity and array
+     */
+    private abstract static class Column<T> {
+        abstract Object allocate(int size);
+
+        abstract void write(Object array, int row, T entity);
+
+        abstract void read(Object array, int row, T entity);
+    }
+}
@@ -0,0 +1,96 @@
+package com.management.service;
+
+import java.util.*;
+
+/**
+ * In-memory lookup of technician coverage entries. Entries are full 5-digit
+ * zips or shorter zip prefixes, so the technicians covering a zip are found
+ * with at most five hash lookups, one per prefix length.
+ */
+public class CoverageIndex {
+    private static final int ZIP_LENGTH = 5;
+
+    private final Map<String, Set<Integer>> techniciansByEntry = new HashMap<>();
+    private final Map<Integer, List<int[]>> rangesByTechnician = new HashMap<>();
+
+    /**
+     * Build the index
+     * @param entriesByTechnician Coverage entries keyed by technician ID
+     */
+    public CoverageIndex(Map<Integer, Set<String>> entriesByTechnician) {
+        for (Map.Entry<Integer, Set<String>> technicianEntries : entriesByTechnician.entrySet()) {
+            int technicianId = technicianEntries.getKey();
+
+            for (String entry : technicianEntries.getValue()) {
+                techniciansByEntry.computeIfAbsent(entry, key -> new HashSet<>()).add(technicianId);
+                rangesByTechnician.computeIfAbsent(technicianId, key -> new ArrayList<>()).add(toRange(entry));
+            }
+        }
+    }
+
+    /**
+     * Find the technicians whose coverage includes a zip
+     * @param zip The 5-digit zip code
+     * @return IDs of the technicians covering the zip
+     */
+    public Set<Integer> techniciansCovering(String zip) {
+        Set<Integer> technicianIds = new HashSet<>();
+
+        if (zip == null || zip.length() != ZIP_LENGTH) {
+            return technicianIds;
+        }
+
+        for (int length = 1; length <= ZIP_LENGTH; length++) {
+            Set<Integer> matches = techniciansByEntry.get(zip.substring(0, length));
+            if (matches != null) {
+                technicianIds.addAll(matches);
+            }
+        }
+
+        return technicianIds;
+    }
+
+    /**
+     * Rank technicians by how close their coverage is to a zip. Distance is
+     * numeric zip distance to the nearest covered zip, which is 0 for
+     * technicians covering the zip and tracks geography roughly for the rest.
+     * @param zip The 5-digit zip code
+     * @param limit The maximum number of technician IDs to return
+     * @return Technician IDs, nearest coverage first
+     */
+    public List<Integer> nearestTechnicians(String zip, int limit) {
+        List<Integer> ranked = new ArrayList<>();
+
+        if (zip == null || zip.length() != ZIP_LENGTH) {
+            return ranked;
+        }
+
+        int target = Integer.parseInt(zip);
+        Map<Integer, Integer> distances = new HashMap<>();
+
+        for (Map.Entry<Integer, List<int[]>> technicianRanges : rangesByTechnician.entrySet()) {
+            int best = Integer.MAX_VALUE;
+
+            for (int[] range : technicianRanges.getValue()) {
+                int distance = target < range[0] ? range[0] - target : Math.max(0, target - range[1]);
+                best = Math.min(best, distance);
+            }
+
+            distances.put(technicianRanges.getKey(), best);
+        }
+
+        ranked.addAll(distances.keySet());
+        ranked.sort(Comparator.comparing((Integer id) -> distances.get(id)).thenComparing(id -> id));
+
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    /**
+     * Convert an entry to the inclusive range of numeric zips it covers
+     */
+    private static int[] toRange(String entry) {
+        int scale = (int) Math.pow(10, ZIP_LENGTH - entry.length());
+        int low = Integer.parseInt(entry) * scale;
+        return new int[] {low, low + scale - 1};
+    }
+}
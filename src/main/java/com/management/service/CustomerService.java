@@ -2,6 +2,8 @@ package com.management.service;
 
 import com.management.dao.interfaces.CustomerDAO;
 import com.management.dao.interfaces.ServiceRequestDAO;
+import com.management.dao.query.CustomerField;
+import com.management.dao.query.QuerySpec;
 import com.management.model.Customer;
 import com.management.model.ServiceRequest;
 
@@ -15,6 +17,8 @@ import java.util.stream.Collectors;
 public class CustomerService {
     private final CustomerDAO customerDAO;
     private final ServiceRequestDAO serviceRequestDAO;
+    private final DataChangeBus dataChangeBus = DataChangeBus.getInstance();
+    private volatile ReadModel readModel;
 
     // Email validation pattern
     private static final Pattern EMAIL_PATTERN =
@@ -30,6 +34,14 @@ public class CustomerService {
         this.serviceRequestDAO = serviceRequestDAO;
     }
 
+    /**
+     * Serve read-only queries from a shared in-memory read model
+     * @param readModel The read model, or null to read from the database
+     */
+    public void setReadModel(ReadModel readModel) {
+        this.readModel = readModel;
+    }
+
     /**
      * Find a customer by ID
      * @param customerId The customer ID to search for
@@ -48,45 +60,79 @@ public class CustomerService {
      * @return List of all customers
      */
     public List<Customer> getAllCustomers() {
-        return customerDAO.findAll();
+        ReadModel model = readModel;
+        return model != null ? model.getCustomers() : customerDAO.findAll();
+    }
+
+    /**
+     * Get one page of customers ordered by name
+     * @param offset Number of customers to skip
+     * @param limit Maximum number of customers to return
+     * @return One page of customers
+     */
+    public List<Customer> getCustomersPage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        ReadModel model = readModel;
+        if (model != null) {
+            List<Customer> customers = model.getCustomers();
+            int from = Math.min(offset, customers.size());
+            return customers.subList(from, Math.min(from + limit, customers.size()));
+        }
+        return customerDAO.findPage(offset, limit);
     }
 
     /**
-     * Get all customers sorted by a field
+     * Get all customers sorted by a field. Sorting is done by the database.
      * @param sortField The field to sort by
      * @param ascending Whether to sort in ascending order
      * @return Sorted list of customers
      */
     public List<Customer> getAllCustomersSorted(String sortField, boolean ascending) {
-        List<Customer> customers = customerDAO.findAll();
-
-        Comparator<Customer> comparator = null;
+        QuerySpec<CustomerField> spec = new QuerySpec<>();
 
         switch (sortField.toLowerCase()) {
             case "name":
-                comparator = Comparator.comparing(Customer::getLastName)
-                        .thenComparing(Customer::getFirstName);
+                spec.orderBy(CustomerField.LAST_NAME, ascending).orderBy(CustomerField.FIRST_NAME, ascending);
                 break;
             case "company":
-                comparator = Comparator.comparing(c -> c.getCompanyName() != null ? c.getCompanyName() : "");
+                spec.orderBy(CustomerField.COMPANY_NAME, ascending);
                 break;
             case "email":
-                comparator = Comparator.comparing(Customer::getEmail);
+                spec.orderBy(CustomerField.EMAIL, ascending);
                 break;
             case "customer_number":
-                comparator = Comparator.comparing(Customer::getCustomerNumber);
+                spec.orderBy(CustomerField.CUSTOMER_NUMBER, ascending);
                 break;
             default:
-                comparator = Comparator.comparing(Customer::getCustomerId);
+                spec.orderBy(CustomerField.CUSTOMER_ID, ascending);
         }
 
-        if (!ascending) {
-            comparator = comparator.reversed();
-        }
+        return findCustomers(spec);
+    }
 
-        return customers.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+    /**
+     * Find the customers matching a specification, in its order
+     * @param spec The filters, sort keys and page to read
+     * @return List of matching customers
+     */
+    public List<Customer> findCustomers(QuerySpec<CustomerField> spec) {
+        return customerDAO.find(spec);
+    }
+
+    /**
+     * Count the customers matching a specification
+     * @param spec The filters to apply; sort keys and paging are ignored
+     * @return The number of matching customers
+     */
+    public int countCustomers(QuerySpec<CustomerField> spec) {
+        return customerDAO.count(spec);
     }
 
     /**
@@ -96,24 +142,39 @@ public class CustomerService {
      */
     public List<Customer> searchCustomers(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return customerDAO.findAll();
+            return getAllCustomers();
         }
 
         searchTerm = searchTerm.trim();
+        ReadModel model = readModel;
 
         // If it looks like an email, search by email
         if (EMAIL_PATTERN.matcher(searchTerm).matches()) {
+            if (model != null) {
+                String email = searchTerm;
+                return model.findCustomers(c -> email.equals(c.getEmail()));
+            }
             Optional<Customer> customer = customerDAO.findByEmail(searchTerm);
             return customer.map(Collections::singletonList).orElse(Collections.emptyList());
         }
 
         // If it looks like a customer number, search by customer number
         if (searchTerm.startsWith("CM-")) {
+            if (model != null) {
+                String customerNumber = searchTerm;
+                return model.findCustomers(c -> customerNumber.equals(c.getCustomerNumber()));
+            }
             Optional<Customer> customer = customerDAO.findByCustomerNumber(searchTerm);
             return customer.map(Collections::singletonList).orElse(Collections.emptyList());
         }
 
         // Otherwise, search by name
+        if (model != null) {
+            String term = searchTerm.toLowerCase();
+            return model.findCustomers(c -> containsIgnoreCase(c.getFirstName(), term)
+                    || containsIgnoreCase(c.getLastName(), term)
+                    || containsIgnoreCase(c.getCompanyName(), term));
+        }
         return customerDAO.findByName(searchTerm);
     }
 
@@ -130,7 +191,13 @@ public class CustomerService {
             customer.setCustomerNumber(customerDAO.generateCustomerNumber());
         }
 
-        return customerDAO.save(customer);
+        int customerId = customerDAO.save(customer);
+        if (customerId > 0) {
+            customer.setCustomerId(customerId);
+            dataChangeBus.publish(DataChangeEvent.created(Customer.class, customerId, customer));
+        }
+
+        return customerId;
     }
 
     /**
@@ -149,7 +216,12 @@ public class CustomerService {
 
         validateCustomer(customer);
 
-        return customerDAO.update(customer);
+        boolean updated = customerDAO.update(customer);
+        if (updated) {
+            dataChangeBus.publish(DataChangeEvent.updated(Customer.class, customer.getCustomerId(), customer));
+        }
+
+        return updated;
     }
 
     /**
@@ -168,7 +240,12 @@ public class CustomerService {
             throw new IllegalStateException("Cannot delete customer with existing service requests");
         }
 
-        return customerDAO.delete(customerId);
+        boolean deleted = customerDAO.delete(customerId);
+        if (deleted) {
+            dataChangeBus.publish(DataChangeEvent.deleted(Customer.class, customerId));
+        }
+
+        return deleted;
     }
 
     /**
@@ -176,7 +253,8 @@ public class CustomerService {
      * @return The total number of customers
      */
     public int countCustomers() {
-        return customerDAO.count();
+        ReadModel model = readModel;
+        return model != null ? model.countCustomers() : customerDAO.count();
     }
 
     /**
@@ -189,6 +267,11 @@ public class CustomerService {
             throw new IllegalArgumentException("Invalid customer ID");
         }
 
+        ReadModel model = readModel;
+        if (model != null) {
+            return model.findServiceRequests(sr -> sr.getCustomerId() == customerId);
+        }
+
         return serviceRequestDAO.findByCustomerId(customerId);
     }
 
@@ -240,7 +323,12 @@ public class CustomerService {
      */
     public List<Customer> filterByState(String state) {
         if (state == null || state.trim().isEmpty()) {
-            return customerDAO.findAll();
+            return getAllCustomers();
+        }
+
+        ReadModel model = readModel;
+        if (model != null) {
+            return model.findCustomers(c -> state.equalsIgnoreCase(c.getState()));
         }
 
         return customerDAO.findAll().stream()
@@ -283,11 +371,26 @@ public class CustomerService {
      */
     public List<Customer> searchByZipCode(String zipCode) {
         if (zipCode == null || zipCode.trim().isEmpty()) {
-            return customerDAO.findAll();
+            return getAllCustomers();
+        }
+
+        ReadModel model = readModel;
+        if (model != null) {
+            return model.findCustomers(c -> zipCode.equals(c.getZipCode()));
         }
 
         return customerDAO.findAll().stream()
                 .filter(c -> zipCode.equals(c.getZipCode()))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Case-insensitive substring test matching SQL LIKE '%term%'
+     * @param value The value to test, may be null
+     * @param lowerCaseTerm The search term in lower case
+     * @return true if the value contains the term
+     */
+    private static boolean containsIgnoreCase(String value, String lowerCaseTerm) {
+        return value != null && value.toLowerCase().contains(lowerCaseTerm);
+    }
+}
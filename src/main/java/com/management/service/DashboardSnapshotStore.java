@@ -0,0 +1,175 @@
+package com.management.service;
+
+import com.management.model.DashboardSnapshot;
+import com.management.model.DashboardSnapshot.ChartSeries;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the last computed dashboard in a small binary file, so the next
+ * start can show it before the database has been queried. The file records
+ * which database it was computed from, and files written for another
+ * database or by another format version are ignored.
+ */
+public class DashboardSnapshotStore {
+    private static final int MAGIC = 0x44534e50; // "DSNP"
+    private static final int VERSION = 2;
+    private static final String SQLITE_PREFIX = "jdbc:sqlite:";
+
+    private final Path file;
+    private final String databaseId;
+
+    /**
+     * Use the file named by -Dapp.dashboardSnapshot, by default one per
+     * database in the working directory
+     * @param databaseUrl The JDBC URL of the database the dashboard is computed from
+     */
+    public DashboardSnapshotStore(String databaseUrl) {
+        this(defaultFile(databaseId(databaseUrl)), databaseUrl);
+    }
+
+    public DashboardSnapshotStore(Path file, String databaseUrl) {
+        this.file = file;
+        this.databaseId = databaseId(databaseUrl);
+    }
+
+    /**
+     * Read the stored snapshot
+     * @return The snapshot, or empty if there is none or it cannot be read
+     */
+    public Optional<DashboardSnapshot> load() {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !databaseId.equals(in.readUTF())) {
+                return Optional.empty();
+            }
+
+            DashboardSnapshot snapshot = new DashboardSnapshot();
+            snapshot.setCreatedAt(in.readLong());
+            snapshot.setCustomerCount(in.readInt());
+            snapshot.setTechnicianCount(in.readInt());
+            snapshot.setActiveServiceCount(in.readInt());
+            snapshot.setPendingPaymentCount(in.readInt());
+            snapshot.setPendingTasks(in.readInt());
+            snapshot.setHoursLogged(in.readUTF());
+            snapshot.setStatusCounts(readSeries(in));
+            snapshot.setEarnings(readSeriesList(in));
+            snapshot.setTechnicianPerformance(readSeriesList(in));
+            snapshot.setMonthlyTrends(readSeriesList(in));
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable dashboard snapshot " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replace the stored snapshot. The file is written beside the old one
+     * and moved over it, so a crash never leaves half a snapshot; where the
+     * file system cannot move atomically the move only replaces the file.
+     * @param snapshot The snapshot to store
+     */
+    public void save(DashboardSnapshot snapshot) {
+        Path absolute = file.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(databaseId);
+                out.writeLong(snapshot.getCreatedAt());
+                out.writeInt(snapshot.getCustomerCount());
+                out.writeInt(snapshot.getTechnicianCount());
+                out.writeInt(snapshot.getActiveServiceCount());
+                out.writeInt(snapshot.getPendingPaymentCount());
+                out.writeInt(snapshot.getPendingTasks());
+                out.writeUTF(snapshot.getHoursLogged() != null ? snapshot.getHoursLogged() : "");
+                writeSeries(out, snapshot.getStatusCounts() != null
+                        ? snapshot.getStatusCounts() : new ChartSeries("Status"));
+                writeSeriesList(out, snapshot.getEarnings());
+                writeSeriesList(out, snapshot.getTechnicianPerformance());
+                writeSeriesList(out, snapshot.getMonthlyTrends());
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving dashboard snapshot: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Identify a database by its file's absolute path, or by the URL itself
+     * for databases that are not plain files
+     */
+    private static String databaseId(String databaseUrl) {
+        if (databaseUrl.startsWith(SQLITE_PREFIX)) {
+            String path = databaseUrl.substring(SQLITE_PREFIX.length());
+            if (!path.isEmpty() && !path.startsWith(":") && !path.startsWith("file:")) {
+                return Paths.get(path).toAbsolutePath().normalize().toString();
+            }
+        }
+        return databaseUrl;
+    }
+
+    private static Path defaultFile(String databaseId) {
+        String configured = System.getProperty("app.dashboardSnapshot");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        return Paths.get(String.format("dashboard_snapshot-%08x.bin", databaseId.hashCode()));
+    }
+
+    private static void writeSeriesList(DataOutputStream out, List<ChartSeries> seriesList) throws IOException {
+        out.writeInt(seriesList.size());
+        for (ChartSeries series : seriesList) {
+            writeSeries(out, series);
+        }
+    }
+
+    private static void writeSeries(DataOutputStream out, ChartSeries series) throws IOException {
+        out.writeUTF(series.getName());
+        out.writeInt(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            out.writeUTF(series.getCategories().get(i));
+            out.writeDouble(series.getValues().get(i));
+        }
+    }
+
+    private static List<ChartSeries> readSeriesList(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<ChartSeries> seriesList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            seriesList.add(readSeries(in));
+        }
+        return seriesList;
+    }
+
+    private static ChartSeries readSeries(DataInputStream in) throws IOException {
+        ChartSeries series = new ChartSeries(in.readUTF());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            series.add(in.readUTF(), in.readDouble());
+        }
+        return series;
+    }
+}
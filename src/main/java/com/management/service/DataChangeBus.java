@@ -0,0 +1,61 @@
+package com.management.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for row-level changes published by the service classes.
+ * Listeners are called synchronously on the publishing thread.
+ */
+public class DataChangeBus {
+    private static final DataChangeBus INSTANCE = new DataChangeBus();
+
+    private final Map<Class<?>, List<Consumer<DataChangeEvent<?>>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Get the application-wide bus
+     * @return The shared bus instance
+     */
+    public static DataChangeBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Subscribe to changes of one model type
+     * @param entityType The model class to listen for
+     * @param listener The listener to call for each change
+     * @return A handle that removes the subscription when run
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Runnable subscribe(Class<T> entityType, Consumer<DataChangeEvent<T>> listener) {
+        Consumer<DataChangeEvent<?>> wrapper = event -> listener.accept((DataChangeEvent<T>) event);
+        List<Consumer<DataChangeEvent<?>>> typeListeners =
+                listeners.computeIfAbsent(entityType, k -> new CopyOnWriteArrayList<>());
+        typeListeners.add(wrapper);
+
+        return () -> typeListeners.remove(wrapper);
+    }
+
+    /**
+     * Publish a change to all listeners of its model type
+     * @param event The change event
+     */
+    public void publish(DataChangeEvent<?> event) {
+        List<Consumer<DataChangeEvent<?>>> typeListeners = listeners.get(event.getEntityType());
+        if (typeListeners == null) {
+            return;
+        }
+
+        for (Consumer<DataChangeEvent<?>> listener : typeListeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                System.err.println("Error delivering " + event + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
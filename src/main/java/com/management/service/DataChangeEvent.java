@@ -0,0 +1,99 @@
+package com.management.service;
+
+/**
+ * Describes a single row-level change made through the service layer, or
+ * that rows of a type were changed by another process
+ * @param <T> The model type that changed
+ */
+public class DataChangeEvent<T> {
+
+    /**
+     * Kind of change
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Rows changed outside this process; which ones is unknown
+        RELOADED
+    }
+
+    private final Class<T> entityType;
+    private final Type type;
+    private final int id;
+    private final T entity;
+
+    private DataChangeEvent(Class<T> entityType, Type type, int id, T entity) {
+        this.entityType = entityType;
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    /**
+     * Create an event for a newly created entity
+     * @param entityType The model class
+     * @param id The ID of the new row
+     * @param entity The created entity
+     * @return The event
+     */
+    public static <T> DataChangeEvent<T> created(Class<T> entityType, int id, T entity) {
+        return new DataChangeEvent<>(entityType, Type.CREATED, id, entity);
+    }
+
+    /**
+     * Create an event for an updated entity
+     * @param entityType The model class
+     * @param id The ID of the updated row
+     * @param entity The entity as it is now stored
+     * @return The event
+     */
+    public static <T> DataChangeEvent<T> updated(Class<T> entityType, int id, T entity) {
+        return new DataChangeEvent<>(entityType, Type.UPDATED, id, entity);
+    }
+
+    /**
+     * Create an event for a deleted entity
+     * @param entityType The model class
+     * @param id The ID of the deleted row
+     * @return The event
+     */
+    public static <T> DataChangeEvent<T> deleted(Class<T> entityType, int id) {
+        return new DataChangeEvent<>(entityType, Type.DELETED, id, null);
+    }
+
+    /**
+     * Create an event for rows changed by another process. Listeners should
+     * reload what they hold of the type.
+     * @param entityType The model class
+     * @return The event
+     */
+    public static <T> DataChangeEvent<T> reloaded(Class<T> entityType) {
+        return new DataChangeEvent<>(entityType, Type.RELOADED, 0, null);
+    }
+
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the changed entity
+     * @return The entity, or null for deletions and reloads
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return "DataChangeEvent{" + entityType.getSimpleName() + " " + type + " #" + id + "}";
+    }
+}
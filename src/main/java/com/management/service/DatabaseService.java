@@ -1,14 +1,259 @@
 package com.management.service;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DatabaseService {
+    /**
+     * Database work run inside one transaction
+     */
+    @FunctionalInterface
+    public interface TransactionWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Setup run on each newly opened connection
+     */
+    @FunctionalInterface
+    public interface ConnectionInitializer {
+        void initialize(Connection connection) throws SQLException;
+    }
+
     private static final String DB_URL = "jdbc:sqlite:client_management.db";
 
+    private final String url;
+
+    // Optional cap on open connections, for callers serving many clients at once
+    private volatile Semaphore connectionLimit;
+    private volatile int maxConnections;
+    private volatile long connectionWaitMillis;
+
+    // Connections kept open between uses with their prepared statements, most recently used first
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private final int maxIdleConnections = Math.max(0, Integer.getInteger("app.idleConnections", 4));
+
+    private volatile ConnectionInitializer connectionInitializer;
+    // Bumped when the initializer changes; pooled connections from an older generation are closed
+    private volatile int initializerGeneration;
+
+    public DatabaseService() {
+        this(DB_URL);
+    }
+
+    /**
+     * Use a database other than the application's own, such as a generated one
+     * @param url The JDBC URL of the database
+     */
+    public DatabaseService(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Get the JDBC URL of the database
+     * @return The URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Limit how many connections may be open at once. Callers beyond the
+     * limit wait for a connection to be closed, and fail after the wait time.
+     * @param maxConnections The maximum number of open connections
+     * @param waitMillis How long to wait for a free connection
+     */
+    public void setConnectionLimit(int maxConnections, long waitMillis) {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Connection limit must be positive");
+        }
+        this.maxConnections = maxConnections;
+        this.connectionWaitMillis = waitMillis;
+        this.connectionLimit = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Run setup on every connection opened from now on, such as creating
+     * TEMP objects that exist per connection. Idle connections opened before
+     * are closed so they are not handed out without it, and connections in
+     * use at the time are closed when they are released instead of being
+     * pooled again.
+     * @param initializer The setup to run
+     */
+    public void setConnectionInitializer(ConnectionInitializer initializer) {
+        synchronized (idleConnections) {
+            this.connectionInitializer = initializer;
+            initializerGeneration++;
+        }
+        close();
+    }
+
+    /**
+     * Get a connection. Closing it keeps the underlying connection open for
+     * the next caller, along with the statements prepared on it, so repeated
+     * queries are not parsed and planned again. Unless query metrics are
+     * disabled, the connection reports its statements to {@link QueryMetrics}.
+     * Connections opened inside {@link QueryCancellation#run} can be
+     * interrupted by its cancel.
+     * @return A connection
+     * @throws SQLException if the database cannot be opened, no connection became free in time
+     *                      or the current work has been cancelled
+     */
     public Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+        return getConnection(true);
+    }
+
+    /**
+     * Open a connection of its own that is really closed when closed, for
+     * callers that change connection settings such as PRAGMAs
+     * @return A new connection
+     * @throws SQLException if the database cannot be opened, no connection became free in time
+     *                      or the current work has been cancelled
+     */
+    public Connection getDedicatedConnection() throws SQLException {
+        return getConnection(false);
+    }
+
+    /**
+     * Run work on one connection in one transaction. The transaction is
+     * committed when the work returns and rolled back when it throws, so
+     * writes that belong together are never stored halfway.
+     * @param work The work to run
+     * @return The work's result
+     * @throws SQLException if the work or the commit fails
+     */
+    public <T> T inTransaction(TransactionWork<T> work) throws SQLException {
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
+
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Close the connections kept open between uses
+     */
+    public void close() {
+        synchronized (idleConnections) {
+            for (PooledConnection connection : idleConnections) {
+                connection.closePhysically();
+            }
+            idleConnections.clear();
+        }
+    }
+
+    private Connection getConnection(boolean reuse) throws SQLException {
+        QueryCancellation cancellation = QueryCancellation.current();
+        if (cancellation == null) {
+            return acquireConnection(reuse);
+        }
+
+        if (cancellation.isCancelled()) {
+            throw new SQLException("Query cancelled");
+        }
+        return cancellation.track(acquireConnection(reuse));
+    }
+
+    private Connection acquireConnection(boolean reuse) throws SQLException {
+        long started = System.nanoTime();
+        Semaphore limit = connectionLimit;
+        if (limit == null) {
+            return openConnection(started, reuse);
+        }
+
+        try {
+            if (!limit.tryAcquire(connectionWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("All " + maxConnections + " database connections are in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Connection connection = openConnection(started, reuse);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ReleaseOnClose(connection, limit));
+        } catch (SQLException | RuntimeException e) {
+            limit.release();
+            throw e;
+        }
+    }
+
+    private Connection openConnection(long started, boolean reuse) throws SQLException {
+        QueryMetrics metrics = QueryMetrics.getInstance();
+        Connection connection = reuse && maxIdleConnections > 0 ? leaseConnection() : newConnection();
+        if (!metrics.isEnabled()) {
+            return connection;
+        }
+        return metrics.instrument(connection, url, System.nanoTime() - started);
+    }
+
+    private Connection newConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        ConnectionInitializer initializer = connectionInitializer;
+        if (initializer != null) {
+            try {
+                initializer.initialize(connection);
+            } catch (SQLException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+        }
+        return connection;
+    }
+
+    private Connection leaseConnection() throws SQLException {
+        PooledConnection pooled;
+        synchronized (idleConnections) {
+            pooled = idleConnections.pollFirst();
+        }
+        if (pooled != null && pooled.getGeneration() != initializerGeneration) {
+            pooled.closePhysically();
+            pooled = null;
+        }
+        if (pooled == null) {
+            // Read the generation before opening, so a connection racing a new initializer counts as stale
+            int generation = initializerGeneration;
+            pooled = new PooledConnection(newConnection(), generation, this::releaseConnection);
+        }
+        return pooled.lease();
+    }
+
+    private void releaseConnection(PooledConnection pooled) {
+        try {
+            pooled.reset();
+        } catch (SQLException e) {
+            pooled.closePhysically();
+            return;
+        }
+
+        synchronized (idleConnections) {
+            if (pooled.getGeneration() == initializerGeneration && idleConnections.size() < maxIdleConnections) {
+                idleConnections.addFirst(pooled);
+                return;
+            }
+        }
+        pooled.closePhysically();
     }
 
     public void closeConnection(Connection connection) {
@@ -20,4 +265,31 @@ public class DatabaseService {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the connection's permit when it is closed
+     */
+    private static class ReleaseOnClose implements InvocationHandler {
+        private final Connection connection;
+        private final Semaphore limit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnClose(Connection connection, Semaphore limit) {
+            this.connection = connection;
+            this.limit = limit;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                    limit.release();
+                }
+            }
+        }
+    }
+}
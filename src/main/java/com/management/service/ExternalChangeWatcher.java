@@ -0,0 +1,82 @@
+package com.management.service;
+
+import com.management.dao.interfaces.ChangeTrackingDAO;
+import com.management.model.Customer;
+import com.management.model.Payment;
+import com.management.model.Quote;
+import com.management.model.ServiceRequest;
+import com.management.model.Technician;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Polls the database for changes committed by other application instances
+ * sharing the same file, and publishes a {@link DataChangeEvent.Type#RELOADED}
+ * event for each model type whose tables changed. A poll normally costs one
+ * PRAGMA; the per-table counters are only read once the data version moves.
+ *
+ * Writes made by this process are counted apart and left out, so its own
+ * commits do not cause a reload.
+ */
+public class ExternalChangeWatcher {
+    private static final Map<String, Class<?>> MODEL_BY_TABLE = Map.of(
+            "customers", Customer.class,
+            "technicians", Technician.class,
+            "service_requests", ServiceRequest.class,
+            "service_technicians", ServiceRequest.class,
+            "quotes", Quote.class,
+            "payments", Payment.class);
+
+    private final ChangeTrackingDAO changeTrackingDAO;
+    private final DataChangeBus dataChangeBus = DataChangeBus.getInstance();
+
+    private long dataVersion = -1;
+    private Map<String, Long> changeCounts = new HashMap<>();
+
+    public ExternalChangeWatcher(ChangeTrackingDAO changeTrackingDAO) {
+        this.changeTrackingDAO = changeTrackingDAO;
+        changeTrackingDAO.excludeOwnWrites();
+    }
+
+    /**
+     * Check for changes and publish a reload event for each changed model
+     * type. The first poll only records the current state.
+     * @return The model types that changed since the previous poll
+     */
+    public synchronized Set<Class<?>> poll() {
+        Set<Class<?>> changed = new LinkedHashSet<>();
+
+        long version = changeTrackingDAO.getDataVersion();
+        if (version < 0 || version == dataVersion) {
+            return changed;
+        }
+
+        Map<String, Long> counts = changeTrackingDAO.getChangeCounts();
+        boolean firstPoll = dataVersion < 0;
+        dataVersion = version;
+
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            Class<?> modelType = MODEL_BY_TABLE.get(entry.getKey());
+            if (modelType != null && !firstPoll && !entry.getValue().equals(changeCounts.get(entry.getKey()))) {
+                changed.add(modelType);
+            }
+        }
+        changeCounts = counts;
+
+        for (Class<?> modelType : changed) {
+            dataChangeBus.publish(DataChangeEvent.reloaded(modelType));
+        }
+
+        return changed;
+    }
+
+    /**
+     * Release the connection used for polling
+     */
+    public void close() {
+        changeTrackingDAO.close();
+    }
+}
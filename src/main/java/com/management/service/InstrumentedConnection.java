@@ -0,0 +1,189 @@
+package com.management.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Dynamic proxies around a connection, its statements and their result sets
+ * that report each executed statement to {@link QueryMetrics}. A query is
+ * timed from execution until its result set is exhausted or closed, since
+ * SQLite produces rows while they are read.
+ */
+final class InstrumentedConnection {
+
+    private InstrumentedConnection() {
+    }
+
+    static Connection wrap(Connection connection, String url, QueryMetrics metrics) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, url, metrics));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final String url;
+        private final QueryMetrics metrics;
+
+        ConnectionHandler(Connection connection, String url, QueryMetrics metrics) {
+            this.connection = connection;
+            this.url = url;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedConnection.invoke(connection, method, args);
+
+            if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class},
+                        new StatementHandler((Statement) result, (String) args[0], url, metrics));
+            }
+            if (result instanceof Statement && method.getName().equals("createStatement")) {
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{Statement.class},
+                        new StatementHandler((Statement) result, null, url, metrics));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final String url;
+        private final QueryMetrics metrics;
+        private final QueryCaller caller = QueryCaller.find();
+        private ResultSetHandler openResult;
+
+        StatementHandler(Statement statement, String preparedSql, String url, QueryMetrics metrics) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.url = url;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                finishOpenResult();
+                return InstrumentedConnection.invoke(statement, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return InstrumentedConnection.invoke(statement, method, args);
+            }
+
+            finishOpenResult();
+            String sql = args != null && args.length > 0 && args[0] instanceof String
+                    ? (String) args[0] : preparedSql;
+            long started = System.nanoTime();
+            Object result;
+            try {
+                result = InstrumentedConnection.invoke(statement, method, args);
+            } catch (Throwable e) {
+                metrics.recordQuery(caller, url, sql, System.nanoTime() - started, 0, true);
+                throw e;
+            }
+
+            if (result instanceof ResultSet) {
+                openResult = new ResultSetHandler((ResultSet) result, this, sql, started);
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, openResult);
+            }
+
+            metrics.recordQuery(caller, url, sql, System.nanoTime() - started, affectedRows(result), false);
+            return result;
+        }
+
+        private void finishOpenResult() {
+            if (openResult != null) {
+                openResult.finish(false);
+            }
+        }
+
+        void recordResult(String sql, long started, long rows, boolean failed) {
+            openResult = null;
+            metrics.recordQuery(caller, url, sql, System.nanoTime() - started, rows, failed);
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return Math.max(0, ((Number) result).longValue());
+            }
+
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(0, count);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows += Math.max(0, count);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final StatementHandler statement;
+        private final String sql;
+        private final long started;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet resultSet, StatementHandler statement, String sql, long started) {
+            this.resultSet = resultSet;
+            this.statement = statement;
+            this.sql = sql;
+            this.started = started;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                boolean hasRow;
+                try {
+                    hasRow = (Boolean) InstrumentedConnection.invoke(resultSet, method, args);
+                } catch (Throwable e) {
+                    finish(true);
+                    throw e;
+                }
+                if (hasRow) {
+                    rows++;
+                } else {
+                    finish(false);
+                }
+                return hasRow;
+            }
+            if (name.equals("close")) {
+                finish(false);
+            }
+            return InstrumentedConnection.invoke(resultSet, method, args);
+        }
+
+        void finish(boolean failed) {
+            if (!finished) {
+                finished = true;
+                statement.recordResult(sql, started, rows, failed);
+            }
+        }
+    }
+}
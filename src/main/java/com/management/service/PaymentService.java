@@ -2,14 +2,22 @@ package com.management.service;
 
 import com.management.dao.interfaces.PaymentDAO;
 import com.management.dao.interfaces.QuoteDAO;
+import com.management.dao.interfaces.RollupDAO;
 import com.management.dao.interfaces.ServiceRequestDAO;
+import com.management.dao.query.PaymentField;
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.ServiceRequestField;
 import com.management.model.Payment;
+import com.management.model.PaymentListItem;
+import com.management.model.PaymentStatus;
 import com.management.model.Quote;
+import com.management.model.QuoteStatus;
 import com.management.model.ServiceRequest;
 
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,17 +28,24 @@ public class PaymentService {
     private final PaymentDAO paymentDAO;
     private final ServiceRequestDAO serviceRequestDAO;
     private final QuoteDAO quoteDAO;
+    private final RollupDAO rollupDAO;
+    private final DataChangeBus dataChangeBus = DataChangeBus.getInstance();
+
+    // Job IDs bound per query when loading the service requests of a payment list
+    private static final int SERVICE_REQUEST_BATCH_SIZE = 500;
 
     /**
      * Constructor with dependency injection
      * @param paymentDAO The PaymentDAO implementation
      * @param serviceRequestDAO The ServiceRequestDAO implementation
      * @param quoteDAO The QuoteDAO implementation
+     * @param rollupDAO The RollupDAO implementation
      */
-    public PaymentService(PaymentDAO paymentDAO, ServiceRequestDAO serviceRequestDAO, QuoteDAO quoteDAO) {
+    public PaymentService(PaymentDAO paymentDAO, ServiceRequestDAO serviceRequestDAO, QuoteDAO quoteDAO, RollupDAO rollupDAO) {
         this.paymentDAO = paymentDAO;
         this.serviceRequestDAO = serviceRequestDAO;
         this.quoteDAO = quoteDAO;
+        this.rollupDAO = rollupDAO;
     }
 
     /**
@@ -57,51 +72,71 @@ public class PaymentService {
      */
     public List<Payment> getAllPayments() {
         List<Payment> payments = paymentDAO.findAll();
-        payments.forEach(this::loadServiceRequestDetails);
+        loadServiceRequestDetails(payments);
         return payments;
     }
 
     /**
-     * Get all payments sorted by a field
+     * Get all payments sorted by a field. Sorting is done by the database.
      * @param sortField The field to sort by
      * @param ascending Whether to sort in ascending order
      * @return Sorted list of payments
      */
     public List<Payment> getAllPaymentsSorted(String sortField, boolean ascending) {
-        List<Payment> payments = paymentDAO.findAll();
-
-        // Load service request details for all payments
-        payments.forEach(this::loadServiceRequestDetails);
-
-        Comparator<Payment> comparator = null;
+        QuerySpec<PaymentField> spec = new QuerySpec<>();
 
-        switch (sortField.toLowerCase()) {
+        switch (sortField != null ? sortField.toLowerCase() : "") {
             case "amount":
-                comparator = Comparator.comparing(Payment::getAmount);
+                spec.orderBy(PaymentField.AMOUNT, ascending);
                 break;
             case "status":
-                comparator = Comparator.comparing(p -> p.getStatus() != null ? p.getStatus() : "");
+                spec.orderBy(PaymentField.STATUS, ascending);
                 break;
             case "payment_date":
-                comparator = Comparator.comparing(p -> p.getPaymentDate() != null ? p.getPaymentDate() : LocalDate.MAX);
+                spec.orderBy(PaymentField.PAYMENT_DATE, ascending);
                 break;
             case "payment_method":
-                comparator = Comparator.comparing(p -> p.getPaymentMethod() != null ? p.getPaymentMethod() : "");
+                spec.orderBy(PaymentField.PAYMENT_METHOD, ascending);
                 break;
             case "created_at":
-                comparator = Comparator.comparing(p -> p.getCreatedAt() != null ? p.getCreatedAt() : LocalDate.MAX.atStartOfDay());
+                spec.orderBy(PaymentField.CREATED_AT, ascending);
                 break;
             default:
-                comparator = Comparator.comparing(Payment::getPaymentId);
+                spec.orderBy(PaymentField.PAYMENT_ID, ascending);
         }
 
-        if (!ascending) {
-            comparator = comparator.reversed();
-        }
+        return findPayments(spec);
+    }
 
-        return payments.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+    /**
+     * Find the payments matching a specification, in its order
+     * @param spec The filters, sort keys and page to read
+     * @return List of matching payments with their service requests
+     */
+    public List<Payment> findPayments(QuerySpec<PaymentField> spec) {
+        List<Payment> payments = paymentDAO.find(spec);
+        loadServiceRequestDetails(payments);
+        return payments;
+    }
+
+    /**
+     * Count the payments matching a specification
+     * @param spec The filters to apply; sort keys and paging are ignored
+     * @return The number of matching payments
+     */
+    public int countPayments(QuerySpec<PaymentField> spec) {
+        return paymentDAO.count(spec);
+    }
+
+    /**
+     * Get the payment list rows, with service request and customer columns
+     * read in the same query
+     * @param sortField The field to sort by
+     * @param ascending Whether to sort in ascending order
+     * @return Sorted list of payment rows
+     */
+    public List<PaymentListItem> getPaymentListItems(String sortField, boolean ascending) {
+        return paymentDAO.findListItems(sortField, ascending);
     }
 
     /**
@@ -115,7 +150,7 @@ public class PaymentService {
         }
 
         List<Payment> payments = paymentDAO.findByJobId(jobId);
-        payments.forEach(this::loadServiceRequestDetails);
+        loadServiceRequestDetails(payments);
         return payments;
     }
 
@@ -130,7 +165,7 @@ public class PaymentService {
         }
 
         List<Payment> payments = paymentDAO.findByStatus(status);
-        payments.forEach(this::loadServiceRequestDetails);
+        loadServiceRequestDetails(payments);
         return payments;
     }
 
@@ -150,10 +185,29 @@ public class PaymentService {
         }
 
         List<Payment> payments = paymentDAO.findByDateRange(startDate, endDate);
-        payments.forEach(this::loadServiceRequestDetails);
+        loadServiceRequestDetails(payments);
         return payments;
     }
 
+    /**
+     * Get daily payment totals from the payment rollup table
+     * @param startDate The start date
+     * @param endDate The end date
+     * @param status Only include payments with this status, or null for all
+     * @return Map of date to total amount, for days that have payments
+     */
+    public Map<LocalDate, Double> getDailyPaymentTotals(LocalDate startDate, LocalDate endDate, String status) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        return rollupDAO.findDailyPaymentTotals(startDate, endDate, status);
+    }
+
     /**
      * Create a new payment
      * @param payment The payment to create
@@ -164,7 +218,7 @@ public class PaymentService {
 
         // Set default status if not provided
         if (payment.getStatus() == null || payment.getStatus().trim().isEmpty()) {
-            payment.setStatus("Pending");
+            payment.setStatus(PaymentStatus.PENDING.getLabel());
         }
 
         // Set payment date to today if not provided
@@ -172,7 +226,12 @@ public class PaymentService {
             payment.setPaymentDate(LocalDate.now());
         }
 
-        return paymentDAO.save(payment);
+        int paymentId = paymentDAO.save(payment);
+        if (paymentId > 0) {
+            publishPaymentChange(DataChangeEvent.Type.CREATED, paymentId);
+        }
+
+        return paymentId;
     }
 
     /**
@@ -192,7 +251,7 @@ public class PaymentService {
 
         Quote quote = quoteOpt.get();
 
-        if (!"Approved".equals(quote.getStatus())) {
+        if (!quote.hasStatus(QuoteStatus.APPROVED)) {
             throw new IllegalStateException("Cannot generate payment for a quote that is not approved");
         }
 
@@ -200,7 +259,7 @@ public class PaymentService {
         Payment payment = new Payment();
         payment.setJobId(quote.getJobId());
         payment.setAmount(quote.getAmount());
-        payment.setStatus("Pending");
+        payment.setStatus(PaymentStatus.PENDING.getLabel());
         payment.setPaymentDate(LocalDate.now());
         payment.setNotes("Generated from Quote #" + quoteId);
 
@@ -223,7 +282,12 @@ public class PaymentService {
 
         validatePayment(payment);
 
-        return paymentDAO.update(payment);
+        boolean updated = paymentDAO.update(payment);
+        if (updated) {
+            publishPaymentChange(DataChangeEvent.Type.UPDATED, payment.getPaymentId());
+        }
+
+        return updated;
     }
 
     /**
@@ -247,11 +311,16 @@ public class PaymentService {
         }
 
         Payment payment = paymentOpt.get();
-        payment.setStatus("Completed");
+        payment.setStatus(PaymentStatus.COMPLETED.getLabel());
         payment.setPaymentMethod(paymentMethod);
         payment.setPaymentDate(LocalDate.now());
 
-        return paymentDAO.update(payment);
+        boolean updated = paymentDAO.update(payment);
+        if (updated) {
+            publishPaymentChange(DataChangeEvent.Type.UPDATED, paymentId);
+        }
+
+        return updated;
     }
 
     /**
@@ -264,7 +333,12 @@ public class PaymentService {
             throw new IllegalArgumentException("Invalid payment ID");
         }
 
-        return paymentDAO.delete(paymentId);
+        boolean deleted = paymentDAO.delete(paymentId);
+        if (deleted) {
+            dataChangeBus.publish(DataChangeEvent.deleted(Payment.class, paymentId));
+        }
+
+        return deleted;
     }
 
     /**
@@ -331,6 +405,20 @@ public class PaymentService {
         return Math.max(0, remainingBalance);
     }
 
+    /**
+     * Get the amount paid per service request for the requests in a service date range
+     * @param startDate The first service date
+     * @param endDate The last service date
+     * @return Map of job ID to total paid, for jobs that have payments
+     */
+    public Map<Integer, Double> getPaymentTotalsByJob(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+
+        return paymentDAO.getTotalPaymentsByJob(startDate, endDate);
+    }
+
     /**
      * Get overdue payments (payment date before today and status not completed)
      * @return List of overdue payments
@@ -341,7 +429,7 @@ public class PaymentService {
         List<Payment> allPayments = getAllPayments();
 
         return allPayments.stream()
-                .filter(p -> "Pending".equals(p.getStatus()))
+                .filter(p -> p.hasStatus(PaymentStatus.PENDING))
                 .filter(p -> p.getPaymentDate() != null && p.getPaymentDate().isBefore(today))
                 .collect(Collectors.toList());
     }
@@ -357,6 +445,49 @@ public class PaymentService {
         }
     }
 
+    /**
+     * Load the service requests of a list of payments, reading each distinct
+     * job once in a few batched queries rather than one query per payment
+     * @param payments The payments
+     */
+    private void loadServiceRequestDetails(List<Payment> payments) {
+        List<Integer> jobIds = payments.stream()
+                .map(Payment::getJobId)
+                .filter(jobId -> jobId > 0)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Integer, ServiceRequest> serviceRequests = new HashMap<>();
+        for (int from = 0; from < jobIds.size(); from += SERVICE_REQUEST_BATCH_SIZE) {
+            List<Integer> batch = jobIds.subList(from, Math.min(from + SERVICE_REQUEST_BATCH_SIZE, jobIds.size()));
+            for (ServiceRequest serviceRequest : serviceRequestDAO.find(
+                    new QuerySpec<ServiceRequestField>().in(ServiceRequestField.JOB_ID, batch))) {
+                serviceRequests.put(serviceRequest.getJobId(), serviceRequest);
+            }
+        }
+
+        for (Payment payment : payments) {
+            ServiceRequest serviceRequest = serviceRequests.get(payment.getJobId());
+            if (serviceRequest != null) {
+                payment.setServiceRequest(serviceRequest);
+            }
+        }
+    }
+
+    /**
+     * Re-read a changed payment with its service request and publish it
+     * @param type The kind of change
+     * @param paymentId The payment ID
+     */
+    private void publishPaymentChange(DataChangeEvent.Type type, int paymentId) {
+        paymentDAO.findById(paymentId).ifPresent(payment -> {
+            loadServiceRequestDetails(payment);
+            dataChangeBus.publish(type == DataChangeEvent.Type.CREATED
+                    ? DataChangeEvent.created(Payment.class, paymentId, payment)
+                    : DataChangeEvent.updated(Payment.class, paymentId, payment));
+        });
+    }
+
     /**
      * Validate a payment
      * @param payment The payment to validate
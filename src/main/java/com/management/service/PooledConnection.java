@@ -0,0 +1,270 @@
+package com.management.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A physical connection kept open between uses, with a cache of its
+ * prepared statements. Each use gets a lease: a proxy whose close hands the
+ * connection back to its pool instead of closing it. A statement prepared
+ * through a lease is taken from the cache when the same SQL was prepared
+ * before, so SQLite does not parse and plan it again, and closing it
+ * resets it and puts it back.
+ */
+final class PooledConnection {
+    private static final int MAX_CACHED_STATEMENTS =
+            Math.max(0, Integer.getInteger("app.statementCacheSize", 64));
+
+    private final Connection connection;
+    private final int generation;
+    private final Consumer<PooledConnection> release;
+    private final StatementCatalog catalog = StatementCatalog.getInstance();
+
+    // Idle statements by SQL, least recently used first
+    private final Map<String, PreparedStatement> idleStatements = new LinkedHashMap<>(16, 0.75f, true);
+
+    PooledConnection(Connection connection, int generation, Consumer<PooledConnection> release) {
+        this.connection = connection;
+        this.generation = generation;
+        this.release = release;
+    }
+
+    /**
+     * Get the pool's connection setup generation this connection was opened with
+     * @return The generation
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Start a use of the connection
+     * @return A connection that hands this one back when closed
+     */
+    Connection lease() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Lease());
+    }
+
+    /**
+     * Undo anything a use left behind, so the next one starts clean
+     * @throws SQLException if the connection can no longer be used
+     */
+    void reset() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Close the cached statements and the connection itself
+     */
+    void closePhysically() {
+        synchronized (idleStatements) {
+            for (PreparedStatement statement : idleStatements.values()) {
+                closeQuietly(statement);
+            }
+            idleStatements.clear();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private PreparedStatement takeStatement(String sql) throws SQLException {
+        PreparedStatement statement;
+        synchronized (idleStatements) {
+            statement = idleStatements.remove(sql);
+        }
+        if (statement != null) {
+            catalog.recordHit(sql);
+            return statement;
+        }
+        catalog.recordMiss(sql);
+        return connection.prepareStatement(sql);
+    }
+
+    private void returnStatement(String sql, PreparedStatement statement) {
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+
+        PreparedStatement evicted = null;
+        synchronized (idleStatements) {
+            if (MAX_CACHED_STATEMENTS == 0 || idleStatements.containsKey(sql)) {
+                // Prepared twice within one use; keep the cached copy
+                evicted = statement;
+            } else {
+                idleStatements.put(sql, statement);
+                if (idleStatements.size() > MAX_CACHED_STATEMENTS) {
+                    Iterator<PreparedStatement> eldest = idleStatements.values().iterator();
+                    evicted = eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        if (evicted != null) {
+            closeQuietly(evicted);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Nothing left to release
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * One use of the connection. Statements still open when it is closed
+     * are closed with it, as JDBC requires.
+     */
+    private class Lease implements InvocationHandler {
+        private final List<CachedStatement> borrowed = new ArrayList<>();
+        private final List<Statement> created = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "unwrap":
+                case "isWrapperFor":
+                    return PooledConnection.invoke(connection, method, args);
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+
+            if (method.getName().equals("prepareStatement") && args.length == 1) {
+                String sql = (String) args[0];
+                CachedStatement cached = new CachedStatement(sql, takeStatement(sql), this, (Connection) proxy);
+                borrowed.add(cached);
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class}, cached);
+            }
+
+            Object result = PooledConnection.invoke(connection, method, args);
+            if (result instanceof Statement) {
+                created.add((Statement) result);
+            }
+            return result;
+        }
+
+        synchronized void returned(CachedStatement statement) {
+            borrowed.remove(statement);
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            for (CachedStatement statement : new ArrayList<>(borrowed)) {
+                statement.close();
+            }
+            for (Statement statement : created) {
+                closeQuietly(statement);
+            }
+            release.accept(PooledConnection.this);
+        }
+    }
+
+    /**
+     * A cached statement lent to one lease. Closing it closes its result
+     * set, which resets the statement and ends its read, and returns it.
+     */
+    private class CachedStatement implements InvocationHandler {
+        private final String sql;
+        private final PreparedStatement statement;
+        private final Lease lease;
+        private final Connection leasedConnection;
+        private ResultSet openResult;
+        private boolean closed;
+
+        CachedStatement(String sql, PreparedStatement statement, Lease lease, Connection leasedConnection) {
+            this.sql = sql;
+            this.statement = statement;
+            this.lease = lease;
+            this.leasedConnection = leasedConnection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        close();
+                        lease.returned(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return leasedConnection;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            Object result = PooledConnection.invoke(statement, method, args);
+            if (result instanceof ResultSet) {
+                openResult = (ResultSet) result;
+            }
+            return result;
+        }
+
+        void close() {
+            closed = true;
+            if (openResult != null) {
+                try {
+                    openResult.close();
+                } catch (SQLException e) {
+                    closeQuietly(statement);
+                    return;
+                }
+            }
+            returnStatement(sql, statement);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.management.service;
+
+/**
+ * The DAO method and screen a statement was issued from, found by walking the stack
+ */
+class QueryCaller {
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final String DAO_PACKAGE = "com.management.dao.";
+    private static final String CONTROLLER_PACKAGE = "com.management.controller.";
+
+    private final String method;
+    private final String screen;
+
+    private QueryCaller(String method, String screen) {
+        this.method = method;
+        this.screen = screen;
+    }
+
+    /**
+     * Attribute the current call: the innermost DAO method, or the first
+     * application frame outside the database layer when no DAO is involved,
+     * and the innermost controller class on the stack
+     */
+    static QueryCaller find() {
+        return WALKER.walk(frames -> {
+            String dao = null;
+            String fallback = null;
+            String screen = null;
+
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (dao == null && className.startsWith(DAO_PACKAGE)) {
+                    dao = describe(className, frame.getMethodName());
+                } else if (fallback == null && className.startsWith("com.management.")
+                        && !isDatabaseLayer(className)) {
+                    fallback = describe(className, frame.getMethodName());
+                }
+                if (screen == null && className.startsWith(CONTROLLER_PACKAGE)) {
+                    screen = simpleName(className);
+                }
+            }
+
+            String method = dao != null ? dao : fallback != null ? fallback : "(unknown)";
+            return new QueryCaller(method, screen);
+        });
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getScreen() {
+        return screen;
+    }
+
+    private static boolean isDatabaseLayer(String className) {
+        return className.equals(DatabaseService.class.getName())
+                || className.startsWith(QueryMetrics.class.getName())
+                || className.equals(QueryCaller.class.getName())
+                || className.startsWith(InstrumentedConnection.class.getName())
+                || className.startsWith(PooledConnection.class.getName())
+                || className.equals(StatementCatalog.class.getName());
+    }
+
+    private static String describe(String className, String methodName) {
+        // lambda$findAll$0 -> findAll
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', 7);
+            methodName = end > 7 ? methodName.substring(7, end) : methodName;
+        }
+        return simpleName(className) + "." + methodName;
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int inner = name.indexOf('$');
+        return inner > 0 ? name.substring(0, inner) : name;
+    }
+}
@@ -0,0 +1,125 @@
+package com.management.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Lets another thread cancel the queries of a unit of work. While
+ * {@link #run(Callable)} is executing, every connection the work opens through
+ * {@link DatabaseService} is tracked; {@link #cancel()} interrupts the
+ * statements running on them and makes further connections fail at once.
+ */
+public final class QueryCancellation {
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    private final Set<Connection> connections = new HashSet<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Run work on the current thread so that its queries can be cancelled
+     * @param work The work to run
+     * @return The work's result
+     * @throws Exception whatever the work throws
+     */
+    public <T> T run(Callable<T> work) throws Exception {
+        QueryCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Interrupt the running statements and refuse new connections
+     */
+    public void cancel() {
+        cancelled = true;
+
+        synchronized (this) {
+            for (Connection connection : connections) {
+                // SQLite interrupts every statement on the connection
+                try (Statement statement = connection.createStatement()) {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    // The statement has already finished
+                }
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Get the cancellation the current thread runs under
+     * @return The cancellation, or null outside {@link #run(Callable)}
+     */
+    static QueryCancellation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Track a connection until it is closed
+     * @param connection The connection opened by the work
+     * @return A connection that stops being tracked when closed
+     * @throws SQLException if the work has been cancelled
+     */
+    Connection track(Connection connection) throws SQLException {
+        synchronized (this) {
+            if (cancelled) {
+                connection.close();
+                throw new SQLException("Query cancelled");
+            }
+            connections.add(connection);
+        }
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new UntrackOnClose(connection));
+    }
+
+    /**
+     * Stops tracking the connection when it is closed, so a cancel never
+     * reaches a connection that is being or has been closed
+     */
+    private class UntrackOnClose implements InvocationHandler {
+        private final Connection connection;
+
+        UntrackOnClose(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close")) {
+                synchronized (QueryCancellation.this) {
+                    connections.remove(connection);
+                    return invokeOnConnection(method, args);
+                }
+            }
+            return invokeOnConnection(method, args);
+        }
+
+        private Object invokeOnConnection(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
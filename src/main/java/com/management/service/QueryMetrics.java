@@ -0,0 +1,444 @@
+package com.management.service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.ObjectName;
+
+/**
+ * Application-wide query statistics collected by the connections that
+ * {@link DatabaseService} hands out. Statistics are kept per DAO method and
+ * per screen; queries slower than the threshold are logged with their query
+ * plan. The same data is shown in the diagnostics view and published as the
+ * JMX MBean com.management:type=QueryMetrics.
+ *
+ * Start with -Dapp.queryMetrics=false to hand out plain connections, and set
+ * the slow-query threshold with -Dapp.slowQueryMillis (default 100).
+ */
+public class QueryMetrics implements QueryMetricsMXBean {
+    private static final Logger LOGGER = Logger.getLogger(QueryMetrics.class.getName());
+    private static final QueryMetrics INSTANCE = new QueryMetrics();
+
+    /** Upper bounds of the latency histogram buckets; the last bucket has no bound */
+    private static final double[] BUCKET_BOUNDS_MILLIS = {0.1, 0.25, 0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+    private static final int MAX_SLOW_QUERIES = 200;
+    private static final String NO_SCREEN = "(none)";
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("app.queryMetrics", "true"));
+    private volatile long slowQueryThresholdMillis = Long.getLong("app.slowQueryMillis", 100L);
+
+    private final Map<String, MethodCounters> methods = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> screens = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ConcurrentLinkedDeque<>();
+
+    // Query plans are looked up off the calling thread so slow queries do not get slower
+    private final ExecutorService explainExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "query-plan");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private QueryMetrics() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName("com.management:type=QueryMetrics"));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Query metrics MBean not registered", e);
+        }
+    }
+
+    /**
+     * Get the application-wide metrics
+     * @return The shared metrics instance
+     */
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long thresholdMillis) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative");
+        }
+        this.slowQueryThresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public long getTotalQueries() {
+        long total = 0;
+        for (MethodCounters counters : methods.values()) {
+            total += counters.calls.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalErrors() {
+        long total = 0;
+        for (MethodCounters counters : methods.values()) {
+            total += counters.errors.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public double[] getHistogramBoundsMillis() {
+        return BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Statistics per DAO method, busiest (by total time) first
+     */
+    @Override
+    public List<MethodStats> getMethodStats() {
+        List<MethodStats> stats = new ArrayList<>();
+        for (Map.Entry<String, MethodCounters> entry : methods.entrySet()) {
+            stats.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        stats.sort(Comparator.comparingDouble(MethodStats::getTotalMillis).reversed());
+        return stats;
+    }
+
+    /**
+     * Number of queries issued from each screen (controller), busiest first
+     */
+    @Override
+    public Map<String, Long> getQueriesByScreen() {
+        List<Map.Entry<String, LongAdder>> entries = new ArrayList<>(screens.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed());
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, LongAdder> entry : entries) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    /**
+     * The most recent slow queries, newest first
+     */
+    @Override
+    public List<SlowQuery> getSlowQueries() {
+        return new ArrayList<>(slowQueries);
+    }
+
+    @Override
+    public double getStatementCacheHitRate() {
+        return StatementCatalog.getInstance().getHitRate();
+    }
+
+    /**
+     * @return The prepared statements seen so far with their cache hits, most used first
+     */
+    @Override
+    public List<StatementCatalog.StatementStats> getStatements() {
+        return StatementCatalog.getInstance().getStatements();
+    }
+
+    @Override
+    public void reset() {
+        methods.clear();
+        screens.clear();
+        slowQueries.clear();
+        StatementCatalog.getInstance().reset();
+    }
+
+    /**
+     * Wrap a connection so its statements are measured
+     * @param connection The connection to wrap
+     * @param url The JDBC URL it was opened with, used to look up query plans
+     * @param acquireNanos How long opening the connection took
+     * @return The instrumented connection
+     */
+    Connection instrument(Connection connection, String url, long acquireNanos) {
+        QueryCaller caller = QueryCaller.find();
+        counters(caller.getMethod()).recordConnection(acquireNanos);
+        return InstrumentedConnection.wrap(connection, url, this);
+    }
+
+    /**
+     * Record one executed statement
+     */
+    void recordQuery(QueryCaller caller, String url, String sql, long elapsedNanos, long rows, boolean failed) {
+        MethodCounters counters = counters(caller.getMethod());
+        counters.record(elapsedNanos, rows, failed);
+        screens.computeIfAbsent(caller.getScreen() != null ? caller.getScreen() : NO_SCREEN, k -> new LongAdder())
+                .increment();
+
+        double millis = elapsedNanos / 1_000_000.0;
+        if (millis >= slowQueryThresholdMillis && sql != null) {
+            explainExecutor.execute(() -> logSlowQuery(caller, url, sql, millis, rows));
+        }
+    }
+
+    private MethodCounters counters(String method) {
+        return methods.computeIfAbsent(method, k -> new MethodCounters());
+    }
+
+    private void logSlowQuery(QueryCaller caller, String url, String sql, double millis, long rows) {
+        String plan = explain(url, sql);
+        slowQueries.addFirst(new SlowQuery(LocalDateTime.now(), caller.getMethod(), caller.getScreen(),
+                sql, millis, rows, plan));
+        while (slowQueries.size() > MAX_SLOW_QUERIES) {
+            slowQueries.pollLast();
+        }
+
+        LOGGER.warning(String.format("Slow query (%.1f ms, %d rows) in %s: %s%n%s",
+                millis, rows, caller.getMethod(), sql, plan));
+    }
+
+    /**
+     * Look up the plan SQLite chose for a statement, on a separate plain connection
+     */
+    private static String explain(String url, String sql) {
+        try (Connection connection = DriverManager.getConnection(url);
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = statement.executeQuery()) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                if (plan.length() > 0) {
+                    plan.append('\n');
+                }
+                plan.append(rs.getString("detail"));
+            }
+            return plan.toString();
+        } catch (Exception e) {
+            return "(no plan: " + e.getMessage() + ")";
+        }
+    }
+
+    private static int bucketOf(double millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (millis <= BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    /**
+     * Live counters of one DAO method
+     */
+    private static class MethodCounters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+        private final LongAdder connections = new LongAdder();
+        private final LongAdder connectionNanos = new LongAdder();
+
+        void record(long elapsedNanos, long rowCount, boolean failed) {
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            rows.add(rowCount);
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            histogram.incrementAndGet(bucketOf(elapsedNanos / 1_000_000.0));
+        }
+
+        void recordConnection(long acquireNanos) {
+            connections.increment();
+            connectionNanos.add(acquireNanos);
+        }
+
+        MethodStats snapshot(String method) {
+            long[] buckets = new long[histogram.length()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram.get(i);
+            }
+            return new MethodStats(method, calls.sum(), errors.sum(), rows.sum(), totalNanos.sum(),
+                    maxNanos.get(), buckets, connections.sum(), connectionNanos.sum());
+        }
+    }
+
+    /**
+     * Statistics of one DAO method at a point in time
+     */
+    public static final class MethodStats {
+        private final String method;
+        private final long calls;
+        private final long errors;
+        private final long rows;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] histogram;
+        private final long connections;
+        private final long connectionNanos;
+
+        MethodStats(String method, long calls, long errors, long rows, long totalNanos, long maxNanos,
+                    long[] histogram, long connections, long connectionNanos) {
+            this.method = method;
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.histogram = histogram;
+            this.connections = connections;
+            this.connectionNanos = connectionNanos;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getTotalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        public double getMeanMillis() {
+            return calls == 0 ? 0 : getTotalMillis() / calls;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        public double getP50Millis() {
+            return percentile(0.50);
+        }
+
+        public double getP95Millis() {
+            return percentile(0.95);
+        }
+
+        public double getP99Millis() {
+            return percentile(0.99);
+        }
+
+        /**
+         * Query counts per latency bucket; see {@link QueryMetrics#getHistogramBoundsMillis()}
+         */
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        public long getConnections() {
+            return connections;
+        }
+
+        public double getMeanConnectionMillis() {
+            return connections == 0 ? 0 : connectionNanos / 1_000_000.0 / connections;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given fraction of calls, capped at the maximum seen
+         */
+        private double percentile(double fraction) {
+            long total = 0;
+            for (long count : histogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= target) {
+                    return i < BUCKET_BOUNDS_MILLIS.length
+                            ? Math.min(BUCKET_BOUNDS_MILLIS[i], getMaxMillis()) : getMaxMillis();
+                }
+            }
+            return getMaxMillis();
+        }
+    }
+
+    /**
+     * A query that took longer than the threshold
+     */
+    public static final class SlowQuery {
+        private final LocalDateTime time;
+        private final String method;
+        private final String screen;
+        private final String sql;
+        private final double millis;
+        private final long rows;
+        private final String plan;
+
+        SlowQuery(LocalDateTime time, String method, String screen, String sql, double millis, long rows,
+                  String plan) {
+            this.time = time;
+            this.method = method;
+            this.screen = screen;
+            this.sql = sql;
+            this.millis = millis;
+            this.rows = rows;
+            this.plan = plan;
+        }
+
+        public String getTime() {
+            return time.toString();
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getScreen() {
+            return screen;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public String getPlan() {
+            return plan;
+        }
+    }
+}
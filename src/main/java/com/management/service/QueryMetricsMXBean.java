@@ -0,0 +1,34 @@
+package com.management.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link QueryMetrics}, registered as com.management:type=QueryMetrics
+ */
+public interface QueryMetricsMXBean {
+
+    boolean isEnabled();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long thresholdMillis);
+
+    long getTotalQueries();
+
+    long getTotalErrors();
+
+    double[] getHistogramBoundsMillis();
+
+    List<QueryMetrics.MethodStats> getMethodStats();
+
+    Map<String, Long> getQueriesByScreen();
+
+    List<QueryMetrics.SlowQuery> getSlowQueries();
+
+    double getStatementCacheHitRate();
+
+    List<StatementCatalog.StatementStats> getStatements();
+
+    void reset();
+}
@@ -2,7 +2,10 @@ package com.management.service;
 
 import com.management.dao.interfaces.QuoteDAO;
 import com.management.dao.interfaces.ServiceRequestDAO;
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.QuoteField;
 import com.management.model.Quote;
+import com.management.model.QuoteStatus;
 import com.management.model.ServiceRequest;
 
 import java.time.LocalDate;
@@ -17,6 +20,7 @@ import java.util.stream.Collectors;
 public class QuoteService {
     private final QuoteDAO quoteDAO;
     private final ServiceRequestDAO serviceRequestDAO;
+    private final DataChangeBus dataChangeBus = DataChangeBus.getInstance();
 
     /**
      * Constructor with dependency injection
@@ -57,46 +61,55 @@ public class QuoteService {
     }
 
     /**
-     * Get all quotes sorted by a field
+     * Get all quotes sorted by a field. Sorting is done by the database.
      * @param sortField The field to sort by
      * @param ascending Whether to sort in ascending order
      * @return Sorted list of quotes
      */
     public List<Quote> getAllQuotesSorted(String sortField, boolean ascending) {
-        List<Quote> quotes = quoteDAO.findAll();
-
-        // Load service request details for all quotes
-        quotes.forEach(this::loadServiceRequestDetails);
-
-        Comparator<Quote> comparator = null;
+        QuerySpec<QuoteField> spec = new QuerySpec<>();
 
         switch (sortField.toLowerCase()) {
             case "amount":
-                comparator = Comparator.comparing(Quote::getAmount);
+                spec.orderBy(QuoteField.AMOUNT, ascending);
                 break;
             case "status":
-                comparator = Comparator.comparing(q -> q.getStatus() != null ? q.getStatus() : "");
+                spec.orderBy(QuoteField.STATUS, ascending);
                 break;
             case "start_date":
-                comparator = Comparator.comparing(q -> q.getStartDate() != null ? q.getStartDate() : LocalDate.MAX);
+                spec.orderBy(QuoteField.START_DATE, ascending);
                 break;
             case "end_date":
-                comparator = Comparator.comparing(q -> q.getEndDate() != null ? q.getEndDate() : LocalDate.MAX);
+                spec.orderBy(QuoteField.END_DATE, ascending);
                 break;
             case "created_at":
-                comparator = Comparator.comparing(q -> q.getCreatedAt() != null ? q.getCreatedAt() : LocalDate.MAX.atStartOfDay());
+                spec.orderBy(QuoteField.CREATED_AT, ascending);
                 break;
             default:
-                comparator = Comparator.comparing(Quote::getQuoteId);
+                spec.orderBy(QuoteField.QUOTE_ID, ascending);
         }
 
-        if (!ascending) {
-            comparator = comparator.reversed();
-        }
+        return findQuotes(spec);
+    }
 
-        return quotes.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+    /**
+     * Find the quotes matching a specification, in its order
+     * @param spec The filters, sort keys and page to read
+     * @return List of matching quotes with their service requests
+     */
+    public List<Quote> findQuotes(QuerySpec<QuoteField> spec) {
+        List<Quote> quotes = quoteDAO.find(spec);
+        quotes.forEach(this::loadServiceRequestDetails);
+        return quotes;
+    }
+
+    /**
+     * Count the quotes matching a specification
+     * @param spec The filters to apply; sort keys and paging are ignored
+     * @return The number of matching quotes
+     */
+    public int countQuotes(QuerySpec<QuoteField> spec) {
+        return quoteDAO.count(spec);
     }
 
     /**
@@ -139,10 +152,15 @@ public class QuoteService {
 
         // Set default status if not provided
         if (quote.getStatus() == null || quote.getStatus().trim().isEmpty()) {
-            quote.setStatus("Pending");
+            quote.setStatus(QuoteStatus.PENDING.getLabel());
         }
 
-        return quoteDAO.save(quote);
+        int quoteId = quoteDAO.save(quote);
+        if (quoteId > 0) {
+            publishQuoteChange(DataChangeEvent.Type.CREATED, quoteId);
+        }
+
+        return quoteId;
     }
 
     /**
@@ -169,7 +187,7 @@ public class QuoteService {
         Quote quote = new Quote();
         quote.setJobId(jobId);
         quote.setAmount(totalCost);
-        quote.setStatus("Pending");
+        quote.setStatus(QuoteStatus.PENDING.getLabel());
 
         // Set dates
         quote.setStartDate(serviceRequest.getServiceDate());
@@ -194,7 +212,12 @@ public class QuoteService {
 
         validateQuote(quote);
 
-        return quoteDAO.update(quote);
+        boolean updated = quoteDAO.update(quote);
+        if (updated) {
+            publishQuoteChange(DataChangeEvent.Type.UPDATED, quote.getQuoteId());
+        }
+
+        return updated;
     }
 
     /**
@@ -207,7 +230,12 @@ public class QuoteService {
             throw new IllegalArgumentException("Invalid quote ID");
         }
 
-        return quoteDAO.updateStatus(quoteId, "Approved");
+        boolean updated = quoteDAO.updateStatus(quoteId, QuoteStatus.APPROVED.getLabel());
+        if (updated) {
+            publishQuoteChange(DataChangeEvent.Type.UPDATED, quoteId);
+        }
+
+        return updated;
     }
 
     /**
@@ -220,7 +248,12 @@ public class QuoteService {
             throw new IllegalArgumentException("Invalid quote ID");
         }
 
-        return quoteDAO.updateStatus(quoteId, "Rejected");
+        boolean updated = quoteDAO.updateStatus(quoteId, QuoteStatus.REJECTED.getLabel());
+        if (updated) {
+            publishQuoteChange(DataChangeEvent.Type.UPDATED, quoteId);
+        }
+
+        return updated;
     }
 
     /**
@@ -233,7 +266,12 @@ public class QuoteService {
             throw new IllegalArgumentException("Invalid quote ID");
         }
 
-        return quoteDAO.delete(quoteId);
+        boolean deleted = quoteDAO.delete(quoteId);
+        if (deleted) {
+            dataChangeBus.publish(DataChangeEvent.deleted(Quote.class, quoteId));
+        }
+
+        return deleted;
     }
 
     /**
@@ -249,7 +287,7 @@ public class QuoteService {
      * @return List of pending quotes
      */
     public List<Quote> getPendingQuotes() {
-        return getQuotesByStatus("Pending");
+        return getQuotesByStatus(QuoteStatus.PENDING.getLabel());
     }
 
     /**
@@ -257,7 +295,7 @@ public class QuoteService {
      * @return List of approved quotes
      */
     public List<Quote> getApprovedQuotes() {
-        return getQuotesByStatus("Approved");
+        return getQuotesByStatus(QuoteStatus.APPROVED.getLabel());
     }
 
     /**
@@ -265,7 +303,7 @@ public class QuoteService {
      * @return List of rejected quotes
      */
     public List<Quote> getRejectedQuotes() {
-        return getQuotesByStatus("Rejected");
+        return getQuotesByStatus(QuoteStatus.REJECTED.getLabel());
     }
 
     /**
@@ -283,11 +321,25 @@ public class QuoteService {
         List<Quote> allQuotes = getAllQuotes();
 
         return allQuotes.stream()
-                .filter(q -> "Pending".equals(q.getStatus()))
+                .filter(q -> q.hasStatus(QuoteStatus.PENDING))
                 .filter(q -> q.getEndDate() != null && !q.getEndDate().isAfter(thresholdDate))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Re-read a changed quote with its service request and publish it
+     * @param type The kind of change
+     * @param quoteId The quote ID
+     */
+    private void publishQuoteChange(DataChangeEvent.Type type, int quoteId) {
+        quoteDAO.findById(quoteId).ifPresent(quote -> {
+            loadServiceRequestDetails(quote);
+            dataChangeBus.publish(type == DataChangeEvent.Type.CREATED
+                    ? DataChangeEvent.created(Quote.class, quoteId, quote)
+                    : DataChangeEvent.updated(Quote.class, quoteId, quote));
+        });
+    }
+
     /**
      * Load service request details for a quote
      * @param quote The quote
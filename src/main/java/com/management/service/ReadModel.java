@@ -0,0 +1,515 @@
+package com.management.service;
+
+import com.management.dao.interfaces.CustomerDAO;
+import com.management.dao.interfaces.ServiceRequestDAO;
+import com.management.dao.interfaces.TechnicianDAO;
+import com.management.model.Customer;
+import com.management.model.ServiceRequest;
+import com.management.model.Technician;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Session-wide in-memory copy of the customers, technicians and service
+ * requests tables. Each table is loaded once on first use and then kept
+ * current from the DataChangeBus events the services publish after every
+ * write. A change builds a new immutable snapshot and swaps it in, so readers
+ * never lock and never see a half-applied change.
+ *
+ * Tables are stored column-wise (see ColumnLayout), with numbers, dates and
+ * times in primitive arrays, and every read builds new entities from the
+ * columns, so forms can edit the entities they are given before saving them.
+ */
+public class ReadModel {
+    private final SnapshotTable<Customer> customers;
+    private final SnapshotTable<Technician> technicians;
+    private final SnapshotTable<ServiceRequest> serviceRequests;
+    private final List<Runnable> subscriptions = new ArrayList<>();
+
+    /**
+     * Constructor with dependency injection
+     * @param customerDAO The CustomerDAO implementation
+     * @param technicianDAO The TechnicianDAO implementation
+     * @param serviceRequestDAO The ServiceRequestDAO implementation
+     */
+    public ReadModel(CustomerDAO customerDAO, TechnicianDAO technicianDAO, ServiceRequestDAO serviceRequestDAO) {
+        // Listing orders match the ORDER BY of the corresponding findAll queries
+        ColumnLayout<Customer> customerLayout = new ColumnLayout<>(Customer::new);
+        customerLayout.integer(Customer::getCustomerId, Customer::setCustomerId);
+        int customerFirstName = customerLayout.text(Customer::getFirstName, Customer::setFirstName);
+        int customerLastName = customerLayout.text(Customer::getLastName, Customer::setLastName);
+        customerLayout.text(Customer::getEmail, Customer::setEmail);
+        customerLayout.text(Customer::getCompanyName, Customer::setCompanyName);
+        customerLayout.text(Customer::getCustomerNumber, Customer::setCustomerNumber);
+        customerLayout.text(Customer::getPhoneNumber, Customer::setPhoneNumber);
+        customerLayout.text(Customer::getMobileNumber, Customer::setMobileNumber);
+        customerLayout.text(Customer::getPosition, Customer::setPosition);
+        customerLayout.text(Customer::getBillingDetails, Customer::setBillingDetails);
+        customerLayout.text(Customer::getExtensionNumber, Customer::setExtensionNumber);
+        customerLayout.text(Customer::getBusinessName, Customer::setBusinessName);
+        customerLayout.text(Customer::getStreetAddress, Customer::setStreetAddress);
+        customerLayout.text(Customer::getState, Customer::setState);
+        customerLayout.text(Customer::getZipCode, Customer::setZipCode);
+        customerLayout.reference(byte[][]::new, Customer::getLogo, Customer::setLogo);
+        customerLayout.text(Customer::getWebsite, Customer::setWebsite);
+        customerLayout.timestamp(Customer::getCreatedAt, Customer::setCreatedAt);
+        customerLayout.timestamp(Customer::getUpdatedAt, Customer::setUpdatedAt);
+        customers = new SnapshotTable<>(customerDAO::findAll, Customer::getCustomerId, customerLayout,
+                ColumnLayout.textAscending(customerLastName).then(ColumnLayout.textAscending(customerFirstName)));
+
+        ColumnLayout<Technician> technicianLayout = new ColumnLayout<>(Technician::new);
+        technicianLayout.integer(Technician::getTechnicianId, Technician::setTechnicianId);
+        int technicianFirstName = technicianLayout.text(Technician::getFirstName, Technician::setFirstName);
+        int technicianLastName = technicianLayout.text(Technician::getLastName, Technician::setLastName);
+        technicianLayout.text(Technician::getCredentials, Technician::setCredentials);
+        technicianLayout.text(Technician::getCredentialLevel, Technician::setCredentialLevel);
+        technicianLayout.text(Technician::getEmail, Technician::setEmail);
+        technicianLayout.text(Technician::getZipCode, Technician::setZipCode);
+        technicianLayout.text(Technician::getCoverageArea, Technician::setCoverageArea);
+        technicianLayout.text(Technician::getPayType, Technician::setPayType);
+        technicianLayout.text(Technician::getAccountInfo, Technician::setAccountInfo);
+        technicianLayout.text(Technician::getAddress, Technician::setAddress);
+        technicianLayout.text(Technician::getCity, Technician::setCity);
+        technicianLayout.text(Technician::getState, Technician::setState);
+        technicianLayout.text(Technician::getZip, Technician::setZip);
+        technicianLayout.text(Technician::getLegalName, Technician::setLegalName);
+        technicianLayout.text(Technician::getNotes, Technician::setNotes);
+        technicianLayout.timestamp(Technician::getCreatedAt, Technician::setCreatedAt);
+        technicianLayout.timestamp(Technician::getUpdatedAt, Technician::setUpdatedAt);
+        technicians = new SnapshotTable<>(technicianDAO::findAll, Technician::getTechnicianId, technicianLayout,
+                ColumnLayout.textAscending(technicianLastName).then(ColumnLayout.textAscending(technicianFirstName)));
+
+        ColumnLayout<ServiceRequest> jobLayout = new ColumnLayout<>(ServiceRequest::new);
+        jobLayout.integer(ServiceRequest::getJobId, ServiceRequest::setJobId);
+        jobLayout.text(ServiceRequest::getDescription, ServiceRequest::setDescription);
+        jobLayout.number(ServiceRequest::getServiceCost, ServiceRequest::setServiceCost);
+        jobLayout.integer(ServiceRequest::getCustomerId, ServiceRequest::setCustomerId);
+        int serviceDate = jobLayout.date(ServiceRequest::getServiceDate, ServiceRequest::setServiceDate);
+        jobLayout.text(ServiceRequest::getRefNo, ServiceRequest::setRefNo);
+        jobLayout.time(ServiceRequest::getStartTime, ServiceRequest::setStartTime);
+        jobLayout.time(ServiceRequest::getEndTime, ServiceRequest::setEndTime);
+        jobLayout.text(ServiceRequest::getBuildingName, ServiceRequest::setBuildingName);
+        jobLayout.text(ServiceRequest::getServiceAddress, ServiceRequest::setServiceAddress);
+        jobLayout.text(ServiceRequest::getServiceCity, ServiceRequest::setServiceCity);
+        jobLayout.text(ServiceRequest::getServiceState, ServiceRequest::setServiceState);
+        jobLayout.text(ServiceRequest::getServiceZip, ServiceRequest::setServiceZip);
+        jobLayout.text(ServiceRequest::getPocName, ServiceRequest::setPocName);
+        jobLayout.text(ServiceRequest::getPocPhone, ServiceRequest::setPocPhone);
+        jobLayout.text(ServiceRequest::getServiceParticipantName, ServiceRequest::setServiceParticipantName);
+        jobLayout.text(ServiceRequest::getServiceNotes, ServiceRequest::setServiceNotes);
+        jobLayout.number(ServiceRequest::getAddedCost, ServiceRequest::setAddedCost);
+        jobLayout.text(ServiceRequest::getStatus, ServiceRequest::setStatus);
+        jobLayout.text(ServiceRequest::getPostrefNumber, ServiceRequest::setPostrefNumber);
+        jobLayout.number(ServiceRequest::getParkingFees, ServiceRequest::setParkingFees);
+        jobLayout.text(ServiceRequest::getStartTimeIcs, ServiceRequest::setStartTimeIcs);
+        jobLayout.text(ServiceRequest::getEndTimeIcs, ServiceRequest::setEndTimeIcs);
+        jobLayout.text(ServiceRequest::getTechnicianStatus, ServiceRequest::setTechnicianStatus);
+        jobLayout.text(ServiceRequest::getTechnicianNotes, ServiceRequest::setTechnicianNotes);
+        jobLayout.timestamp(ServiceRequest::getCreatedAt, ServiceRequest::setCreatedAt);
+        jobLayout.timestamp(ServiceRequest::getUpdatedAt, ServiceRequest::setUpdatedAt);
+        // Only the assigned technician IDs; the technicians themselves come from their own table on read
+        jobLayout.reference(int[][]::new, ReadModel::technicianIds, ReadModel::setTechnicianIds);
+        serviceRequests = new SnapshotTable<>(serviceRequestDAO::findAll, ServiceRequest::getJobId, jobLayout,
+                ColumnLayout.temporalDescending(serviceDate));
+
+        DataChangeBus bus = DataChangeBus.getInstance();
+        subscriptions.add(bus.subscribe(Customer.class, customers::apply));
+        subscriptions.add(bus.subscribe(Technician.class, technicians::apply));
+        subscriptions.add(bus.subscribe(ServiceRequest.class, serviceRequests::apply));
+    }
+
+    /**
+     * Get all customers ordered by last and first name
+     * @return Copies of all customers
+     */
+    public List<Customer> getCustomers() {
+        return customers.get().list(null);
+    }
+
+    /**
+     * Get the customers matching a filter, ordered by last and first name
+     * @param filter Test applied to the stored rows; must not modify them
+     * @return Copies of the matching customers
+     */
+    public List<Customer> findCustomers(Predicate<Customer> filter) {
+        return customers.get().list(filter);
+    }
+
+    /**
+     * Count the customers
+     * @return The number of customers
+     */
+    public int countCustomers() {
+        return customers.get().size();
+    }
+
+    /**
+     * Get all technicians ordered by last and first name
+     * @return Copies of all technicians
+     */
+    public List<Technician> getTechnicians() {
+        return technicians.get().list(null);
+    }
+
+    /**
+     * Get the technicians matching a filter, ordered by last and first name
+     * @param filter Test applied to the stored rows; must not modify them
+     * @return Copies of the matching technicians
+     */
+    public List<Technician> findTechnicians(Predicate<Technician> filter) {
+        return technicians.get().list(filter);
+    }
+
+    /**
+     * Count the technicians
+     * @return The number of technicians
+     */
+    public int countTechnicians() {
+        return technicians.get().size();
+    }
+
+    /**
+     * Get all service requests, latest service date first, with their
+     * current customer and technicians attached
+     * @return Copies of all service requests
+     */
+    public List<ServiceRequest> getServiceRequests() {
+        return findServiceRequests(null);
+    }
+
+    /**
+     * Get the service requests matching a filter, latest service date first,
+     * with their current customer and technicians attached
+     * @param filter Test applied to the stored rows; must not modify them
+     * @return Copies of the matching service requests
+     */
+    public List<ServiceRequest> findServiceRequests(Predicate<ServiceRequest> filter) {
+        List<ServiceRequest> result = serviceRequests.get().list(filter);
+        Snapshot<Customer> customerSnapshot = customers.get();
+        Snapshot<Technician> technicianSnapshot = technicians.get();
+
+        // Jobs of the same customer or technician share one copy per call
+        Map<Integer, Customer> customerCopies = new HashMap<>();
+        Map<Integer, Technician> technicianCopies = new HashMap<>();
+
+        for (ServiceRequest serviceRequest : result) {
+            Customer customer = customerCopies.computeIfAbsent(serviceRequest.getCustomerId(), customerSnapshot::copy);
+            if (customer != null) {
+                serviceRequest.setCustomer(customer);
+            }
+
+            // Rows carry only the technician IDs; technicians no longer on file are left out
+            List<Technician> assigned = new ArrayList<>(serviceRequest.getTechnicians().size());
+            for (Technician placeholder : serviceRequest.getTechnicians()) {
+                Technician technician = technicianCopies.computeIfAbsent(placeholder.getTechnicianId(),
+                        technicianSnapshot::copy);
+                if (technician != null) {
+                    assigned.add(technician);
+                }
+            }
+            serviceRequest.setTechnicians(assigned);
+        }
+
+        return result;
+    }
+
+    /**
+     * Count the service requests
+     * @return The number of service requests
+     */
+    public int countServiceRequests() {
+        return serviceRequests.get().size();
+    }
+
+    /**
+     * Drop every snapshot so the next read loads the tables again. Use after
+     * changes made outside the services, such as a bulk import.
+     */
+    public void invalidate() {
+        customers.invalidate();
+        technicians.invalidate();
+        serviceRequests.invalidate();
+    }
+
+    /**
+     * Stop following changes and release the snapshots
+     */
+    public void close() {
+        subscriptions.forEach(Runnable::run);
+        subscriptions.clear();
+        invalidate();
+    }
+
+    private static int[] technicianIds(ServiceRequest serviceRequest) {
+        List<Technician> assigned = serviceRequest.getTechnicians();
+        if (assigned == null) {
+            return new int[0];
+        }
+
+        int[] ids = new int[assigned.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = assigned.get(i).getTechnicianId();
+        }
+        return ids;
+    }
+
+    private static void setTechnicianIds(ServiceRequest serviceRequest, int[] ids) {
+        List<Technician> assigned = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Technician technician = new Technician();
+            technician.setTechnicianId(id);
+            assigned.add(technician);
+        }
+        serviceRequest.setTechnicians(assigned);
+    }
+
+    /**
+     * One table: the current snapshot plus how to load and update it
+     */
+    private static final class SnapshotTable<T> {
+        private final Supplier<List<T>> loader;
+        private final ToIntFunction<T> idExtractor;
+        private final ColumnLayout<T> layout;
+        private final ColumnLayout.RowOrder listingOrder;
+        private volatile Snapshot<T> snapshot;
+
+        SnapshotTable(Supplier<List<T>> loader, ToIntFunction<T> idExtractor, ColumnLayout<T> layout,
+                      ColumnLayout.RowOrder listingOrder) {
+            this.loader = loader;
+            this.idExtractor = idExtractor;
+            this.layout = layout;
+            this.listingOrder = listingOrder;
+        }
+
+        Snapshot<T> get() {
+            Snapshot<T> current = snapshot;
+            if (current == null) {
+                synchronized (this) {
+                    current = snapshot;
+                    if (current == null) {
+                        current = Snapshot.load(loader.get(), idExtractor, layout, listingOrder);
+                        snapshot = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        synchronized void apply(DataChangeEvent<T> event) {
+            Snapshot<T> current = snapshot;
+            if (current == null) {
+                // Not loaded yet; the first read will see the change
+                return;
+            }
+
+            switch (event.getType()) {
+                case CREATED:
+                case UPDATED:
+                    if (event.getEntity() != null) {
+                        snapshot = current.with(event.getId(), event.getEntity());
+                    } else {
+                        snapshot = null;
+                    }
+                    break;
+                case DELETED:
+                    snapshot = current.without(event.getId());
+                    break;
+                case RELOADED:
+                    snapshot = null;
+                    break;
+            }
+        }
+
+        synchronized void invalidate() {
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Immutable table contents. Rows are kept sorted by ID in parallel with a
+     * primitive ID array for binary search, one array per column, and a
+     * permutation array gives the listing order without sorting on every
+     * read. The permutation is sorted in full only when a table is loaded; a
+     * single-row change finds the row's old and new place in it by binary
+     * search.
+     */
+    private static final class Snapshot<T> {
+        private final int[] ids;
+        private final Object[] data;
+        private final int[] order;
+        private final ColumnLayout<T> layout;
+        private final ColumnLayout.RowOrder listingOrder;
+
+        private Snapshot(int[] ids, Object[] data, int[] order, ColumnLayout<T> layout,
+                         ColumnLayout.RowOrder listingOrder) {
+            this.ids = ids;
+            this.data = data;
+            this.order = order;
+            this.layout = layout;
+            this.listingOrder = listingOrder;
+        }
+
+        static <T> Snapshot<T> load(List<T> loaded, ToIntFunction<T> idExtractor, ColumnLayout<T> layout,
+                                    ColumnLayout.RowOrder listingOrder) {
+            List<T> sorted = new ArrayList<>(loaded);
+            sorted.sort(Comparator.comparingInt(idExtractor));
+
+            int[] ids = new int[sorted.size()];
+            Object[] data = layout.allocate(sorted.size());
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = idExtractor.applyAsInt(sorted.get(i));
+                layout.write(data, i, sorted.get(i));
+            }
+
+            return new Snapshot<>(ids, data, sortedOrder(data, ids.length, listingOrder), layout, listingOrder);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Copy one row
+         * @param id The row ID
+         * @return A new entity with the row's values, or null if there is none
+         */
+        T copy(int id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? layout.read(data, index) : null;
+        }
+
+        List<T> list(Predicate<T> filter) {
+            List<T> result = new ArrayList<>(filter == null ? order.length : 16);
+
+            // A row the filter rejects leaves its entity to be overwritten by the next one
+            T candidate = null;
+            for (int index : order) {
+                candidate = candidate != null ? layout.read(data, index, candidate) : layout.read(data, index);
+                if (filter == null || filter.test(candidate)) {
+                    result.add(candidate);
+                    candidate = null;
+                }
+            }
+            return result;
+        }
+
+        Snapshot<T> with(int id, T row) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0) {
+                // Take the old row out of the listing order, then place the new one
+                int[] newOrder = new int[order.length];
+                int oldPosition = findPosition(order, order.length, ids, data, index);
+                System.arraycopy(order, 0, newOrder, 0, oldPosition);
+                System.arraycopy(order, oldPosition + 1, newOrder, oldPosition, order.length - oldPosition - 1);
+
+                Object[] newData = layout.copy(data, ids.length);
+                layout.write(newData, index, row);
+                insertIntoOrder(newOrder, order.length - 1, ids, newData, index);
+                return new Snapshot<>(ids, newData, newOrder, layout, listingOrder);
+            }
+
+            int insertAt = -index - 1;
+            int[] newIds = new int[ids.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, insertAt);
+            newIds[insertAt] = id;
+            System.arraycopy(ids, insertAt, newIds, insertAt + 1, ids.length - insertAt);
+            Object[] newData = layout.insert(data, ids.length, insertAt);
+            layout.write(newData, insertAt, row);
+
+            // Rows from insertAt on moved up by one
+            int[] newOrder = new int[order.length + 1];
+            for (int i = 0; i < order.length; i++) {
+                newOrder[i] = order[i] >= insertAt ? order[i] + 1 : order[i];
+            }
+            insertIntoOrder(newOrder, order.length, newIds, newData, insertAt);
+            return new Snapshot<>(newIds, newData, newOrder, layout, listingOrder);
+        }
+
+        Snapshot<T> without(int id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+
+            int position = findPosition(order, order.length, ids, data, index);
+            int[] newOrder = new int[order.length - 1];
+            for (int i = 0, j = 0; i < order.length; i++) {
+                if (i != position) {
+                    // Rows after the removed one move down by one
+                    newOrder[j++] = order[i] > index ? order[i] - 1 : order[i];
+                }
+            }
+
+            int[] newIds = new int[ids.length - 1];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+            return new Snapshot<>(newIds, layout.remove(data, ids.length, index), newOrder, layout, listingOrder);
+        }
+
+        /**
+         * Binary-search the listing order for a row. Ties in the listing order
+         * are broken by ID, as in the full sort.
+         * @param order The listing order
+         * @param length Number of used entries in the order
+         * @param ids Row IDs the order refers to
+         * @param data Columns the order refers to
+         * @param index Index of the row to find
+         * @return The row's position, or where it belongs if it is not in the order
+         */
+        private int findPosition(int[] order, int length, int[] ids, Object[] data, int index) {
+            int low = 0;
+            int high = length - 1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int other = order[middle];
+                int comparison = listingOrder.compare(data, other, index);
+                if (comparison == 0) {
+                    comparison = Integer.compare(ids[other], ids[index]);
+                }
+
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Insert a row into the listing order, whose array has one free entry at the end
+         */
+        private void insertIntoOrder(int[] order, int length, int[] ids, Object[] data, int index) {
+            int position = findPosition(order, length, ids, data, index);
+            System.arraycopy(order, position, order, position + 1, length - position);
+            order[position] = index;
+        }
+
+        private static int[] sortedOrder(Object[] data, int size, ColumnLayout.RowOrder listingOrder) {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < boxed.length; i++) {
+                boxed[i] = i;
+            }
+
+            // Stable sort, so ties stay in ID order
+            Arrays.sort(boxed, (a, b) -> listingOrder.compare(data, a, b));
+
+            int[] order = new int[boxed.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = boxed[i];
+            }
+            return order;
+        }
+    }
+}
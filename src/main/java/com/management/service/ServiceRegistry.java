@@ -0,0 +1,157 @@
+package com.management.service;
+
+import com.management.dao.implementations.*;
+import com.management.dao.interfaces.*;
+
+/**
+ * Creates the DAOs and services of a session on first use, so a screen only
+ * pays for the services it needs. Every getter returns the same instance
+ * for the life of the registry.
+ */
+public class ServiceRegistry {
+    private final DatabaseService databaseService;
+    private final boolean useReadModel;
+
+    private CustomerDAO customerDAO;
+    private TechnicianDAO technicianDAO;
+    private ServiceRequestDAO serviceRequestDAO;
+    private QuoteDAO quoteDAO;
+    private PaymentDAO paymentDAO;
+    private RollupDAO rollupDAO;
+
+    private ReadModel readModel;
+    private CustomerService customerService;
+    private TechnicianService technicianService;
+    private ServiceRequestService serviceRequestService;
+    private QuoteService quoteService;
+    private PaymentService paymentService;
+    private UserService userService;
+
+    /**
+     * @param databaseService The database the services use
+     * @param useReadModel Whether listings are served from a shared in-memory read model
+     */
+    public ServiceRegistry(DatabaseService databaseService, boolean useReadModel) {
+        this.databaseService = databaseService;
+        this.useReadModel = useReadModel;
+    }
+
+    public DatabaseService getDatabaseService() {
+        return databaseService;
+    }
+
+    public synchronized CustomerService getCustomerService() {
+        if (customerService == null) {
+            customerService = new CustomerService(customerDAO(), serviceRequestDAO());
+            customerService.setReadModel(readModel());
+        }
+        return customerService;
+    }
+
+    public synchronized TechnicianService getTechnicianService() {
+        if (technicianService == null) {
+            technicianService = new TechnicianService(technicianDAO(), serviceRequestDAO());
+            technicianService.setReadModel(readModel());
+        }
+        return technicianService;
+    }
+
+    public synchronized ServiceRequestService getServiceRequestService() {
+        if (serviceRequestService == null) {
+            serviceRequestService = new ServiceRequestService(serviceRequestDAO(), customerDAO(), technicianDAO(),
+                    rollupDAO());
+            serviceRequestService.setReadModel(readModel());
+        }
+        return serviceRequestService;
+    }
+
+    public synchronized QuoteService getQuoteService() {
+        if (quoteService == null) {
+            quoteService = new QuoteService(quoteDAO(), serviceRequestDAO());
+        }
+        return quoteService;
+    }
+
+    public synchronized PaymentService getPaymentService() {
+        if (paymentService == null) {
+            paymentService = new PaymentService(paymentDAO(), serviceRequestDAO(), quoteDAO(), rollupDAO());
+        }
+        return paymentService;
+    }
+
+    public synchronized UserService getUserService() {
+        if (userService == null) {
+            userService = new UserService(new UserDAOImpl(databaseService));
+        }
+        return userService;
+    }
+
+    /**
+     * Release the read model and the services' subscriptions, if they were
+     * created, and the open connections
+     */
+    public synchronized void close() {
+        if (technicianService != null) {
+            technicianService.close();
+            technicianService = null;
+        }
+        if (serviceRequestService != null) {
+            serviceRequestService.close();
+            serviceRequestService = null;
+        }
+        if (readModel != null) {
+            readModel.close();
+            readModel = null;
+        }
+        databaseService.close();
+    }
+
+    private ReadModel readModel() {
+        if (readModel == null && useReadModel) {
+            readModel = new ReadModel(customerDAO(), technicianDAO(), serviceRequestDAO());
+        }
+        return readModel;
+    }
+
+    private CustomerDAO customerDAO() {
+        if (customerDAO == null) {
+            customerDAO = new CustomerDAOImpl(databaseService);
+        }
+        return customerDAO;
+    }
+
+    private TechnicianDAO technicianDAO() {
+        if (technicianDAO == null) {
+            technicianDAO = new TechnicianDAOImpl(databaseService);
+        }
+        return technicianDAO;
+    }
+
+    private ServiceRequestDAO serviceRequestDAO() {
+        if (serviceRequestDAO == null) {
+            serviceRequestDAO = new ServiceRequestDAOImpl(databaseService);
+        }
+        return serviceRequestDAO;
+    }
+
+    private QuoteDAO quoteDAO() {
+        if (quoteDAO == null) {
+            quoteDAO = new QuoteDAOImpl(databaseService);
+        }
+        return quoteDAO;
+    }
+
+    private PaymentDAO paymentDAO() {
+        if (paymentDAO == null) {
+            paymentDAO = new PaymentDAOImpl(databaseService);
+        }
+        return paymentDAO;
+    }
+
+    private RollupDAO rollupDAO() {
+        if (rollupDAO == null) {
+            rollupDAO = new RollupDAOImpl(databaseService);
+        }
+        return rollupDAO;
+    }
+}
@@ -1,18 +1,29 @@
 package com.management.service;
 
 import com.management.dao.interfaces.CustomerDAO;
+import com.management.dao.interfaces.RollupDAO;
 import com.management.dao.interfaces.ServiceRequestDAO;
 import com.management.dao.interfaces.TechnicianDAO;
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.ServiceRequestField;
 import com.management.model.Customer;
+import com.management.model.MonthlyRollup;
 import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
 import com.management.model.Technician;
+import com.management.model.TechnicianWorkload;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,17 +34,57 @@ public class ServiceRequestService {
     private final ServiceRequestDAO serviceRequestDAO;
     private final CustomerDAO customerDAO;
     private final TechnicianDAO technicianDAO;
+    private final RollupDAO rollupDAO;
+    private final DataChangeBus dataChangeBus = DataChangeBus.getInstance();
+    private volatile ReadModel readModel;
+    private final Runnable reloadSubscription;
+
+    // Most recently picked jobs, newest last
+    private static final int RECENT_JOBS_SIZE = 10;
+    private final Map<Integer, ServiceRequest> recentJobs = new LinkedHashMap<>();
+
+    // Workload counts are cached until a service request changes or the day rolls over
+    private volatile Map<Integer, TechnicianWorkload> technicianWorkloads;
+    private volatile LocalDate technicianWorkloadsDate;
 
     /**
      * Constructor with dependency injection
      * @param serviceRequestDAO The ServiceRequestDAO implementation
      * @param customerDAO The CustomerDAO implementation
      * @param technicianDAO The TechnicianDAO implementation
+     * @param rollupDAO The RollupDAO implementation
      */
-    public ServiceRequestService(ServiceRequestDAO serviceRequestDAO, CustomerDAO customerDAO, TechnicianDAO technicianDAO) {
+    public ServiceRequestService(ServiceRequestDAO serviceRequestDAO, CustomerDAO customerDAO,
+                                 TechnicianDAO technicianDAO, RollupDAO rollupDAO) {
         this.serviceRequestDAO = serviceRequestDAO;
         this.customerDAO = customerDAO;
         this.technicianDAO = technicianDAO;
+        this.rollupDAO = rollupDAO;
+
+        // Jobs changed by another process invalidate the cached workloads and recent jobs too
+        this.reloadSubscription = dataChangeBus.subscribe(ServiceRequest.class, event -> {
+            if (event.getType() == DataChangeEvent.Type.RELOADED) {
+                technicianWorkloads = null;
+                synchronized (recentJobs) {
+                    recentJobs.clear();
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop listening for data changes
+     */
+    public void close() {
+        reloadSubscription.run();
+    }
+
+    /**
+     * Serve read-only queries from a shared in-memory read model
+     * @param readModel The read model, or null to read from the database
+     */
+    public void setReadModel(ReadModel readModel) {
+        this.readModel = readModel;
     }
 
     /**
@@ -59,52 +110,63 @@ public class ServiceRequestService {
      * @return List of all service requests
      */
     public List<ServiceRequest> getAllServiceRequests() {
+        ReadModel model = readModel;
+        if (model != null) {
+            return model.getServiceRequests();
+        }
+
         List<ServiceRequest> serviceRequests = serviceRequestDAO.findAll();
         serviceRequests.forEach(this::loadCustomerDetails);
         return serviceRequests;
     }
 
     /**
-     * Get all service requests sorted by a field
+     * Get all service requests sorted by a field. Sorting is done by the database.
      * @param sortField The field to sort by
      * @param ascending Whether to sort in ascending order
      * @return Sorted list of service requests
      */
     public List<ServiceRequest> getAllServiceRequestsSorted(String sortField, boolean ascending) {
-        List<ServiceRequest> serviceRequests = serviceRequestDAO.findAll();
-
-        // Load customer details for all service requests
-        serviceRequests.forEach(this::loadCustomerDetails);
-
-        Comparator<ServiceRequest> comparator = null;
+        QuerySpec<ServiceRequestField> spec = new QuerySpec<>();
 
         switch (sortField.toLowerCase()) {
             case "date":
-                comparator = Comparator.comparing(ServiceRequest::getServiceDate);
+                spec.orderBy(ServiceRequestField.SERVICE_DATE, ascending);
                 break;
             case "customer":
-                comparator = Comparator.comparing(sr -> {
-                    Customer customer = sr.getCustomer();
-                    return customer != null ? customer.getLastName() + ", " + customer.getFirstName() : "";
-                });
+                spec.orderBy(ServiceRequestField.CUSTOMER_LAST_NAME, ascending)
+                        .orderBy(ServiceRequestField.CUSTOMER_FIRST_NAME, ascending);
                 break;
             case "status":
-                comparator = Comparator.comparing(sr -> sr.getStatus() != null ? sr.getStatus() : "");
+                spec.orderBy(ServiceRequestField.STATUS, ascending);
                 break;
             case "cost":
-                comparator = Comparator.comparing(ServiceRequest::getTotalCost);
+                spec.orderBy(ServiceRequestField.TOTAL_COST, ascending);
                 break;
             default:
-                comparator = Comparator.comparing(ServiceRequest::getJobId);
+                spec.orderBy(ServiceRequestField.JOB_ID, ascending);
         }
 
-        if (!ascending) {
-            comparator = comparator.reversed();
-        }
+        return findServiceRequests(spec);
+    }
 
-        return serviceRequests.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+    /**
+     * Find the service requests matching a specification, in its order. Each
+     * comes with its technicians and its customer's name, number and email.
+     * @param spec The filters, sort keys and page to read
+     * @return List of matching service requests
+     */
+    public List<ServiceRequest> findServiceRequests(QuerySpec<ServiceRequestField> spec) {
+        return serviceRequestDAO.find(spec);
+    }
+
+    /**
+     * Count the service requests matching a specification
+     * @param spec The filters to apply; sort keys and paging are ignored
+     * @return The number of matching service requests
+     */
+    public int countServiceRequests(QuerySpec<ServiceRequestField> spec) {
+        return serviceRequestDAO.count(spec);
     }
 
     /**
@@ -122,6 +184,15 @@ public class ServiceRequestService {
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
 
+        ReadModel model = readModel;
+        if (model != null) {
+            // Same ascending date order as the query
+            List<ServiceRequest> inRange = model.findServiceRequests(sr -> sr.getServiceDate() != null
+                    && !sr.getServiceDate().isBefore(startDate) && !sr.getServiceDate().isAfter(endDate));
+            inRange.sort(Comparator.comparing(ServiceRequest::getServiceDate));
+            return inRange;
+        }
+
         List<ServiceRequest> serviceRequests = serviceRequestDAO.findByDateRange(startDate, endDate);
         serviceRequests.forEach(this::loadCustomerDetails);
         return serviceRequests;
@@ -150,7 +221,9 @@ public class ServiceRequestService {
                     }
 
                     // Search in status
-                    if (sr.getStatus() != null && sr.getStatus().toLowerCase().contains(finalSearchTerm)) {
+                    ServiceRequestStatus status = sr.getStatusValue();
+                    if (status != null ? status.matches(finalSearchTerm)
+                            : sr.getStatus() != null && sr.getStatus().toLowerCase().contains(finalSearchTerm)) {
                         return true;
                     }
 
@@ -183,6 +256,79 @@ public class ServiceRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Search jobs for a picker by prefix of reference number, customer name,
+     * company or service date (yyyy-MM-dd), or by job ID. Results carry the
+     * customer's name but not technicians.
+     * @param prefix The search prefix; empty returns the most recent jobs
+     * @param offset The number of results to skip
+     * @param limit The maximum number of results
+     * @return One page of matching jobs, most recent service date first
+     */
+    public List<ServiceRequest> searchJobs(String prefix, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        return serviceRequestDAO.searchByPrefix(prefix, offset, limit);
+    }
+
+    /**
+     * Get one page of service requests with their customers and technicians
+     * @param status The status to filter by, or null for all service requests
+     * @param offset Number of jobs to skip
+     * @param limit Maximum number of jobs to return
+     * @return One page of jobs, most recent service date first
+     */
+    public List<ServiceRequest> getServiceRequestsPage(String status, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        return serviceRequestDAO.findPage(status, offset, limit);
+    }
+
+    /**
+     * Get the jobs most recently picked in a form
+     * @return Recently picked jobs, most recent first
+     */
+    public List<ServiceRequest> getRecentJobs() {
+        synchronized (recentJobs) {
+            List<ServiceRequest> jobs = new ArrayList<>(recentJobs.values());
+            Collections.reverse(jobs);
+            return jobs;
+        }
+    }
+
+    /**
+     * Remember a job as recently picked
+     * @param serviceRequest The picked job
+     */
+    public void markJobRecentlyUsed(ServiceRequest serviceRequest) {
+        if (serviceRequest == null || serviceRequest.getJobId() <= 0) {
+            return;
+        }
+
+        synchronized (recentJobs) {
+            // Re-insert so the job moves to the end
+            recentJobs.remove(serviceRequest.getJobId());
+            recentJobs.put(serviceRequest.getJobId(), serviceRequest);
+
+            if (recentJobs.size() > RECENT_JOBS_SIZE) {
+                Integer eldest = recentJobs.keySet().iterator().next();
+                recentJobs.remove(eldest);
+            }
+        }
+    }
+
     /**
      * Get service requests by status
      * @param status The status to filter by
@@ -193,6 +339,15 @@ public class ServiceRequestService {
             return getAllServiceRequests();
         }
 
+        ReadModel model = readModel;
+        if (model != null) {
+            ServiceRequestStatus wanted = ServiceRequestStatus.fromLabel(status);
+            if (wanted != null) {
+                return model.findServiceRequests(sr -> sr.hasStatus(wanted));
+            }
+            return model.findServiceRequests(sr -> status.equals(sr.getStatus()));
+        }
+
         List<ServiceRequest> serviceRequests = serviceRequestDAO.findByStatus(status);
         serviceRequests.forEach(this::loadCustomerDetails);
         return serviceRequests;
@@ -208,10 +363,15 @@ public class ServiceRequestService {
 
         // Set default status if not provided
         if (serviceRequest.getStatus() == null || serviceRequest.getStatus().trim().isEmpty()) {
-            serviceRequest.setStatus("Pending");
+            serviceRequest.setStatus(ServiceRequestStatus.PENDING.getLabel());
+        }
+
+        int jobId = serviceRequestDAO.save(serviceRequest);
+        if (jobId > 0) {
+            publishServiceRequestChange(DataChangeEvent.Type.CREATED, jobId);
         }
 
-        return serviceRequestDAO.save(serviceRequest);
+        return jobId;
     }
 
     /**
@@ -230,7 +390,12 @@ public class ServiceRequestService {
 
         validateServiceRequest(serviceRequest);
 
-        return serviceRequestDAO.update(serviceRequest);
+        boolean updated = serviceRequestDAO.update(serviceRequest);
+        if (updated) {
+            publishServiceRequestChange(DataChangeEvent.Type.UPDATED, serviceRequest.getJobId());
+        }
+
+        return updated;
     }
 
     /**
@@ -243,7 +408,16 @@ public class ServiceRequestService {
             throw new IllegalArgumentException("Invalid job ID");
         }
 
-        return serviceRequestDAO.delete(jobId);
+        boolean deleted = serviceRequestDAO.delete(jobId);
+        if (deleted) {
+            technicianWorkloads = null;
+            synchronized (recentJobs) {
+                recentJobs.remove(jobId);
+            }
+            dataChangeBus.publish(DataChangeEvent.deleted(ServiceRequest.class, jobId));
+        }
+
+        return deleted;
     }
 
     /**
@@ -273,7 +447,12 @@ public class ServiceRequestService {
             throw new IllegalArgumentException("Service request not found");
         }
 
-        return serviceRequestDAO.assignTechnician(jobId, technicianId);
+        boolean assigned = serviceRequestDAO.assignTechnician(jobId, technicianId);
+        if (assigned) {
+            publishServiceRequestChange(DataChangeEvent.Type.UPDATED, jobId);
+        }
+
+        return assigned;
     }
 
     /**
@@ -291,7 +470,12 @@ public class ServiceRequestService {
             throw new IllegalArgumentException("Invalid technician ID");
         }
 
-        return serviceRequestDAO.removeTechnician(jobId, technicianId);
+        boolean removed = serviceRequestDAO.removeTechnician(jobId, technicianId);
+        if (removed) {
+            publishServiceRequestChange(DataChangeEvent.Type.UPDATED, jobId);
+        }
+
+        return removed;
     }
 
     /**
@@ -309,7 +493,12 @@ public class ServiceRequestService {
             throw new IllegalArgumentException("Status cannot be empty");
         }
 
-        return serviceRequestDAO.updateStatus(jobId, status);
+        boolean updated = serviceRequestDAO.updateStatus(jobId, status);
+        if (updated) {
+            publishServiceRequestChange(DataChangeEvent.Type.UPDATED, jobId);
+        }
+
+        return updated;
     }
 
     /**
@@ -317,7 +506,17 @@ public class ServiceRequestService {
      * @return The total number of service requests
      */
     public int countServiceRequests() {
-        return serviceRequestDAO.count();
+        ReadModel model = readModel;
+        return model != null ? model.countServiceRequests() : serviceRequestDAO.count();
+    }
+
+    /**
+     * Count service requests with a status
+     * @param status The status, or null to count all service requests
+     * @return The number of matching service requests
+     */
+    public int countServiceRequests(String status) {
+        return status != null ? serviceRequestDAO.countByStatus(status) : countServiceRequests();
     }
 
     /**
@@ -365,6 +564,57 @@ public class ServiceRequestService {
         return getServiceRequestsByDateRange(startDate, endDate);
     }
 
+    /**
+     * Get pre-aggregated job counts and costs per month and status
+     * @param fromMonth The first month (inclusive)
+     * @param toMonth The last month (inclusive)
+     * @return List of monthly rollups ordered by month
+     */
+    public List<MonthlyRollup> getMonthlyRollups(YearMonth fromMonth, YearMonth toMonth) {
+        validateMonthRange(fromMonth, toMonth);
+        return rollupDAO.findMonthlyRollups(fromMonth, toMonth);
+    }
+
+    /**
+     * Get pre-aggregated job counts and costs per month, technician and status
+     * @param fromMonth The first month (inclusive)
+     * @param toMonth The last month (inclusive)
+     * @return List of technician monthly rollups ordered by month
+     */
+    public List<MonthlyRollup> getTechnicianMonthlyRollups(YearMonth fromMonth, YearMonth toMonth) {
+        validateMonthRange(fromMonth, toMonth);
+        return rollupDAO.findTechnicianMonthlyRollups(fromMonth, toMonth);
+    }
+
+    /**
+     * Get pre-aggregated job counts and costs per month, customer and status
+     * @param fromMonth The first month (inclusive)
+     * @param toMonth The last month (inclusive)
+     * @return List of customer monthly rollups ordered by month
+     */
+    public List<MonthlyRollup> getCustomerMonthlyRollups(YearMonth fromMonth, YearMonth toMonth) {
+        validateMonthRange(fromMonth, toMonth);
+        return rollupDAO.findCustomerMonthlyRollups(fromMonth, toMonth);
+    }
+
+    /**
+     * Recompute all rollup tables from the service request and payment rows
+     * @return true if the rebuild succeeded
+     */
+    public boolean rebuildRollups() {
+        return rollupDAO.rebuild();
+    }
+
+    private void validateMonthRange(YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth == null || toMonth == null) {
+            throw new IllegalArgumentException("Start month and end month cannot be null");
+        }
+
+        if (fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("Start month cannot be after end month");
+        }
+    }
+
     /**
      * Generate ICS time strings for a service request
      * @param serviceRequest The service request to update
@@ -416,6 +666,27 @@ public class ServiceRequestService {
         }
     }
 
+    /**
+     * Re-read a changed service request with its customer and technicians and publish it
+     * @param type The kind of change
+     * @param jobId The job ID
+     */
+    private void publishServiceRequestChange(DataChangeEvent.Type type, int jobId) {
+        technicianWorkloads = null;
+        serviceRequestDAO.findById(jobId).ifPresent(serviceRequest -> {
+            loadCustomerDetails(serviceRequest);
+
+            // Keep recently picked jobs current without changing their order
+            synchronized (recentJobs) {
+                recentJobs.replace(jobId, serviceRequest);
+            }
+
+            dataChangeBus.publish(type == DataChangeEvent.Type.CREATED
+                    ? DataChangeEvent.created(ServiceRequest.class, jobId, serviceRequest)
+                    : DataChangeEvent.updated(ServiceRequest.class, jobId, serviceRequest));
+        });
+    }
+
     /**
      * Validate a service request
      * @param serviceRequest The service request to validate
@@ -455,6 +726,35 @@ public class ServiceRequestService {
         }
     }
 
+    /**
+     * Get assignment counts for all technicians with one grouped query.
+     * Results are cached until a service request changes.
+     * @return Map of technician ID to workload; technicians without
+     *         assignments are absent
+     */
+    public Map<Integer, TechnicianWorkload> getTechnicianWorkloads() {
+        LocalDate today = LocalDate.now();
+        Map<Integer, TechnicianWorkload> workloads = technicianWorkloads;
+
+        if (workloads == null || !today.equals(technicianWorkloadsDate)) {
+            workloads = Collections.unmodifiableMap(serviceRequestDAO.findTechnicianWorkloads(today));
+            technicianWorkloads = workloads;
+            technicianWorkloadsDate = today;
+        }
+
+        return workloads;
+    }
+
+    /**
+     * Get the assignment counts for one technician
+     * @param technicianId The technician ID
+     * @return The technician's workload, with zero counts if unassigned
+     */
+    public TechnicianWorkload getTechnicianWorkload(int technicianId) {
+        TechnicianWorkload workload = getTechnicianWorkloads().get(technicianId);
+        return workload != null ? workload : new TechnicianWorkload(technicianId, 0, 0, 0);
+    }
+
     /**
      * Get service requests for a technician
      * @param technicianId The technician ID
@@ -0,0 +1,146 @@
+package com.management.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The catalog of statements the DAOs prepare, each named after the DAO
+ * method that first prepared it, with how often a cached compiled statement
+ * was reused (a hit) or the SQL had to be parsed and planned again (a miss).
+ * Statements built from search input can have endless variants, so only the
+ * first {@value #MAX_ENTRIES} distinct statements are listed; the totals
+ * count all of them.
+ */
+public final class StatementCatalog {
+    private static final int MAX_ENTRIES = 500;
+    private static final StatementCatalog INSTANCE = new StatementCatalog();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private StatementCatalog() {
+    }
+
+    /**
+     * Get the application-wide statement catalog
+     * @return The shared instance
+     */
+    public static StatementCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The share of prepares served from the cache, between 0 and 1
+     */
+    public double getHitRate() {
+        return hitRate(getHits(), getMisses());
+    }
+
+    /**
+     * @return The catalogued statements, most used first
+     */
+    public List<StatementStats> getStatements() {
+        List<StatementStats> statements = new ArrayList<>();
+        entries.forEach((sql, entry) -> statements.add(
+                new StatementStats(entry.name, sql, entry.hits.sum(), entry.misses.sum())));
+        statements.sort(Comparator.comparingLong(StatementStats::getPrepares).reversed());
+        return statements;
+    }
+
+    public void reset() {
+        entries.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    void recordHit(String sql) {
+        hits.increment();
+        Entry entry = entries.get(sql);
+        if (entry != null) {
+            entry.hits.increment();
+        }
+    }
+
+    void recordMiss(String sql) {
+        misses.increment();
+        Entry entry = entries.get(sql);
+        if (entry == null && entries.size() < MAX_ENTRIES) {
+            entry = entries.computeIfAbsent(sql, k -> new Entry(QueryCaller.find().getMethod()));
+        }
+        if (entry != null) {
+            entry.misses.increment();
+        }
+    }
+
+    private static double hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        Entry(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Snapshot of one catalogued statement
+     */
+    public static final class StatementStats {
+        private final String name;
+        private final String sql;
+        private final long hits;
+        private final long misses;
+
+        public StatementStats(String name, String sql, long hits, long misses) {
+            this.name = name;
+            this.sql = sql;
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        /**
+         * @return The DAO method that first prepared the statement
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPrepares() {
+            return hits + misses;
+        }
+
+        public double getHitRate() {
+            return hitRate(hits, misses);
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.management.service;
 
 import com.management.dao.interfaces.ServiceRequestDAO;
 import com.management.dao.interfaces.TechnicianDAO;
+import com.management.dao.query.QuerySpec;
+import com.management.dao.query.TechnicianField;
 import com.management.model.ServiceRequest;
 import com.management.model.Technician;
+import com.management.model.TechnicianWorkload;
+import com.management.util.CoverageAreaParser;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -16,6 +20,12 @@ import java.util.stream.Collectors;
 public class TechnicianService {
     private final TechnicianDAO technicianDAO;
     private final ServiceRequestDAO serviceRequestDAO;
+    private final DataChangeBus dataChangeBus = DataChangeBus.getInstance();
+    private volatile ReadModel readModel;
+
+    // Built on first use and dropped whenever a technician changes, here or in another instance
+    private volatile CoverageIndex coverageIndex;
+    private final Runnable reloadSubscription;
 
     // Email validation pattern
     private static final Pattern EMAIL_PATTERN =
@@ -29,6 +39,28 @@ public class TechnicianService {
     public TechnicianService(TechnicianDAO technicianDAO, ServiceRequestDAO serviceRequestDAO) {
         this.technicianDAO = technicianDAO;
         this.serviceRequestDAO = serviceRequestDAO;
+
+        // Coverage written by another instance sharing the database
+        this.reloadSubscription = dataChangeBus.subscribe(Technician.class, event -> {
+            if (event.getType() == DataChangeEvent.Type.RELOADED) {
+                coverageIndex = null;
+            }
+        });
+    }
+
+    /**
+     * Stop listening for data changes
+     */
+    public void close() {
+        reloadSubscription.run();
+    }
+
+    /**
+     * Serve read-only queries from a shared in-memory read model
+     * @param readModel The read model, or null to read from the database
+     */
+    public void setReadModel(ReadModel readModel) {
+        this.readModel = readModel;
     }
 
     /**
@@ -49,48 +81,58 @@ public class TechnicianService {
      * @return List of all technicians
      */
     public List<Technician> getAllTechnicians() {
-        return technicianDAO.findAll();
+        ReadModel model = readModel;
+        return model != null ? model.getTechnicians() : technicianDAO.findAll();
     }
 
     /**
-     * Get all technicians sorted by a field
+     * Get all technicians sorted by a field. Sorting is done by the database.
      * @param sortField The field to sort by
      * @param ascending Whether to sort in ascending order
      * @return Sorted list of technicians
      */
     public List<Technician> getAllTechniciansSorted(String sortField, boolean ascending) {
-        List<Technician> technicians = technicianDAO.findAll();
-
-        Comparator<Technician> comparator = null;
+        QuerySpec<TechnicianField> spec = new QuerySpec<>();
 
         switch (sortField.toLowerCase()) {
             case "name":
-                comparator = Comparator.comparing(Technician::getLastName)
-                        .thenComparing(Technician::getFirstName);
+                spec.orderBy(TechnicianField.LAST_NAME, ascending).orderBy(TechnicianField.FIRST_NAME, ascending);
                 break;
             case "credentials":
-                comparator = Comparator.comparing(t -> t.getCredentials() != null ? t.getCredentials() : "");
+                spec.orderBy(TechnicianField.CREDENTIALS, ascending);
                 break;
             case "email":
-                comparator = Comparator.comparing(Technician::getEmail);
+                spec.orderBy(TechnicianField.EMAIL, ascending);
                 break;
             case "credential_level":
-                comparator = Comparator.comparing(t -> t.getCredentialLevel() != null ? t.getCredentialLevel() : "");
+                spec.orderBy(TechnicianField.CREDENTIAL_LEVEL, ascending);
                 break;
             case "coverage_area":
-                comparator = Comparator.comparing(t -> t.getCoverageArea() != null ? t.getCoverageArea() : "");
+                spec.orderBy(TechnicianField.COVERAGE_AREA, ascending);
                 break;
             default:
-                comparator = Comparator.comparing(Technician::getTechnicianId);
+                spec.orderBy(TechnicianField.TECHNICIAN_ID, ascending);
         }
 
-        if (!ascending) {
-            comparator = comparator.reversed();
-        }
+        return findTechnicians(spec);
+    }
 
-        return technicians.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+    /**
+     * Find the technicians matching a specification, in its order
+     * @param spec The filters, sort keys and page to read
+     * @return List of matching technicians
+     */
+    public List<Technician> findTechnicians(QuerySpec<TechnicianField> spec) {
+        return technicianDAO.find(spec);
+    }
+
+    /**
+     * Count the technicians matching a specification
+     * @param spec The filters to apply; sort keys and paging are ignored
+     * @return The number of matching technicians
+     */
+    public int countTechnicians(QuerySpec<TechnicianField> spec) {
+        return technicianDAO.count(spec);
     }
 
     /**
@@ -100,18 +142,28 @@ public class TechnicianService {
      */
     public List<Technician> searchTechnicians(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return technicianDAO.findAll();
+            return getAllTechnicians();
         }
 
         searchTerm = searchTerm.trim();
+        ReadModel model = readModel;
 
         // If it looks like an email, search by email
         if (EMAIL_PATTERN.matcher(searchTerm).matches()) {
+            if (model != null) {
+                String email = searchTerm;
+                return model.findTechnicians(t -> email.equals(t.getEmail()));
+            }
             Optional<Technician> technician = technicianDAO.findByEmail(searchTerm);
             return technician.map(Collections::singletonList).orElse(Collections.emptyList());
         }
 
         // Search by name
+        if (model != null) {
+            String term = searchTerm.toLowerCase();
+            return model.findTechnicians(t -> (t.getFirstName() != null && t.getFirstName().toLowerCase().contains(term))
+                    || (t.getLastName() != null && t.getLastName().toLowerCase().contains(term)));
+        }
         return technicianDAO.findByName(searchTerm);
     }
 
@@ -122,7 +174,12 @@ public class TechnicianService {
      */
     public List<Technician> findByCredentialLevel(String credentialLevel) {
         if (credentialLevel == null || credentialLevel.trim().isEmpty()) {
-            return technicianDAO.findAll();
+            return getAllTechnicians();
+        }
+
+        ReadModel model = readModel;
+        if (model != null) {
+            return model.findTechnicians(t -> credentialLevel.equals(t.getCredentialLevel()));
         }
 
         return technicianDAO.findByCredentialLevel(credentialLevel);
@@ -171,17 +228,9 @@ public class TechnicianService {
 
         // Filter by coverage area/zip if provided
         if (serviceZip != null && !serviceZip.trim().isEmpty()) {
+            Set<Integer> coveringIds = getCoverageIndex().techniciansCovering(CoverageAreaParser.normalizeZip(serviceZip));
             allTechnicians = allTechnicians.stream()
-                    .filter(t -> {
-                        // Check if technician's zip code matches
-                        if (serviceZip.equals(t.getZipCode())) {
-                            return true;
-                        }
-
-                        // Check if service zip is in technician's coverage area
-                        String coverageArea = t.getCoverageArea();
-                        return coverageArea != null && coverageArea.contains(serviceZip);
-                    })
+                    .filter(t -> coveringIds.contains(t.getTechnicianId()))
                     .collect(Collectors.toList());
         }
 
@@ -215,6 +264,47 @@ public class TechnicianService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Find the technicians whose coverage is nearest to a zip code, for when
+     * nobody covers it exactly. Technicians covering the zip come first.
+     * @param serviceZip The service zip code
+     * @param limit The maximum number of technicians to return
+     * @return Technicians ordered by coverage distance
+     */
+    public List<Technician> findNearestTechnicians(String serviceZip, int limit) {
+        String zip = CoverageAreaParser.normalizeZip(serviceZip);
+        if (zip == null) {
+            throw new IllegalArgumentException("Invalid zip code");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        List<Integer> rankedIds = getCoverageIndex().nearestTechnicians(zip, limit);
+
+        Map<Integer, Technician> techniciansById = technicianDAO.findAll().stream()
+                .collect(Collectors.toMap(Technician::getTechnicianId, t -> t));
+
+        return rankedIds.stream()
+                .map(techniciansById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the coverage index, building it from the coverage table if needed
+     * @return The coverage index
+     */
+    private CoverageIndex getCoverageIndex() {
+        CoverageIndex index = coverageIndex;
+        if (index == null) {
+            index = new CoverageIndex(technicianDAO.findAllCoverageEntries());
+            coverageIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Create a new technician
      * @param technician The technician to create
@@ -222,7 +312,15 @@ public class TechnicianService {
      */
     public int createTechnician(Technician technician) {
         validateTechnician(technician);
-        return technicianDAO.save(technician);
+
+        int technicianId = technicianDAO.save(technician);
+        if (technicianId > 0) {
+            technician.setTechnicianId(technicianId);
+            coverageIndex = null;
+            dataChangeBus.publish(DataChangeEvent.created(Technician.class, technicianId, technician));
+        }
+
+        return technicianId;
     }
 
     /**
@@ -241,7 +339,13 @@ public class TechnicianService {
 
         validateTechnician(technician);
 
-        return technicianDAO.update(technician);
+        boolean updated = technicianDAO.update(technician);
+        if (updated) {
+            coverageIndex = null;
+            dataChangeBus.publish(DataChangeEvent.updated(Technician.class, technician.getTechnicianId(), technician));
+        }
+
+        return updated;
     }
 
     /**
@@ -260,7 +364,13 @@ public class TechnicianService {
             throw new IllegalStateException("Cannot delete technician with existing service assignments");
         }
 
-        return technicianDAO.delete(technicianId);
+        boolean deleted = technicianDAO.delete(technicianId);
+        if (deleted) {
+            coverageIndex = null;
+            dataChangeBus.publish(DataChangeEvent.deleted(Technician.class, technicianId));
+        }
+
+        return deleted;
     }
 
     /**
@@ -268,7 +378,8 @@ public class TechnicianService {
      * @return The total number of technicians
      */
     public int countTechnicians() {
-        return technicianDAO.count();
+        ReadModel model = readModel;
+        return model != null ? model.countTechnicians() : technicianDAO.count();
     }
 
     /**
@@ -284,6 +395,26 @@ public class TechnicianService {
         return serviceRequestDAO.findByTechnicianId(technicianId);
     }
 
+    /**
+     * Get a technician's service requests within a date range, ordered by
+     * date and start time. Technicians are not loaded on the returned jobs.
+     * @param technicianId The technician ID
+     * @param startDate First day to include, or null for no lower bound
+     * @param endDate Last day to include, or null for no upper bound
+     * @return List of service requests in schedule order
+     */
+    public List<ServiceRequest> getTechnicianSchedule(int technicianId, LocalDate startDate, LocalDate endDate) {
+        if (technicianId <= 0) {
+            throw new IllegalArgumentException("Invalid technician ID");
+        }
+
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        return serviceRequestDAO.findByTechnicianAndDateRange(technicianId, startDate, endDate);
+    }
+
     /**
      * Get technicians sorted by workload (number of assigned service requests)
      * @param ascending Whether to sort in ascending order (true = least busy first)
@@ -292,16 +423,14 @@ public class TechnicianService {
     public List<Technician> getTechniciansByWorkload(boolean ascending) {
         List<Technician> technicians = technicianDAO.findAll();
 
-        // Create a map of technician ID to number of assigned service requests
-        Map<Integer, Integer> workloadMap = new HashMap<>();
-
-        for (Technician technician : technicians) {
-            int count = serviceRequestDAO.findByTechnicianId(technician.getTechnicianId()).size();
-            workloadMap.put(technician.getTechnicianId(), count);
-        }
+        // Assignment counts for all technicians from one grouped query
+        Map<Integer, TechnicianWorkload> workloadMap = serviceRequestDAO.findTechnicianWorkloads(LocalDate.now());
 
         // Sort technicians by workload
-        Comparator<Technician> comparator = Comparator.comparing(t -> workloadMap.getOrDefault(t.getTechnicianId(), 0));
+        Comparator<Technician> comparator = Comparator.comparing(t -> {
+            TechnicianWorkload workload = workloadMap.get(t.getTechnicianId());
+            return workload != null ? workload.getAssignedCount() : 0;
+        });
 
         if (!ascending) {
             comparator = comparator.reversed();
@@ -14,6 +14,7 @@ import java.util.regex.Pattern;
  */
 public class UserService {
     private final UserDAO userDAO;
+    private final DataChangeBus dataChangeBus = DataChangeBus.getInstance();
 
     // Password requirements
     private static final int MIN_PASSWORD_LENGTH = 8;
@@ -104,7 +105,13 @@ public class UserService {
         user.setPassword(hashedPassword);
         user.setAdmin(isAdmin);
 
-        return userDAO.save(user);
+        int userId = userDAO.save(user);
+        if (userId > 0) {
+            user.setUserId(userId);
+            dataChangeBus.publish(DataChangeEvent.created(User.class, userId, user));
+        }
+
+        return userId;
     }
 
     /**
@@ -129,7 +136,12 @@ public class UserService {
             throw new IllegalArgumentException("Username already exists");
         }
 
-        return userDAO.update(user);
+        boolean updated = userDAO.update(user);
+        if (updated) {
+            dataChangeBus.publish(DataChangeEvent.updated(User.class, user.getUserId(), user));
+        }
+
+        return updated;
     }
 
     /**
@@ -166,7 +178,13 @@ public class UserService {
         String hashedNewPassword = hashPassword(newPassword);
 
         // Update the password
-        return userDAO.updatePassword(userId, hashedNewPassword);
+        boolean updated = userDAO.updatePassword(userId, hashedNewPassword);
+        if (updated) {
+            user.setPassword(hashedNewPassword);
+            dataChangeBus.publish(DataChangeEvent.updated(User.class, userId, user));
+        }
+
+        return updated;
     }
 
     /**
@@ -186,7 +204,12 @@ public class UserService {
         String hashedNewPassword = hashPassword(newPassword);
 
         // Update the password
-        return userDAO.updatePassword(userId, hashedNewPassword);
+        boolean updated = userDAO.updatePassword(userId, hashedNewPassword);
+        if (updated) {
+            dataChangeBus.publish(DataChangeEvent.updated(User.class, userId, userDAO.findById(userId).orElse(null)));
+        }
+
+        return updated;
     }
 
     /**
@@ -199,7 +222,12 @@ public class UserService {
             throw new IllegalArgumentException("Invalid user ID");
         }
 
-        return userDAO.delete(userId);
+        boolean deleted = userDAO.delete(userId);
+        if (deleted) {
+            dataChangeBus.publish(DataChangeEvent.deleted(User.class, userId));
+        }
+
+        return deleted;
     }
 
     /**
@@ -0,0 +1,222 @@
+package com.management.util;
+
+import com.management.service.QueryCancellation;
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the blocking work of controllers - database calls, file exports,
+ * email - off the FX thread. Each kind of resource has its own bounded pool,
+ * so a slow mail server cannot hold up queries and writes to the database
+ * are serialized. The pools use platform threads, since virtual threads
+ * would need Java 21. Results and failures are delivered on the FX thread.
+ *
+ * Work submitted with an owner node is cancelled when the owner is taken out
+ * of its scene, i.e. when its view is closed; database work cancelled that
+ * way has its running statements interrupted.
+ */
+public final class BackgroundTasks {
+    /**
+     * The resources background work is bounded by
+     */
+    public enum Resource {
+        DATABASE("db", 4, true),
+        DATABASE_WRITER("db-writer", 1, true),
+        SMTP("smtp", 2, false),
+        DISK("disk", 2, false);
+
+        private final String threadName;
+        private final int threads;
+        private final boolean cancelsQueries;
+
+        Resource(String threadName, int threads, boolean cancelsQueries) {
+            this.threadName = threadName;
+            this.threads = threads;
+            this.cancelsQueries = cancelsQueries;
+        }
+    }
+
+    /**
+     * Work that reports its progress while it runs
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    /**
+     * Lets work report progress and notice cancellation
+     */
+    public interface Progress {
+        void update(long done, long total);
+
+        void message(String message);
+
+        boolean isCancelled();
+    }
+
+    private static final BackgroundTasks INSTANCE = new BackgroundTasks();
+
+    private final Map<Resource, ExecutorService> executors = new EnumMap<>(Resource.class);
+
+    private BackgroundTasks() {
+        for (Resource resource : Resource.values()) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executors.put(resource, Executors.newFixedThreadPool(resource.threads, runnable -> {
+                Thread thread = new Thread(runnable, resource.threadName + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+    }
+
+    /**
+     * Get the application-wide task service
+     * @return The shared instance
+     */
+    public static BackgroundTasks getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run work in the background
+     * @param owner The node whose view bounds the work, or null to let it finish regardless
+     * @param resource The resource the work uses
+     * @param work The work to run
+     * @param onSuccess Receives the result on the FX thread, may be null
+     * @param onFailure Receives the failure on the FX thread, may be null
+     * @return The running task, for binding its progress and message
+     */
+    public <T> Task<T> submit(Node owner, Resource resource, Callable<T> work,
+                              Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        return submit(owner, resource, progress -> work.call(), onSuccess, onFailure);
+    }
+
+    /**
+     * Run work that reports progress in the background
+     * @param owner The node whose view bounds the work, or null to let it finish regardless
+     * @param resource The resource the work uses
+     * @param work The work to run
+     * @param onSuccess Receives the result on the FX thread, may be null
+     * @param onFailure Receives the failure on the FX thread, may be null
+     * @return The running task, for binding its progress and message
+     */
+    public <T> Task<T> submit(Node owner, Resource resource, Work<T> work,
+                              Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        BackgroundTask<T> task = new BackgroundTask<>(resource, work);
+
+        task.setOnSucceeded(event -> {
+            if (onSuccess != null) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            Throwable error = task.getException();
+            error.printStackTrace();
+            if (onFailure != null) {
+                onFailure.accept(error);
+            }
+        });
+
+        if (owner != null) {
+            ChangeListener<Scene> ownerListener = (obs, oldScene, newScene) -> {
+                if (oldScene != null && newScene == null) {
+                    task.cancel(true);
+                }
+            };
+            owner.sceneProperty().addListener(ownerListener);
+            task.stateProperty().addListener((obs, oldState, newState) -> {
+                if (isFinished(newState)) {
+                    owner.sceneProperty().removeListener(ownerListener);
+                }
+            });
+        }
+
+        executors.get(resource).execute(task);
+        return task;
+    }
+
+    /**
+     * Show a task's messages in a label while it runs. The label keeps the
+     * last message and can be set again once the task has finished.
+     * @param task The task to follow
+     * @param label The label to show its messages in
+     */
+    public static void showStatus(Task<?> task, Labeled label) {
+        label.textProperty().bind(task.messageProperty());
+        task.stateProperty().addListener((obs, oldState, newState) -> {
+            if (isFinished(newState)) {
+                label.textProperty().unbind();
+            }
+        });
+    }
+
+    /**
+     * Disable a node while a task runs, e.g. a form while its write is
+     * queued, so the same change cannot be submitted twice
+     * @param task The task to follow
+     * @param node The node to disable
+     */
+    public static void disableWhileRunning(Task<?> task, Node node) {
+        node.setDisable(true);
+        task.stateProperty().addListener((obs, oldState, newState) -> {
+            if (isFinished(newState)) {
+                node.setDisable(false);
+            }
+        });
+    }
+
+    private static boolean isFinished(Worker.State state) {
+        return state == Worker.State.SUCCEEDED || state == Worker.State.FAILED || state == Worker.State.CANCELLED;
+    }
+
+    private static final class BackgroundTask<T> extends Task<T> implements Progress {
+        private final Resource resource;
+        private final Work<T> work;
+        private final QueryCancellation queryCancellation = new QueryCancellation();
+
+        BackgroundTask(Resource resource, Work<T> work) {
+            this.resource = resource;
+            this.work = work;
+        }
+
+        @Override
+        protected T call() throws Exception {
+            if (resource.cancelsQueries) {
+                return queryCancellation.run(() -> work.run(this));
+            }
+            return work.run(this);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                queryCancellation.cancel();
+            }
+            return cancelled;
+        }
+
+        @Override
+        public void update(long done, long total) {
+            updateProgress(done, total);
+        }
+
+        @Override
+        public void message(String message) {
+            updateMessage(message);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.management.util;
+
+import com.management.service.DatabaseService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the application's startup stages, in the background where they do not
+ * need the FX thread, and records when each one started and how long it
+ * took. The breakdown is printed once startup is complete; start with
+ * -Dapp.bootReport=false to silence it.
+ */
+public class BootSequence {
+    private static final BootSequence INSTANCE = new BootSequence();
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+        Thread thread = new Thread(runnable, "app-boot-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long startedNanos = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>();
+    private final CompletableFuture<Void> databaseReady = new CompletableFuture<>();
+    private DatabaseService databaseService;
+
+    /**
+     * Get the application-wide boot sequence
+     * @return The shared instance
+     */
+    public static BootSequence getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run a stage on the current thread and record its timing
+     * @param name The stage name for the report
+     * @param work The stage's work
+     */
+    public void time(String name, Runnable work) {
+        long started = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(name, started, System.nanoTime());
+        }
+    }
+
+    /**
+     * Run a stage that produces a value on the current thread and record its timing
+     * @param name The stage name for the report
+     * @param work The stage's work
+     * @return The stage's result
+     * @throws Exception whatever the work throws
+     */
+    public <T> T time(String name, Callable<T> work) throws Exception {
+        long started = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            record(name, started, System.nanoTime());
+        }
+    }
+
+    /**
+     * Run a stage on a boot thread and record its timing
+     * @param name The stage name for the report
+     * @param work The stage's work
+     * @return Completes when the stage has finished
+     */
+    public CompletableFuture<Void> runAsync(String name, Runnable work) {
+        return CompletableFuture.runAsync(() -> time(name, work), executor);
+    }
+
+    /**
+     * Record a point in startup, such as a screen becoming visible
+     * @param name The milestone name for the report
+     */
+    public void mark(String name) {
+        long now = System.nanoTime();
+        record(name, now, now);
+    }
+
+    /**
+     * Get the application's database service. The boot stages, the login
+     * screen and the dashboard share it, so the connections opened and
+     * warmed up during startup are the ones the first pages use.
+     * @return The shared database service
+     */
+    public synchronized DatabaseService getDatabaseService() {
+        if (databaseService == null) {
+            databaseService = new DatabaseService();
+        }
+        return databaseService;
+    }
+
+    /**
+     * Completes once the schema exists and is up to date. Anything that reads
+     * application tables during startup should wait for it.
+     * @return The database readiness future
+     */
+    public CompletableFuture<Void> databaseReady() {
+        return databaseReady;
+    }
+
+    /**
+     * Signal that the database has been prepared, successfully or not
+     */
+    public void markDatabaseReady() {
+        mark("database ready");
+        databaseReady.complete(null);
+    }
+
+    /**
+     * Print the timing breakdown
+     */
+    public void printReport() {
+        if (!Boolean.parseBoolean(System.getProperty("app.bootReport", "true"))) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder("Startup timing (ms since launch):\n");
+        synchronized (stages) {
+            stages.sort((a, b) -> Long.compare(a.startedNanos, b.startedNanos));
+            for (Stage stage : stages) {
+                if (stage.durationNanos == 0) {
+                    report.append(String.format("  %8.1f          %s%n", millis(stage.startedNanos - startedNanos),
+                            stage.name));
+                } else {
+                    report.append(String.format("  %8.1f %8.1f %s [%s]%n", millis(stage.startedNanos - startedNanos),
+                            millis(stage.durationNanos), stage.name, stage.thread));
+                }
+            }
+        }
+        System.out.print(report);
+    }
+
+    private void record(String name, long started, long finished) {
+        synchronized (stages) {
+            stages.add(new Stage(name, Thread.currentThread().getName(), started, finished - started));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final String thread;
+        private final long startedNanos;
+        private final long durationNanos;
+
+        Stage(String name, String thread, long startedNanos, long durationNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startedNanos = startedNanos;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
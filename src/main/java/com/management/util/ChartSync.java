@@ -0,0 +1,323 @@
+package com.management.util;
+
+import com.management.model.DashboardSnapshot.ChartSeries;
+import javafx.collections.ObservableList;
+import javafx.scene.chart.XYChart;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Puts series data on a category chart by changing only what differs from
+ * what the chart already shows: values are set on the existing points,
+ * points for categories that are gone are removed and points for new
+ * categories are inserted, so a refresh does not recreate every chart node.
+ *
+ * Series longer than the chart is wide in pixels are downsampled with
+ * Largest-Triangle-Three-Buckets, which keeps the points that shape the line,
+ * and are downsampled again when the chart is resized.
+ */
+public final class ChartSync {
+    private static final String STATE_KEY = ChartSync.class.getName();
+    private static final int MIN_POINTS = 3;
+    private static final double DEFAULT_WIDTH = 800;
+
+    private ChartSync() {
+    }
+
+    /**
+     * Show series on a chart
+     * @param chart The chart to update
+     * @param seriesList The series to show, in display order
+     * @param styler Styles a series after points were added to it, may be null
+     */
+    public static void show(XYChart<String, Number> chart, List<ChartSeries> seriesList,
+                            Consumer<XYChart.Series<String, Number>> styler) {
+        State state = (State) chart.getProperties().get(STATE_KEY);
+        if (state == null) {
+            state = new State();
+            chart.getProperties().put(STATE_KEY, state);
+            State installed = state;
+            chart.widthProperty().addListener((obs, oldWidth, newWidth) -> {
+                if (installed.needsResample(pointBudget(chart, installed.seriesList))) {
+                    apply(chart, installed);
+                }
+            });
+        }
+
+        state.seriesList = new ArrayList<>(seriesList);
+        state.styler = styler;
+        apply(chart, state);
+    }
+
+    private static void apply(XYChart<String, Number> chart, State state) {
+        int budget = pointBudget(chart, state.seriesList);
+        List<ChartSeries> shown = downsample(state.seriesList, budget);
+        state.budget = budget;
+        state.downsampled = longest(state.seriesList) > budget;
+
+        ObservableList<XYChart.Series<String, Number>> chartData = chart.getData();
+        if (!sameNames(chartData, shown)) {
+            chart.setAnimated(false);
+            chartData.clear();
+            for (ChartSeries chartSeries : shown) {
+                XYChart.Series<String, Number> series = new XYChart.Series<>();
+                series.setName(chartSeries.getName());
+                series.getData().addAll(points(chartSeries, 0, chartSeries.size()));
+                chartData.add(series);
+            }
+            restyle(chartData, state.styler);
+            return;
+        }
+
+        boolean structural = false;
+        for (int i = 0; i < shown.size(); i++) {
+            structural |= !sameCategories(chartData.get(i).getData(), shown.get(i));
+        }
+
+        // Only values changed: animate them in
+        chart.setAnimated(!structural);
+        for (int i = 0; i < shown.size(); i++) {
+            XYChart.Series<String, Number> series = chartData.get(i);
+            if (merge(series.getData(), shown.get(i)) && state.styler != null) {
+                state.styler.accept(series);
+            }
+        }
+    }
+
+    /**
+     * Bring a series' points in line with new data
+     * @return Whether points were added and need styling
+     */
+    private static boolean merge(ObservableList<XYChart.Data<String, Number>> points, ChartSeries series) {
+        List<String> categories = series.getCategories();
+        List<Double> values = series.getValues();
+
+        // Removed as one change rather than one per point
+        Set<String> wanted = new HashSet<>(categories);
+        Set<XYChart.Data<String, Number>> gone = new HashSet<>();
+        for (XYChart.Data<String, Number> data : points) {
+            if (!wanted.contains(data.getXValue())) {
+                gone.add(data);
+            }
+        }
+        if (!gone.isEmpty()) {
+            points.removeAll(gone);
+        }
+
+        if (!inOrder(points, categories)) {
+            points.setAll(points(series, 0, series.size()));
+            return true;
+        }
+
+        boolean added = false;
+        int j = 0;
+        while (j < categories.size()) {
+            if (j < points.size() && points.get(j).getXValue().equals(categories.get(j))) {
+                XYChart.Data<String, Number> data = points.get(j);
+                if (data.getYValue() == null || data.getYValue().doubleValue() != values.get(j)) {
+                    data.setYValue(values.get(j));
+                }
+                j++;
+                continue;
+            }
+
+            // Insert the run of new categories up to the next existing point
+            String next = j < points.size() ? points.get(j).getXValue() : null;
+            int end = j;
+            while (end < categories.size() && !categories.get(end).equals(next)) {
+                end++;
+            }
+            points.addAll(j, points(series, j, end));
+            added = true;
+            j = end;
+        }
+        return added;
+    }
+
+    /**
+     * Whether the remaining points are in the order the new categories have,
+     * so new points can be inserted between them
+     */
+    private static boolean inOrder(List<XYChart.Data<String, Number>> points, List<String> categories) {
+        Iterator<String> category = categories.iterator();
+        for (XYChart.Data<String, Number> data : points) {
+            boolean found = false;
+            while (!found && category.hasNext()) {
+                found = category.next().equals(data.getXValue());
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<XYChart.Data<String, Number>> points(ChartSeries series, int from, int to) {
+        List<XYChart.Data<String, Number>> points = new ArrayList<>(to - from);
+        for (int j = from; j < to; j++) {
+            points.add(new XYChart.Data<>(series.getCategories().get(j), series.getValues().get(j)));
+        }
+        return points;
+    }
+
+    private static boolean sameNames(List<XYChart.Series<String, Number>> chartData, List<ChartSeries> seriesList) {
+        if (chartData.size() != seriesList.size()) {
+            return false;
+        }
+        for (int i = 0; i < seriesList.size(); i++) {
+            if (!seriesList.get(i).getName().equals(chartData.get(i).getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameCategories(List<XYChart.Data<String, Number>> points, ChartSeries series) {
+        if (points.size() != series.size()) {
+            return false;
+        }
+        for (int j = 0; j < points.size(); j++) {
+            if (!series.getCategories().get(j).equals(points.get(j).getXValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void restyle(List<XYChart.Series<String, Number>> chartData,
+                                Consumer<XYChart.Series<String, Number>> styler) {
+        if (styler != null) {
+            for (XYChart.Series<String, Number> series : chartData) {
+                styler.accept(series);
+            }
+        }
+    }
+
+    /**
+     * The number of categories a chart can show, one per pixel shared among
+     * its series
+     */
+    private static int pointBudget(XYChart<String, Number> chart, List<ChartSeries> seriesList) {
+        double width = chart.getWidth() > 0 ? chart.getWidth() : DEFAULT_WIDTH;
+        return Math.max(MIN_POINTS, (int) width / Math.max(1, seriesList.size()));
+    }
+
+    private static int longest(List<ChartSeries> seriesList) {
+        int longest = 0;
+        for (ChartSeries series : seriesList) {
+            longest = Math.max(longest, series.size());
+        }
+        return longest;
+    }
+
+    /**
+     * Downsample series that share categories. Each series picks its own
+     * points, and every series keeps the categories any of them picked, so
+     * the series still line up on the category axis.
+     * @param seriesList The series to downsample
+     * @param threshold The number of points each series may pick
+     * @return The downsampled series, or the same series if all fit
+     */
+    static List<ChartSeries> downsample(List<ChartSeries> seriesList, int threshold) {
+        if (longest(seriesList) <= threshold) {
+            return seriesList;
+        }
+
+        Set<String> kept = new HashSet<>();
+        for (ChartSeries series : seriesList) {
+            for (int index : largestTriangleThreeBuckets(series.getValues(), threshold)) {
+                kept.add(series.getCategories().get(index));
+            }
+        }
+
+        List<ChartSeries> downsampled = new ArrayList<>(seriesList.size());
+        for (ChartSeries series : seriesList) {
+            ChartSeries reduced = new ChartSeries(series.getName());
+            for (int j = 0; j < series.size(); j++) {
+                if (kept.contains(series.getCategories().get(j))) {
+                    reduced.add(series.getCategories().get(j), series.getValues().get(j));
+                }
+            }
+            downsampled.add(reduced);
+        }
+        return downsampled;
+    }
+
+    /**
+     * Pick the points that best preserve the shape of a series, using the
+     * Largest-Triangle-Three-Buckets algorithm with the point's index as x.
+     * The first and last points are always kept; from each bucket in between
+     * the point forming the largest triangle with the previously kept point
+     * and the average of the next bucket is kept.
+     * @param values The series values
+     * @param threshold The number of points to keep
+     * @return The indices of the kept points, ascending
+     */
+    static int[] largestTriangleThreeBuckets(List<Double> values, int threshold) {
+        int size = values.size();
+        if (threshold >= size || threshold < MIN_POINTS) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+        kept[0] = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += i;
+                averageY += values.get(i);
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            double previousY = values.get(previous);
+            double largestArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((previous - averageX) * (values.get(i) - previousY)
+                        - (previous - i) * (averageY - previousY));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+            kept[bucket + 1] = chosen;
+            previous = chosen;
+        }
+
+        kept[threshold - 1] = size - 1;
+        return kept;
+    }
+
+    /**
+     * What a chart was last given, for downsampling again on resize
+     */
+    private static final class State {
+        private List<ChartSeries> seriesList = new ArrayList<>();
+        private Consumer<XYChart.Series<String, Number>> styler;
+        private int budget;
+        private boolean downsampled;
+
+        boolean needsResample(int newBudget) {
+            return newBudget != budget && (downsampled || longest(seriesList) > newBudget);
+        }
+    }
+}
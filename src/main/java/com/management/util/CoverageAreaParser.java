@@ -0,0 +1,95 @@
+package com.management.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for turning a technician's free-text coverage area into
+ * normalized zip entries. An entry is either a full 5-digit zip or a shorter
+ * zip prefix covering every zip that starts with it.
+ */
+public class CoverageAreaParser {
+
+    // 12345 or 12345-6789
+    private static final Pattern ZIP_PATTERN =
+            Pattern.compile("^(\\d{5})(-\\d{4})?$");
+
+    // 123*, 123xx, 123XX
+    private static final Pattern PREFIX_PATTERN =
+            Pattern.compile("^(\\d{1,4})([*]|[xX]+)$");
+
+    // 12345-12399
+    private static final Pattern RANGE_PATTERN =
+            Pattern.compile("^(\\d{5})-(\\d{5})$");
+
+    private static final Pattern SEPARATOR_PATTERN =
+            Pattern.compile("[,;/\\s]+");
+
+    // Larger ranges are skipped rather than expanded into thousands of rows
+    private static final int MAX_RANGE_SIZE = 1000;
+
+    /**
+     * Parse a coverage area into zip and zip-prefix entries. Tokens that are
+     * not zips, prefixes or zip ranges (city names, notes) are ignored.
+     * @param coverageArea The free-text coverage area
+     * @param homeZip The technician's own zip code, always covered (optional)
+     * @return The set of normalized entries
+     */
+    public static Set<String> parse(String coverageArea, String homeZip) {
+        Set<String> entries = new LinkedHashSet<>();
+
+        if (homeZip != null) {
+            Matcher matcher = ZIP_PATTERN.matcher(homeZip.trim());
+            if (matcher.matches()) {
+                entries.add(matcher.group(1));
+            }
+        }
+
+        if (coverageArea == null || coverageArea.trim().isEmpty()) {
+            return entries;
+        }
+
+        for (String token : SEPARATOR_PATTERN.split(coverageArea.trim())) {
+            Matcher zipMatcher = ZIP_PATTERN.matcher(token);
+            if (zipMatcher.matches()) {
+                entries.add(zipMatcher.group(1));
+                continue;
+            }
+
+            Matcher prefixMatcher = PREFIX_PATTERN.matcher(token);
+            if (prefixMatcher.matches()) {
+                entries.add(prefixMatcher.group(1));
+                continue;
+            }
+
+            Matcher rangeMatcher = RANGE_PATTERN.matcher(token);
+            if (rangeMatcher.matches()) {
+                int from = Integer.parseInt(rangeMatcher.group(1));
+                int to = Integer.parseInt(rangeMatcher.group(2));
+                if (from <= to && to - from < MAX_RANGE_SIZE) {
+                    for (int zip = from; zip <= to; zip++) {
+                        entries.add(String.format("%05d", zip));
+                    }
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Normalize a zip code for lookup
+     * @param zip The zip code, optionally in ZIP+4 form
+     * @return The 5-digit zip, or null if the input is not a zip code
+     */
+    public static String normalizeZip(String zip) {
+        if (zip == null) {
+            return null;
+        }
+
+        Matcher matcher = ZIP_PATTERN.matcher(zip.trim());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+}
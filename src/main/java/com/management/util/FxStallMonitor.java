@@ -0,0 +1,436 @@
+package com.management.util;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Watches the JavaFX Application Thread for stalls. A probe thread posts a
+ * timestamped no-op with Platform.runLater every PROBE_INTERVAL_MILLIS and
+ * records how long it waited for the FX thread; a probe does not request a
+ * pulse, so an idle UI stays idle. While a probe is overdue the thread samples
+ * the FX thread's stack and attributes the stall to the innermost controller
+ * method on the stack. Probe latencies of the last few minutes are kept for
+ * percentiles, and everything can be written out as a plain-text report.
+ *
+ * Set the stall threshold with -Dapp.fxStallMillis (default 100) or turn the
+ * monitor off with -Dapp.fxMonitor=false.
+ */
+public class FxStallMonitor {
+    private static final Logger LOGGER = Logger.getLogger(FxStallMonitor.class.getName());
+    private static final FxStallMonitor INSTANCE = new FxStallMonitor();
+
+    private static final int LATENCY_WINDOW = 3600;
+    private static final long SAMPLE_INTERVAL_MILLIS = 20;
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+    private static final long SLOW_MILLIS = 33;
+    private static final int MAX_STALLS = 100;
+    private static final int MAX_REPORTED_FRAMES = 25;
+    private static final String APP_PACKAGE = "com.management.";
+    private static final String CONTROLLER_PACKAGE = "com.management.controller.";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final DateTimeFormatter REPORT_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("app.fxMonitor", "true"));
+    private final long stallNanos = Long.getLong("app.fxStallMillis", 100L) * 1_000_000L;
+
+    // Set by the probe thread when posting, cleared on the FX thread when the probe runs
+    private volatile long probePostedNanos;
+    private volatile boolean probePending;
+    private volatile long probeRanNanos;
+    private volatile Thread fxThread;
+
+    // Ring buffer of recent probe latencies, guarded by this
+    private final long[] latencyNanos = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private long totalProbes;
+    private long slowProbes;
+
+    private final Map<String, MethodStalls> stallsByMethod = new ConcurrentHashMap<>();
+    private final Deque<Stall> recentStalls = new ConcurrentLinkedDeque<>();
+
+    private ScheduledExecutorService prober;
+
+    private FxStallMonitor() {
+    }
+
+    /**
+     * Get the application-wide monitor
+     * @return The shared monitor
+     */
+    public static FxStallMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start watching; must be called on the FX thread
+     */
+    public synchronized void start() {
+        if (!enabled || prober != null) {
+            return;
+        }
+
+        fxThread = Thread.currentThread();
+        probePending = false;
+
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-stall-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(new Watch(), SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop watching
+     */
+    public synchronized void stop() {
+        if (prober == null) {
+            return;
+        }
+        prober.shutdownNow();
+        prober = null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Percentiles of how long probes waited for the FX thread, over the last
+     * few minutes of probes
+     * @return p50, p90, p99 and max in milliseconds, or zeros before the first probe
+     */
+    public synchronized double[] getLatencyPercentilesMillis() {
+        if (latencyCount == 0) {
+            return new double[4];
+        }
+        long[] sorted = Arrays.copyOf(latencyNanos, latencyCount);
+        Arrays.sort(sorted);
+        return new double[]{
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1_000_000.0
+        };
+    }
+
+    public synchronized long getTotalProbes() {
+        return totalProbes;
+    }
+
+    /**
+     * Probes that waited longer than two 60 Hz frames
+     */
+    public synchronized long getSlowProbes() {
+        return slowProbes;
+    }
+
+    /**
+     * Stalls grouped by the controller method they were attributed to, worst total first
+     */
+    public List<MethodStalls> getStallsByMethod() {
+        List<MethodStalls> stalls = new ArrayList<>(stallsByMethod.values());
+        stalls.sort(Comparator.comparingDouble(MethodStalls::getTotalMillis).reversed());
+        return stalls;
+    }
+
+    /**
+     * The most recent stalls, newest first
+     */
+    public List<Stall> getRecentStalls() {
+        return new ArrayList<>(recentStalls);
+    }
+
+    public void reset() {
+        synchronized (this) {
+            latencyCount = 0;
+            totalProbes = 0;
+            slowProbes = 0;
+        }
+        stallsByMethod.clear();
+        recentStalls.clear();
+    }
+
+    /**
+     * Write a plain-text report of FX thread latency, stalls per method and the recent stalls with their stacks
+     * @param out The writer to write to; it is not closed
+     * @throws IOException if writing fails
+     */
+    public void writeReport(Writer out) throws IOException {
+        PrintWriter writer = new PrintWriter(out);
+        double[] percentiles = getLatencyPercentilesMillis();
+
+        writer.println("UI responsiveness report - " + LocalDateTime.now().format(REPORT_TIME_FORMAT));
+        writer.printf("Stall threshold: %d ms%n", stallNanos / 1_000_000);
+        writer.println();
+        writer.println("FX thread latency (recent window)");
+        writer.printf("  probes: %d total, %d over %d ms%n", getTotalProbes(), getSlowProbes(), SLOW_MILLIS);
+        writer.printf("  p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                percentiles[0], percentiles[1], percentiles[2], percentiles[3]);
+        writer.println();
+
+        writer.println("Stalls by method");
+        writer.printf("  %-60s %8s %12s %10s%n", "Method", "Stalls", "Total ms", "Max ms");
+        for (MethodStalls stalls : getStallsByMethod()) {
+            writer.printf("  %-60s %8d %12.0f %10.0f%n", stalls.getMethod(), stalls.getCount(),
+                    stalls.getTotalMillis(), stalls.getMaxMillis());
+        }
+        writer.println();
+
+        writer.println("Recent stalls");
+        for (Stall stall : getRecentStalls()) {
+            writer.printf("  %s  %.0f ms  %s (%d samples)%n", stall.getTime(), stall.getMillis(),
+                    stall.getMethod(), stall.getSamples());
+            for (String frame : stall.getStack()) {
+                writer.println("      at " + frame);
+            }
+        }
+        if (writer.checkError()) {
+            throw new IOException("Failed to write the UI report");
+        }
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencyNanos[(int) (totalProbes % LATENCY_WINDOW)] = nanos;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+        totalProbes++;
+        if (nanos > SLOW_MILLIS * 1_000_000L) {
+            slowProbes++;
+        }
+    }
+
+    /**
+     * One tick of the probe thread: finish a stall whose probe has run, post
+     * the next probe when one is due and sample the FX thread while a probe is
+     * overdue
+     */
+    private class Watch implements Runnable {
+        private StallSampler current;
+        private long lastPostedNanos;
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+
+            if (!probePending) {
+                if (current != null) {
+                    // The FX thread caught up: the stall lasted until the probe ran
+                    finish(current, probeRanNanos - current.postedNanos);
+                    current = null;
+                }
+
+                if (now - lastPostedNanos >= PROBE_INTERVAL_MILLIS * 1_000_000L) {
+                    post(now);
+                }
+                return;
+            }
+
+            if (now - probePostedNanos > stallNanos) {
+                if (current == null) {
+                    current = new StallSampler(probePostedNanos);
+                }
+                current.sample(fxThread.getStackTrace());
+            }
+        }
+
+        private void post(long now) {
+            lastPostedNanos = now;
+            probePostedNanos = now;
+            probePending = true;
+            Platform.runLater(() -> {
+                long ran = System.nanoTime();
+                recordLatency(ran - probePostedNanos);
+                probeRanNanos = ran;
+                probePending = false;
+            });
+        }
+    }
+
+    private void finish(StallSampler sampler, long durationNanos) {
+        String method = sampler.topMethod();
+        Stall stall = new Stall(LocalDateTime.now(), durationNanos / 1_000_000.0, method,
+                sampler.samples, sampler.stackOf(method));
+
+        stallsByMethod.computeIfAbsent(method, MethodStalls::new).add(stall.getMillis());
+        recentStalls.addFirst(stall);
+        while (recentStalls.size() > MAX_STALLS) {
+            recentStalls.pollLast();
+        }
+
+        LOGGER.warning(String.format("FX thread stalled for %.0f ms in %s", stall.getMillis(), method));
+    }
+
+    /**
+     * The innermost controller method on the stack, else the innermost
+     * application method, else the top frame
+     */
+    private static String attribute(StackTraceElement[] stack) {
+        StackTraceElement application = null;
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith(CONTROLLER_PACKAGE)) {
+                return describe(frame);
+            }
+            if (application == null && frame.getClassName().startsWith(APP_PACKAGE)
+                    && !frame.getClassName().equals(FxStallMonitor.class.getName())) {
+                application = frame;
+            }
+        }
+        if (application != null) {
+            return describe(application);
+        }
+        return stack.length > 0 ? describe(stack[0]) : "(unknown)";
+    }
+
+    private static String describe(StackTraceElement frame) {
+        String className = frame.getClassName();
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int inner = name.indexOf('$');
+        if (inner > 0) {
+            name = name.substring(0, inner);
+        }
+
+        // lambda$loadCustomers$2 -> loadCustomers
+        String methodName = frame.getMethodName();
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', 7);
+            methodName = end > 7 ? methodName.substring(7, end) : methodName;
+        }
+        return name + "." + methodName;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(sorted.length * fraction) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Stack samples taken during one stall
+     */
+    private static class StallSampler {
+        private final long postedNanos;
+        private final Map<String, Integer> hits = new HashMap<>();
+        private final Map<String, StackTraceElement[]> stacks = new HashMap<>();
+        private int samples;
+
+        StallSampler(long postedNanos) {
+            this.postedNanos = postedNanos;
+        }
+
+        void sample(StackTraceElement[] stack) {
+            String method = attribute(stack);
+            hits.merge(method, 1, Integer::sum);
+            stacks.putIfAbsent(method, stack);
+            samples++;
+        }
+
+        String topMethod() {
+            return hits.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse("(unknown)");
+        }
+
+        List<String> stackOf(String method) {
+            List<String> frames = new ArrayList<>();
+            StackTraceElement[] stack = stacks.get(method);
+            if (stack != null) {
+                for (int i = 0; i < stack.length && i < MAX_REPORTED_FRAMES; i++) {
+                    frames.add(stack[i].toString());
+                }
+            }
+            return frames;
+        }
+    }
+
+    /**
+     * Stall totals of one method
+     */
+    public static final class MethodStalls {
+        private final String method;
+        private long count;
+        private double totalMillis;
+        private double maxMillis;
+
+        MethodStalls(String method) {
+            this.method = method;
+        }
+
+        synchronized void add(double millis) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized double getTotalMillis() {
+            return totalMillis;
+        }
+
+        public synchronized double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+
+    /**
+     * One stall of the FX thread
+     */
+    public static final class Stall {
+        private final LocalDateTime time;
+        private final double millis;
+        private final String method;
+        private final int samples;
+        private final List<String> stack;
+
+        Stall(LocalDateTime time, double millis, String method, int samples, List<String> stack) {
+            this.time = time;
+            this.millis = millis;
+            this.method = method;
+            this.samples = samples;
+            this.stack = stack;
+        }
+
+        public String getTime() {
+            return time.format(TIME_FORMAT);
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        public List<String> getStack() {
+            return stack;
+        }
+    }
+}
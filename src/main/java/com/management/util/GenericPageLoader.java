@@ -14,32 +14,17 @@ import javafx.scene.layout.Pane;
  */
 public class GenericPageLoader {
 
-    private final CustomerService customerService;
-    private final TechnicianService technicianService;
-    private final ServiceRequestService serviceRequestService;
-    private final QuoteService quoteService;
-    private final PaymentService paymentService;
-    private final UserService userService;
+    // Services are created the first time a page needs them
+    private final ServiceRegistry services;
 
     // Navigation callback for dashboard
     private DashboardController.DashboardNavigationCallback navigationCallback;
 
     /**
-     * Constructor with all services
+     * @param services The session's services
      */
-    public GenericPageLoader(
-            CustomerService customerService,
-            TechnicianService technicianService,
-            ServiceRequestService serviceRequestService,
-            QuoteService quoteService,
-            PaymentService paymentService,
-            UserService userService) {
-        this.customerService = customerService;
-        this.technicianService = technicianService;
-        this.serviceRequestService = serviceRequestService;
-        this.quoteService = quoteService;
-        this.paymentService = paymentService;
-        this.userService = userService;
+    public GenericPageLoader(ServiceRegistry services) {
+        this.services = services;
     }
 
     /**
@@ -60,13 +45,16 @@ public class GenericPageLoader {
                 container,
                 "/fxml/dashboard.fxml",
                 (DashboardController controller) -> {
+                    controller.setSnapshotStore(
+                            new DashboardSnapshotStore(services.getDatabaseService().getUrl()));
+
                     // Set all services first
-                    controller.setCustomerService(customerService);
-                    controller.setTechnicianService(technicianService);
-                    controller.setServiceRequestService(serviceRequestService);
-                    controller.setQuoteService(quoteService);
-                    controller.setPaymentService(paymentService);
-                    controller.setUserService(userService);
+                    controller.setCustomerService(services.getCustomerService());
+                    controller.setTechnicianService(services.getTechnicianService());
+                    controller.setServiceRequestService(services.getServiceRequestService());
+                    controller.setQuoteService(services.getQuoteService());
+                    controller.setPaymentService(services.getPaymentService());
+                    controller.setUserService(services.getUserService());
 
                     // Set the navigation callback if available
                     if (navigationCallback != null) {
@@ -87,8 +75,8 @@ public class GenericPageLoader {
                 container,
                 "/fxml/customer/customer_list.fxml",
                 (CustomerListController controller) -> {
-                    controller.setCustomerService(customerService);
-                    controller.setServiceRequestService(serviceRequestService);
+                    controller.setCustomerService(services.getCustomerService());
+                    controller.setServiceRequestService(services.getServiceRequestService());
                     controller.initialize();
                 },
                 "Error Loading Customers"
@@ -105,8 +93,8 @@ public class GenericPageLoader {
                 container,
                 "/fxml/technician/technician_list.fxml",
                 (TechnicianListController controller) -> {
-                    controller.setTechnicianService(technicianService);
-                    controller.setServiceRequestService(serviceRequestService);
+                    controller.setTechnicianService(services.getTechnicianService());
+                    controller.setServiceRequestService(services.getServiceRequestService());
                     controller.initialize();
                 },
                 "Error Loading Technicians"
@@ -123,9 +111,9 @@ public class GenericPageLoader {
                 container,
                 "/fxml/service/service_request_list.fxml",
                 (ServiceRequestListController controller) -> {
-                    controller.setServiceRequestService(serviceRequestService);
-                    controller.setCustomerService(customerService);
-                    controller.setTechnicianService(technicianService);
+                    controller.setServiceRequestService(services.getServiceRequestService());
+                    controller.setCustomerService(services.getCustomerService());
+                    controller.setTechnicianService(services.getTechnicianService());
                     controller.initialize();
                 },
                 "Error Loading Service Requests"
@@ -142,8 +130,8 @@ public class GenericPageLoader {
                 container,
                 "/fxml/quote/quote_list.fxml",
                 (QuoteListController controller) -> {
-                    controller.setQuoteService(quoteService);
-                    controller.setServiceRequestService(serviceRequestService);
+                    controller.setQuoteService(services.getQuoteService());
+                    controller.setServiceRequestService(services.getServiceRequestService());
                     controller.initialize();
                 },
                 "Error Loading Quotes"
@@ -160,8 +148,8 @@ public class GenericPageLoader {
                 container,
                 "/fxml/payment/payment_list.fxml",
                 (PaymentListController controller) -> {
-                    controller.setPaymentService(paymentService);
-                    controller.setServiceRequestService(serviceRequestService);
+                    controller.setPaymentService(services.getPaymentService());
+                    controller.setServiceRequestService(services.getServiceRequestService());
                     controller.initialize();
                 },
                 "Error Loading Payments"
@@ -178,11 +166,11 @@ public class GenericPageLoader {
                 container,
                 "/fxml/reports/reports.fxml",
                 (ReportsController controller) -> {
-                    controller.setCustomerService(customerService);
-                    controller.setTechnicianService(technicianService);
-                    controller.setServiceRequestService(serviceRequestService);
-                    controller.setQuoteService(quoteService);
-                    controller.setPaymentService(paymentService);
+                    controller.setCustomerService(services.getCustomerService());
+                    controller.setTechnicianService(services.getTechnicianService());
+                    controller.setServiceRequestService(services.getServiceRequestService());
+                    controller.setQuoteService(services.getQuoteService());
+                    controller.setPaymentService(services.getPaymentService());
                     controller.initialize();
                 },
                 "Error Loading Reports"
@@ -199,10 +187,23 @@ public class GenericPageLoader {
                 container,
                 "/fxml/settings/settings.fxml",
                 (SettingsController controller) -> {
-                    controller.setUserService(userService);
+                    controller.setUserService(services.getUserService());
                     controller.initialize();
                 },
                 "Error Loading Settings"
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Load the query diagnostics page
+     * @param container The container to load into
+     * @return true if successful
+     */
+    public boolean loadDiagnosticsPage(Pane container) {
+        return FXMLLoaderUtil.loadIntoContainer(
+                container,
+                "/fxml/diagnostics/diagnostics.fxml",
+                "Error Loading Diagnostics"
+        );
+    }
+}
@@ -0,0 +1,260 @@
+package com.management.util;
+
+import com.management.model.ServiceRequest;
+import com.management.service.ServiceRequestService;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Job selector for forms that reference a service request. The combo box
+ * starts with the recently picked jobs and loads one page of the latest jobs
+ * when first opened. Typing in the search field runs an indexed prefix search
+ * (reference number, customer, company, service date or job ID) instead of
+ * loading every job. Scrolling to the end of the list loads the next page of
+ * the current search.
+ */
+public class JobPicker {
+    private static final int PAGE_SIZE = 25;
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+
+    // Searches run one at a time off the FX thread
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-picker-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ComboBox<ServiceRequest> comboBox;
+    private final TextField searchField;
+    private final ServiceRequestService serviceRequestService;
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+
+    private int searchGeneration;
+    private boolean firstPageLoaded;
+
+    // Paging state of the current search
+    private String searchTerm = "";
+    private int loadedCount;
+    private boolean hasMorePages;
+    private boolean pageLoading;
+
+    /**
+     * Attach a picker to a combo box and search field
+     * @param comboBox The combo box holding the selectable jobs
+     * @param searchField The field the user types a search prefix into (optional)
+     * @param serviceRequestService The service request service
+     */
+    public JobPicker(ComboBox<ServiceRequest> comboBox, TextField searchField,
+                     ServiceRequestService serviceRequestService) {
+        this.comboBox = comboBox;
+        this.searchField = searchField;
+        this.serviceRequestService = serviceRequestService;
+
+        comboBox.setConverter(new StringConverter<ServiceRequest>() {
+            @Override
+            public String toString(ServiceRequest serviceRequest) {
+                return describe(serviceRequest);
+            }
+
+            @Override
+            public ServiceRequest fromString(String string) {
+                // Not used for combo box
+                return null;
+            }
+        });
+
+        // Showing the last listed job while the list is open loads the next page
+        comboBox.setCellFactory(listView -> new ListCell<ServiceRequest>() {
+            @Override
+            protected void updateItem(ServiceRequest serviceRequest, boolean empty) {
+                super.updateItem(serviceRequest, empty);
+                setText(empty ? null : describe(serviceRequest));
+
+                if (!empty && comboBox.isShowing() && getIndex() == comboBox.getItems().size() - 1) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        // Recently picked jobs need no query
+        comboBox.getItems().setAll(serviceRequestService.getRecentJobs());
+
+        // The first page of jobs is only loaded once the list is opened
+        comboBox.setOnShowing(e -> {
+            if (!firstPageLoaded && (searchField == null || searchField.getText().trim().isEmpty())) {
+                firstPageLoaded = true;
+                search("");
+            }
+        });
+
+        comboBox.valueProperty().addListener((obs, oldVal, newVal) -> serviceRequestService.markJobRecentlyUsed(newVal));
+
+        if (searchField != null) {
+            searchField.setPromptText("Search ref no, customer or date (yyyy-mm-dd)");
+            searchDelay.setOnFinished(e -> search(searchField.getText()));
+            searchField.textProperty().addListener((obs, oldVal, newVal) -> searchDelay.playFromStart());
+        }
+    }
+
+    /**
+     * Select a job by ID, loading it only if it is not already listed
+     * @param jobId The job ID
+     * @return true if the job was found
+     */
+    public boolean select(int jobId) {
+        for (ServiceRequest serviceRequest : comboBox.getItems()) {
+            if (serviceRequest.getJobId() == jobId) {
+                comboBox.setValue(serviceRequest);
+                return true;
+            }
+        }
+
+        Optional<ServiceRequest> serviceRequest = serviceRequestService.findById(jobId);
+        if (serviceRequest.isPresent()) {
+            comboBox.getItems().add(0, serviceRequest.get());
+            comboBox.setValue(serviceRequest.get());
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Lock or unlock the selection
+     * @param disabled true to prevent changing the selected job
+     */
+    public void setDisable(boolean disabled) {
+        comboBox.setDisable(disabled);
+        if (searchField != null) {
+            searchField.setDisable(disabled);
+        }
+    }
+
+    /**
+     * Describe a job the way the picker lists it
+     * @param serviceRequest The job
+     * @return Display text, or null for no job
+     */
+    public static String describe(ServiceRequest serviceRequest) {
+        if (serviceRequest == null) {
+            return null;
+        }
+
+        StringBuilder text = new StringBuilder("Job #").append(serviceRequest.getJobId());
+
+        if (serviceRequest.getRefNo() != null && !serviceRequest.getRefNo().isEmpty()) {
+            text.append(" (").append(serviceRequest.getRefNo()).append(")");
+        }
+
+        text.append(" - ");
+        if (serviceRequest.getCustomer() != null) {
+            text.append(serviceRequest.getCustomer().getFirstName()).append(" ")
+                    .append(serviceRequest.getCustomer().getLastName());
+        } else {
+            text.append("Unknown Customer");
+        }
+
+        if (serviceRequest.getServiceDate() != null) {
+            text.append(" - ").append(serviceRequest.getServiceDate());
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Run a search in the background and show the first page of results
+     */
+    private void search(String prefix) {
+        int generation = ++searchGeneration;
+        searchTerm = prefix != null ? prefix.trim() : "";
+        pageLoading = true;
+        loadPage(generation, searchTerm, 0);
+    }
+
+    /**
+     * Append the next page of the current search, unless it is loading or exhausted
+     */
+    private void loadNextPage() {
+        if (pageLoading || !hasMorePages) {
+            return;
+        }
+
+        pageLoading = true;
+        loadPage(searchGeneration, searchTerm, loadedCount);
+    }
+
+    private void loadPage(int generation, String term, int offset) {
+        SEARCH_EXECUTOR.submit(() -> {
+            try {
+                List<ServiceRequest> results = serviceRequestService.searchJobs(term, offset, PAGE_SIZE);
+                Platform.runLater(() -> showResults(generation, results, offset > 0));
+            } catch (Exception e) {
+                e.printStackTrace();
+                Platform.runLater(() -> {
+                    if (generation == searchGeneration) {
+                        pageLoading = false;
+                    }
+                });
+            }
+        });
+    }
+
+    private void showResults(int generation, List<ServiceRequest> results, boolean append) {
+        // Ignore results overtaken by a newer search
+        if (generation != searchGeneration) {
+            return;
+        }
+
+        pageLoading = false;
+        hasMorePages = results.size() == PAGE_SIZE;
+        loadedCount = append ? loadedCount + results.size() : results.size();
+
+        if (append) {
+            Set<Integer> listedIds = new HashSet<>();
+            for (ServiceRequest serviceRequest : comboBox.getItems()) {
+                listedIds.add(serviceRequest.getJobId());
+            }
+
+            List<ServiceRequest> newItems = new ArrayList<>();
+            for (ServiceRequest serviceRequest : results) {
+                if (listedIds.add(serviceRequest.getJobId())) {
+                    newItems.add(serviceRequest);
+                }
+            }
+            comboBox.getItems().addAll(newItems);
+            return;
+        }
+
+        // Keep the current selection listed so the combo box does not clear it
+        ServiceRequest selected = comboBox.getValue();
+        List<ServiceRequest> items = new ArrayList<>();
+        if (selected != null) {
+            items.add(selected);
+        }
+
+        for (ServiceRequest serviceRequest : results) {
+            if (selected == null || serviceRequest.getJobId() != selected.getJobId()) {
+                items.add(serviceRequest);
+            }
+        }
+
+        comboBox.getItems().setAll(items);
+
+        if (searchField != null && searchField.isFocused() && !comboBox.isShowing()) {
+            comboBox.show();
+        }
+    }
+}
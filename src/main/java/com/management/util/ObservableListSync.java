@@ -0,0 +1,155 @@
+package com.management.util;
+
+import com.management.service.DataChangeBus;
+import com.management.service.DataChangeEvent;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps a view's ObservableList in step with the DataChangeBus by applying
+ * row-level changes instead of reloading the whole list
+ */
+public class ObservableListSync {
+
+    /**
+     * Bind a list to changes of one model type. The subscription is removed
+     * when the owner node is taken out of its scene.
+     * @param owner The node whose lifetime bounds the subscription
+     * @param entityType The model class to listen for
+     * @param list The list backing the view
+     * @param idExtractor Function returning a row's ID
+     * @param afterChange Optional callback run on the FX thread after each change
+     * @return A handle that removes the subscription when run
+     */
+    public static <T> Runnable bind(Node owner, Class<T> entityType, ObservableList<T> list,
+                                    ToIntFunction<T> idExtractor, Runnable afterChange) {
+        return bind(owner, entityType, list, Function.identity(), idExtractor, afterChange);
+    }
+
+    /**
+     * Bind a list of view rows to changes of a model type, converting each
+     * changed entity to its row. The subscription is removed when the owner
+     * node is taken out of its scene.
+     * @param owner The node whose lifetime bounds the subscription
+     * @param entityType The model class to listen for
+     * @param list The list backing the view
+     * @param rowMapper Function converting a changed entity to a row
+     * @param idExtractor Function returning a row's ID
+     * @param afterChange Optional callback run on the FX thread after each change
+     * @return A handle that removes the subscription when run
+     */
+    public static <T, R> Runnable bind(Node owner, Class<T> entityType, ObservableList<R> list,
+                                       Function<T, R> rowMapper, ToIntFunction<R> idExtractor,
+                                       Runnable afterChange) {
+        Runnable unsubscribe = DataChangeBus.getInstance().subscribe(entityType, event -> {
+            R row = event.getEntity() != null ? rowMapper.apply(event.getEntity()) : null;
+            runOnFxThread(() -> {
+                applyRow(list, event.getType(), event.getId(), row, idExtractor);
+                if (afterChange != null) {
+                    afterChange.run();
+                }
+            });
+        });
+
+        owner.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                unsubscribe.run();
+            }
+        });
+
+        return unsubscribe;
+    }
+
+    /**
+     * Run a reload when rows of the given types are changed by another
+     * process. Reloads requested by several types in one poll are coalesced
+     * into one. The subscriptions are removed when the owner node is taken
+     * out of its scene.
+     * @param owner The node whose lifetime bounds the subscriptions
+     * @param reload The reload to run on the FX thread
+     * @param entityTypes The model classes to listen for
+     * @return A handle that removes the subscriptions when run
+     */
+    public static Runnable reloadOnExternalChange(Node owner, Runnable reload, Class<?>... entityTypes) {
+        AtomicBoolean reloadPending = new AtomicBoolean();
+        List<Runnable> unsubscribes = new ArrayList<>();
+
+        for (Class<?> entityType : entityTypes) {
+            unsubscribes.add(DataChangeBus.getInstance().subscribe(entityType, event -> {
+                if (event.getType() == DataChangeEvent.Type.RELOADED && reloadPending.compareAndSet(false, true)) {
+                    Platform.runLater(() -> {
+                        reloadPending.set(false);
+                        reload.run();
+                    });
+                }
+            }));
+        }
+
+        Runnable unsubscribe = () -> unsubscribes.forEach(Runnable::run);
+        owner.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                unsubscribe.run();
+            }
+        });
+
+        return unsubscribe;
+    }
+
+    /**
+     * Apply a single change to a list
+     * @param list The list to update
+     * @param event The change event
+     * @param idExtractor Function returning a row's ID
+     */
+    public static <T> void apply(ObservableList<T> list, DataChangeEvent<T> event, ToIntFunction<T> idExtractor) {
+        applyRow(list, event.getType(), event.getId(), event.getEntity(), idExtractor);
+    }
+
+    private static <R> void applyRow(ObservableList<R> list, DataChangeEvent.Type type, int id, R row,
+                                     ToIntFunction<R> idExtractor) {
+        int index = indexOf(list, id, idExtractor);
+
+        switch (type) {
+            case CREATED:
+            case UPDATED:
+                if (row == null) {
+                    return;
+                }
+                if (index >= 0) {
+                    list.set(index, row);
+                } else {
+                    list.add(row);
+                }
+                break;
+            case DELETED:
+                if (index >= 0) {
+                    list.remove(index);
+                }
+                break;
+        }
+    }
+
+    private static <T> int indexOf(ObservableList<T> list, int id, ToIntFunction<T> idExtractor) {
+        for (int i = 0; i < list.size(); i++) {
+            if (idExtractor.applyAsInt(list.get(i)) == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void runOnFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package com.management.util;
+
+import com.management.model.Customer;
+import com.management.model.MonthlyRollup;
+import com.management.model.ServiceRequest;
+import com.management.model.ServiceRequestStatus;
+import com.management.model.Technician;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class computing the Reports screen's figures from data that has
+ * already been loaded. Nothing here touches the database or JavaFX, so the
+ * same code runs on the report pool and in the benchmarks.
+ */
+public class ReportAggregations {
+
+    /**
+     * Headline figures of the summary tab
+     */
+    public static class Summary {
+        private final int totalRequests;
+        private final double totalRevenue;
+        private final double outstandingPayments;
+        private final int activeCustomers;
+        private final int activeTechnicians;
+        private final double completionRate;
+
+        Summary(int totalRequests, double totalRevenue, double outstandingPayments,
+                int activeCustomers, int activeTechnicians, double completionRate) {
+            this.totalRequests = totalRequests;
+            this.totalRevenue = totalRevenue;
+            this.outstandingPayments = outstandingPayments;
+            this.activeCustomers = activeCustomers;
+            this.activeTechnicians = activeTechnicians;
+            this.completionRate = completionRate;
+        }
+
+        public int getTotalRequests() {
+            return totalRequests;
+        }
+
+        public double getTotalRevenue() {
+            return totalRevenue;
+        }
+
+        public double getOutstandingPayments() {
+            return outstandingPayments;
+        }
+
+        public int getActiveCustomers() {
+            return activeCustomers;
+        }
+
+        public int getActiveTechnicians() {
+            return activeTechnicians;
+        }
+
+        public double getCompletionRate() {
+            return completionRate;
+        }
+    }
+
+    /**
+     * Compute the summary figures
+     * @param serviceRequests The service requests in the date range
+     * @param paymentTotals Completed payment totals by job ID
+     * @return The summary figures
+     */
+    public static Summary summarize(List<ServiceRequest> serviceRequests, Map<Integer, Double> paymentTotals) {
+        // Count service requests
+        int totalRequests = serviceRequests.size();
+
+        // Calculate total revenue
+        double totalRevenue = serviceRequests.stream()
+                .mapToDouble(ServiceRequest::getTotalCost)
+                .sum();
+
+        // Calculate outstanding payments from the preloaded payment totals
+        double outstandingPayments = 0;
+        for (ServiceRequest request : serviceRequests) {
+            double paid = paymentTotals.getOrDefault(request.getJobId(), 0.0);
+            outstandingPayments += Math.max(0, request.getTotalCost() - paid);
+        }
+
+        // Count active customers
+        Set<Integer> activeCustomers = serviceRequests.stream()
+                .map(ServiceRequest::getCustomerId)
+                .collect(Collectors.toSet());
+
+        // Count active technicians
+        Set<Integer> activeTechnicians = new HashSet<>();
+        for (ServiceRequest request : serviceRequests) {
+            for (Technician tech : request.getTechnicians()) {
+                activeTechnicians.add(tech.getTechnicianId());
+            }
+        }
+
+        // Calculate completion rate
+        long completedRequests = serviceRequests.stream()
+                .filter(r -> r.hasStatus(ServiceRequestStatus.COMPLETED))
+                .count();
+        double completionRate = totalRequests > 0 ? (double) completedRequests / totalRequests : 0;
+
+        return new Summary(totalRequests, totalRevenue, outstandingPayments,
+                activeCustomers.size(), activeTechnicians.size(), completionRate);
+    }
+
+    /**
+     * Count service requests by status
+     * @param serviceRequests The service requests
+     * @return Request count per status
+     */
+    public static Map<String, Long> statusCounts(List<ServiceRequest> serviceRequests) {
+        return serviceRequests.stream()
+                .collect(Collectors.groupingBy(
+                        sr -> sr.getStatus() != null ? sr.getStatus() : "Unknown",
+                        Collectors.counting()
+                ));
+    }
+
+    /**
+     * Get the first month lying entirely inside a date range that starts on a date
+     * @param from The start of the date range
+     * @return The month
+     */
+    private static YearMonth firstFullMonth(LocalDate from) {
+        YearMonth month = YearMonth.from(from);
+        return from.getDayOfMonth() == 1 ? month : month.plusMonths(1);
+    }
+
+    /**
+     * Get the last month lying entirely inside a date range that ends on a date
+     * @param to The end of the date range
+     * @return The month
+     */
+    private static YearMonth lastFullMonth(LocalDate to) {
+        YearMonth month = YearMonth.from(to);
+        return to.equals(month.atEndOfMonth()) ? month : month.minusMonths(1);
+    }
+
+    /**
+     * Compute revenue per month. Months lying entirely inside the date range
+     * are taken from the monthly rollups; partial months at either end are
+     * summed from the service requests.
+     * @param from The start of the date range
+     * @param to The end of the date range
+     * @param serviceRequests The service requests in the date range
+     * @param rollups Supplies the rollups of the first to the last full month
+     * @return Revenue per month in month order
+     */
+    public static Map<YearMonth, Double> monthlyRevenue(LocalDate from, LocalDate to,
+                                                        List<ServiceRequest> serviceRequests,
+                                                        BiFunction<YearMonth, YearMonth, List<MonthlyRollup>> rollups) {
+        Map<YearMonth, Double> monthlyRevenue = new TreeMap<>();
+
+        YearMonth firstFullMonth = firstFullMonth(from);
+        YearMonth lastFullMonth = lastFullMonth(to);
+
+        if (!firstFullMonth.isAfter(lastFullMonth)) {
+            for (MonthlyRollup rollup : rollups.apply(firstFullMonth, lastFullMonth)) {
+                monthlyRevenue.merge(rollup.getMonth(), rollup.getRevenue(), Double::sum);
+            }
+        }
+
+        for (ServiceRequest request : serviceRequests) {
+            LocalDate date = request.getServiceDate();
+            if (date != null) {
+                YearMonth month = YearMonth.from(date);
+                if (month.isBefore(firstFullMonth) || month.isAfter(lastFullMonth)) {
+                    monthlyRevenue.merge(month, request.getTotalCost(), Double::sum);
+                }
+            }
+        }
+
+        return monthlyRevenue;
+    }
+
+    /**
+     * Compute the financial report rows
+     * @param serviceRequests The service requests
+     * @param groupBy Period grouping: "Monthly", "Quarterly" or "Yearly"
+     * @return One row per period
+     */
+    public static List<Map<String, Object>> financialReport(List<ServiceRequest> serviceRequests, String groupBy) {
+        switch (groupBy) {
+            case "Monthly":
+                return generateMonthlyFinancialReport(serviceRequests);
+            case "Quarterly":
+                return generateQuarterlyFinancialReport(serviceRequests);
+            case "Yearly":
+                return generateYearlyFinancialReport(serviceRequests);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Generate monthly financial report
+     * @param serviceRequests List of service requests
+     * @return List of report data
+     */
+    private static List<Map<String, Object>> generateMonthlyFinancialReport(List<ServiceRequest> serviceRequests) {
+        // Group service requests by month
+        Map<String, List<ServiceRequest>> groupedRequests = new LinkedHashMap<>();
+
+        for (ServiceRequest request : serviceRequests) {
+            LocalDate date = request.getServiceDate();
+            if (date != null) {
+                String monthYear = date.getMonth().toString() + " " + date.getYear();
+                groupedRequests.computeIfAbsent(monthYear, k -> new ArrayList<>()).add(request);
+            }
+        }
+
+        List<Map<String, Object>> reportData = new ArrayList<>();
+
+        for (Map.Entry<String, List<ServiceRequest>> entry : groupedRequests.entrySet()) {
+            String period = entry.getKey();
+            List<ServiceRequest> requests = entry.getValue();
+            double revenue = requests.stream().mapToDouble(ServiceRequest::getTotalCost).sum();
+
+            // For simplicity, assume costs are 60% of revenue
+            double costs = revenue * 0.6;
+            double profit = revenue - costs;
+            double margin = revenue > 0 ? profit / revenue : 0;
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("period", period);
+            row.put("revenue", revenue);
+            row.put("costs", costs);
+            row.put("profit", profit);
+            row.put("margin", margin);
+
+            reportData.add(row);
+        }
+
+        return reportData;
+    }
+
+    /**
+     * Generate quarterly financial report
+     * @param serviceRequests List of service requests
+     * @return List of report data
+     */
+    private static List<Map<String, Object>> generateQuarterlyFinancialReport(List<ServiceRequest> serviceRequests) {
+        // Group service requests by quarter
+        Map<String, List<ServiceRequest>> groupedRequests = new LinkedHashMap<>();
+
+        for (ServiceRequest request : serviceRequests) {
+            LocalDate date = request.getServiceDate();
+            if (date != null) {
+                int quarter = (date.getMonthValue() - 1) / 3 + 1;
+                String quarterYear = "Q" + quarter + " " + date.getYear();
+                groupedRequests.computeIfAbsent(quarterYear, k -> new ArrayList<>()).add(request);
+            }
+        }
+
+        List<Map<String, Object>> reportData = new ArrayList<>();
+
+        for (Map.Entry<String, List<ServiceRequest>> entry : groupedRequests.entrySet()) {
+            String period = entry.getKey();
+            List<ServiceRequest> requests = entry.getValue();
+            double revenue = requests.stream().mapToDouble(ServiceRequest::getTotalCost).sum();
+
+            // For simplicity, assume costs are 60% of revenue
+            double costs = revenue * 0.6;
+            double profit = revenue - costs;
+            double margin = revenue > 0 ? profit / revenue : 0;
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("period", period);
+            row.put("revenue", revenue);
+            row.put("costs", costs);
+            row.put("profit", profit);
+            row.put("margin", margin);
+
+            reportData.add(row);
+        }
+
+        return reportData;
+    }
+
+    /**
+     * Generate yearly financial report
+     * @param serviceRequests List of service requests
+     * @return List of report data
+     */
+    private static List<Map<String, Object>> generateYearlyFinancialReport(List<ServiceRequest> serviceRequests) {
+        // Group service requests by year
+        Map<Integer, List<ServiceRequest>> groupedRequests = new TreeMap<>();
+
+        for (ServiceRequest request : serviceRequests) {
+            LocalDate date = request.getServiceDate();
+            if (date != null) {
+                groupedRequests.computeIfAbsent(date.getYear(), k -> new ArrayList<>()).add(request);
+            }
+        }
+
+        List<Map<String, Object>> reportData = new ArrayList<>();
+
+        for (Map.Entry<Integer, List<ServiceRequest>> entry : groupedRequests.entrySet()) {
+            String period = String.valueOf(entry.getKey());
+            List<ServiceRequest> requests = entry.getValue();
+            double revenue = requests.stream().mapToDouble(ServiceRequest::getTotalCost).sum();
+
+            // For simplicity, assume costs are 60% of revenue
+            double costs = revenue * 0.6;
+            double profit = revenue - costs;
+            double margin = revenue > 0 ? profit / revenue : 0;
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("period", period);
+            row.put("revenue", revenue);
+            row.put("costs", costs);
+            row.put("profit", profit);
+            row.put("margin", margin);
+
+            reportData.add(row);
+        }
+
+        return reportData;
+    }
+
+    /**
+     * Compute the customer report rows. Service counts and spending in months
+     * lying entirely inside the date range are taken from the per-customer
+     * monthly rollups; partial months at either end, and each customer's last
+     * service date, come from the service requests.
+     * @param from The start of the date range
+     * @param to The end of the date range
+     * @param serviceRequests The service requests in the date range
+     * @param allCustomers The customers to report on
+     * @param reportType Type of report
+     * @param rollups Supplies the per-customer rollups of the first to the last full month
+     * @return The report rows
+     */
+    public static List<Map<String, Object>> customerReport(LocalDate from, LocalDate to,
+                                                           List<ServiceRequest> serviceRequests,
+                                                           List<Customer> allCustomers, String reportType,
+                                                           BiFunction<YearMonth, YearMonth, List<MonthlyRollup>> rollups) {
+        List<Map<String, Object>> reportData = new ArrayList<>();
+
+        // Build customer data
+        Map<Integer, Map<String, Object>> customerData = new HashMap<>();
+
+        for (Customer customer : allCustomers) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("customerId", customer.getCustomerId());
+            data.put("customerNumber", customer.getCustomerNumber());
+            data.put("name", customer.getFullName());
+            data.put("company", customer.getCompanyName() != null ? customer.getCompanyName() : "N/A");
+            data.put("serviceCount", 0);
+            data.put("totalSpending", 0.0);
+            data.put("lastService", null);
+            customerData.put(customer.getCustomerId(), data);
+        }
+
+        // Full months from the rollups
+        YearMonth firstFullMonth = firstFullMonth(from);
+        YearMonth lastFullMonth = lastFullMonth(to);
+        if (!firstFullMonth.isAfter(lastFullMonth)) {
+            for (MonthlyRollup rollup : rollups.apply(firstFullMonth, lastFullMonth)) {
+                Map<String, Object> data = customerData.get(rollup.getCustomerId());
+                if (data != null) {
+                    data.put("serviceCount", (Integer) data.get("serviceCount") + rollup.getJobCount());
+                    data.put("totalSpending", (Double) data.get("totalSpending") + rollup.getRevenue());
+                }
+            }
+        }
+
+        // Process service requests
+        for (ServiceRequest request : serviceRequests) {
+            int customerId = request.getCustomerId();
+            Map<String, Object> data = customerData.get(customerId);
+
+            if (data != null) {
+                // Count and spending of the partial months only
+                LocalDate serviceDate = request.getServiceDate();
+                YearMonth month = serviceDate != null ? YearMonth.from(serviceDate) : null;
+                if (month == null || month.isBefore(firstFullMonth) || month.isAfter(lastFullMonth)) {
+                    data.put("serviceCount", (Integer) data.get("serviceCount") + 1);
+                    data.put("totalSpending", (Double) data.get("totalSpending") + request.getTotalCost());
+                }
+
+                // Update last service date
+                LocalDate currentLastService = (LocalDate) data.get("lastService");
+                if (serviceDate != null && (currentLastService == null || serviceDate.isAfter(currentLastService))) {
+                    data.put("lastService", serviceDate);
+                }
+            }
+        }
+
+        // Create report data based on report type
+        if ("Top Customers by Revenue".equals(reportType)) {
+            // Sort by total spending
+            reportData = customerData.values().stream()
+                    .sorted(Comparator.comparing(m -> ((Double) m.get("totalSpending")), Comparator.reverseOrder()))
+                    .limit(20)
+                    .collect(Collectors.toList());
+        } else if ("Customer Activity".equals(reportType)) {
+            // Sort by service count
+            reportData = customerData.values().stream()
+                    .sorted(Comparator.comparing(m -> ((Integer) m.get("serviceCount")), Comparator.reverseOrder()))
+                    .limit(20)
+                    .collect(Collectors.toList());
+        } else if ("Customer Retention".equals(reportType)) {
+            // Filter to customers with at least one service
+            reportData = customerData.values().stream()
+                    .filter(m -> (Integer) m.get("serviceCount") > 0)
+                    .sorted(Comparator.comparing(m -> ((LocalDate) m.get("lastService")), Comparator.reverseOrder()))
+                    .collect(Collectors.toList());
+        }
+
+        return reportData;
+    }
+
+    /**
+     * Compute the technician report rows
+     * @param serviceRequests The service requests
+     * @param allTechnicians The technicians to report on
+     * @param reportType Type of report
+     * @return The report rows
+     */
+    public static List<Map<String, Object>> technicianReport(List<ServiceRequest> serviceRequests,
+                                                             List<Technician> allTechnicians, String reportType) {
+        List<Map<String, Object>> reportData = new ArrayList<>();
+
+        // Build technician data
+        Map<Integer, Map<String, Object>> technicianData = new HashMap<>();
+
+        for (Technician technician : allTechnicians) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("technicianId", technician.getTechnicianId());
+            data.put("name", technician.getFullName());
+            data.put("credentials", technician.getCredentials() != null ? technician.getCredentials() : "N/A");
+            data.put("serviceCount", 0);
+            data.put("completedCount", 0);
+            data.put("completionRate", 0.0);
+            data.put("workload", 0.0);
+            technicianData.put(technician.getTechnicianId(), data);
+        }
+
+        // Process service requests
+        for (ServiceRequest request : serviceRequests) {
+            for (Technician technician : request.getTechnicians()) {
+                int technicianId = technician.getTechnicianId();
+                Map<String, Object> data = technicianData.get(technicianId);
+
+                if (data != null) {
+                    // Update service count
+                    data.put("serviceCount", (Integer) data.get("serviceCount") + 1);
+
+                    // Update completed count
+                    if (request.hasStatus(ServiceRequestStatus.COMPLETED)) {
+                        data.put("completedCount", (Integer) data.get("completedCount") + 1);
+                    }
+                }
+            }
+        }
+
+        // Calculate completion rates and workload
+        double totalServices = serviceRequests.size();
+
+        for (Map<String, Object> data : technicianData.values()) {
+            int serviceCount = (Integer) data.get("serviceCount");
+            int completedCount = (Integer) data.get("completedCount");
+
+            // Calculate completion rate
+            double completionRate = serviceCount > 0 ? (double) completedCount / serviceCount : 0;
+            data.put("completionRate", completionRate);
+
+            // Calculate workload (percentage of all service requests)
+            double workload = totalServices > 0 ? (double) serviceCount / totalServices : 0;
+            data.put("workload", workload);
+        }
+
+        // Create report data based on report type
+        if ("Technician Performance".equals(reportType)) {
+            // Sort by completion rate
+            reportData = technicianData.values().stream()
+                    .filter(m -> (Integer) m.get("serviceCount") > 0)
+                    .sorted(Comparator.comparing(m -> ((Double) m.get("completionRate")), Comparator.reverseOrder()))
+                    .collect(Collectors.toList());
+        } else if ("Technician Workload".equals(reportType)) {
+            // Sort by service count
+            reportData = technicianData.values().stream()
+                    .sorted(Comparator.comparing(m -> ((Integer) m.get("serviceCount")), Comparator.reverseOrder()))
+                    .collect(Collectors.toList());
+        } else if ("Technician Utilization".equals(reportType)) {
+            // Sort by workload
+            reportData = technicianData.values().stream()
+                    .sorted(Comparator.comparing(m -> ((Double) m.get("workload")), Comparator.reverseOrder()))
+                    .collect(Collectors.toList());
+        }
+
+        return reportData;
+    }
+}
@@ -0,0 +1,140 @@
+package com.management.util;
+
+import com.management.service.QueryCancellation;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the queries behind a search-as-you-type screen. Input is debounced,
+ * queries run off the FX thread, a newer query cancels the statements of the
+ * one still running, and only the newest result reaches the screen.
+ *
+ * All methods must be called on the FX thread; the callbacks run on it too.
+ */
+public class SearchQueryExecutor<T> {
+    private static final Duration DEFAULT_DELAY = Duration.millis(250);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // A cancelled query may still be unwinding while the next one starts
+    private static final ExecutorService QUERY_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "search-query-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PauseTransition delay;
+    private final Consumer<T> onResult;
+    private final Consumer<Exception> onError;
+
+    private Callable<T> pendingQuery;
+    private QueryCancellation running;
+    private int generation;
+
+    /**
+     * @param onResult Receives the result of the newest query
+     * @param onError Receives the failure of the newest query
+     */
+    public SearchQueryExecutor(Consumer<T> onResult, Consumer<Exception> onError) {
+        this(DEFAULT_DELAY, onResult, onError);
+    }
+
+    /**
+     * @param delay How long input must be idle before the query runs
+     * @param onResult Receives the result of the newest query
+     * @param onError Receives the failure of the newest query
+     */
+    public SearchQueryExecutor(Duration delay, Consumer<T> onResult, Consumer<Exception> onError) {
+        this.delay = new PauseTransition(delay);
+        this.onResult = onResult;
+        this.onError = onError;
+        this.delay.setOnFinished(e -> {
+            Callable<T> query = pendingQuery;
+            pendingQuery = null;
+            if (query != null) {
+                execute(query);
+            }
+        });
+    }
+
+    /**
+     * Run a query once input has been idle for the delay, replacing any
+     * query still waiting for it
+     * @param query The query to run
+     */
+    public void submit(Callable<T> query) {
+        pendingQuery = query;
+        delay.playFromStart();
+    }
+
+    /**
+     * Run a query at once, such as after a refresh or a tab change
+     * @param query The query to run
+     */
+    public void submitNow(Callable<T> query) {
+        delay.stop();
+        pendingQuery = null;
+        execute(query);
+    }
+
+    /**
+     * Drop the waiting query and cancel the running one
+     */
+    public void cancel() {
+        delay.stop();
+        pendingQuery = null;
+        generation++;
+        cancelRunning();
+    }
+
+    private void execute(Callable<T> query) {
+        int current = ++generation;
+        cancelRunning();
+
+        QueryCancellation cancellation = new QueryCancellation();
+        running = cancellation;
+
+        QUERY_EXECUTOR.submit(() -> {
+            try {
+                T result = cancellation.run(query);
+                // DAOs swallow SQL errors, so a cancelled query may return partial results
+                if (!cancellation.isCancelled()) {
+                    Platform.runLater(() -> deliver(current, result));
+                }
+            } catch (Exception e) {
+                if (!cancellation.isCancelled()) {
+                    Platform.runLater(() -> fail(current, e));
+                }
+            }
+        });
+    }
+
+    private void deliver(int current, T result) {
+        if (current != generation) {
+            return;
+        }
+        running = null;
+        onResult.accept(result);
+    }
+
+    private void fail(int current, Exception e) {
+        if (current != generation) {
+            return;
+        }
+        running = null;
+        onError.accept(e);
+    }
+
+    private void cancelRunning() {
+        if (running != null) {
+            running.cancel();
+            running = null;
+        }
+    }
+}
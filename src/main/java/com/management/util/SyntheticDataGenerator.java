@@ -0,0 +1,660 @@
+package com.management.util;
+
+import com.management.dao.implementations.RollupDAOImpl;
+import com.management.dao.implementations.TechnicianDAOImpl;
+import com.management.dao.implementations.ValueCodeDAOImpl;
+import com.management.service.DatabaseService;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Fills a database with realistic synthetic data for benchmarks, UI stress
+ * testing and capacity planning. The same seed, counts and reference date
+ * always produce the same rows. Rows are appended after any existing data
+ * with batched inserts in a single transaction.
+ *
+ * Distributions:
+ * - customer activity is log-normal: a fifth of the customers place about
+ *   two thirds of the jobs, while many have one job or none
+ * - service dates peak in summer and fall mostly on weekdays
+ * - about a third of assigned jobs have more than one technician
+ * - completed jobs are usually paid, some in several partial payments and
+ *   some with a balance still outstanding
+ */
+public class SyntheticDataGenerator {
+    private static final int BATCH_SIZE = 5_000;
+    private static final double CUSTOMER_ACTIVITY_SIGMA = 1.3;
+    private static final int UPCOMING_DAYS = 60;
+    private static final String USER_PASSWORD = "password";
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+            "Michael", "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph",
+            "Jessica", "Thomas", "Sarah", "Carlos", "Maria", "Wei", "Mei", "Aisha", "Omar", "Ivan", "Olga",
+            "Hiroshi", "Yuki", "Priya", "Raj", "Fatima", "Kwame", "Sofia", "Mateo", "Emma", "Noah"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+            "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris",
+            "Clark", "Lewis", "Walker", "Young", "Allen", "Nguyen", "Chen", "Kim", "Patel", "Khan", "Ivanova"};
+    private static final String[] COMPANY_WORDS = {"Acme", "Summit", "Harbor", "Pioneer", "Cascade", "Granite",
+            "Beacon", "Evergreen", "Lakeside", "Redwood", "Keystone", "Silverline", "Northwind", "Bluebird"};
+    private static final String[] COMPANY_SUFFIXES = {"LLC", "Inc.", "Group", "Partners", "Holdings", "Co."};
+    private static final String[] POSITIONS = {"Owner", "Office Manager", "Facilities Manager", "IT Director",
+            "Operations Lead", "Administrator"};
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Pine St", "Maple Dr", "Cedar Ln",
+            "Elm St", "Washington Blvd", "Lake Rd", "Hill St", "Park Ave", "Market St", "Broadway"};
+    private static final String[] JOB_TYPES = {"Network installation", "Printer repair", "Workstation setup",
+            "Server maintenance", "Security camera install", "Wi-Fi survey", "Cabling", "Phone system repair",
+            "POS terminal service", "Annual maintenance visit"};
+    private static final String[] CREDENTIAL_LEVELS = {"Junior", "Mid", "Senior", "Expert"};
+    private static final String[] PAY_TYPES = {"Hourly", "Salary", "Contract", "Commission"};
+    private static final String[] PAYMENT_METHODS = {"Credit Card", "Debit Card", "Cash", "Check",
+            "Bank Transfer", "PayPal"};
+
+    // State, city and the zip prefixes the city's zips start with
+    private static final String[][] REGIONS = {
+            {"CA", "San Francisco", "941"}, {"CA", "Los Angeles", "900"}, {"CA", "San Diego", "921"},
+            {"NY", "New York", "100"}, {"NY", "Buffalo", "142"}, {"TX", "Austin", "787"},
+            {"TX", "Houston", "770"}, {"TX", "Dallas", "752"}, {"IL", "Chicago", "606"},
+            {"WA", "Seattle", "981"}, {"FL", "Miami", "331"}, {"FL", "Orlando", "328"}
+    };
+
+    private final long seed;
+    private int customers = 1000;
+    private int technicians;
+    private int users;
+    private double jobsPerCustomer = 3.0;
+    private int years = 3;
+    private LocalDate referenceDate = LocalDate.now();
+
+    private Random random;
+
+    /**
+     * Create a generator
+     * @param seed Seed for all random choices
+     */
+    public SyntheticDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Set the number of customers; jobs and, unless set, technicians and users scale from it
+     * @param customers The number of customers to generate
+     */
+    public void setCustomers(int customers) {
+        if (customers <= 0) {
+            throw new IllegalArgumentException("Customer count must be positive");
+        }
+        this.customers = customers;
+    }
+
+    /**
+     * Set the number of technicians (default: one per 40 customers, at least 5)
+     * @param technicians The number of technicians to generate
+     */
+    public void setTechnicians(int technicians) {
+        this.technicians = technicians;
+    }
+
+    /**
+     * Set the number of users (default: one per 2000 customers, at least 3)
+     * @param users The number of users to generate
+     */
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    /**
+     * Set the average number of jobs per customer
+     * @param jobsPerCustomer The average, default 3
+     */
+    public void setJobsPerCustomer(double jobsPerCustomer) {
+        if (jobsPerCustomer < 0) {
+            throw new IllegalArgumentException("Jobs per customer cannot be negative");
+        }
+        this.jobsPerCustomer = jobsPerCustomer;
+    }
+
+    /**
+     * Set how many years of history to generate before the reference date
+     * @param years The number of years, default 3
+     */
+    public void setYears(int years) {
+        if (years <= 0) {
+            throw new IllegalArgumentException("Years must be positive");
+        }
+        this.years = years;
+    }
+
+    /**
+     * Set the date treated as today. Jobs before it are mostly completed, jobs
+     * in the following two months are pending or scheduled.
+     * @param referenceDate The reference date, default today
+     */
+    public void setReferenceDate(LocalDate referenceDate) {
+        this.referenceDate = referenceDate;
+    }
+
+    /**
+     * Generate the data and rebuild the derived tables (rollups and technician coverage)
+     * @param databaseService The database to fill; its schema must already exist
+     * @return Number of rows inserted per table, in insertion order
+     * @throws SQLException if the data could not be written
+     */
+    public Map<String, Integer> generate(DatabaseService databaseService) throws SQLException {
+        Map<String, Integer> rowCounts = insertRows(databaseService);
+        rebuildDerivedTables(databaseService);
+        return rowCounts;
+    }
+
+    /**
+     * Insert the generated rows without touching the derived tables. Call
+     * {@link #rebuildDerivedTables(DatabaseService)} afterwards.
+     * @param databaseService The database to fill; its schema must already exist
+     * @return Number of rows inserted per table, in insertion order
+     * @throws SQLException if the data could not be written
+     */
+    public Map<String, Integer> insertRows(DatabaseService databaseService) throws SQLException {
+        random = new Random(seed);
+        Map<String, Integer> rowCounts = new LinkedHashMap<>();
+
+        try (Connection connection = databaseService.getDedicatedConnection()) {
+            // Generated data can be regenerated, so trade durability for speed
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA synchronous = OFF");
+                statement.execute("PRAGMA journal_mode = MEMORY");
+                statement.execute("PRAGMA cache_size = -262144");
+            }
+
+            connection.setAutoCommit(false);
+            try {
+                // Building indexes once after the load is much cheaper than maintaining them row by row
+                List<String> indexes = dropSecondaryIndexes(connection);
+                rowCounts.put("users", insertUsers(connection));
+                int firstCustomerId = maxId(connection, "customers", "customer_id") + 1;
+                rowCounts.put("customers", insertCustomers(connection, firstCustomerId));
+                int firstTechnicianId = maxId(connection, "technicians", "technician_id") + 1;
+                rowCounts.put("technicians", insertTechnicians(connection, firstTechnicianId));
+                insertJobs(connection, firstCustomerId, firstTechnicianId, rowCounts);
+                try (Statement statement = connection.createStatement()) {
+                    for (String index : indexes) {
+                        statement.execute(index);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        return rowCounts;
+    }
+
+    /**
+     * Encode the dictionary-coded columns of the inserted rows, then rebuild
+     * the rollup and technician coverage tables from the base tables
+     * @param databaseService The database that was filled
+     * @return true if the codes and both tables were rebuilt
+     */
+    public boolean rebuildDerivedTables(DatabaseService databaseService) {
+        boolean codesRebuilt = new ValueCodeDAOImpl(databaseService).rebuild();
+        boolean rollupsRebuilt = new RollupDAOImpl(databaseService).rebuild();
+        boolean coverageRebuilt = new TechnicianDAOImpl(databaseService).rebuildCoverage();
+        return codesRebuilt && rollupsRebuilt && coverageRebuilt;
+    }
+
+    /**
+     * Drop the explicitly created indexes of the generated tables
+     * @return The statements that recreate them
+     */
+    private static List<String> dropSecondaryIndexes(Connection connection) throws SQLException {
+        List<String> indexes = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT name, sql FROM sqlite_master WHERE type = 'index' AND sql IS NOT NULL " +
+                     "AND tbl_name IN ('customers', 'technicians', 'service_requests', " +
+                     "'service_technicians', 'quotes', 'payments')")) {
+            while (rs.next()) {
+                names.add(rs.getString("name"));
+                indexes.add(rs.getString("sql"));
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (String name : names) {
+                statement.execute("DROP INDEX \"" + name + "\"");
+            }
+        }
+        return indexes;
+    }
+
+    private int insertUsers(Connection connection) throws SQLException {
+        int count = users > 0 ? users : Math.max(3, customers / 2000);
+        int firstId = maxId(connection, "users", "user_id") + 1;
+        String passwordHash = hashPassword(USER_PASSWORD);
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (user_id, username, password, is_admin) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                int userId = firstId + i;
+                insert.setInt(1, userId);
+                insert.setString(2, "user" + userId);
+                insert.setString(3, passwordHash);
+                insert.setBoolean(4, i == 0);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        return count;
+    }
+
+    private int insertCustomers(Connection connection, int firstId) throws SQLException {
+        Map<Integer, Integer> nextNumberByYear = new HashMap<>();
+        LocalDate firstDate = referenceDate.minusYears(years);
+        int historyDays = (int) ChronoUnit.DAYS.between(firstDate, referenceDate);
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO customers (customer_id, first_name, last_name, email, company_name, " +
+                "customer_number, phone_number, mobile_number, position, business_name, street_address, " +
+                "state, zip_code, website, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (int i = 0; i < customers; i++) {
+                int customerId = firstId + i;
+                String firstName = pick(FIRST_NAMES);
+                String lastName = pick(LAST_NAMES);
+                String[] region = REGIONS[random.nextInt(REGIONS.length)];
+                boolean business = random.nextInt(10) < 4;
+                String company = business ? pick(COMPANY_WORDS) + " " + pick(COMPANY_SUFFIXES) : null;
+                LocalDateTime createdAt = firstDate.plusDays(random.nextInt(historyDays + 1))
+                        .atTime(8 + random.nextInt(10), random.nextInt(60));
+                String createdAtText = createdAt.format(TIMESTAMP_FORMAT);
+
+                // Numbers continue each year's CM-YYYY-XXXX series
+                int year = createdAt.getYear();
+                Integer next = nextNumberByYear.get(year);
+                if (next == null) {
+                    next = maxCustomerNumber(connection, year) + 1;
+                }
+                nextNumberByYear.put(year, next + 1);
+
+                insert.setInt(1, customerId);
+                insert.setString(2, firstName);
+                insert.setString(3, lastName);
+                insert.setString(4, (firstName + "." + lastName + customerId + "@example.com").toLowerCase());
+                insert.setString(5, company);
+                insert.setString(6, "CM-" + year + "-" + (next < 10 ? "000" : next < 100 ? "00" : next < 1000 ? "0" : "") + next);
+                insert.setString(7, phone());
+                insert.setString(8, random.nextBoolean() ? phone() : null);
+                insert.setString(9, business ? pick(POSITIONS) : null);
+                insert.setString(10, company);
+                insert.setString(11, (100 + random.nextInt(9900)) + " " + pick(STREETS));
+                insert.setString(12, region[0]);
+                insert.setString(13, zip(region));
+                insert.setString(14, business && random.nextBoolean()
+                        ? "https://www." + company.split(" ")[0].toLowerCase() + customerId + ".example.com" : null);
+                insert.setString(15, createdAtText);
+                insert.setString(16, createdAtText);
+                insert.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        // Let CustomerDAOImpl reseed each year's sequence from the highest number now in use
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM customer_number_sequence WHERE year = ?")) {
+            for (int year : nextNumberByYear.keySet()) {
+                delete.setInt(1, year);
+                delete.addBatch();
+            }
+            delete.executeBatch();
+        }
+
+        return customers;
+    }
+
+    private int insertTechnicians(Connection connection, int firstId) throws SQLException {
+        int count = technicians > 0 ? technicians : Math.max(5, customers / 40);
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO technicians (technician_id, first_name, last_name, credentials, credential_level, " +
+                "email, zip_code, coverage_area, pay_type, address, city, state, zip, legal_name) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (int i = 0; i < count; i++) {
+                int technicianId = firstId + i;
+                String firstName = pick(FIRST_NAMES);
+                String lastName = pick(LAST_NAMES);
+                String[] region = REGIONS[random.nextInt(REGIONS.length)];
+                String zip = zip(region);
+
+                // Home area, sometimes plus a second city in the same state
+                String coverageArea = region[2] + "xx";
+                String[] other = REGIONS[random.nextInt(REGIONS.length)];
+                if (other[0].equals(region[0]) && other != region && random.nextInt(10) < 3) {
+                    coverageArea += ", " + other[2] + "xx";
+                }
+
+                insert.setInt(1, technicianId);
+                insert.setString(2, firstName);
+                insert.setString(3, lastName);
+                insert.setString(4, random.nextBoolean() ? "CompTIA A+" : "CCNA");
+                insert.setString(5, pick(CREDENTIAL_LEVELS));
+                insert.setString(6, (firstName + "." + lastName + ".tech" + technicianId + "@example.com").toLowerCase());
+                insert.setString(7, zip);
+                insert.setString(8, coverageArea);
+                insert.setString(9, pick(PAY_TYPES));
+                insert.setString(10, (100 + random.nextInt(9900)) + " " + pick(STREETS));
+                insert.setString(11, region[1]);
+                insert.setString(12, region[0]);
+                insert.setString(13, zip);
+                insert.setString(14, firstName + " " + lastName);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        return count;
+    }
+
+    private void insertJobs(Connection connection, int firstCustomerId, int firstTechnicianId,
+                            Map<String, Integer> rowCounts) throws SQLException {
+        int jobCount = (int) Math.round(customers * jobsPerCustomer);
+        int technicianCount = technicians > 0 ? technicians : Math.max(5, customers / 40);
+        int firstJobId = maxId(connection, "service_requests", "job_id") + 1;
+        int quoteId = maxId(connection, "quotes", "quote_id") + 1;
+        int paymentId = maxId(connection, "payments", "payment_id") + 1;
+        int assignments = 0;
+        int quotes = 0;
+        int payments = 0;
+
+        double[] customerWeights = new double[customers];
+        double totalWeight = 0;
+        for (int i = 0; i < customers; i++) {
+            totalWeight += Math.exp(random.nextGaussian() * CUSTOMER_ACTIVITY_SIGMA);
+            customerWeights[i] = totalWeight;
+        }
+
+        LocalDate firstDate = referenceDate.minusYears(years);
+        int dayRange = (int) ChronoUnit.DAYS.between(firstDate, referenceDate) + UPCOMING_DAYS;
+
+        try (PreparedStatement insertJob = connection.prepareStatement(
+                "INSERT INTO service_requests (job_id, description, service_cost, customer_id, service_date, " +
+                "ref_no, start_time, end_time, service_address, service_city, service_state, service_zip, " +
+                "poc_name, poc_phone, added_cost, status, parking_fees, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertAssignment = connection.prepareStatement(
+                "INSERT INTO service_technicians (job_id, technician_id, assigned_at) VALUES (?, ?, ?)");
+             PreparedStatement insertQuote = connection.prepareStatement(
+                "INSERT INTO quotes (quote_id, job_id, start_date, end_date, amount, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertPayment = connection.prepareStatement(
+                "INSERT INTO payments (payment_id, job_id, amount, status, payment_date, payment_method, notes) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (int i = 0; i < jobCount; i++) {
+                int jobId = firstJobId + i;
+                int customerId = firstCustomerId + sampleCumulative(customerWeights);
+                LocalDate serviceDate = seasonalDate(firstDate, dayRange);
+                LocalTime startTime = LocalTime.of(7 + random.nextInt(10), random.nextBoolean() ? 0 : 30);
+                LocalTime endTime = startTime.plusMinutes(60L * (1 + random.nextInt(4)));
+                String[] region = REGIONS[random.nextInt(REGIONS.length)];
+                String status = jobStatus(serviceDate);
+                double serviceCost = roundCents(logNormal(350, 0.7));
+                double addedCost = random.nextInt(10) == 0 ? roundCents(25 + random.nextInt(300)) : 0;
+                double parkingFees = random.nextInt(5) == 0 ? 5 + random.nextInt(40) : 0;
+                double totalCost = serviceCost + addedCost + parkingFees;
+                LocalDateTime createdAt = serviceDate.minusDays(1 + random.nextInt(45)).atTime(9, 0);
+                String createdAtText = createdAt.format(TIMESTAMP_FORMAT);
+
+                insertJob.setInt(1, jobId);
+                insertJob.setString(2, pick(JOB_TYPES));
+                insertJob.setDouble(3, serviceCost);
+                insertJob.setInt(4, customerId);
+                insertJob.setString(5, serviceDate.toString());
+                insertJob.setString(6, "REF-" + jobId);
+                insertJob.setString(7, startTime.toString());
+                insertJob.setString(8, endTime.toString());
+                insertJob.setString(9, (100 + random.nextInt(9900)) + " " + pick(STREETS));
+                insertJob.setString(10, region[1]);
+                insertJob.setString(11, region[0]);
+                insertJob.setString(12, zip(region));
+                insertJob.setString(13, pick(FIRST_NAMES) + " " + pick(LAST_NAMES));
+                insertJob.setString(14, phone());
+                insertJob.setDouble(15, addedCost);
+                insertJob.setString(16, status);
+                insertJob.setDouble(17, parkingFees);
+                insertJob.setString(18, createdAtText);
+                insertJob.setString(19, createdAtText);
+                insertJob.addBatch();
+
+                // Technicians: none on half the pending jobs, otherwise 1 (70%), 2 (22%) or 3 (8%)
+                if (!"Pending".equals(status) || random.nextBoolean()) {
+                    int roll = random.nextInt(100);
+                    int crew = Math.min(technicianCount, roll < 70 ? 1 : roll < 92 ? 2 : 3);
+                    String assignedAtText = createdAt.plusHours(2).format(TIMESTAMP_FORMAT);
+                    TreeSet<Integer> crewIds = new TreeSet<>();
+                    while (crewIds.size() < crew) {
+                        crewIds.add(firstTechnicianId + random.nextInt(technicianCount));
+                    }
+                    for (int technicianId : crewIds) {
+                        insertAssignment.setInt(1, jobId);
+                        insertAssignment.setInt(2, technicianId);
+                        insertAssignment.setString(3, assignedAtText);
+                        insertAssignment.addBatch();
+                        assignments++;
+                    }
+                }
+
+                // Quotes for about two thirds of the jobs
+                if (random.nextInt(3) < 2) {
+                    LocalDate quoteStart = createdAt.toLocalDate();
+                    insertQuote.setInt(1, quoteId++);
+                    insertQuote.setInt(2, jobId);
+                    insertQuote.setString(3, quoteStart.toString());
+                    insertQuote.setString(4, quoteStart.plusDays(30).toString());
+                    insertQuote.setDouble(5, roundCents(totalCost * (0.9 + random.nextDouble() * 0.3)));
+                    insertQuote.setString(6, quoteStatus(status));
+                    insertQuote.addBatch();
+                    quotes++;
+                }
+
+                if ("Completed".equals(status) && random.nextInt(100) < 85) {
+                    int added = addPayments(insertPayment, paymentId, jobId, serviceDate, totalCost);
+                    paymentId += added;
+                    payments += added;
+                }
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insertJob.executeBatch();
+                    insertAssignment.executeBatch();
+                    insertQuote.executeBatch();
+                    insertPayment.executeBatch();
+                }
+            }
+
+            insertJob.executeBatch();
+            insertAssignment.executeBatch();
+            insertQuote.executeBatch();
+            insertPayment.executeBatch();
+        }
+
+        rowCounts.put("service_requests", jobCount);
+        rowCounts.put("service_technicians", assignments);
+        rowCounts.put("quotes", quotes);
+        rowCounts.put("payments", payments);
+    }
+
+    /**
+     * Add the payments for a completed job: usually paid in full, sometimes in
+     * two or three parts, sometimes with a balance left, occasionally after a
+     * failed attempt
+     * @return The number of payment rows added
+     */
+    private int addPayments(PreparedStatement insert, int firstPaymentId, int jobId, LocalDate serviceDate,
+                            double totalCost) throws SQLException {
+        int roll = random.nextInt(100);
+        int parts = roll < 75 ? 1 : roll < 93 ? 2 : 3;
+        double paidShare = random.nextInt(100) < 12 ? 0.3 + random.nextDouble() * 0.5 : 1.0;
+        double remaining = roundCents(totalCost * paidShare);
+        String method = pick(PAYMENT_METHODS);
+        LocalDate paymentDate = serviceDate.plusDays(random.nextInt(21));
+        int paymentId = firstPaymentId;
+
+        if (random.nextInt(100) < 4) {
+            addPayment(insert, paymentId++, jobId, remaining, "Failed", paymentDate, method, "Card declined");
+            paymentDate = paymentDate.plusDays(1 + random.nextInt(5));
+        }
+
+        for (int part = 1; part <= parts; part++) {
+            double amount = part == parts ? remaining : roundCents(remaining / (parts - part + 1));
+            remaining = roundCents(remaining - amount);
+            addPayment(insert, paymentId++, jobId, amount, "Completed", paymentDate, method,
+                    parts > 1 ? "Installment " + part + " of " + parts : null);
+            paymentDate = paymentDate.plusDays(14 + random.nextInt(30));
+        }
+
+        return paymentId - firstPaymentId;
+    }
+
+    private void addPayment(PreparedStatement insert, int paymentId, int jobId, double amount, String status,
+                            LocalDate paymentDate, String method, String notes) throws SQLException {
+        insert.setInt(1, paymentId);
+        insert.setInt(2, jobId);
+        insert.setDouble(3, amount);
+        insert.setString(4, status);
+        insert.setString(5, paymentDate.toString());
+        insert.setString(6, method);
+        insert.setString(7, notes);
+        insert.addBatch();
+    }
+
+    /**
+     * Pick a service date with a summer peak and fewer jobs at weekends
+     */
+    private LocalDate seasonalDate(LocalDate firstDate, int dayRange) {
+        while (true) {
+            LocalDate date = firstDate.plusDays(random.nextInt(dayRange + 1));
+            double weight = 1 + 0.35 * Math.cos(2 * Math.PI * (date.getDayOfYear() - 196) / 365.0);
+            DayOfWeek day = date.getDayOfWeek();
+            if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+                weight *= 0.3;
+            }
+            if (random.nextDouble() * 1.35 < weight) {
+                return date;
+            }
+        }
+    }
+
+    private String jobStatus(LocalDate serviceDate) {
+        int roll = random.nextInt(100);
+        if (serviceDate.isAfter(referenceDate)) {
+            return roll < 60 ? "Scheduled" : roll < 95 ? "Pending" : "Cancelled";
+        }
+        if (serviceDate.isAfter(referenceDate.minusDays(14))) {
+            return roll < 55 ? "Completed" : roll < 85 ? "In Progress" : roll < 95 ? "Scheduled" : "Cancelled";
+        }
+        return roll < 88 ? "Completed" : roll < 96 ? "Cancelled" : "Pending";
+    }
+
+    private String quoteStatus(String jobStatus) {
+        switch (jobStatus) {
+            case "Completed":
+            case "In Progress":
+            case "Scheduled":
+                return "Approved";
+            case "Cancelled":
+                return random.nextBoolean() ? "Rejected" : "Expired";
+            default:
+                return "Pending";
+        }
+    }
+
+    private int sampleCumulative(double[] cumulative) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private double logNormal(double median, double sigma) {
+        return median * Math.exp(random.nextGaussian() * sigma);
+    }
+
+    private static double roundCents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String zip(String[] region) {
+        int suffix = random.nextInt(100);
+        return suffix < 10 ? region[2] + "0" + suffix : region[2] + suffix;
+    }
+
+    private String phone() {
+        int line = random.nextInt(10000);
+        return "(" + (200 + random.nextInt(800)) + ") " + (200 + random.nextInt(800)) + "-"
+                + (line < 10 ? "000" : line < 100 ? "00" : line < 1000 ? "0" : "") + line;
+    }
+
+    private static int maxId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static int maxCustomerNumber(Connection connection, int year) throws SQLException {
+        String prefix = "CM-" + year + "-";
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT MAX(CAST(SUBSTR(customer_number, ?) AS INTEGER)) FROM customers " +
+                "WHERE customer_number LIKE ?")) {
+            statement.setInt(1, prefix.length() + 1);
+            statement.setString(2, prefix + "%");
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static String hashPassword(String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(password.getBytes());
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
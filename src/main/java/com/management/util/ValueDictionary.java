@@ -0,0 +1,102 @@
+package com.management.util;
+
+import com.management.model.PaymentStatus;
+import com.management.model.QuoteStatus;
+import com.management.model.ServiceRequestStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-memory copy of one dictionary table, which gives each value of a
+ * low-cardinality column, such as a status, state or payment method, a small
+ * integer code. Rows store the code, and every row read with the same code
+ * shares one instance of the value instead of keeping its own copy.
+ *
+ * The status dictionaries start out with the codes of their enums; other
+ * values get their codes from the table when first written or read. Each
+ * dictionary stops caching once it holds {@value #MAX_VALUES} values, in
+ * case a column turns out to be free text; the table still has them all.
+ */
+public final class ValueDictionary {
+    private static final int MAX_VALUES = 1024;
+
+    public static final ValueDictionary SERVICE_REQUEST_STATUSES = seeded("service_request_status_codes",
+            ServiceRequestStatus.values(), ServiceRequestStatus::getCode, ServiceRequestStatus::getLabel);
+    public static final ValueDictionary QUOTE_STATUSES = seeded("quote_status_codes",
+            QuoteStatus.values(), QuoteStatus::getCode, QuoteStatus::getLabel);
+    public static final ValueDictionary PAYMENT_STATUSES = seeded("payment_status_codes",
+            PaymentStatus.values(), PaymentStatus::getCode, PaymentStatus::getLabel);
+    public static final ValueDictionary STATES = new ValueDictionary("state_codes");
+    public static final ValueDictionary CREDENTIAL_LEVELS = new ValueDictionary("credential_level_codes");
+    public static final ValueDictionary TECHNICIAN_STATUSES = new ValueDictionary("technician_status_codes");
+    public static final ValueDictionary PAYMENT_METHODS = new ValueDictionary("payment_method_codes");
+
+    private final String table;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final Map<Integer, String> values = new ConcurrentHashMap<>();
+
+    private ValueDictionary(String table) {
+        this.table = table;
+    }
+
+    private static <E> ValueDictionary seeded(String table, E[] constants, ToIntFunction<E> code,
+                                              Function<E, String> label) {
+        ValueDictionary dictionary = new ValueDictionary(table);
+        for (E constant : constants) {
+            dictionary.remember(code.applyAsInt(constant), label.apply(constant));
+        }
+        return dictionary;
+    }
+
+    /**
+     * Get the name of the dictionary table, which has an INTEGER PRIMARY KEY
+     * column code and a unique TEXT column value
+     * @return The table name
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Get the cached code of a value
+     * @param value The value
+     * @return The code, or null if the value is null or not cached
+     */
+    public Integer codeOf(String value) {
+        return value != null ? codes.get(value) : null;
+    }
+
+    /**
+     * Get the shared instance of the value with a code
+     * @param code The code
+     * @return The value, or null if the code is not cached
+     */
+    public String valueOf(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Cache a code read from or written to the dictionary table
+     * @param code The code
+     * @param value The value with that code
+     */
+    public void remember(int code, String value) {
+        if (values.size() >= MAX_VALUES || values.containsKey(code)) {
+            return;
+        }
+
+        values.putIfAbsent(code, value);
+        codes.putIfAbsent(value, code);
+    }
+
+    /**
+     * Get the cached codes and values
+     * @return A copy of the cache, by code
+     */
+    public Map<Integer, String> entries() {
+        return Map.copyOf(values);
+    }
+}